@@ -155,8 +155,66 @@ public class AntennaModelBuilder extends PPModelBuilder {
 	}
 
 	@Override
-	protected boolean containsFeature(String text, String feature) {
-		return contains(text, feature);
+	protected boolean isFeatureOccurrence(String text, int start, int end) {
+		return isDirectiveOccurrence(text, start, end);
+	}
+
+	/**
+	 * Checks a single occurrence of a feature name like {@link #contains(String, String)} checks the complete text: The feature name must be enclosed by
+	 * {@link #OPERATORS} and preceded by "//#" in the same line.
+	 *
+	 * @param text text to check
+	 * @param start index of the first character of the feature name
+	 * @param end index after the last character of the feature name
+	 * @return true, when the occurrence is part of a directive
+	 */
+	public static boolean isDirectiveOccurrence(String text, int start, int end) {
+		if ((start < 1) || (end >= text.length()) || !isOperator(text.charAt(start - 1)) || !isOperator(text.charAt(end))) {
+			return false;
+		}
+		for (int i = start - 2; i >= 0; i--) {
+			final char c = text.charAt(i);
+			if (c == '#') {
+				int j = i - 1;
+				while ((j >= 0) && isWhitespace(text.charAt(j))) {
+					j--;
+				}
+				if ((j >= 1) && (text.charAt(j) == '/') && (text.charAt(j - 1) == '/')) {
+					return true;
+				}
+			} else if (isLineTerminator(c)) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isOperator(char c) {
+		switch (c) {
+		case '!':
+		case '=':
+		case '<':
+		case '>':
+		case '"':
+		case ',':
+		case ';':
+		case '&':
+		case '^':
+		case '|':
+		case '(':
+		case ')':
+			return true;
+		default:
+			return isWhitespace(c);
+		}
+	}
+
+	private static boolean isWhitespace(char c) {
+		return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000B') || (c == '\f') || (c == '\r');
+	}
+
+	private static boolean isLineTerminator(char c) {
+		return (c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029');
 	}
 
 	/**
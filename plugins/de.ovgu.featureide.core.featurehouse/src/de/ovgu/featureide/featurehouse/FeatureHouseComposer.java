@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -74,6 +75,7 @@ import de.ovgu.featureide.core.fstmodel.FSTClass;
 import de.ovgu.featureide.core.fstmodel.FSTMethod;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
 import de.ovgu.featureide.core.fstmodel.FSTRole;
+import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.documentation.base.ADocumentationCommentParser;
 import de.ovgu.featureide.featurehouse.errorpropagation.ErrorPropagation;
 import de.ovgu.featureide.featurehouse.meta.FeatureIDEModelInfo;
@@ -90,6 +92,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
 import de.ovgu.featureide.fm.core.io.EclipseFileSystem;
 import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
@@ -168,6 +171,15 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 	private final ICompositionErrorListener compositionErrorListener = createCompositionErrorListener();
 	private IJob<?> fuji;
+	/**
+	 * Inputs and problems of the last Fuji run, so that Fuji is skipped while nothing has changed.
+	 */
+	private final FujiResultCache fujiCache = new FujiResultCache();
+	private final FujiSignaturesCreator fujiSignaturesCreator = new FujiSignaturesCreator();
+	/**
+	 * The signatures of the last Fuji run, which are reused together with the problems from {@link #fujiCache}.
+	 */
+	private ProjectSignatures fujiSignatures = null;
 
 	private ICompositionErrorListener createCompositionErrorListener() {
 		return new ICompositionErrorListener() {
@@ -387,7 +399,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 			return;
 		}
 
-		final SignatureSetter signatureSetter = new SignatureSetter();
+		final SignatureSetter signatureSetter = new SignatureSetter(fujiSignaturesCreator);
 
 		/*
 		 * Run fuji parallel to the build process.
@@ -722,9 +734,27 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 			@Override
 			public Boolean execute(IMonitor<Boolean> workMonitor) throws Exception {
+				final FujiResultCache.Inputs inputs = getFujiInputs();
+				final List<FujiResultCache.Problem> cachedProblems = fujiCache.get(inputs);
+				if ((cachedProblems != null) && (fujiSignatures != null)) {
+					// Fuji would find the same problems and signatures as in the last run
+					createFujiMarkers(cachedProblems);
+					signatureSetter.setSignatures(fujiSignatures);
+					return true;
+				}
+				fujiCache.invalidate();
+				fujiSignatures = null;
 				try {
-					final Program ast = runFuji(featureProject);
-					signatureSetter.setFujiParameters(featureProject, ast);
+					final List<FujiResultCache.Problem> problems = new ArrayList<>();
+					final Program ast = runFuji(featureProject, problems);
+					createFujiMarkers(problems);
+					if (ast == null) {
+						return false;
+					}
+					fujiSignatures = signatureSetter.setFujiParameters(featureProject, ast);
+					if (inputs != null) {
+						fujiCache.put(inputs, problems);
+					}
 					return true;
 				} catch (final CompositionException e) {
 					FMCorePlugin.getDefault().logError(e);
@@ -736,12 +766,44 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 		fuji.schedule();
 	}
 
+	/**
+	 * Collects everything a Fuji run of the feature project depends on.
+	 *
+	 * @return the inputs or {@code null} if a source file could not be read
+	 */
+	private FujiResultCache.Inputs getFujiInputs() {
+		final IFeatureModel featureModel = featureProject.getFeatureModel();
+		final List<Path> featureModules = new ArrayList<>();
+		for (final IFeature feature : featureModel.getFeatures()) {
+			if (feature.getStructure().isConcrete()) {
+				featureModules.add(Paths.get(featureProject.getSourcePath(), feature.getName()));
+			}
+		}
+		try {
+			return FujiResultCache.getInputs(NodeCreator.createNodes(featureModel).toString(), getClassPaths(featureProject), featureModules);
+		} catch (final IOException e) {
+			LOGGER.logError(e);
+			return null;
+		}
+	}
+
+	private void createFujiMarkers(List<FujiResultCache.Problem> problems) {
+		for (final FujiResultCache.Problem problem : problems) {
+			if (problem.getFile() == null) {
+				createFujiMarker(problem.getLine(), problem.getMessage(), featureProject.getSourceFolder(), problem.getSeverity(), featureProject);
+			} else {
+				createFujiMarker(problem.getLine(), problem.getMessage(), problem.getFile(), problem.getSeverity(), featureProject);
+			}
+		}
+	}
+
 	/**
 	 * Runs the type checker fuji. synchronized because fuji use static fields, and a parallel execution is not possible.
 	 *
 	 * @param featureProject The feature project of the caller.
+	 * @param problems The list to which the warnings and errors found by fuji are added.
 	 */
-	private synchronized static Program runFuji(IFeatureProject featureProject) throws CompositionException {
+	private synchronized static Program runFuji(IFeatureProject featureProject, List<FujiResultCache.Problem> problems) throws CompositionException {
 		final String sourcePath = featureProject.getSourcePath();
 		final String[] fujiOptions = new String[] { "-" + Main.OptionName.CLASSPATH, getClassPaths(featureProject), "-" + Main.OptionName.PROG_MODE,
 			"-" + Main.OptionName.COMPOSTION_STRATEGY, Main.OptionName.COMPOSTION_STRATEGY_ARG_FAMILY, "-typechecker", "-basedir", sourcePath };
@@ -760,7 +822,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 			// parsing warnings
 			for (final Problem warn : fuji.getWarnings()) {
-				createFujiMarker(warn.line(), warn.message(), warn.fileName(), IMarker.SEVERITY_WARNING, featureProject);
+				problems.add(new FujiResultCache.Problem(warn.line(), warn.message(), warn.fileName(), IMarker.SEVERITY_WARNING));
 			}
 
 			// parsing errors
@@ -771,15 +833,15 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 						// currently bad workaround @ fuji, but seems to work
 						final String file = fileName.substring(0, fileName.lastIndexOf(":"));
 						final int line = Integer.parseInt(fileName.substring(fileName.lastIndexOf(":") + 1));
-						createFujiMarker(line, message, file, IMarker.SEVERITY_ERROR, featureProject);
+						problems.add(new FujiResultCache.Problem(line, message, file, IMarker.SEVERITY_ERROR));
 					}
 				} else {
-					createFujiMarker(err.line(), message, err.fileName(), IMarker.SEVERITY_ERROR, featureProject);
+					problems.add(new FujiResultCache.Problem(err.line(), message, err.fileName(), IMarker.SEVERITY_ERROR));
 				}
 
 			}
 		} catch (final CompositionErrorException e) {
-			createFujiMarker(-1, e.getMessage(), featureProject.getSourceFolder(), IMarker.SEVERITY_ERROR, featureProject);
+			problems.add(new FujiResultCache.Problem(-1, e.getMessage(), null, IMarker.SEVERITY_ERROR));
 		} catch (
 				IllegalArgumentException | org.apache.commons.cli.ParseException | IOException | FeatureDirNotFoundException | SyntacticErrorException
 				| SemanticErrorException | CompilerWarningException | UnsupportedModelException e) {
@@ -0,0 +1,184 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remembers the inputs and the problems of the last Fuji run of a feature project. As long as the feature model, the class path, and the content of all
+ * feature modules stay the same, Fuji finds the same problems, so it does not need to run again.<br> <br> Only data that does not depend on the AST of Fuji
+ * is stored.
+ */
+public class FujiResultCache {
+
+	/**
+	 * Everything a Fuji run depends on.
+	 */
+	public static final class Inputs {
+
+		private final String featureModel;
+		private final String classPath;
+		private final List<Path> featureModules;
+		private final Map<String, String> fileHashes;
+
+		private Inputs(String featureModel, String classPath, List<Path> featureModules, Map<String, String> fileHashes) {
+			this.featureModel = featureModel;
+			this.classPath = classPath;
+			this.featureModules = featureModules;
+			this.fileHashes = fileHashes;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(featureModel, classPath, featureModules, fileHashes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final Inputs other = (Inputs) obj;
+			return featureModel.equals(other.featureModel) && classPath.equals(other.classPath) && featureModules.equals(other.featureModules)
+				&& fileHashes.equals(other.fileHashes);
+		}
+
+	}
+
+	/**
+	 * A warning or error found by Fuji.
+	 */
+	public static final class Problem {
+
+		private final int line;
+		private final String message;
+		private final String file;
+		private final int severity;
+
+		/**
+		 * @param line the line number
+		 * @param message the message
+		 * @param file the path of the file or {@code null} for the source folder of the project
+		 * @param severity the severity of the marker (IMarker.SEVERITY_*)
+		 */
+		public Problem(int line, String message, String file, int severity) {
+			this.line = line;
+			this.message = message;
+			this.file = file;
+			this.severity = severity;
+		}
+
+		public int getLine() {
+			return line;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		public String getFile() {
+			return file;
+		}
+
+		public int getSeverity() {
+			return severity;
+		}
+
+	}
+
+	private Inputs inputs = null;
+	private List<Problem> problems = null;
+
+	/**
+	 * Collects the inputs of a Fuji run. The Java files of the feature modules are identified by their content hashes.
+	 *
+	 * @param featureModel a textual representation of the feature model (e.g., its propositional formula)
+	 * @param classPath the class path that is passed to Fuji
+	 * @param featureModules the directories of all feature modules in composition order
+	 * @return the inputs
+	 * @throws IOException if a file cannot be read
+	 */
+	public static Inputs getInputs(String featureModel, String classPath, List<Path> featureModules) throws IOException {
+		final List<Path> files = new ArrayList<>();
+		for (final Path featureModule : featureModules) {
+			if (Files.isDirectory(featureModule)) {
+				try (Stream<Path> paths = Files.walk(featureModule)) {
+					files.addAll(paths.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path)).collect(Collectors.toList()));
+				}
+			}
+		}
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		final Map<String, String> fileHashes = new TreeMap<>();
+		for (final Path file : files) {
+			fileHashes.put(file.toString(), new BigInteger(1, digest.digest(Files.readAllBytes(file))).toString(16));
+		}
+		return new Inputs(featureModel, classPath, new ArrayList<>(featureModules), fileHashes);
+	}
+
+	/**
+	 * @param inputs the inputs of the next Fuji run
+	 * @return the problems of the last run, if it had the same inputs, {@code null} otherwise
+	 */
+	public synchronized List<Problem> get(Inputs inputs) {
+		return (inputs != null) && inputs.equals(this.inputs) ? problems : null;
+	}
+
+	/**
+	 * Stores the result of a successful Fuji run.
+	 *
+	 * @param inputs the inputs of the run
+	 * @param problems the problems found
+	 */
+	public synchronized void put(Inputs inputs, List<Problem> problems) {
+		this.inputs = inputs;
+		this.problems = Collections.unmodifiableList(new ArrayList<>(problems));
+	}
+
+	/**
+	 * Forgets the last run, e.g., because it failed.
+	 */
+	public synchronized void invalidate() {
+		inputs = null;
+		problems = null;
+	}
+
+}
@@ -96,26 +96,33 @@ public class FujiSignaturesCreator {
 		}
 	}
 
-	private java.util.List<String> featureModulePathnames = null;
+	/** Maps the feature module indices of Fuji to the feature IDs of the {@link ProjectSignatures}. */
+	private int[] featureIDs = null;
 
-	private String getFeatureName(ASTNode<?> astNode) {
-		final int featureID = astNode.featureID();
-
-		final String featurename = featureModulePathnames.get(featureID);
-		return featurename.substring(featurename.lastIndexOf(File.separator) + 1);
+	private int getFeatureID(ASTNode<?> astNode) {
+		return featureIDs[astNode.featureID()];
 	}
 
 	private final HashMap<AbstractSignature, SignatureReference> signatureSet = new HashMap<AbstractSignature, SignatureReference>();
-	private final HashMap<String, AbstractSignature> signatureTable = new HashMap<String, AbstractSignature>();
+	private HashMap<String, AbstractSignature> signatureTable = new HashMap<String, AbstractSignature>();
 
 	private FeatureDataConstructor featureDataConstructor = null;
 
 	public ProjectSignatures createSignatures(IFeatureProject fp, Program ast) {
-		featureModulePathnames = ast.getSPLStructure().getFeatureModulePathnames();
+		final java.util.List<String> featureModulePathnames = ast.getSPLStructure().getFeatureModulePathnames();
+
+		signatureSet.clear();
+		signatureTable = new HashMap<String, AbstractSignature>();
 
 		final ProjectSignatures projectSignatures = new ProjectSignatures(fp.getFeatureModel());
 		featureDataConstructor = new FeatureDataConstructor(projectSignatures, FeatureDataConstructor.TYPE_FOP);
 
+		featureIDs = new int[featureModulePathnames.size()];
+		for (int i = 0; i < featureIDs.length; i++) {
+			final String featureModulePathname = featureModulePathnames.get(i);
+			featureIDs[i] = projectSignatures.getFeatureID(featureModulePathname.substring(featureModulePathname.lastIndexOf(File.separator) + 1));
+		}
+
 		final LinkedList<TypeDecl> stack = new LinkedList<TypeDecl>();
 		final LinkedList<AbstractClassSignature> roleStack = new LinkedList<AbstractClassSignature>();
 
@@ -124,7 +131,6 @@ public class FujiSignaturesCreator {
 			if (unit.featureID() < 0) {
 				continue;
 			}
-			String featurename = getFeatureName(unit);
 
 			final List<TypeDecl> typeDeclList = unit.getTypeDeclList();
 			final String pckg = unit.getPackageDecl();
@@ -155,10 +161,9 @@ public class FujiSignaturesCreator {
 					if (!roleStack.isEmpty()) {
 						parent = roleStack.pop();
 					}
-					featurename = getFeatureName(typeDecl);
 					final FujiClassSignature curClassSig =
 						(FujiClassSignature) addFeatureID(new FujiClassSignature(parent, name, modifierString, typeString, pckg, typeDecl, importList),
-								projectSignatures.getFeatureID(featurename), Symbol.getLine(typeDecl.getStart()), Symbol.getLine(typeDecl.getEnd()));
+								getFeatureID(typeDecl), Symbol.getLine(typeDecl.getStart()), Symbol.getLine(typeDecl.getEnd()));
 					for (final ImportDecl importDecl : importList) {
 						curClassSig.addImport(importDecl.toString());
 					}
@@ -179,9 +184,8 @@ public class FujiSignaturesCreator {
 							final List<ParameterDeclaration> parameterList = method.getParameterList();
 							final List<Access> exceptionList = method.getExceptionList();
 
-							featurename = getFeatureName(bodyDecl);
 							addFeatureID(new FujiMethodSignature(curClassSig, name, modifierString, type, false, parameterList, exceptionList),
-									projectSignatures.getFeatureID(featurename), Symbol.getLine(method.getStart()), Symbol.getLine(method.getEnd()));
+									getFeatureID(bodyDecl), Symbol.getLine(method.getStart()), Symbol.getLine(method.getEnd()));
 
 						} else if (bodyDecl instanceof FieldDeclaration) {
 							final FieldDeclaration field = (FieldDeclaration) bodyDecl;
@@ -195,8 +199,7 @@ public class FujiSignaturesCreator {
 							name = field.name();
 							final TypeDecl type = field.type();
 
-							featurename = getFeatureName(bodyDecl);
-							addFeatureID(new FujiFieldSignature(curClassSig, name, modifierString, type), projectSignatures.getFeatureID(featurename),
+							addFeatureID(new FujiFieldSignature(curClassSig, name, modifierString, type), getFeatureID(bodyDecl),
 									Symbol.getLine(field.getStart()), Symbol.getLine(field.getEnd()));
 
 						} else if (bodyDecl instanceof ConstructorDecl) {
@@ -214,10 +217,8 @@ public class FujiSignaturesCreator {
 								final List<ParameterDeclaration> parameterList = constructor.getParameterList();
 								final List<Access> exceptionList = constructor.getExceptionList();
 
-								featurename = getFeatureName(bodyDecl);
 								addFeatureID(new FujiMethodSignature(curClassSig, name, modifierString, type, true, parameterList, exceptionList),
-										projectSignatures.getFeatureID(featurename), Symbol.getLine(constructor.getStart()),
-										Symbol.getLine(constructor.getEnd()));
+										getFeatureID(bodyDecl), Symbol.getLine(constructor.getStart()), Symbol.getLine(constructor.getEnd()));
 							}
 
 						} else if (bodyDecl instanceof MemberClassDecl) {
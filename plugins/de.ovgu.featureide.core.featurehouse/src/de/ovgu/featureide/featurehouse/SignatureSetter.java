@@ -32,11 +32,18 @@ import de.ovgu.featureide.core.signature.ProjectSignatures;
  */
 public class SignatureSetter {
 
-	private final FujiSignaturesCreator sigCreator = new FujiSignaturesCreator();
+	private final FujiSignaturesCreator sigCreator;
 
 	private FSTModel fstModel = null;
 	private ProjectSignatures signatures = null;
 
+	/**
+	 * @param sigCreator the creator of the signatures, which is also used to attach comments to previously created signatures
+	 */
+	public SignatureSetter(FujiSignaturesCreator sigCreator) {
+		this.sigCreator = sigCreator;
+	}
+
 	public void setFstModel(FSTModel fstModel) {
 		synchronized (this) {
 			this.fstModel = fstModel;
@@ -46,8 +53,18 @@ public class SignatureSetter {
 		}
 	}
 
-	public void setFujiParameters(IFeatureProject fp, Program ast) {
+	public ProjectSignatures setFujiParameters(IFeatureProject fp, Program ast) {
 		final ProjectSignatures sigs = sigCreator.createSignatures(fp, ast);
+		setSignatures(sigs);
+		return sigs;
+	}
+
+	/**
+	 * Sets signatures that were created by the {@link FujiSignaturesCreator} of this setter during an earlier build.
+	 *
+	 * @param sigs the signatures
+	 */
+	public void setSignatures(ProjectSignatures sigs) {
 		synchronized (this) {
 			signatures = sigs;
 			if (fstModel != null) {
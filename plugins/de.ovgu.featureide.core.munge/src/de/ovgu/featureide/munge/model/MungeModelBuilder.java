@@ -89,8 +89,21 @@ public class MungeModelBuilder extends PPModelBuilder {
 	}
 
 	@Override
-	protected boolean containsFeature(String text, String feature) {
-		return text.contains("end[" + feature + "]");
+	protected boolean isFeatureOccurrence(String text, int start, int end) {
+		return isEndTagOccurrence(text, start, end);
+	}
+
+	/**
+	 * Checks a single occurrence of a feature name like {@code text.contains("end[" + feature + "]")} checks the complete text: The feature name must be
+	 * enclosed by "end[" and "]".
+	 *
+	 * @param text text to check
+	 * @param start index of the first character of the feature name
+	 * @param end index after the last character of the feature name
+	 * @return true, when the occurrence is part of an end tag
+	 */
+	public static boolean isEndTagOccurrence(String text, int start, int end) {
+		return (end < text.length()) && (text.charAt(end) == ']') && text.startsWith("end[", start - 4);
 	}
 
 	private int curSignatureIndex = 0;
@@ -100,6 +100,14 @@ public class FSTFeature {
 		roles.put(className, role);
 	}
 
+	/**
+	 * @param className Name of class
+	 * @return the removed role or null if the feature has no role for the class
+	 */
+	public FSTRole removeRole(String className) {
+		return roles.remove(className);
+	}
+
 	@Override
 	public boolean equals(Object feature) {
 		if (feature == this) {
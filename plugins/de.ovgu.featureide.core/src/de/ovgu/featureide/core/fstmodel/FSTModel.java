@@ -92,6 +92,16 @@ public class FSTModel {
 		}
 	}
 
+	/**
+	 * Removes a feature from the model. Its roles are not removed from their classes.
+	 *
+	 * @param name feature name
+	 * @return the removed feature or null if the model does not contain the feature
+	 */
+	public FSTFeature removeFeature(String name) {
+		return features.remove(name);
+	}
+
 	public void addClass(final FSTClass c) {
 		if (!classes.containsKey(c.getName())) {
 			classes.put(c.getName(), c);
@@ -115,6 +125,22 @@ public class FSTModel {
 		return role;
 	}
 
+	/**
+	 * Removes a class and all its roles from the model.
+	 *
+	 * @param className name of the class
+	 * @return the removed class or null if the model does not contain the class
+	 */
+	public FSTClass removeClass(String className) {
+		final FSTClass c = classes.remove(className);
+		if (c != null) {
+			for (final FSTRole role : c.getRoles()) {
+				role.getFeature().removeRole(className);
+			}
+		}
+		return c;
+	}
+
 	public FSTRole getRole(String featureName, String className) {
 		final FSTClass c = classes.get(className);
 		return (c == null) ? null : c.getRole(featureName);
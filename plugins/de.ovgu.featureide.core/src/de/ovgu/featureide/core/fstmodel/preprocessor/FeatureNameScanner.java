@@ -0,0 +1,211 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.fstmodel.preprocessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds the occurrences of many feature names in a text in a single pass (Aho-Corasick automaton). The cost of a scan depends on the length of the text and
+ * the number of occurrences, but not on the number of feature names. An instance can be used by several threads at once.
+ *
+ * @see PPModelBuilder
+ */
+public class FeatureNameScanner {
+
+	/**
+	 * Decides whether an occurrence of a feature name in a text is a reference to the feature (e.g., whether it is part of a preprocessor directive).
+	 */
+	@FunctionalInterface
+	public interface OccurrenceFilter {
+
+		/**
+		 * @param text the scanned text
+		 * @param start the index of the first character of the feature name
+		 * @param end the index after the last character of the feature name
+		 * @return {@code true} if the occurrence refers to the feature
+		 */
+		boolean accept(String text, int start, int end);
+	}
+
+	private static final int ROOT = 0;
+	private static final int NONE = -1;
+
+	private final String[] featureNames;
+
+	/** The sorted characters of the outgoing edges of each node. */
+	private final char[][] edgeLabels;
+	/** The target nodes of the outgoing edges of each node. Same order as {@link #edgeLabels}. */
+	private final int[][] edgeTargets;
+	/** The node for the longest proper suffix of each node's string that is also a prefix of a feature name. */
+	private final int[] failure;
+	/** The index of the feature name that ends at each node or {@link #NONE}. */
+	private final int[] output;
+	/** The next node on the failure path of each node that has an output or {@link #NONE}. */
+	private final int[] outputLink;
+
+	/**
+	 * @param featureNames the feature names to search for. Duplicates and empty names are ignored.
+	 */
+	public FeatureNameScanner(Collection<String> featureNames) {
+		final Set<String> names = new LinkedHashSet<>();
+		for (final String featureName : featureNames) {
+			if ((featureName != null) && !featureName.isEmpty()) {
+				names.add(featureName);
+			}
+		}
+		this.featureNames = names.toArray(new String[names.size()]);
+
+		// build the trie
+		final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		final List<Integer> outputList = new ArrayList<>();
+		trie.add(new TreeMap<Character, Integer>());
+		outputList.add(NONE);
+		for (int i = 0; i < this.featureNames.length; i++) {
+			int node = ROOT;
+			for (final char c : this.featureNames[i].toCharArray()) {
+				Integer next = trie.get(node).get(c);
+				if (next == null) {
+					next = trie.size();
+					trie.get(node).put(c, next);
+					trie.add(new TreeMap<Character, Integer>());
+					outputList.add(NONE);
+				}
+				node = next;
+			}
+			outputList.set(node, i);
+		}
+
+		final int nodeCount = trie.size();
+		edgeLabels = new char[nodeCount][];
+		edgeTargets = new int[nodeCount][];
+		output = new int[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			final TreeMap<Character, Integer> edges = trie.get(node);
+			edgeLabels[node] = new char[edges.size()];
+			edgeTargets[node] = new int[edges.size()];
+			int j = 0;
+			for (final Entry<Character, Integer> edge : edges.entrySet()) {
+				edgeLabels[node][j] = edge.getKey();
+				edgeTargets[node][j] = edge.getValue();
+				j++;
+			}
+			output[node] = outputList.get(node);
+		}
+
+		// compute failure and output links in breadth-first order
+		failure = new int[nodeCount];
+		outputLink = new int[nodeCount];
+		outputLink[ROOT] = NONE;
+		final int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for (final int child : edgeTargets[ROOT]) {
+			failure[child] = ROOT;
+			outputLink[child] = NONE;
+			queue[tail++] = child;
+		}
+		while (head < tail) {
+			final int node = queue[head++];
+			for (int j = 0; j < edgeLabels[node].length; j++) {
+				final char c = edgeLabels[node][j];
+				final int child = edgeTargets[node][j];
+				int fallback = failure[node];
+				int target;
+				while (((target = getTarget(fallback, c)) == NONE) && (fallback != ROOT)) {
+					fallback = failure[fallback];
+				}
+				failure[child] = target == NONE ? ROOT : target;
+				outputLink[child] = output[failure[child]] != NONE ? failure[child] : outputLink[failure[child]];
+				queue[tail++] = child;
+			}
+		}
+	}
+
+	private int getTarget(int node, char c) {
+		final int index = Arrays.binarySearch(edgeLabels[node], c);
+		return index < 0 ? NONE : edgeTargets[node][index];
+	}
+
+	/**
+	 * @return the feature names this scanner searches for
+	 */
+	public List<String> getFeatureNames() {
+		return Arrays.asList(featureNames);
+	}
+
+	/**
+	 * Returns all feature names that occur in the given text.
+	 *
+	 * @param text the text to scan
+	 * @return the contained feature names in the order they were given to the constructor
+	 */
+	public Set<String> getContainedFeatures(String text) {
+		return getContainedFeatures(text, null);
+	}
+
+	/**
+	 * Returns all feature names that have at least one occurrence in the given text that is accepted by the filter. Once a feature name is accepted, its
+	 * further occurrences are not passed to the filter.
+	 *
+	 * @param text the text to scan
+	 * @param filter the filter for the occurrences or {@code null} to accept all occurrences
+	 * @return the contained feature names in the order they were given to the constructor
+	 */
+	public Set<String> getContainedFeatures(String text, OccurrenceFilter filter) {
+		final boolean[] contained = new boolean[featureNames.length];
+		int remaining = featureNames.length;
+		int node = ROOT;
+		for (int i = 0; (i < text.length()) && (remaining > 0); i++) {
+			final char c = text.charAt(i);
+			int target;
+			while (((target = getTarget(node, c)) == NONE) && (node != ROOT)) {
+				node = failure[node];
+			}
+			node = target == NONE ? ROOT : target;
+			for (int match = output[node] != NONE ? node : outputLink[node]; match != NONE; match = outputLink[match]) {
+				final int featureIndex = output[match];
+				if (!contained[featureIndex]) {
+					final int end = i + 1;
+					if ((filter == null) || filter.accept(text, end - featureNames[featureIndex].length(), end)) {
+						contained[featureIndex] = true;
+						remaining--;
+					}
+				}
+			}
+		}
+
+		final Set<String> containedFeatures = new LinkedHashSet<>();
+		for (int i = 0; i < featureNames.length; i++) {
+			if (contained[i]) {
+				containedFeatures.add(featureNames[i]);
+			}
+		}
+		return containedFeatures;
+	}
+
+}
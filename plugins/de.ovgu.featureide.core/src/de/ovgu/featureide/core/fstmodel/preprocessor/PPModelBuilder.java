@@ -20,16 +20,20 @@
  */
 package de.ovgu.featureide.core.fstmodel.preprocessor;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -40,6 +44,7 @@ import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass;
 import de.ovgu.featureide.core.fstmodel.FSTClass;
+import de.ovgu.featureide.core.fstmodel.FSTFeature;
 import de.ovgu.featureide.core.fstmodel.FSTField;
 import de.ovgu.featureide.core.fstmodel.FSTMethod;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
@@ -51,6 +56,7 @@ import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.JobExecutor;
 
 /**
  * Build the FSTModel for preprocessor projects.
@@ -66,6 +72,12 @@ public class PPModelBuilder {
 	protected FSTModel modelOutline;
 	protected Collection<String> featureNames = Collections.emptyList();
 
+	private FeatureNameScanner scanner;
+	/** The modification stamps of the files at the time they were added to the model. */
+	private final Map<IFile, Long> modificationStamps = new HashMap<>();
+	/** The class names of the files that were added to the model. */
+	private final Map<IFile, String> classNames = new HashMap<>();
+
 	public PPModelBuilder(IFeatureProject featureProject) {
 		model = new FSTModelForPP(featureProject);
 		modelOutline = new FSTModel(featureProject);
@@ -74,61 +86,149 @@ public class PPModelBuilder {
 		this.featureProject = featureProject;
 	}
 
+	/**
+	 * Builds the model for all files in the source folder. If the concrete features did not change since the last build, only files that were added, changed,
+	 * or removed since then are processed again. The files are read and scanned for feature names in parallel.
+	 */
 	public void buildModel() {
-		model.reset();
-		modelOutline.reset();
+		final List<String> newFeatureNames = Functional.toList(FeatureUtils.getConcreteFeatureNames(featureProject.getFeatureModel()));
+		if ((scanner == null) || !newFeatureNames.equals(featureNames)) {
+			model.reset();
+			modelOutline.reset();
+			modificationStamps.clear();
+			classNames.clear();
 
-		featureNames = Functional.toList(FeatureUtils.getConcreteFeatureNames(featureProject.getFeatureModel()));
-		for (final String featureName : featureNames) {
-			model.addFeature(featureName);
-			modelOutline.addFeature(featureName);
+			featureNames = newFeatureNames;
+			scanner = new FeatureNameScanner(featureNames);
+			for (final String featureName : featureNames) {
+				model.addFeature(featureName);
+				modelOutline.addFeature(featureName);
+			}
 		}
 		try {
-			buildModel(featureProject.getSourceFolder(), featureProject.getSourcePath());
+			final Map<IFile, String> files = new LinkedHashMap<>();
+			collectFiles(featureProject.getSourceFolder(), featureProject.getSourcePath(), files);
+
+			for (final Iterator<Entry<IFile, Long>> it = modificationStamps.entrySet().iterator(); it.hasNext();) {
+				final IFile file = it.next().getKey();
+				if (!files.containsKey(file)) {
+					removeFile(file, classNames.remove(file));
+					it.remove();
+				}
+			}
+
+			final List<IFile> changedFiles = new ArrayList<>();
+			for (final IFile file : files.keySet()) {
+				final Long modificationStamp = modificationStamps.get(file);
+				if ((modificationStamp == null) || (modificationStamp != file.getModificationStamp())) {
+					changedFiles.add(file);
+				}
+			}
+
+			final FileContent[] contents = new FileContent[changedFiles.size()];
+			if (contents.length > 0) {
+				final AtomicInteger nextFile = new AtomicInteger();
+				JobExecutor.runInParallel(Math.min(JobExecutor.getPoolSize(), contents.length), () -> {
+					for (int i = nextFile.getAndIncrement(); i < contents.length; i = nextFile.getAndIncrement()) {
+						contents[i] = new FileContent(changedFiles.get(i));
+					}
+				});
+			}
+			for (final FileContent content : contents) {
+				final String className = files.get(content.file);
+				removeFile(content.file, className);
+				addFile(content, className);
+				modificationStamps.put(content.file, content.modificationStamp);
+				classNames.put(content.file, className);
+			}
 		} catch (final CoreException e) {
 			CorePlugin.getDefault().logError(e);
+			// rebuild the complete model with the next build
+			scanner = null;
 		}
 		featureProject.setFSTModel(model);
 	}
 
+	/**
+	 * The lines of a file and the features it refers to.
+	 */
+	private final class FileContent {
+
+		private final IFile file;
+		private final long modificationStamp;
+		private final Vector<String> lines;
+		private final Set<String> containedFeatures;
+
+		private FileContent(IFile file) {
+			this.file = file;
+			modificationStamp = file.getModificationStamp();
+			lines = PPComposerExtensionClass.loadStringsFromFile(file);
+			final StringBuilder text = new StringBuilder();
+			for (final String line : lines) {
+				text.append(line);
+				text.append("\r\n");
+			}
+			containedFeatures = scanner.getContainedFeatures(text.toString(), PPModelBuilder.this::isFeatureOccurrence);
+		}
+	}
+
 	protected IFile currentFile = null;
 
 	/**
 	 * @param folder
 	 * @param packageName
+	 * @param files the found files with their class names
 	 * @throws CoreException
 	 */
-	private void buildModel(IFolder folder, String packageName) throws CoreException {
+	private void collectFiles(IFolder folder, String packageName, Map<IFile, String> files) throws CoreException {
 		for (final IResource res : folder.members()) {
 			if (res instanceof IFolder) {
-				buildModel((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName());
+				collectFiles((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName(), files);
 			} else if (res instanceof IFile) {
-				currentFile = (IFile) res;
-				final String text = getText(currentFile);
-				final String className = packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName();
-
-				final Vector<String> lines = PPComposerExtensionClass.loadStringsFromFile(currentFile);
-				boolean classAdded = false;
-				for (final String feature : featureNames) {
-					if (containsFeature(text, feature)) {
-						model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
-						classAdded = true;
+				files.put((IFile) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName());
+			}
+		}
+	}
+
+	private void removeFile(IFile file, String className) {
+		removeFile(model, file, className);
+		removeFile(modelOutline, file, className);
+	}
+
+	private void removeFile(FSTModel fstModel, IFile file, String className) {
+		final List<FSTClass> removedClasses = Arrays.asList(fstModel.removeClass(fstModel.getAbsoluteClassName(file)), fstModel.removeClass(className));
+		for (final FSTClass removedClass : removedClasses) {
+			if (removedClass != null) {
+				for (final FSTRole role : removedClass.getRoles()) {
+					// features that are only known from directives of this file
+					final FSTFeature feature = role.getFeature();
+					if (feature.getRoles().isEmpty() && !featureNames.contains(feature.getName())) {
+						fstModel.removeFeature(feature.getName());
 					}
 				}
-				if (classAdded) {
-					final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(lines);
-					addRoleElementsToDirectives(directives, currentFile, className);
-					addDirectivesToRoleElement(directives, currentFile, className);
-
-					addDirectivesToModel(directives, currentFile, className);
-				} else {
-					// add class without annotations
-					model.addClass(new FSTClass(className));
-				}
 			}
 		}
 	}
 
+	private void addFile(FileContent content, String className) {
+		currentFile = content.file;
+		boolean classAdded = false;
+		for (final String feature : content.containedFeatures) {
+			model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
+			classAdded = true;
+		}
+		if (classAdded) {
+			final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(content.lines);
+			addRoleElementsToDirectives(directives, currentFile, className);
+			addDirectivesToRoleElement(directives, currentFile, className);
+
+			addDirectivesToModel(directives, currentFile, className);
+		} else {
+			// add class without annotations
+			model.addClass(new FSTClass(className));
+		}
+	}
+
 	private void addDirectivesToModel(LinkedList<FSTDirective> list, IFile res, String className) {
 		for (final FSTDirective d : list) {
 			for (final String featureName : d.getFeatureNames()) {
@@ -269,37 +369,15 @@ public class PPModelBuilder {
 	}
 
 	/**
-	 * This method should be implemented by preprocessor plug-ins. Return true if the file contains the feature.
+	 * This method should be implemented by preprocessor plug-ins. Returns whether an occurrence of a feature name in the file text refers to the feature. The
+	 * occurrences are found by a {@link FeatureNameScanner} and by default all of them are accepted. May be called by several threads at once.
 	 *
 	 * @param text The file text.
-	 * @param feature The current feature.
-	 */
-	protected boolean containsFeature(String text, String feature) {
-		return text.contains(feature);
-	}
-
-	/**
-	 * @param iFile
+	 * @param start The index of the first character of the feature name.
+	 * @param end The index after the last character of the feature name.
 	 */
-	private String getText(IFile iFile) {
-		Scanner scanner = null;
-		try {
-			final File file = iFile.getRawLocation().toFile();
-			final StringBuilder fileText = new StringBuilder();
-			scanner = new Scanner(file, "UTF-8");
-			while (scanner.hasNext()) {
-				fileText.append(scanner.nextLine());
-				fileText.append("\r\n");
-			}
-			return fileText.toString();
-		} catch (final FileNotFoundException e) {
-			CorePlugin.getDefault().logError(e);
-		} finally {
-			if (scanner != null) {
-				scanner.close();
-			}
-		}
-		return "";
+	protected boolean isFeatureOccurrence(String text, int start, int end) {
+		return true;
 	}
 
 }
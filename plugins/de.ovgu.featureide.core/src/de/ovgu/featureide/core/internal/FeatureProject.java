@@ -50,6 +50,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.CheckForNull;
 
@@ -105,11 +106,11 @@ import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
 import de.ovgu.featureide.fm.core.base.impl.FeatureModel;
 import de.ovgu.featureide.fm.core.base.impl.MultiFeature;
 import de.ovgu.featureide.fm.core.base.impl.MultiFeatureModel;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
+import de.ovgu.featureide.fm.core.configuration.CompactConfigurationReader;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.ConfigurationAnalyzer;
 import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.io.EclipseFileSystem;
 import de.ovgu.featureide.fm.core.io.FeatureOrderFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
@@ -124,6 +125,7 @@ import de.ovgu.featureide.fm.core.io.manager.IFeatureModelManager;
 import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
 import de.ovgu.featureide.fm.core.io.manager.VirtualFeatureModelManager;
 import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+import de.ovgu.featureide.fm.core.job.JobExecutor;
 import de.ovgu.featureide.fm.core.job.JobStartingStrategy;
 import de.ovgu.featureide.fm.core.job.JobToken;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
@@ -1297,20 +1299,28 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		final boolean[][] selections = new boolean[configurations.size()][concreteFeatures.size()];
 		final FeatureModelFormula featureModel = featureModelManager.getPersistentFormula();
 
-		int row = 0;
-		for (final Path file : configurations) {
-			final boolean[] currentRow = selections[row++];
-			final Configuration configuration = ConfigurationManager.load(file);
-			configuration.updateFeatures(featureModel);
-
-			int column = 0;
-			for (final String feature : concreteFeatures) {
-				final SelectableFeature selectablefeature = configuration.getSelectableFeature(feature);
-				if (selectablefeature != null) {
-					currentRow[column] = selectablefeature.getSelection() == Selection.SELECTED;
+		// reads the configurations without building a configuration tree for each file
+		final CompactConfigurationReader reader = new CompactConfigurationReader(featureModel);
+		final int[] columnVariables = new int[concreteFeatures.size()];
+		int column = 0;
+		for (final String feature : concreteFeatures) {
+			columnVariables[column++] = reader.getVariables().getVariable(feature);
+		}
+
+		if (selections.length > 0) {
+			final AtomicInteger nextRow = new AtomicInteger();
+			JobExecutor.runInParallel(Math.min(JobExecutor.getPoolSize(), selections.length), () -> {
+				for (int row = nextRow.getAndIncrement(); row < selections.length; row = nextRow.getAndIncrement()) {
+					final ProblemList problems = new ProblemList();
+					final CompactConfiguration configuration = reader.read(configurations.get(row), problems);
+					if (configuration != null) {
+						final boolean[] currentRow = selections[row];
+						for (int i = 0; i < columnVariables.length; i++) {
+							currentRow[i] = (columnVariables[i] != 0) && configuration.isSelected(columnVariables[i]);
+						}
+					}
 				}
-				column++;
-			}
+			});
 		}
 		return selections;
 	}
@@ -59,6 +59,14 @@ public class AttributeEntry implements IOutlineEntry {
 		if (max.supportsType(null)) {
 			children.add(max);
 		}
+		final ExactOptimumComputation exactMin = new ExactOptimumComputation(config, attribute, false);
+		final ExactOptimumComputation exactMax = new ExactOptimumComputation(config, attribute, true);
+		if (exactMin.supportsType(null)) {
+			children.add(exactMin);
+		}
+		if (exactMax.supportsType(null)) {
+			children.add(exactMax);
+		}
 
 		return children;
 	}
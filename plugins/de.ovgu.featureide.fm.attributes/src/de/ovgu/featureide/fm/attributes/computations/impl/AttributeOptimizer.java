@@ -0,0 +1,314 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.computations.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.sat4j.specs.IConstr;
+
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.DoubleFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeature;
+import de.ovgu.featureide.fm.attributes.base.impl.LongFeatureAttribute;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.constraint.analysis.DeRestrictionFactory;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBSolver;
+import de.ovgu.featureide.fm.core.constraint.analysis.Translator;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Computes valid configurations with a minimal (or maximal) sum of a numerical attribute. In contrast to the estimated computations, all cross-tree
+ * constraints are considered. The CNF of the feature model is translated into pseudo boolean restrictions and the attribute sum is minimized by solving with
+ * incrementally tightened upper bounds.<br> <br> Every improving solution is passed to the intermediate function of the monitor. Values of
+ * {@link DoubleFeatureAttribute double attributes} are rounded to {@link #getDecimalPlaces()} decimal places for the solver, the reported values are exact.
+ */
+public class AttributeOptimizer implements LongRunningMethod<List<AttributeOptimizer.OptimalConfiguration>> {
+
+	/**
+	 * A configuration found by the optimizer together with its attribute sum.
+	 */
+	public static class OptimalConfiguration {
+
+		private final LiteralSet configuration;
+		private final double value;
+		private final boolean optimal;
+
+		public OptimalConfiguration(LiteralSet configuration, double value, boolean optimal) {
+			this.configuration = configuration;
+			this.value = value;
+			this.optimal = optimal;
+		}
+
+		/**
+		 * @return The complete configuration as literals of the feature model's {@link CNF}.
+		 */
+		public LiteralSet getConfiguration() {
+			return configuration;
+		}
+
+		/**
+		 * @return The attribute sum of the configuration.
+		 */
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 * @return {@code true} if the optimality of this configuration was proven, {@code false} if the time budget ran out before.
+		 */
+		public boolean isOptimal() {
+			return optimal;
+		}
+
+		@Override
+		public String toString() {
+			return value + (optimal ? "" : " (not proven optimal)") + ": " + configuration;
+		}
+	}
+
+	private final FeatureModelFormula formula;
+	private final String attributeName;
+	private final boolean maximize;
+
+	private LiteralSet assumptions = new LiteralSet();
+	private int limit = 1;
+	private long timeout = 0;
+	private int decimalPlaces = 3;
+
+	private int[] objectiveLiterals;
+	private BigInteger[] objectiveCoefficients;
+	private double[] objectiveValues;
+
+	private final List<OptimalConfiguration> results = new ArrayList<>();
+
+	/**
+	 * @param formula The formula of the feature model.
+	 * @param attributeName The name of a {@link LongFeatureAttribute long} or {@link DoubleFeatureAttribute double} attribute.
+	 * @param maximize {@code true} to maximize the attribute sum, {@code false} to minimize it.
+	 */
+	public AttributeOptimizer(FeatureModelFormula formula, String attributeName, boolean maximize) {
+		this.formula = formula;
+		this.attributeName = attributeName;
+		this.maximize = maximize;
+	}
+
+	@Override
+	public List<OptimalConfiguration> execute(IMonitor<List<OptimalConfiguration>> monitor) throws Exception {
+		results.clear();
+		final long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+
+		final CNF cnf = formula.getCNF();
+		final IVariables variables = cnf.getVariables();
+		final SAT4JPBSolver solver = new SAT4JPBSolver();
+		solver.newVariables(variables.size());
+		solver.addRestrictions(Translator.translateCNF(cnf, new DeRestrictionFactory()));
+		initObjective(variables);
+
+		final int[] assumptionLiterals = assumptions.getLiterals();
+		while (results.size() < limit) {
+			monitor.checkCancel();
+			final OptimalConfiguration result = optimize(solver, assumptionLiterals, deadline, monitor);
+			if (result == null) {
+				break;
+			}
+			results.add(result);
+			monitor.invoke(new ArrayList<>(results));
+			if (!result.isOptimal()) {
+				break;
+			}
+			// exclude the found configuration for the next iteration
+			solver.addClause(result.getConfiguration().negate().getLiterals());
+		}
+		return new ArrayList<>(results);
+	}
+
+	private OptimalConfiguration optimize(SAT4JPBSolver solver, int[] assumptionLiterals, long deadline, IMonitor<List<OptimalConfiguration>> monitor) {
+		OptimalConfiguration best = null;
+		IConstr bound = null;
+		try {
+			while (true) {
+				monitor.checkCancel();
+				final long remainingTime = deadline - System.currentTimeMillis();
+				if (remainingTime <= 0) {
+					return best == null ? null : new OptimalConfiguration(best.getConfiguration(), best.getValue(), false);
+				}
+				solver.setTimeout(Math.min(remainingTime, Integer.MAX_VALUE));
+				final SatResult satResult = solver.solve(assumptionLiterals);
+				switch (satResult) {
+				case TRUE:
+					final int[] model = solver.getModel();
+					best = new OptimalConfiguration(new LiteralSet(Arrays.copyOf(model, objectiveValues.length)), computeValue(model), false);
+					final ArrayList<OptimalConfiguration> intermediateResults = new ArrayList<>(results);
+					intermediateResults.add(best);
+					monitor.invoke(intermediateResults);
+
+					solver.removeConstraint(bound);
+					bound = solver.addUpperBound(objectiveLiterals, objectiveCoefficients, computeObjective(model).subtract(BigInteger.ONE));
+					if (bound == null) {
+						return new OptimalConfiguration(best.getConfiguration(), best.getValue(), true);
+					}
+					break;
+				case FALSE:
+					return best == null ? null : new OptimalConfiguration(best.getConfiguration(), best.getValue(), true);
+				case TIMEOUT:
+					return best == null ? null : new OptimalConfiguration(best.getConfiguration(), best.getValue(), false);
+				default:
+					throw new AssertionError(satResult);
+				}
+			}
+		} finally {
+			solver.removeConstraint(bound);
+		}
+	}
+
+	private void initObjective(IVariables variables) {
+		final int size = variables.size();
+		objectiveValues = new double[size];
+		final List<Integer> literals = new ArrayList<>();
+		final List<BigInteger> coefficients = new ArrayList<>();
+		for (int i = 1; i <= size; i++) {
+			final IFeature feature = formula.getFeatureModel().getFeature(variables.getName(i));
+			if (feature instanceof ExtendedFeature) {
+				for (final IFeatureAttribute attribute : ((ExtendedFeature) feature).getAttributes()) {
+					if (attribute.getName().equals(attributeName) && (attribute.getValue() != null)) {
+						BigDecimal value;
+						if (attribute instanceof LongFeatureAttribute) {
+							value = BigDecimal.valueOf((Long) attribute.getValue());
+							objectiveValues[i - 1] = (Long) attribute.getValue();
+						} else if (attribute instanceof DoubleFeatureAttribute) {
+							value = BigDecimal.valueOf((Double) attribute.getValue());
+							objectiveValues[i - 1] = (Double) attribute.getValue();
+						} else {
+							continue;
+						}
+						BigInteger coefficient = value.movePointRight(decimalPlaces).setScale(0, RoundingMode.HALF_UP).toBigInteger();
+						if (maximize) {
+							coefficient = coefficient.negate();
+						}
+						if (coefficient.signum() != 0) {
+							literals.add(i);
+							coefficients.add(coefficient);
+						}
+					}
+				}
+			}
+		}
+		objectiveLiterals = new int[literals.size()];
+		objectiveCoefficients = new BigInteger[coefficients.size()];
+		for (int i = 0; i < objectiveLiterals.length; i++) {
+			objectiveLiterals[i] = literals.get(i);
+			objectiveCoefficients[i] = coefficients.get(i);
+		}
+	}
+
+	private BigInteger computeObjective(int[] model) {
+		BigInteger sum = BigInteger.ZERO;
+		for (int i = 0; i < objectiveLiterals.length; i++) {
+			final int variable = objectiveLiterals[i];
+			if (model[variable - 1] > 0) {
+				sum = sum.add(objectiveCoefficients[i]);
+			}
+		}
+		return sum;
+	}
+
+	private double computeValue(int[] model) {
+		double sum = 0;
+		for (int i = 0; i < objectiveValues.length; i++) {
+			if (model[i] > 0) {
+				sum += objectiveValues[i];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Sets the partial configuration that must be respected by all computed configurations.
+	 *
+	 * @param configuration The (partial) configuration.
+	 */
+	public void setAssumptions(Configuration configuration) {
+		final IVariables variables = formula.getVariables();
+		final List<Integer> literals = new ArrayList<>();
+		for (final IFeature feature : configuration.getSelectedFeatures()) {
+			literals.add(variables.getVariable(feature.getName(), true));
+		}
+		for (final IFeature feature : configuration.getUnSelectedFeatures()) {
+			literals.add(variables.getVariable(feature.getName(), false));
+		}
+		final int[] literalArray = new int[literals.size()];
+		for (int i = 0; i < literalArray.length; i++) {
+			literalArray[i] = literals.get(i);
+		}
+		assumptions = new LiteralSet(literalArray);
+	}
+
+	public LiteralSet getAssumptions() {
+		return assumptions;
+	}
+
+	public void setAssumptions(LiteralSet assumptions) {
+		this.assumptions = assumptions;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @param limit The number of best configurations to compute (top-k).
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout The time budget for the complete optimization in ms. A value of 0 means no budget.
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getDecimalPlaces() {
+		return decimalPlaces;
+	}
+
+	public void setDecimalPlaces(int decimalPlaces) {
+		this.decimalPlaces = decimalPlaces;
+	}
+
+}
@@ -0,0 +1,148 @@
+package de.ovgu.featureide.fm.attributes.computations.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.Image;
+
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.DoubleFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.LongFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer.OptimalConfiguration;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.IRunner;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.ui.views.outline.IAsyncOutlineEntry;
+import de.ovgu.featureide.fm.ui.views.outline.IOutlineEntry;
+
+/**
+ * Computes the exact minimum or maximum of a numerical attribute given a partial configuration using {@link AttributeOptimizer}. Only supposed to be used on
+ * numerical attributes. The optimum is computed in a background job, the label is updated when the job is finished.
+ */
+public class ExactOptimumComputation implements IAsyncOutlineEntry {
+
+	private static final String LABEL_MIN = "Minimal sum of attribute value: ";
+	private static final String LABEL_MAX = "Maximal sum of attribute value: ";
+	private static final String NO_VALID_CONFIGURATION = "no valid configuration";
+	private static final String NOT_PROVEN_OPTIMAL = " (timeout, best found)";
+	private static final String COMPUTING = "computing...";
+	private static final String COMPUTATION_FAILED = "computation failed";
+
+	private static final long TIMEOUT = 1000;
+
+	Configuration config;
+	IFeatureAttribute attribute;
+	private final boolean maximize;
+
+	private IRunner<List<OptimalConfiguration>> job = null;
+	private volatile String computedLabel = null;
+	private volatile Consumer<IOutlineEntry> labelChangedListener = null;
+
+	public ExactOptimumComputation(Configuration config, IFeatureAttribute attribute, boolean maximize) {
+		this.config = config;
+		this.attribute = attribute;
+		this.maximize = maximize;
+	}
+
+	/**
+	 * Computes the optimum of the value sum regarding a partial configuration
+	 *
+	 * @return The best configuration found within the time budget or {@code null} if there is no valid configuration.
+	 */
+	public OptimalConfiguration getOptimum() {
+		return getFirst(LongRunningWrapper.runMethod(createOptimizer()));
+	}
+
+	private AttributeOptimizer createOptimizer() {
+		final FeatureModelFormula formula = config.getFeatureModelFormula();
+		final AttributeOptimizer optimizer = new AttributeOptimizer(formula, attribute.getName(), maximize);
+		optimizer.setAssumptions(config);
+		optimizer.setTimeout(TIMEOUT);
+		return optimizer;
+	}
+
+	private static OptimalConfiguration getFirst(List<OptimalConfiguration> result) {
+		return (result == null) || result.isEmpty() ? null : result.get(0);
+	}
+
+	@Override
+	public boolean supportsType(Object element) {
+		return (attribute instanceof LongFeatureAttribute) || (attribute instanceof DoubleFeatureAttribute);
+	}
+
+	@Override
+	public String getLabel() {
+		final String label = computedLabel;
+		if (label != null) {
+			return label;
+		}
+		startComputation();
+		return (maximize ? LABEL_MAX : LABEL_MIN) + COMPUTING;
+	}
+
+	private synchronized void startComputation() {
+		if (job == null) {
+			final IRunner<List<OptimalConfiguration>> newJob = LongRunningWrapper.getRunner(createOptimizer(), getClass().getSimpleName());
+			newJob.addJobFinishedListener(finishedJob -> {
+				synchronized (this) {
+					if (job != finishedJob) {
+						return;
+					}
+					computedLabel = finishedJob.getStatus() == JobStatus.OK ? createLabel(getFirst(finishedJob.getResults()))
+						: (maximize ? LABEL_MAX : LABEL_MIN) + COMPUTATION_FAILED;
+				}
+				final Consumer<IOutlineEntry> listener = labelChangedListener;
+				if (listener != null) {
+					listener.accept(this);
+				}
+			});
+			job = newJob;
+			newJob.schedule();
+		}
+	}
+
+	private String createLabel(OptimalConfiguration optimum) {
+		final String label = maximize ? LABEL_MAX : LABEL_MIN;
+		if (optimum == null) {
+			return label + NO_VALID_CONFIGURATION;
+		}
+		final String value = attribute instanceof LongFeatureAttribute ? String.valueOf((long) optimum.getValue()) : String.valueOf(optimum.getValue());
+		return label + value + (optimum.isOptimal() ? "" : NOT_PROVEN_OPTIMAL);
+	}
+
+	@Override
+	public void setLabelChangedListener(Consumer<IOutlineEntry> listener) {
+		labelChangedListener = listener;
+	}
+
+	@Override
+	public Image getLabelImage() {
+		return null;
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return false;
+	}
+
+	@Override
+	public List<IOutlineEntry> getChildren() {
+		return null;
+	}
+
+	@Override
+	public synchronized void setConfig(Configuration config) {
+		this.config = config;
+		if (job != null) {
+			job.cancel();
+			job = null;
+		}
+		computedLabel = null;
+	}
+
+	@Override
+	public void handleDoubleClick() {}
+
+}
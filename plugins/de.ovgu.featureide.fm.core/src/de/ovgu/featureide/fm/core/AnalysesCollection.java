@@ -23,6 +23,7 @@ package de.ovgu.featureide.fm.core;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -105,15 +106,15 @@ public class AnalysesCollection {
 	/**
 	 * Remembers explanations for dead features.
 	 */
-	final Map<IFeature, DeadFeatureExplanation> deadFeatureExplanations = new HashMap<>();
+	final Map<IFeature, DeadFeatureExplanation> deadFeatureExplanations = Collections.synchronizedMap(new HashMap<>());
 	/**
 	 * Remembers explanations for false-optional features.
 	 */
-	final Map<IFeature, FalseOptionalFeatureExplanation> falseOptionalFeatureExplanations = new HashMap<>();
+	final Map<IFeature, FalseOptionalFeatureExplanation> falseOptionalFeatureExplanations = Collections.synchronizedMap(new HashMap<>());
 	/**
 	 * Remembers explanations for redundant constraints.
 	 */
-	final Map<IConstraint, RedundantConstraintExplanation> redundantConstraintExplanations = new HashMap<>();
+	final Map<IConstraint, RedundantConstraintExplanation> redundantConstraintExplanations = Collections.synchronizedMap(new HashMap<>());
 
 	/**
 	 * Used for creating explanation creators.
@@ -236,6 +237,26 @@ public class AnalysesCollection {
 			this.enabled = enabled;
 		}
 
+		/**
+		 * @return the result of the last complete run of this analysis (without computing it) or {@code null} if there is none.
+		 */
+		R getCachedResult() {
+			synchronized (this) {
+				return ((analysisResult == null) || analysisResult.isIncomplete()) ? null : analysisResult.getResult();
+			}
+		}
+
+		/**
+		 * Sets a result that was computed elsewhere, for instance incrementally from the results of a previous version of the feature model.
+		 *
+		 * @param result the result of this analysis for the current formula
+		 */
+		void setResult(R result) {
+			synchronized (this) {
+				analysisResult = new AnalysisResult<>(analysis.getName(), new LiteralSet(), result);
+			}
+		}
+
 		public void reset() {
 			synchronized (this) {
 				analysisResult = null;
@@ -380,6 +401,10 @@ public class AnalysesCollection {
 			analysis.setClauseList(literalSetList);
 		}
 
+		public List<IFeature> getOptionalFeatures() {
+			return optionalFeatures;
+		}
+
 		public void setOptionalFeatures(List<IFeature> optionalFeatures) {
 			if (!optionalFeatures.equals(this.optionalFeatures)) {
 				this.optionalFeatures = optionalFeatures;
@@ -0,0 +1,226 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.prop4j.explain.solvers.impl.sat4j.Sat4jSatSolverFactory;
+
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties.ConstraintStatus;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.explanations.ExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.impl.composite.CompositeExplanationCreator;
+import de.ovgu.featureide.fm.core.job.JobExecutor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Computes the explanations for all dead features, false-optional features, and redundant constraints of an analyzed feature model at once and stores them in
+ * the analyzer's {@link AnalysesCollection}, so {@link FeatureModelAnalyzer#getExplanation(de.ovgu.featureide.fm.core.base.IFeatureModelElement)} does not
+ * have to compute them on demand.<br> <br> The anomalies are distributed over several workers, each with its own explanation creators and thus its own
+ * oracles. Anomalies of a feature model are often caused by the same few constraints. Therefore, the clauses of all minimal unsatisfiable subsets found so far
+ * are shared between the workers and tried first for every further dead or false-optional feature (see
+ * {@link MusFeatureModelExplanationCreator#setCandidateClauseIndexes(Set)}).
+ *
+ * @see FeatureModelAnalyzer#computeExplanations(IMonitor)
+ */
+final class BatchExplanationAnalysis {
+
+	private final class Worker {
+
+		private final DeadFeatureExplanationCreator deadFeatureExplanationCreator;
+		private final FalseOptionalFeatureExplanationCreator falseOptionalFeatureExplanationCreator;
+		private final RedundantConstraintExplanationCreator redundantConstraintExplanationCreator;
+
+		private Worker() {
+			deadFeatureExplanationCreator = collection.explanationCreatorFactory.getDeadFeatureExplanationCreator();
+			falseOptionalFeatureExplanationCreator = collection.explanationCreatorFactory.getFalseOptionalFeatureExplanationCreator();
+			redundantConstraintExplanationCreator = collection.explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+			deadFeatureExplanationCreator.setFeatureModel(featureModel);
+			falseOptionalFeatureExplanationCreator.setFeatureModel(featureModel);
+			redundantConstraintExplanationCreator.setFeatureModel(featureModel);
+			setCandidates(deadFeatureExplanationCreator);
+			setCandidates(falseOptionalFeatureExplanationCreator);
+		}
+
+		private void run(IMonitor<?> monitor) {
+			final int falseOptionalOffset = deadFeatures.size();
+			final int redundantOffset = falseOptionalOffset + falseOptionalFeatures.size();
+			for (int i = nextTask.getAndIncrement(); i < taskCount; i = nextTask.getAndIncrement()) {
+				monitor.checkCancel();
+				if (i < falseOptionalOffset) {
+					explainDeadFeature(deadFeatures.get(i));
+				} else if (i < redundantOffset) {
+					explainFalseOptionalFeature(falseOptionalFeatures.get(i - falseOptionalOffset));
+				} else {
+					explainRedundantConstraint(redundantConstraints.get(i - redundantOffset));
+				}
+				monitor.step();
+			}
+		}
+
+		private void explainDeadFeature(IFeature feature) {
+			final DeadFeatureExplanation explanation = explain(deadFeatureExplanationCreator, feature);
+			synchronized (feature) {
+				final FeatureProperties properties = analyzer.getFeatureProperties(feature);
+				if ((explanation != null) && (properties.getDeadExplanation() == null)) {
+					properties.setDeadExplanation(explanation);
+					collection.deadFeatureExplanations.putIfAbsent(feature, explanation);
+				}
+			}
+		}
+
+		private void explainFalseOptionalFeature(IFeature feature) {
+			final FalseOptionalFeatureExplanation explanation = explain(falseOptionalFeatureExplanationCreator, feature);
+			synchronized (feature) {
+				final FeatureProperties properties = analyzer.getFeatureProperties(feature);
+				if ((explanation != null) && (properties.getFalseOptionalExplanation() == null)) {
+					properties.setFalseOptionalExplanation(explanation);
+					collection.falseOptionalFeatureExplanations.putIfAbsent(feature, explanation);
+				}
+			}
+		}
+
+		private void explainRedundantConstraint(IConstraint constraint) {
+			final RedundantConstraintExplanation explanation = explain(redundantConstraintExplanationCreator, constraint);
+			synchronized (constraint) {
+				final ConstraintProperties properties = analyzer.getConstraintProperties(constraint);
+				if ((explanation != null) && (properties.getRedundantExplanation() == null)) {
+					properties.setRedundantExplanation(explanation);
+					collection.redundantConstraintExplanations.putIfAbsent(constraint, explanation);
+				}
+			}
+		}
+
+		private <S, E extends Explanation<S>> E explain(ExplanationCreator<S, E> creator, S subject) {
+			try {
+				creator.setSubject(subject);
+				return creator.getExplanation();
+			} catch (final MethodCancelException e) {
+				throw e;
+			} catch (final RuntimeException e) {
+				// the explanation is computed again on demand
+				Logger.logError(e);
+				return null;
+			}
+		}
+
+		private void setCandidates(ExplanationCreator<?, ?> creator) {
+			if (creator instanceof MusFeatureModelExplanationCreator) {
+				final MusFeatureModelExplanationCreator<?, ?> musCreator = (MusFeatureModelExplanationCreator<?, ?>) creator;
+				// the LTMS only propagates and cannot decide whether the candidates are unsatisfiable
+				if (musCreator.getSatSolverFactory() instanceof Sat4jSatSolverFactory) {
+					musCreator.setCandidateClauseIndexes(candidateClauseIndexes);
+				}
+			} else if (creator instanceof CompositeExplanationCreator) {
+				for (final ExplanationCreator<?, ?> composite : ((CompositeExplanationCreator<?, ?, ?>) creator).getComposites()) {
+					setCandidates(composite);
+				}
+			}
+		}
+	}
+
+	private final FeatureModelAnalyzer analyzer;
+	private final AnalysesCollection collection;
+	private final IFeatureModel featureModel;
+
+	private final List<IFeature> deadFeatures = new ArrayList<>();
+	private final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+	private final List<IConstraint> redundantConstraints = new ArrayList<>();
+
+	private final AtomicInteger nextTask = new AtomicInteger();
+	private int taskCount;
+	private final Set<Integer> candidateClauseIndexes = ConcurrentHashMap.newKeySet();
+
+	private int workerCount = JobExecutor.getPoolSize();
+
+	BatchExplanationAnalysis(FeatureModelAnalyzer analyzer) {
+		this.analyzer = analyzer;
+		collection = analyzer.getAnalysesCollection();
+		featureModel = analyzer.getFormula().getFeatureModel();
+	}
+
+	int getWorkerCount() {
+		return workerCount;
+	}
+
+	void setWorkerCount(int workerCount) {
+		this.workerCount = workerCount;
+	}
+
+	/**
+	 * Computes the explanations for all anomalies that have no explanation yet.
+	 *
+	 * @param monitor the monitor
+	 * @return the number of anomalies that were explained
+	 */
+	int computeExplanations(IMonitor<?> monitor) {
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final FeatureProperties properties = analyzer.getFeatureProperties(feature);
+			if (properties == null) {
+				continue;
+			}
+			if (properties.hasStatus(FeatureStatus.DEAD) && (properties.getDeadExplanation() == null)) {
+				deadFeatures.add(feature);
+			}
+			if (properties.hasStatus(FeatureStatus.FALSE_OPTIONAL) && (properties.getFalseOptionalExplanation() == null)) {
+				falseOptionalFeatures.add(feature);
+			}
+		}
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final ConstraintProperties properties = analyzer.getConstraintProperties(constraint);
+			if ((properties != null) && properties.hasStatus(ConstraintStatus.REDUNDANT) && (properties.getRedundantExplanation() == null)) {
+				redundantConstraints.add(constraint);
+			}
+		}
+
+		taskCount = deadFeatures.size() + falseOptionalFeatures.size() + redundantConstraints.size();
+		monitor.setRemainingWork(taskCount);
+		if (taskCount == 0) {
+			return 0;
+		}
+		final int workers = Math.max(1, Math.min(workerCount, taskCount));
+		if (workers == 1) {
+			new Worker().run(monitor);
+		} else {
+			JobExecutor.runInParallel(workers, () -> new Worker().run(monitor));
+		}
+		return taskCount;
+	}
+
+}
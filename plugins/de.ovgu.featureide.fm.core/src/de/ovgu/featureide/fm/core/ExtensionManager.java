@@ -42,11 +42,36 @@ public abstract class ExtensionManager<T extends de.ovgu.featureide.fm.core.IExt
 
 	private final List<T> extensions = new ArrayList<>();
 
+	private List<IExtensionLoader<T>> pendingLoaders = new ArrayList<>();
+
 	public synchronized final void addExtensions(IExtensionLoader<T> extensionLoader) {
+		loadPendingExtensions();
 		extensionLoader.loadProviders(this);
 	}
 
+	/**
+	 * Registers an extension loader that is not called before the extensions of this manager are accessed for the first time. Thus, extensions that are not
+	 * needed are never instantiated (e.g., when using the library from the command line).<br> The order of registration is retained, i.e., extensions of a
+	 * loader are added before all extensions that are registered afterwards.
+	 *
+	 * @param extensionLoader the loader
+	 */
+	public synchronized final void addLazyExtensions(IExtensionLoader<T> extensionLoader) {
+		pendingLoaders.add(extensionLoader);
+	}
+
+	private void loadPendingExtensions() {
+		if (!pendingLoaders.isEmpty()) {
+			final List<IExtensionLoader<T>> loaders = pendingLoaders;
+			pendingLoaders = new ArrayList<>();
+			for (final IExtensionLoader<T> extensionLoader : loaders) {
+				extensionLoader.loadProviders(this);
+			}
+		}
+	}
+
 	public synchronized boolean addExtension(T extension) {
+		loadPendingExtensions();
 		if (extension != null) {
 			for (final T t : extensions) {
 				if (t.getId().equals(extension.getId())) {
@@ -62,6 +87,7 @@ public abstract class ExtensionManager<T extends de.ovgu.featureide.fm.core.IExt
 	}
 
 	public synchronized List<T> getExtensions() {
+		loadPendingExtensions();
 		return Collections.unmodifiableList(extensions);
 	}
 
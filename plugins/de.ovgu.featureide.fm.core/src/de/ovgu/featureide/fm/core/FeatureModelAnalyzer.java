@@ -43,6 +43,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CauseAnalysis.Anomalies;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.HasSolutionAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IncrementalRedundancyAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -64,6 +65,7 @@ import de.ovgu.featureide.fm.core.filter.OptionalFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
@@ -82,6 +84,9 @@ public class FeatureModelAnalyzer implements IEventListener {
 
 	private final AnalysesCollection analysesCollection;
 
+	private IncrementalRedundancyAnalysis incrementalRedundancyAnalysis;
+	private boolean verifyIncrementalAnalysis = false;
+
 	public void reset() {
 		analysesCollection.reset(formula);
 	}
@@ -336,6 +341,72 @@ public class FeatureModelAnalyzer implements IEventListener {
 		return analysesCollection;
 	}
 
+	/**
+	 * Analyzes the feature model like {@link #analyzeFeatureModel(IMonitor)}, but reuses the results of an analyzer for a previous version of the same feature
+	 * model (e.g., the version before the last edit). Features and constraints whose status cannot have changed are not analyzed again and redundant
+	 * constraints are computed with a solver that is kept between both analyzers (see {@link IncrementalAnalysis}). The results are the same as for a full
+	 * analysis, which can be checked with {@link #setVerifyIncrementalAnalysis(boolean)}.
+	 *
+	 * @param previousAnalyzer the analyzer of the previous version of the feature model after it has completed its analysis; may be {@code null}
+	 * @param monitor monitor
+	 * @return the analysis results
+	 */
+	public AnalysesCollection analyzeFeatureModel(FeatureModelAnalyzer previousAnalyzer, IMonitor<Boolean> monitor) {
+		if (monitor == null) {
+			monitor = new NullMonitor<>();
+		}
+		if ((previousAnalyzer != null) && (previousAnalyzer != this)) {
+			try {
+				new IncrementalAnalysis(previousAnalyzer, this).computeResults(monitor);
+			} catch (final MethodCancelException e) {
+				monitor.done();
+				throw e;
+			} catch (final Exception e) {
+				Logger.logError(e);
+			}
+		}
+		analyzeFeatureModel(monitor);
+
+		if (verifyIncrementalAnalysis && (previousAnalyzer != null)) {
+			final FeatureModelAnalyzer referenceAnalyzer = new FeatureModelAnalyzer(formula);
+			referenceAnalyzer.analysesCollection.inheritSettings(analysesCollection);
+			referenceAnalyzer.analyzeFeatureModel(new NullMonitor<>());
+			if (!IncrementalAnalysis.hasEqualResults(this, referenceAnalyzer)) {
+				Logger.logWarning("Incremental analysis of feature model " + featureModel.getSourceFile() + " differs from full analysis.");
+				reset();
+				analyzeFeatureModel(new NullMonitor<>());
+			}
+		}
+		return analysesCollection;
+	}
+
+	/**
+	 * @return whether the results of {@link #analyzeFeatureModel(FeatureModelAnalyzer, IMonitor)} are compared with a full analysis.
+	 */
+	public boolean isVerifyIncrementalAnalysis() {
+		return verifyIncrementalAnalysis;
+	}
+
+	/**
+	 * Defines whether the results of {@link #analyzeFeatureModel(FeatureModelAnalyzer, IMonitor)} are compared with a full analysis. If they differ, a warning
+	 * is logged and the results of the full analysis are used. Intended for testing only, as it doubles the analysis time.
+	 */
+	public void setVerifyIncrementalAnalysis(boolean verifyIncrementalAnalysis) {
+		this.verifyIncrementalAnalysis = verifyIncrementalAnalysis;
+	}
+
+	FeatureModelFormula getFormula() {
+		return formula;
+	}
+
+	IncrementalRedundancyAnalysis getIncrementalRedundancyAnalysis() {
+		return incrementalRedundancyAnalysis;
+	}
+
+	void setIncrementalRedundancyAnalysis(IncrementalRedundancyAnalysis incrementalRedundancyAnalysis) {
+		this.incrementalRedundancyAnalysis = incrementalRedundancyAnalysis;
+	}
+
 	public void updateConstraints() {
 		updateConstraints(null);
 	}
@@ -587,6 +658,25 @@ public class FeatureModelAnalyzer implements IEventListener {
 		}
 	}
 
+	/**
+	 * Computes the explanations for all dead features, false-optional features, and redundant constraints found by the last
+	 * {@link #analyzeFeatureModel(IMonitor) analysis} in parallel. Afterwards, {@link #getExplanation(IFeatureModelElement)} returns them without further
+	 * computation. Explanations that already exist are not computed again.
+	 *
+	 * @param monitor monitor
+	 * @return the number of computed explanations
+	 */
+	public int computeExplanations(IMonitor<?> monitor) {
+		if (monitor == null) {
+			monitor = new NullMonitor<>();
+		}
+		try {
+			return new BatchExplanationAnalysis(this).computeExplanations(monitor);
+		} finally {
+			monitor.done();
+		}
+	}
+
 	/**
 	 * <p> Returns whether the conjunction of A always implies the disjunction of B in the current feature model. </p>
 	 *
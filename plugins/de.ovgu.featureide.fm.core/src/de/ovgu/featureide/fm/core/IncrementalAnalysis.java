@@ -0,0 +1,272 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.AnalysesCollection.ConstraintAnalysisWrapper;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties.ConstraintStatus;
+import de.ovgu.featureide.fm.core.analysis.FeatureModelProperties.FeatureModelStatus;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IncrementalRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IndependentRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.RemoveRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureTreeCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.filter.OptionalFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Computes the results of the expensive analyses of a {@link FeatureModelAnalyzer} from the results of the analyzer of a previous version of the same feature
+ * model and stores them in the analyzer's {@link AnalysesCollection}.<br> <br> The delta between both versions is the difference of the clause sets of their
+ * CNFs. If clauses were only added (e.g., a new constraint), the formula became stronger, so all previously core, dead, and false-optional features keep their
+ * status and only the remaining features are checked. If clauses were only removed, it is the other way around. If clauses were both added and removed (e.g.,
+ * a feature was moved or a constraint was edited) or the set of variables changed, the feature analyses are computed from scratch.<br> Redundant constraints
+ * are computed with an {@link IncrementalRedundancyAnalysis} that is handed from analyzer to analyzer as long as the feature tree does not change.
+ *
+ * @see FeatureModelAnalyzer#analyzeFeatureModel(FeatureModelAnalyzer, IMonitor)
+ */
+final class IncrementalAnalysis {
+
+	private final FeatureModelAnalyzer previousAnalyzer;
+	private final FeatureModelAnalyzer analyzer;
+	private final AnalysesCollection previousCollection;
+	private final AnalysesCollection collection;
+
+	IncrementalAnalysis(FeatureModelAnalyzer previousAnalyzer, FeatureModelAnalyzer analyzer) {
+		this.previousAnalyzer = previousAnalyzer;
+		this.analyzer = analyzer;
+		previousCollection = previousAnalyzer.getAnalysesCollection();
+		collection = analyzer.getAnalysesCollection();
+	}
+
+	void computeResults(IMonitor<?> monitor) throws Exception {
+		if (!collection.isCalculateFeatures() && !collection.isCalculateConstraints()) {
+			return;
+		}
+		final Boolean valid = collection.validAnalysis.getResult();
+		if ((valid == null) || !valid) {
+			return;
+		}
+		try {
+			computeFeatureResults(monitor);
+			monitor.checkCancel();
+			if (collection.isCalculateConstraints()) {
+				computeRedundancyResult(monitor);
+			}
+		} catch (final RuntimeTimeoutException e) {
+			// remaining results are computed by the regular analyses
+		}
+	}
+
+	private void computeFeatureResults(IMonitor<?> monitor) throws Exception {
+		final Boolean previousValid = previousCollection.validAnalysis.getCachedResult();
+		if ((previousValid == null) || !previousValid) {
+			return;
+		}
+		final CNF previousCNF = previousAnalyzer.getFormula().getCNF();
+		final CNF cnf = analyzer.getFormula().getCNF();
+		if (!previousCNF.getVariables().equals(cnf.getVariables())) {
+			return;
+		}
+		final Set<LiteralSet> previousClauses = new HashSet<>(previousCNF.getClauses());
+		final Set<LiteralSet> clauses = new HashSet<>(cnf.getClauses());
+		final boolean stronger = clauses.containsAll(previousClauses);
+		final boolean weaker = previousClauses.containsAll(clauses);
+		if (!stronger && !weaker) {
+			return;
+		}
+
+		final LiteralSet previousCoreDead = previousCollection.coreDeadAnalysis.getCachedResult();
+		if ((previousCoreDead != null) && collection.coreDeadAnalysis.isEnabled()) {
+			collection.coreDeadAnalysis.setResult(computeCoreDead(cnf, previousCoreDead, stronger, weaker, monitor));
+		}
+		monitor.checkCancel();
+
+		final List<LiteralSet> previousFalseOptional = previousCollection.foAnalysis.getCachedResult();
+		final List<IFeature> previousOptionalFeatures = previousCollection.foAnalysis.getOptionalFeatures();
+		if ((previousFalseOptional != null) && (previousOptionalFeatures != null) && collection.foAnalysis.isEnabled()) {
+			final Map<LiteralSet, Boolean> previousStatus = new HashMap<>();
+			for (int i = 0; i < previousOptionalFeatures.size(); i++) {
+				previousStatus.put(getOptionalClause(previousOptionalFeatures.get(i), cnf.getVariables()), previousFalseOptional.get(i) != null);
+			}
+			final List<IFeature> optionalFeatures =
+				Functional.filterToList(analyzer.getFormula().getFeatureModel().getFeatures(), new OptionalFeatureFilter());
+			collection.foAnalysis.setOptionalFeatures(optionalFeatures);
+			collection.foAnalysis.setResult(computeFalseOptional(cnf, optionalFeatures, previousStatus, stronger, weaker, monitor));
+		}
+	}
+
+	private LiteralSet computeCoreDead(CNF cnf, LiteralSet previousCoreDead, boolean stronger, boolean weaker, IMonitor<?> monitor) throws Exception {
+		if (stronger && weaker) {
+			return previousCoreDead;
+		}
+		final int[] previousLiterals = previousCoreDead.getLiterals();
+		if (weaker) {
+			// only previously core or dead features can still be core or dead
+			final int[] candidates = new int[previousLiterals.length];
+			for (int i = 0; i < candidates.length; i++) {
+				candidates[i] = Math.abs(previousLiterals[i]);
+			}
+			return runCoreDeadAnalysis(cnf, new LiteralSet(candidates), monitor);
+		} else {
+			// all previously core or dead features are still core or dead
+			final boolean[] known = new boolean[cnf.getVariables().size() + 1];
+			for (final int literal : previousLiterals) {
+				known[Math.abs(literal)] = true;
+			}
+			final int[] candidates = new int[known.length - 1];
+			int count = 0;
+			for (int variable = 1; variable < known.length; variable++) {
+				if (!known[variable]) {
+					candidates[count++] = variable;
+				}
+			}
+			final int[] newLiterals = runCoreDeadAnalysis(cnf, new LiteralSet(Arrays.copyOf(candidates, count)), monitor).getLiterals();
+			final int[] literals = Arrays.copyOf(previousLiterals, previousLiterals.length + newLiterals.length);
+			System.arraycopy(newLiterals, 0, literals, previousLiterals.length, newLiterals.length);
+			return new LiteralSet(literals);
+		}
+	}
+
+	private LiteralSet runCoreDeadAnalysis(CNF cnf, LiteralSet candidates, IMonitor<?> monitor) throws Exception {
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(cnf, candidates);
+		final LiteralSet result = analysis.execute(monitor.subTask(0));
+		if ((result == null) || analysis.isTimeoutOccured()) {
+			throw new RuntimeTimeoutException();
+		}
+		return result;
+	}
+
+	private List<LiteralSet> computeFalseOptional(CNF cnf, List<IFeature> optionalFeatures, Map<LiteralSet, Boolean> previousStatus, boolean stronger,
+			boolean weaker, IMonitor<?> monitor) throws Exception {
+		final List<LiteralSet> result = new ArrayList<>(optionalFeatures.size());
+		final List<LiteralSet> uncheckedClauses = new ArrayList<>();
+		final List<Integer> uncheckedIndices = new ArrayList<>();
+		for (final IFeature feature : optionalFeatures) {
+			final LiteralSet clause = getOptionalClause(feature, cnf.getVariables());
+			final Boolean falseOptional = previousStatus.get(clause);
+			if ((falseOptional != null) && (falseOptional ? stronger : weaker)) {
+				result.add(falseOptional ? clause : null);
+			} else {
+				uncheckedIndices.add(result.size());
+				uncheckedClauses.add(clause);
+				result.add(null);
+			}
+		}
+		if (!uncheckedClauses.isEmpty()) {
+			final IndependentRedundancyAnalysis analysis = new IndependentRedundancyAnalysis(cnf, uncheckedClauses);
+			final List<LiteralSet> redundantClauses = analysis.execute(monitor.subTask(0));
+			if ((redundantClauses == null) || analysis.isTimeoutOccured()) {
+				throw new RuntimeTimeoutException();
+			}
+			for (int i = 0; i < uncheckedClauses.size(); i++) {
+				result.set(uncheckedIndices.get(i), redundantClauses.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static LiteralSet getOptionalClause(IFeature feature, IVariables variables) {
+		return new LiteralSet(variables.getVariable(FeatureUtils.getParent(feature).getName(), false), variables.getVariable(feature.getName(), true));
+	}
+
+	private void computeRedundancyResult(IMonitor<?> monitor) {
+		final ConstraintAnalysisWrapper<RemoveRedundancyAnalysis> wrapper = collection.constraintRedundancyAnalysis;
+		if (!wrapper.isEnabled()) {
+			return;
+		}
+		final FeatureModelFormula formula = analyzer.getFormula();
+		wrapper.setConstraints(formula.getFeatureModel().getConstraints());
+		final int groupCount = wrapper.clauseGroupSize.length;
+
+		final CNF treeCNF = formula.getElement(new FeatureTreeCNFCreator());
+		IncrementalRedundancyAnalysis redundancyAnalysis = previousAnalyzer.getIncrementalRedundancyAnalysis();
+		if ((redundancyAnalysis == null) || (redundancyAnalysis.getRemainingCapacity() < groupCount) || !redundancyAnalysis.getBaseCNF().equals(treeCNF)) {
+			redundancyAnalysis = new IncrementalRedundancyAnalysis(treeCNF, (2 * groupCount) + 16);
+		}
+		analyzer.setIncrementalRedundancyAnalysis(redundancyAnalysis);
+
+		final List<LiteralSet> result = redundancyAnalysis.analyze(wrapper.constraintClauses, wrapper.clauseGroupSize, monitor.subTask(0));
+		if (result != null) {
+			wrapper.setResult(result);
+		}
+	}
+
+	/**
+	 * Compares the results of two analyzers of the same feature model.
+	 *
+	 * @return {@code true} if both analyzers assigned the same status to the feature model and all of its features and constraints.
+	 */
+	static boolean hasEqualResults(FeatureModelAnalyzer analyzer1, FeatureModelAnalyzer analyzer2) {
+		for (final FeatureModelStatus status : FeatureModelStatus.values()) {
+			if (analyzer1.getFeatureModelProperties().hasStatus(status) != analyzer2.getFeatureModelProperties().hasStatus(status)) {
+				return false;
+			}
+		}
+		for (final IFeature feature : analyzer1.getFormula().getFeatureModel().getFeatures()) {
+			final FeatureProperties properties1 = analyzer1.getFeatureProperties(feature);
+			final FeatureProperties properties2 = analyzer2.getFeatureProperties(feature);
+			for (final FeatureStatus status : FeatureStatus.values()) {
+				if (properties1.hasStatus(status) != properties2.hasStatus(status)) {
+					return false;
+				}
+			}
+		}
+		for (final IConstraint constraint : analyzer1.getFormula().getFeatureModel().getConstraints()) {
+			final ConstraintProperties properties1 = analyzer1.getConstraintProperties(constraint);
+			final ConstraintProperties properties2 = analyzer2.getConstraintProperties(constraint);
+			for (final ConstraintStatus status : ConstraintStatus.values()) {
+				if (properties1.hasStatus(status) != properties2.hasStatus(status)) {
+					return false;
+				}
+			}
+			if (!equalFeatures(properties1.getDeadFeatures(), properties2.getDeadFeatures())
+				|| !equalFeatures(properties1.getFalseOptionalFeatures(), properties2.getFalseOptionalFeatures())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equalFeatures(Collection<IFeature> features1, Collection<IFeature> features2) {
+		return new HashSet<>(features1).equals(new HashSet<>(features2));
+	}
+
+}
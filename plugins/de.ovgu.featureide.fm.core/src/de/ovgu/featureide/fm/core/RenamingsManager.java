@@ -88,7 +88,10 @@ public class RenamingsManager implements IEventManager, Cloneable {
 		model.addFeature(feature);
 		renamings.add(new Renaming(oldName, newName));
 		for (final IConstraint c : constraints) {
-			renameVariables(c.getNode(), oldName, newName);
+			if (renameVariables(c.getNode(), oldName, newName)) {
+				// Notifies the feature model that the formula was modified in place
+				c.setNode(c.getNode());
+			}
 		}
 
 		// update the feature order list
@@ -119,17 +122,20 @@ public class RenamingsManager implements IEventManager, Cloneable {
 		return new ArrayList<>(renamings);
 	}
 
-	private void renameVariables(Node node, String oldName, String newName) {
+	private boolean renameVariables(Node node, String oldName, String newName) {
 		if (node instanceof Literal) {
 			if (oldName.equals(((Literal) node).var)) {
 				((Literal) node).var = newName;
+				return true;
 			}
-			return;
+			return false;
 		}
 
+		boolean renamed = false;
 		for (final Node child : node.getChildren()) {
-			renameVariables(child, oldName, newName);
+			renamed |= renameVariables(child, oldName, newName);
 		}
+		return renamed;
 	}
 
 	/**
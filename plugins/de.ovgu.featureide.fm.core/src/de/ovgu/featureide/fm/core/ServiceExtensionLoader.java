@@ -0,0 +1,54 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Handles extensions via the Java {@link ServiceLoader}. The available extensions are listed in an index file within the folder {@code META-INF/services}
+ * that is named after the given service class. Thus, no class has to be loaded or instantiated before the extensions are actually needed.
+ */
+public class ServiceExtensionLoader<T extends de.ovgu.featureide.fm.core.IExtension> implements IExtensionLoader<T> {
+
+	protected final Class<? extends T> serviceClass;
+
+	public ServiceExtensionLoader(Class<? extends T> serviceClass) {
+		this.serviceClass = serviceClass;
+	}
+
+	@Override
+	public void loadProviders(ExtensionManager<T> extensionManager) {
+		final Iterator<? extends T> iterator = ServiceLoader.load(serviceClass, serviceClass.getClassLoader()).iterator();
+		while (true) {
+			try {
+				if (!iterator.hasNext()) {
+					break;
+				}
+				extensionManager.addExtension(iterator.next());
+			} catch (final ServiceConfigurationError e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,571 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.prop4j.And;
+import org.prop4j.AtLeast;
+import org.prop4j.AtMost;
+import org.prop4j.Choose;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Converts formulas into clauses by introducing auxiliary variables where this avoids a large number of clauses.<br> <br> Cardinality constraints
+ * ({@link AtMost}, {@link AtLeast}, {@link Choose}) are encoded with a sequential counter (Sinz 2005), which requires O(n*k) clauses instead of the
+ * O(n<sup>k+1</sup>) clauses of the binomial expansion. The binomial expansion is still used if it results in fewer clauses (e.g., for small alternative
+ * groups).<br> <br> Arbitrary formulas can be encoded with the polarity-aware Tseitin transformation (Plaisted and Greenbaum 1986), which introduces an
+ * auxiliary variable for each sub formula and requires a linear number of clauses. As auxiliary variables may impair unit propagation, the transformation is
+ * only used for formulas whose {@link #estimateClauseCount(Node) distributive conversion} would exceed the {@link #setTseitinThreshold(long) threshold} and
+ * would be larger than the result of the transformation.<br> <br> The auxiliary variables get the indices after the given variables. After all clauses are
+ * created, {@link #createVariables()} returns the corresponding {@link AuxiliaryVariables}.
+ */
+public class AuxiliaryEncoder {
+
+	/**
+	 * Default value for the {@link #setTseitinThreshold(long) Tseitin threshold}.
+	 */
+	public static final long DEFAULT_TSEITIN_THRESHOLD = 32;
+
+	private static final int POSITIVE = 1;
+	private static final int NEGATIVE = 2;
+	private static final int BOTH = POSITIVE | NEGATIVE;
+
+	private final IVariables variables;
+	private int auxiliaryCount = 0;
+	private boolean keepLiteralOrder = true;
+	private boolean cardinalityEncoding = true;
+	private long tseitinThreshold = Long.MAX_VALUE;
+
+	private int trueVariable = 0;
+
+	/**
+	 * @param variables the variables of the features
+	 */
+	public AuxiliaryEncoder(IVariables variables) {
+		this.variables = variables;
+	}
+
+	/**
+	 * @return the index of a new auxiliary variable.
+	 */
+	public int newVariable() {
+		return variables.size() + ++auxiliaryCount;
+	}
+
+	public int getAuxiliaryCount() {
+		return auxiliaryCount;
+	}
+
+	public boolean isKeepLiteralOrder() {
+		return keepLiteralOrder;
+	}
+
+	public void setKeepLiteralOrder(boolean keepLiteralOrder) {
+		this.keepLiteralOrder = keepLiteralOrder;
+	}
+
+	public boolean isCardinalityEncoding() {
+		return cardinalityEncoding;
+	}
+
+	/**
+	 * @param cardinalityEncoding whether {@link #encode(Node, Collection)} encodes cardinality constraints with a sequential counter. Default value is
+	 *        {@code true}.
+	 */
+	public void setCardinalityEncoding(boolean cardinalityEncoding) {
+		this.cardinalityEncoding = cardinalityEncoding;
+	}
+
+	public long getTseitinThreshold() {
+		return tseitinThreshold;
+	}
+
+	/**
+	 * Sets the number of clauses that the distributive conversion of a formula may produce before {@link #encode(Node, Collection)} switches to the Tseitin
+	 * transformation.<br> Default value is {@link Long#MAX_VALUE} (i.e., the transformation is not used).
+	 *
+	 * @param tseitinThreshold the maximum number of clauses for the distributive conversion
+	 *
+	 * @see #DEFAULT_TSEITIN_THRESHOLD
+	 */
+	public void setTseitinThreshold(long tseitinThreshold) {
+		this.tseitinThreshold = tseitinThreshold;
+	}
+
+	/**
+	 * @return the variables including all auxiliary variables that were created so far or the original variables, if there are no auxiliary variables.
+	 */
+	public Variables createVariables() {
+		final String[] names = variables.getNames();
+		final Variables newVariables;
+		if (auxiliaryCount > 0) {
+			newVariables = new AuxiliaryVariables(Arrays.asList(names).subList(1, variables.size() + 1), auxiliaryCount);
+		} else {
+			newVariables = new Variables(Arrays.asList(names).subList(1, variables.size() + 1));
+		}
+		return newVariables;
+	}
+
+	/**
+	 * Converts a formula into clauses. Cardinality constraints at the top level of the formula or within a top level conjunction are encoded directly (if
+	 * enabled). All other parts are converted either by {@link Node#toRegularCNF()} or by the {@link #encodeTseitin(Node, Collection) Tseitin transformation},
+	 * depending on their estimated number of clauses.
+	 *
+	 * @param node the formula
+	 * @param clauses the resulting clauses; out variable
+	 */
+	public void encode(Node node, Collection<LiteralSet> clauses) {
+		if (node instanceof And) {
+			for (final Node child : node.getChildren()) {
+				encode(child, clauses);
+			}
+		} else if (!cardinalityEncoding || !encodeCardinality(node, clauses)) {
+			if (tseitinThreshold < Long.MAX_VALUE) {
+				final long clauseCount = estimateClauseCount(node);
+				if ((clauseCount > tseitinThreshold) && (clauseCount > estimateTseitinClauseCount(node))) {
+					encodeTseitin(node, clauses);
+					return;
+				}
+			}
+			Nodes.getClauseFromNode(variables, clauses, node.toRegularCNF(), keepLiteralOrder, true);
+		}
+	}
+
+	/**
+	 * Estimates the number of clauses that result from converting a formula by applying the distributive law (i.e., {@link Node#toRegularCNF()}). The
+	 * estimation is an upper bound, as it does not consider the removal of duplicate or tautological clauses.
+	 *
+	 * @param node the formula
+	 * @return the estimated number of clauses or {@link Long#MAX_VALUE} if the number exceeds the range of long.
+	 */
+	public static long estimateClauseCount(Node node) {
+		return estimateClauseCount(node, true);
+	}
+
+	private static long estimateClauseCount(Node node, boolean positive) {
+		final Node[] children = node.getChildren();
+		if (node instanceof Literal) {
+			return 1;
+		} else if (node instanceof Not) {
+			return estimateClauseCount(children[0], !positive);
+		} else if ((node instanceof And) || (node instanceof Or)) {
+			long count = (node instanceof And) == positive ? 0 : 1;
+			for (final Node child : children) {
+				final long childCount = estimateClauseCount(child, positive);
+				count = (node instanceof And) == positive ? add(count, childCount) : multiply(count, childCount);
+			}
+			return count;
+		} else if (node instanceof Implies) {
+			return positive ? multiply(estimateClauseCount(children[0], false), estimateClauseCount(children[1], true))
+				: add(estimateClauseCount(children[0], true), estimateClauseCount(children[1], false));
+		} else if (node instanceof Equals) {
+			final long a = estimateClauseCount(children[0], true);
+			final long notA = estimateClauseCount(children[0], false);
+			final long b = estimateClauseCount(children[1], true);
+			final long notB = estimateClauseCount(children[1], false);
+			return positive ? add(multiply(notA, b), multiply(a, notB)) : add(multiply(a, b), multiply(notA, notB));
+		} else if ((node instanceof AtMost) || (node instanceof AtLeast) || (node instanceof Choose)) {
+			for (final Node child : children) {
+				if (!(child instanceof Literal)) {
+					return Long.MAX_VALUE;
+				}
+			}
+			final int n = children.length;
+			if (node instanceof AtMost) {
+				final int k = ((AtMost) node).max;
+				return positive ? binomial(n, k + 1) : binomial(n, n - k);
+			} else if (node instanceof AtLeast) {
+				final int k = ((AtLeast) node).min;
+				return positive ? binomial(n, (n - k) + 1) : binomial(n, k);
+			} else {
+				final int k = ((Choose) node).n;
+				return positive ? add(binomial(n, k + 1), binomial(n, (n - k) + 1)) : multiply(binomial(n, k), binomial(n, n - k));
+			}
+		} else {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static long estimateTseitinClauseCount(Node node) {
+		if (node instanceof And) {
+			long count = 0;
+			for (final Node child : node.getChildren()) {
+				count = add(count, estimateTseitinClauseCount(child));
+			}
+			return count;
+		} else if ((node instanceof Or) || (node instanceof Implies)) {
+			long count = 1;
+			for (final Node child : node.getChildren()) {
+				count = add(count, estimateTseitinClauseCount(child, POSITIVE));
+			}
+			return count;
+		} else {
+			return add(1, estimateTseitinClauseCount(node, POSITIVE));
+		}
+	}
+
+	private static long estimateTseitinClauseCount(Node node, int polarity) {
+		final Node[] children = node.getChildren();
+		if (node instanceof Literal) {
+			return 0;
+		} else if (node instanceof Not) {
+			return estimateTseitinClauseCount(children[0], invert(polarity));
+		} else if ((node instanceof And) || (node instanceof Or) || (node instanceof Implies)) {
+			if (children.length == 1) {
+				return estimateTseitinClauseCount(children[0], polarity);
+			}
+			final int n = children.length;
+			long count = 0;
+			if ((polarity & POSITIVE) != 0) {
+				count += (node instanceof And) ? n : 1;
+			}
+			if ((polarity & NEGATIVE) != 0) {
+				count += (node instanceof And) ? 1 : n;
+			}
+			for (int i = 0; i < n; i++) {
+				final int childPolarity = ((node instanceof Implies) && (i == 0)) ? invert(polarity) : polarity;
+				count = add(count, estimateTseitinClauseCount(children[i], childPolarity));
+			}
+			return count;
+		} else if (node instanceof Equals) {
+			final long count = Integer.bitCount(polarity) * 2;
+			return add(count, add(estimateTseitinClauseCount(children[0], BOTH), estimateTseitinClauseCount(children[1], BOTH)));
+		} else {
+			long count = 0;
+			if ((polarity & POSITIVE) != 0) {
+				count = add(count, estimateClauseCount(node, true));
+			}
+			if ((polarity & NEGATIVE) != 0) {
+				count = add(count, estimateClauseCount(node, false));
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Converts a formula into clauses using the polarity-aware Tseitin transformation (Plaisted and Greenbaum 1986). Each non-trivial sub formula is replaced
+	 * by a new auxiliary variable. Depending on the polarity of the sub formula, the auxiliary variable either implies the sub formula, is implied by it, or
+	 * both. Thus, the resulting clauses are equisatisfiable to the formula and every solution of the clauses is a solution of the formula.
+	 *
+	 * @param node the formula
+	 * @param clauses the resulting clauses; out variable
+	 */
+	public void encodeTseitin(Node node, Collection<LiteralSet> clauses) {
+		final Node[] children = node.getChildren();
+		if (node instanceof And) {
+			for (final Node child : children) {
+				encodeTseitin(child, clauses);
+			}
+		} else if (node instanceof Or) {
+			final int[] clause = new int[children.length];
+			for (int i = 0; i < children.length; i++) {
+				clause[i] = tseitin(children[i], POSITIVE, clauses);
+			}
+			addClause(clauses, clause);
+		} else if (node instanceof Implies) {
+			addClause(clauses, -tseitin(children[0], NEGATIVE, clauses), tseitin(children[1], POSITIVE, clauses));
+		} else {
+			addClause(clauses, tseitin(node, POSITIVE, clauses));
+		}
+	}
+
+	private int tseitin(Node node, int polarity, Collection<LiteralSet> clauses) {
+		final Node[] children = node.getChildren();
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			final int variable;
+			if (NodeCreator.varTrue.equals(literal.var)) {
+				variable = getTrueVariable(clauses);
+			} else if (NodeCreator.varFalse.equals(literal.var)) {
+				variable = -getTrueVariable(clauses);
+			} else {
+				variable = variables.getVariable(String.valueOf(literal.var));
+			}
+			return literal.positive ? variable : -variable;
+		} else if (node instanceof Not) {
+			return -tseitin(children[0], invert(polarity), clauses);
+		} else if ((node instanceof And) || (node instanceof Or)) {
+			if (children.length == 0) {
+				return (node instanceof And) ? getTrueVariable(clauses) : -getTrueVariable(clauses);
+			} else if (children.length == 1) {
+				return tseitin(children[0], polarity, clauses);
+			}
+			final int[] literals = new int[children.length];
+			for (int i = 0; i < children.length; i++) {
+				literals[i] = tseitin(children[i], polarity, clauses);
+			}
+			return (node instanceof And) ? defineAnd(literals, polarity, clauses) : -defineAnd(negate(literals), invert(polarity), clauses);
+		} else if (node instanceof Implies) {
+			final int[] literals = new int[] { -tseitin(children[0], invert(polarity), clauses), tseitin(children[1], polarity, clauses) };
+			return -defineAnd(negate(literals), invert(polarity), clauses);
+		} else if (node instanceof Equals) {
+			final int a = tseitin(children[0], BOTH, clauses);
+			final int b = tseitin(children[1], BOTH, clauses);
+			final int x = newVariable();
+			if ((polarity & POSITIVE) != 0) {
+				addClause(clauses, -x, -a, b);
+				addClause(clauses, -x, a, -b);
+			}
+			if ((polarity & NEGATIVE) != 0) {
+				addClause(clauses, x, a, b);
+				addClause(clauses, x, -a, -b);
+			}
+			return x;
+		} else {
+			return tseitin(node.toRegularCNF(), polarity, clauses);
+		}
+	}
+
+	/**
+	 * Defines a new auxiliary variable x with x -> (l1 & ... & ln) for positive polarity and (l1 & ... & ln) -> x for negative polarity.
+	 */
+	private int defineAnd(int[] literals, int polarity, Collection<LiteralSet> clauses) {
+		final int x = newVariable();
+		if ((polarity & POSITIVE) != 0) {
+			for (final int literal : literals) {
+				addClause(clauses, -x, literal);
+			}
+		}
+		if ((polarity & NEGATIVE) != 0) {
+			final int[] clause = new int[literals.length + 1];
+			for (int i = 0; i < literals.length; i++) {
+				clause[i] = -literals[i];
+			}
+			clause[literals.length] = x;
+			addClause(clauses, clause);
+		}
+		return x;
+	}
+
+	private int getTrueVariable(Collection<LiteralSet> clauses) {
+		if (trueVariable == 0) {
+			trueVariable = newVariable();
+			addClause(clauses, trueVariable);
+		}
+		return trueVariable;
+	}
+
+	private void addClause(Collection<LiteralSet> clauses, int... literals) {
+		clauses.add(new LiteralSet(literals, keepLiteralOrder ? Order.UNORDERED : Order.NATURAL));
+	}
+
+	private static int[] negate(int[] literals) {
+		for (int i = 0; i < literals.length; i++) {
+			literals[i] = -literals[i];
+		}
+		return literals;
+	}
+
+	private static int invert(int polarity) {
+		return ((polarity & POSITIVE) << 1) | ((polarity & NEGATIVE) >> 1);
+	}
+
+	private static long add(long a, long b) {
+		final long result = a + b;
+		return result < 0 ? Long.MAX_VALUE : result;
+	}
+
+	private static long multiply(long a, long b) {
+		try {
+			return Math.multiplyExact(a, b);
+		} catch (final ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Encodes a cardinality constraint, if all its children are literals of known variables.
+	 *
+	 * @param node the formula
+	 * @param clauses the resulting clauses; out variable
+	 * @return {@code true} if the node was encoded, {@code false} if the node is not a cardinality constraint over literals.
+	 */
+	public boolean encodeCardinality(Node node, Collection<LiteralSet> clauses) {
+		if (!((node instanceof AtMost) || (node instanceof AtLeast) || (node instanceof Choose))) {
+			return false;
+		}
+		final Node[] children = node.getChildren();
+		final int[] literals = new int[children.length];
+		for (int i = 0; i < children.length; i++) {
+			if (!(children[i] instanceof Literal)) {
+				return false;
+			}
+			final Literal literal = (Literal) children[i];
+			final int variable = variables.getVariable(String.valueOf(literal.var));
+			if (variable == 0) {
+				return false;
+			}
+			literals[i] = literal.positive ? variable : -variable;
+		}
+		if (node instanceof AtMost) {
+			atMost(literals, ((AtMost) node).max, clauses);
+		} else if (node instanceof AtLeast) {
+			atLeast(literals, ((AtLeast) node).min, clauses);
+		} else {
+			exactly(literals, ((Choose) node).n, clauses);
+		}
+		return true;
+	}
+
+	/**
+	 * Creates clauses that are satisfied iff at most {@code k} of the given literals are true.
+	 *
+	 * @param literals the literals
+	 * @param k the maximum number of true literals
+	 * @param clauses the resulting clauses; out variable
+	 */
+	public void atMost(int[] literals, int k, Collection<LiteralSet> clauses) {
+		final int n = literals.length;
+		if (k >= n) {
+			return;
+		}
+		if (k <= 0) {
+			for (final int literal : literals) {
+				clauses.add(new LiteralSet(-literal));
+			}
+		} else if (binomial(n, k + 1) <= sequentialCounterSize(n, k)) {
+			binomialAtMost(literals, k, clauses);
+		} else {
+			sequentialCounterAtMost(literals, k, clauses);
+		}
+	}
+
+	/**
+	 * Creates clauses that are satisfied iff at least {@code k} of the given literals are true.
+	 *
+	 * @param literals the literals
+	 * @param k the minimum number of true literals
+	 * @param clauses the resulting clauses; out variable
+	 */
+	public void atLeast(int[] literals, int k, Collection<LiteralSet> clauses) {
+		final int n = literals.length;
+		if (k <= 0) {
+			return;
+		}
+		if (k > n) {
+			clauses.add(new LiteralSet());
+		} else if (k == 1) {
+			clauses.add(new LiteralSet(Arrays.copyOf(literals, n)));
+		} else {
+			final int[] negatedLiterals = new int[n];
+			for (int i = 0; i < n; i++) {
+				negatedLiterals[i] = -literals[i];
+			}
+			atMost(negatedLiterals, n - k, clauses);
+		}
+	}
+
+	/**
+	 * Creates clauses that are satisfied iff exactly {@code k} of the given literals are true.
+	 *
+	 * @param literals the literals
+	 * @param k the number of true literals
+	 * @param clauses the resulting clauses; out variable
+	 */
+	public void exactly(int[] literals, int k, Collection<LiteralSet> clauses) {
+		atLeast(literals, k, clauses);
+		atMost(literals, k, clauses);
+	}
+
+	private void binomialAtMost(int[] literals, int k, Collection<LiteralSet> clauses) {
+		// every subset of k + 1 literals must contain a false literal
+		final int size = k + 1;
+		final int[] indices = new int[size];
+		for (int i = 0; i < size; i++) {
+			indices[i] = i;
+		}
+		while (true) {
+			final int[] clause = new int[size];
+			for (int i = 0; i < size; i++) {
+				clause[i] = -literals[indices[i]];
+			}
+			clauses.add(new LiteralSet(clause));
+
+			int i = size - 1;
+			while ((i >= 0) && (indices[i] == ((literals.length - size) + i))) {
+				i--;
+			}
+			if (i < 0) {
+				return;
+			}
+			indices[i]++;
+			for (int j = i + 1; j < size; j++) {
+				indices[j] = indices[j - 1] + 1;
+			}
+		}
+	}
+
+	private void sequentialCounterAtMost(int[] x, int k, Collection<LiteralSet> clauses) {
+		final int n = x.length;
+		// s(i, j) is true if at least j of the first i literals are true (i = 1..n-1, j = 1..k)
+		final int base = variables.size() + auxiliaryCount;
+		auxiliaryCount += (n - 1) * k;
+
+		clauses.add(new LiteralSet(-x[0], s(base, k, 1, 1)));
+		for (int j = 2; j <= k; j++) {
+			clauses.add(new LiteralSet(-s(base, k, 1, j)));
+		}
+		for (int i = 2; i < n; i++) {
+			final int xi = x[i - 1];
+			clauses.add(new LiteralSet(-xi, s(base, k, i, 1)));
+			clauses.add(new LiteralSet(-s(base, k, i - 1, 1), s(base, k, i, 1)));
+			for (int j = 2; j <= k; j++) {
+				clauses.add(new LiteralSet(-xi, -s(base, k, i - 1, j - 1), s(base, k, i, j)));
+				clauses.add(new LiteralSet(-s(base, k, i - 1, j), s(base, k, i, j)));
+			}
+			clauses.add(new LiteralSet(-xi, -s(base, k, i - 1, k)));
+		}
+		clauses.add(new LiteralSet(-x[n - 1], -s(base, k, n - 1, k)));
+	}
+
+	private static int s(int base, int k, int i, int j) {
+		return base + ((i - 1) * k) + j;
+	}
+
+	private static long sequentialCounterSize(int n, int k) {
+		return k + ((n - 2L) * ((2L * k) + 1)) + 1;
+	}
+
+	private static long binomial(int n, int k) {
+		if (k > (n - k)) {
+			k = n - k;
+		}
+		long result = 1;
+		for (int i = 0; i < k; i++) {
+			result = (result * (n - i)) / (i + 1);
+			if (result > Integer.MAX_VALUE) {
+				return Long.MAX_VALUE;
+			}
+		}
+		return result;
+	}
+
+}
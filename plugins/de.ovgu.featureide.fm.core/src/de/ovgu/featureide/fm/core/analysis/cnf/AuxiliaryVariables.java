@@ -0,0 +1,127 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Variables of a {@link CNF} that contains auxiliary variables in addition to the variables of the features.<br> <br> Auxiliary variables are introduced by
+ * encodings that avoid an exponential number of clauses (see {@link AuxiliaryEncoder}). They always have the highest indices
+ * ({@code getFeatureVariableCount() + 1} to {@link #size()}), thus, the indices of all other variables are the same as without auxiliary variables. The solver
+ * uses all variables, but auxiliary variables are omitted when literals are converted to names and are removed from the results of analyses (see
+ * {@link de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis#removeAuxiliaryVariables(Object, AuxiliaryVariables)
+ * AbstractAnalysis.removeAuxiliaryVariables}).
+ */
+public class AuxiliaryVariables extends Variables {
+
+	private static final long serialVersionUID = 4087211093614531617L;
+
+	/**
+	 * Prefix of the names of auxiliary variables.
+	 */
+	public static final String AUXILIARY_PREFIX = "__Auxiliary_";
+
+	protected final int featureVariableCount;
+
+	/**
+	 * @param varNameList the names of the feature variables
+	 * @param auxiliaryCount the number of auxiliary variables
+	 */
+	public AuxiliaryVariables(Collection<String> varNameList, int auxiliaryCount) {
+		super(createNames(varNameList, auxiliaryCount));
+		featureVariableCount = varNameList.size();
+	}
+
+	protected AuxiliaryVariables(AuxiliaryVariables oldSatMapping) {
+		super(oldSatMapping);
+		featureVariableCount = oldSatMapping.featureVariableCount;
+	}
+
+	private static List<String> createNames(Collection<String> varNameList, int auxiliaryCount) {
+		final List<String> names = new ArrayList<>(varNameList.size() + auxiliaryCount);
+		names.addAll(varNameList);
+		for (int i = 1; i <= auxiliaryCount; i++) {
+			names.add(AUXILIARY_PREFIX + i);
+		}
+		return names;
+	}
+
+	/**
+	 * @return the number of variables that are no auxiliary variables.
+	 */
+	public int getFeatureVariableCount() {
+		return featureVariableCount;
+	}
+
+	public int getAuxiliaryVariableCount() {
+		return size() - featureVariableCount;
+	}
+
+	/**
+	 * @param literal a literal or variable
+	 * @return {@code true} if the variable of the given literal is an auxiliary variable.
+	 */
+	public boolean isAuxiliary(int literal) {
+		return Math.abs(literal) > featureVariableCount;
+	}
+
+	/**
+	 * @param literals a set of literals
+	 * @return a new literal set without the literals of auxiliary variables.
+	 */
+	public LiteralSet removeAuxiliaryLiterals(LiteralSet literals) {
+		final int[] orgLiterals = literals.getLiterals();
+		final int[] newLiterals = new int[orgLiterals.length];
+		int count = 0;
+		for (final int literal : orgLiterals) {
+			if (!isAuxiliary(literal)) {
+				newLiterals[count++] = literal;
+			}
+		}
+		return count == orgLiterals.length ? literals : new LiteralSet(Arrays.copyOf(newLiterals, count));
+	}
+
+	@Override
+	public List<String> convertToString(int[] literals, boolean includePositive, boolean includeNegative, boolean markNegative) {
+		final int[] featureLiterals = new int[literals.length];
+		int count = 0;
+		for (final int literal : literals) {
+			if (!isAuxiliary(literal)) {
+				featureLiterals[count++] = literal;
+			}
+		}
+		return super.convertToString(Arrays.copyOf(featureLiterals, count), includePositive, includeNegative, markNegative);
+	}
+
+	@Override
+	public AuxiliaryVariables clone() {
+		return new AuxiliaryVariables(this);
+	}
+
+	@Override
+	public String toString() {
+		return "AuxiliaryVariables [" + Arrays.toString(Arrays.copyOf(intToVar, featureVariableCount + 1)) + ", auxiliary=" + getAuxiliaryVariableCount() + "]";
+	}
+
+}
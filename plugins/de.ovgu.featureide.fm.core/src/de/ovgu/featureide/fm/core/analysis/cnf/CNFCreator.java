@@ -54,6 +54,11 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 	private boolean optionalRoot = false;
 	private boolean useOldNames = false;
 	private boolean keepLiteralOrder = true;
+	private boolean useCardinalityEncoding = false;
+	private boolean useTseitinEncoding = false;
+	private long tseitinThreshold = AuxiliaryEncoder.DEFAULT_TSEITIN_THRESHOLD;
+
+	private AuxiliaryEncoder encoder;
 
 	public static CNF createNodes(IFeatureModel featureModel2) {
 		return new CNFCreator(featureModel2).createNodes();
@@ -74,6 +79,10 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 
 		final CNF cnf = new FeatureModelCNF(featureModel, useOldNames);
 		final IVariables vars = cnf.getVariables();
+		encoder = new AuxiliaryEncoder(vars);
+		encoder.setKeepLiteralOrder(keepLiteralOrder);
+		encoder.setCardinalityEncoding(useCardinalityEncoding);
+		encoder.setTseitinThreshold(useTseitinEncoding ? tseitinThreshold : Long.MAX_VALUE);
 
 		monitor.setTaskName("Creating Formula");
 		monitor.setRemainingWork(2);
@@ -103,6 +112,10 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 
 		cnf.addClauses(andChildren1);
 		cnf.addClauses(andChildren2);
+		if (encoder.getAuxiliaryCount() > 0) {
+			cnf.setVariables(encoder.createVariables());
+		}
+		encoder = null;
 
 		monitor.step();
 
@@ -134,6 +147,18 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 		return keepLiteralOrder;
 	}
 
+	public boolean isUseCardinalityEncoding() {
+		return useCardinalityEncoding;
+	}
+
+	public boolean isUseTseitinEncoding() {
+		return useTseitinEncoding;
+	}
+
+	public long getTseitinThreshold() {
+		return tseitinThreshold;
+	}
+
 	public void setFeatureModel(IFeatureModel featureModel) {
 		this.featureModel = featureModel;
 	}
@@ -154,12 +179,51 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 		this.keepLiteralOrder = keepLiteralOrder;
 	}
 
+	/**
+	 * Sets whether alternative groups and cardinality constraints ({@link org.prop4j.AtMost AtMost}, {@link org.prop4j.AtLeast AtLeast},
+	 * {@link org.prop4j.Choose Choose}) are encoded with auxiliary variables (see {@link AuxiliaryEncoder}). In this case, the resulting CNF may contain
+	 * {@link AuxiliaryVariables auxiliary variables}, which are not determined by the feature variables. Thus, the CNF is equisatisfiable, but not equivalent,
+	 * to the feature model and should not be used for counting or enumerating configurations.<br> Default value is {@code false}.
+	 *
+	 * @param useCardinalityEncoding whether to use auxiliary variables for cardinality constraints
+	 */
+	public void setUseCardinalityEncoding(boolean useCardinalityEncoding) {
+		this.useCardinalityEncoding = useCardinalityEncoding;
+	}
+
+	/**
+	 * Sets whether cross-tree constraints, whose conversion by the distributive law would result in more clauses than the
+	 * {@link #setTseitinThreshold(long) threshold}, are converted by the Tseitin transformation instead (see
+	 * {@link AuxiliaryEncoder#encodeTseitin(Node, java.util.Collection)}). The decision is made separately for each constraint. As for the
+	 * {@link #setUseCardinalityEncoding(boolean) cardinality encoding}, the resulting CNF may contain {@link AuxiliaryVariables auxiliary variables} and is only
+	 * equisatisfiable to the feature model.<br> Default value is {@code false}.
+	 *
+	 * @param useTseitinEncoding whether to use auxiliary variables for large constraints
+	 */
+	public void setUseTseitinEncoding(boolean useTseitinEncoding) {
+		this.useTseitinEncoding = useTseitinEncoding;
+	}
+
+	/**
+	 * @param tseitinThreshold the estimated number of clauses of a constraint above which the Tseitin transformation is used. Default value is
+	 *        {@link AuxiliaryEncoder#DEFAULT_TSEITIN_THRESHOLD}.
+	 *
+	 * @see #setUseTseitinEncoding(boolean)
+	 */
+	public void setTseitinThreshold(long tseitinThreshold) {
+		this.tseitinThreshold = tseitinThreshold;
+	}
+
 	private List<LiteralSet> createConstraintNodes(IVariables s) {
 		final List<LiteralSet> clauses = new ArrayList<>(featureModel.getConstraints().size());
 		for (final IConstraint constraint : featureModel.getConstraints()) {
 			final Node node = constraint.getNode();
 			if (node != null) {
-				Nodes.getClauseFromNode(s, clauses, node.toRegularCNF(), keepLiteralOrder, true);
+				if (useCardinalityEncoding || useTseitinEncoding) {
+					encoder.encode(node, clauses);
+				} else {
+					Nodes.getClauseFromNode(s, clauses, node.toRegularCNF(), keepLiteralOrder, true);
+				}
 			}
 		}
 		return clauses;
@@ -202,11 +266,20 @@ public class CNFCreator implements LongRunningMethod<CNF> {
 						alternativeLiterals[i] = -s.getVariable(feature.getName());
 						clauses.add(new LiteralSet(alternativeLiterals));
 
-						for (final ListIterator<IFeatureStructure> it1 = feature.getStructure().getChildren().listIterator(); it1.hasNext();) {
-							final IFeatureStructure fs = it1.next();
-							for (final ListIterator<IFeatureStructure> it2 = feature.getStructure().getChildren().listIterator(it1.nextIndex()); it2
-									.hasNext();) {
-								clauses.add(new LiteralSet(-s.getVariable(fs.getFeature().getName()), -s.getVariable(it2.next().getFeature().getName())));
+						if (useCardinalityEncoding) {
+							final int[] childLiterals = new int[i];
+							int j = 0;
+							for (final IFeatureStructure child : feature.getStructure().getChildren()) {
+								childLiterals[j++] = s.getVariable(child.getFeature().getName());
+							}
+							encoder.atMost(childLiterals, 1, clauses);
+						} else {
+							for (final ListIterator<IFeatureStructure> it1 = feature.getStructure().getChildren().listIterator(); it1.hasNext();) {
+								final IFeatureStructure fs = it1.next();
+								for (final ListIterator<IFeatureStructure> it2 = feature.getStructure().getChildren().listIterator(it1.nextIndex()); it2
+										.hasNext();) {
+									clauses.add(new LiteralSet(-s.getVariable(fs.getFeature().getName()), -s.getVariable(it2.next().getFeature().getName())));
+								}
 							}
 						}
 					}
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.prop4j.And;
+import org.prop4j.CompiledNode;
 import org.prop4j.ErrorLiteral;
 import org.prop4j.Literal;
 import org.prop4j.Node;
@@ -196,6 +197,34 @@ public final class Nodes {
 		return new And(nodeClauses);
 	}
 
+	/**
+	 * Compiles the given CNF for fast evaluation. Variable <i>i</i> of the CNF has the index <i>i - 1</i> in an assignment of the returned
+	 * {@link CompiledNode}.
+	 *
+	 * @param satInstance the CNF to compile
+	 * @return the compiled CNF
+	 */
+	public static CompiledNode compile(CNF satInstance) {
+		final List<LiteralSet> clauses = satInstance.getClauses();
+		final Or[] nodeClauses = new Or[clauses.size()];
+		int index = 0;
+		for (final LiteralSet clause : clauses) {
+			final int[] literals = clause.getLiterals();
+			final Literal[] nodeLiterals = new Literal[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				final int literal = literals[i];
+				nodeLiterals[i] = new Literal(Math.abs(literal), literal > 0);
+			}
+			nodeClauses[index++] = new Or(nodeLiterals);
+		}
+		final int variableCount = satInstance.getVariables().size();
+		final List<Integer> variables = new ArrayList<>(variableCount);
+		for (int i = 1; i <= variableCount; i++) {
+			variables.add(i);
+		}
+		return CompiledNode.compile(new And(nodeClauses), variables);
+	}
+
 	public static Or convert(IVariables variables, LiteralSet clause) {
 		final int[] literals = clause.getLiterals();
 		final Literal[] nodeLiterals = new Literal[literals.length];
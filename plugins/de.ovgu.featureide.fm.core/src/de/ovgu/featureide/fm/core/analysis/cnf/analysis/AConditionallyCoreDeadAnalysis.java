@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
@@ -73,6 +74,11 @@ public abstract class AConditionallyCoreDeadAnalysis extends AbstractAnalysis<Li
 		return null;
 	}
 
+	@Override
+	protected LiteralSet removeAuxiliaryVariables(LiteralSet result, AuxiliaryVariables variables) {
+		return variables.removeAuxiliaryLiterals(result);
+	}
+
 	public void setFixedFeatures(int[] fixedVariables, int newCount) {
 		this.fixedVariables = fixedVariables;
 		this.newCount = newCount;
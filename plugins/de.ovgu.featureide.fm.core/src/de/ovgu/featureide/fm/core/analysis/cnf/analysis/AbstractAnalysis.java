@@ -22,12 +22,16 @@ package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
 
 import java.util.Random;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverBudget;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
@@ -48,6 +52,7 @@ public abstract class AbstractAnalysis<T> implements IAnalysis<T> {
 	private boolean timeoutOccured = false;
 	private boolean throwTimeoutException = true;
 	private int timeout = 1000;
+	private SolverBudget budget = null;
 
 	private T result = null;
 
@@ -73,6 +78,11 @@ public abstract class AbstractAnalysis<T> implements IAnalysis<T> {
 			return null;
 		}
 		solver.setTimeout(timeout);
+		final SolverBudget oldBudget = solver.getBudget();
+		if (budget != null) {
+			budget.start(monitor);
+			solver.setBudget(budget);
+		}
 		if (assumptions != null) {
 			solver.assignmentPushAll(assumptions.getLiterals());
 		}
@@ -80,20 +90,63 @@ public abstract class AbstractAnalysis<T> implements IAnalysis<T> {
 		timeoutOccured = false;
 
 		monitor.checkCancel();
+		final String previousAnalysis = SolverStatistics.enterAnalysis(getClass().getName());
 		try {
 			result = analyze(monitor);
+			final AuxiliaryVariables auxiliaryVariables = getAuxiliaryVariables();
+			if ((result != null) && (auxiliaryVariables != null)) {
+				result = removeAuxiliaryVariables(result, auxiliaryVariables);
+			}
+			if (budget != null) {
+				budget.checkCancel();
+			}
 			return result;
 		} catch (final Throwable e) {
 			throw e;
 		} finally {
+			SolverStatistics.exitAnalysis(previousAnalysis);
 			solver.assignmentClear(0);
+			if (budget != null) {
+				solver.setBudget(oldBudget);
+			}
 		}
 	}
 
 	protected abstract T analyze(IMonitor<T> monitor) throws Exception;
 
+	/**
+	 * Removes the auxiliary variables from the result of {@link #analyze(IMonitor)}, such that they are not visible outside the solver. Analyses whose result
+	 * contains variables of the solver must override this method.
+	 *
+	 * @param result the result of the analysis (not {@code null})
+	 * @param variables the variables of the solver
+	 * @return the result without auxiliary variables. The default implementation returns the given result.
+	 *
+	 * @see AuxiliaryVariables
+	 */
+	protected T removeAuxiliaryVariables(T result, AuxiliaryVariables variables) {
+		return result;
+	}
+
+	/**
+	 * @return the variables of the solver, if they contain {@link AuxiliaryVariables auxiliary variables}, {@code null} otherwise.
+	 */
+	protected final AuxiliaryVariables getAuxiliaryVariables() {
+		final CNF satInstance = solver.getSatInstance();
+		if (satInstance != null) {
+			final IVariables variables = satInstance.getVariables();
+			if (variables instanceof AuxiliaryVariables) {
+				return (AuxiliaryVariables) variables;
+			}
+		}
+		return null;
+	}
+
 	protected final void reportTimeout() throws RuntimeTimeoutException {
 		timeoutOccured = true;
+		if (budget != null) {
+			budget.checkCancel();
+		}
 		if (throwTimeoutException) {
 			throw new RuntimeTimeoutException();
 		}
@@ -121,9 +174,16 @@ public abstract class AbstractAnalysis<T> implements IAnalysis<T> {
 		return timeoutOccured;
 	}
 
+	/**
+	 * @return {@code true} if at least one solver call of the last execution was aborted and, thus, the result may be partial.
+	 */
+	public final boolean isIncomplete() {
+		return timeoutOccured || ((budget != null) && budget.isIncomplete());
+	}
+
 	@Override
 	public final AnalysisResult<T> getResult() {
-		return new AnalysisResult<>(this.getClass().getName(), assumptions, result);
+		return new AnalysisResult<>(this.getClass().getName(), assumptions, result, isIncomplete());
 	}
 
 	public Random getRandom() {
@@ -142,4 +202,21 @@ public abstract class AbstractAnalysis<T> implements IAnalysis<T> {
 		this.timeout = timeout;
 	}
 
+	public SolverBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets a budget for all solver calls of this analysis. In contrast to {@link #setTimeout(int)}, the budget limits the whole analysis instead of a single
+	 * solver call. If the budget is exhausted, the analysis finishes with a partial result (if timeout exceptions are not thrown).
+	 *
+	 * @param budget The budget or {@code null} for no budget.
+	 *
+	 * @see #setThrowTimeoutException(boolean)
+	 * @see #isIncomplete()
+	 */
+	public void setBudget(SolverBudget budget) {
+		this.budget = budget;
+	}
+
 }
@@ -37,11 +37,17 @@ public class AnalysisResult<T> {
 	private final LiteralSet assumptions;
 	private final int hashCode;
 	private final T result;
+	private final boolean incomplete;
 
 	public AnalysisResult(String id, LiteralSet assumptions, T result) {
+		this(id, assumptions, result, false);
+	}
+
+	public AnalysisResult(String id, LiteralSet assumptions, T result, boolean incomplete) {
 		this.id = id;
 		this.assumptions = assumptions;
 		this.result = result;
+		this.incomplete = incomplete;
 		this.hashCode = (31 * id.hashCode()) + Arrays.hashCode(assumptions.getLiterals());
 	}
 
@@ -57,6 +63,13 @@ public class AnalysisResult<T> {
 		return result;
 	}
 
+	/**
+	 * @return {@code true} if the analysis was aborted (e.g., by a timeout) and the result may be partial.
+	 */
+	public boolean isIncomplete() {
+		return incomplete;
+	}
+
 	@Override
 	public int hashCode() {
 		return hashCode;
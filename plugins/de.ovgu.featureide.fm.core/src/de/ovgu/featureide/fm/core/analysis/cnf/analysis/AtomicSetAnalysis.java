@@ -24,10 +24,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
 import de.ovgu.featureide.fm.core.base.util.RingList;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
@@ -109,9 +111,11 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 								final int mxI = solution[i];
 								final int myI = solution[j];
 								if ((mx0 == mxI) != (my0 == myI)) {
+									SolverStatistics.cacheHit();
 									continue inner;
 								}
 							}
+							SolverStatistics.cacheMiss();
 
 							solver.assignmentPush(-my0);
 
@@ -185,6 +189,21 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 		return result;
 	}
 
+	/**
+	 * Removes auxiliary variables from all atomic sets. Atomic sets that consist only of auxiliary variables are omitted.
+	 */
+	@Override
+	protected List<LiteralSet> removeAuxiliaryVariables(List<LiteralSet> result, AuxiliaryVariables variables) {
+		final List<LiteralSet> featureResult = new ArrayList<>(result.size());
+		for (final LiteralSet atomicSet : result) {
+			final LiteralSet featureAtomicSet = variables.removeAuxiliaryLiterals(atomicSet);
+			if (!featureAtomicSet.isEmpty()) {
+				featureResult.add(featureAtomicSet);
+			}
+		}
+		return featureResult;
+	}
+
 	// private void updateSolver(int c) {
 	// if ((c % 2 == 0)) {
 	// solver.setSelectionStrategy(SelectionStrategy.RANDOM);
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.IteratorInt;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
@@ -64,6 +65,11 @@ public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 		return analyze1(monitor);
 	}
 
+	@Override
+	protected LiteralSet removeAuxiliaryVariables(LiteralSet result, AuxiliaryVariables variables) {
+		return variables.removeAuxiliaryLiterals(result);
+	}
+
 	@Override
 	protected ISatSolver initSolver(CNF satInstance) {
 		try {
@@ -0,0 +1,209 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds redundant clause groups with the same semantics as {@link RemoveRedundancyAnalysis}, but keeps its solver between calls. Each clause group is added
+ * only once, guarded by an activation variable, and is switched on and off via assumptions instead of being removed from the solver. Thus, repeated analyses
+ * of the same base {@link CNF} with slightly changed clause groups (e.g., after a constraint was added or removed) reuse all previously added and learned
+ * clauses.<br> <br> The number of activation variables is fixed when the solver is created. If it is exhausted, {@link #analyze(List, int[], IMonitor)}
+ * returns {@code null} and a new instance has to be created.
+ *
+ * @see RemoveRedundancyAnalysis
+ */
+public class IncrementalRedundancyAnalysis {
+
+	/**
+	 * Prefix of the names of activation variables.
+	 */
+	public static final String ACTIVATION_PREFIX = "__Activation_";
+
+	private final CNF baseCNF;
+	private final SimpleSatSolver solver;
+	private final int firstActivationVariable;
+	private final int lastActivationVariable;
+	private final boolean contradiction;
+
+	/**
+	 * Maps the clauses of a group to the activation variables that guard a copy of this group (a model may contain equal constraints).
+	 */
+	private final Map<List<LiteralSet>, List<Integer>> activationVariables = new HashMap<>();
+	private int nextActivationVariable;
+
+	/**
+	 * @param baseCNF the formula that is assumed to hold for every analysis
+	 * @param activationCapacity the maximum number of different clause groups
+	 */
+	public IncrementalRedundancyAnalysis(CNF baseCNF, int activationCapacity) {
+		this.baseCNF = baseCNF;
+		final String[] baseNames = baseCNF.getVariables().getNames();
+		final List<String> names = new ArrayList<>(baseNames.length + activationCapacity);
+		names.addAll(Arrays.asList(baseNames).subList(1, baseNames.length));
+		firstActivationVariable = names.size() + 1;
+		for (int i = 1; i <= activationCapacity; i++) {
+			names.add(ACTIVATION_PREFIX + i);
+		}
+		lastActivationVariable = names.size();
+		nextActivationVariable = firstActivationVariable;
+		solver = new SimpleSatSolver(new CNF(new Variables(names), baseCNF.getClauses()));
+		solver.setTimeout(1000);
+		contradiction = solver.hasSolution() != SatResult.TRUE;
+	}
+
+	/**
+	 * @return the formula that is assumed to hold for every analysis.
+	 */
+	public CNF getBaseCNF() {
+		return baseCNF;
+	}
+
+	/**
+	 * @return the number of clause groups that can still be added to the solver.
+	 */
+	public synchronized int getRemainingCapacity() {
+		return (lastActivationVariable - nextActivationVariable) + 1;
+	}
+
+	/**
+	 * Analyzes the given clause groups in the same way as {@link RemoveRedundancyAnalysis}.
+	 *
+	 * @param clauseList the clauses of all groups
+	 * @param clauseGroupSize the number of clauses of each group
+	 * @param monitor the monitor
+	 * @return a list that contains the first clause of each redundant group at the group's index, or {@code null} if the analysis could not be completed (i.e.,
+	 *         the base formula is not satisfiable, a timeout occurred, or there are not enough activation variables left).
+	 */
+	public synchronized List<LiteralSet> analyze(List<LiteralSet> clauseList, int[] clauseGroupSize, IMonitor<?> monitor) {
+		if (contradiction) {
+			return null;
+		}
+		final int[] groupActivation = activateGroups(clauseList, clauseGroupSize);
+		if (groupActivation == null) {
+			return null;
+		}
+		monitor.setRemainingWork(clauseGroupSize.length + 1);
+
+		final List<LiteralSet> resultList = new ArrayList<>(clauseList.size());
+		for (int i = 0; i < clauseList.size(); i++) {
+			resultList.add(null);
+		}
+
+		final int[] assumptions = Arrays.copyOf(groupActivation, groupActivation.length);
+		monitor.step();
+
+		int endIndex = 0;
+		for (int i = 0; i < clauseGroupSize.length; i++) {
+			monitor.checkCancel();
+			final int startIndex = endIndex;
+			endIndex += clauseGroupSize[i];
+
+			// all previous groups that are not redundant and all following groups are active
+			assumptions[i] = -groupActivation[i];
+			boolean completelyRedundant = true;
+			for (int j = startIndex; j < endIndex; j++) {
+				final int[] clause = clauseList.get(j).getLiterals();
+				final int[] query = Arrays.copyOf(assumptions, assumptions.length + clause.length);
+				for (int k = 0; k < clause.length; k++) {
+					query[assumptions.length + k] = -clause[k];
+				}
+				final SatResult hasSolution = solver.hasSolution(query);
+				switch (hasSolution) {
+				case FALSE:
+					break;
+				case TIMEOUT:
+					return null;
+				case TRUE:
+					completelyRedundant = false;
+					break;
+				default:
+					throw new AssertionError(hasSolution);
+				}
+				if (!completelyRedundant) {
+					break;
+				}
+			}
+
+			if (completelyRedundant) {
+				resultList.set(i, clauseList.get(startIndex));
+			} else {
+				assumptions[i] = groupActivation[i];
+			}
+			monitor.step();
+		}
+
+		return resultList;
+	}
+
+	private int[] activateGroups(List<LiteralSet> clauseList, int[] clauseGroupSize) {
+		try {
+			final int[] groupActivation = new int[clauseGroupSize.length];
+			final Map<List<LiteralSet>, Integer> usedCopies = new HashMap<>();
+			int endIndex = 0;
+			for (int i = 0; i < clauseGroupSize.length; i++) {
+				final int startIndex = endIndex;
+				endIndex += clauseGroupSize[i];
+				final List<LiteralSet> group = clauseList.subList(startIndex, endIndex);
+
+				final Integer copyCount = usedCopies.get(group);
+				final int copyIndex = copyCount == null ? 0 : copyCount;
+				usedCopies.put(group, copyIndex + 1);
+
+				List<Integer> copies = activationVariables.get(group);
+				if (copies == null) {
+					copies = new ArrayList<>(1);
+					activationVariables.put(new ArrayList<>(group), copies);
+				}
+				if (copyIndex == copies.size()) {
+					if (nextActivationVariable > lastActivationVariable) {
+						return null;
+					}
+					final int activationVariable = nextActivationVariable++;
+					for (final LiteralSet clause : group) {
+						final int[] literals = clause.getLiterals();
+						final int[] guardedClause = Arrays.copyOf(literals, literals.length + 1);
+						guardedClause[literals.length] = -activationVariable;
+						solver.addClause(new LiteralSet(guardedClause));
+					}
+					copies.add(activationVariable);
+				}
+				groupActivation[i] = copies.get(copyIndex);
+			}
+			return groupActivation;
+		} catch (final RuntimeContradictionException e) {
+			return null;
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 
 import org.sat4j.core.VecInt;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.CNFSlicer;
@@ -57,6 +58,11 @@ public class IndeterminedAnalysis extends AVariableAnalysis<LiteralSet> {
 		return new EmptySatSolver(satInstance);
 	}
 
+	@Override
+	protected LiteralSet removeAuxiliaryVariables(LiteralSet result, AuxiliaryVariables variables) {
+		return variables.removeAuxiliaryLiterals(result);
+	}
+
 	@Override
 	public LiteralSet analyze(IMonitor<LiteralSet> monitor) throws Exception {
 		monitor.setRemainingWork(2 * variables.getLiterals().length);
@@ -49,6 +49,20 @@ public abstract class ACreator<T> {
 		}
 	}
 
+	/**
+	 * @return the element if it was already created and is currently not being created, {@code null} otherwise.
+	 */
+	T peek() {
+		if (lock.tryLock()) {
+			try {
+				return formulaElement;
+			} finally {
+				lock.unlock();
+			}
+		}
+		return null;
+	}
+
 	void init(FeatureModelFormula formula) {
 		this.formula = formula;
 		this.lock = new ReentrantLock();
@@ -0,0 +1,43 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNFCreator;
+
+/**
+ * Creates a {@link CNF} that encodes alternative groups and cardinality constraints with {@link AuxiliaryVariables auxiliary variables}. The CNF is
+ * equisatisfiable to the one of the {@link CNFCreator}, but not equivalent. Thus, it should only be used for analyses that do not count or enumerate
+ * solutions.
+ *
+ * @see CNFCreator#setUseCardinalityEncoding(boolean)
+ */
+public class CardinalityCNFCreator extends ACreator<CNF> {
+
+	@Override
+	protected CNF create() {
+		final CNFCreator cnfCreator = new CNFCreator(formula.getFeatureModel());
+		cnfCreator.setUseCardinalityEncoding(true);
+		return cnfCreator.createNodes();
+	}
+
+}
@@ -61,10 +61,45 @@ public class FeatureModelFormula {
 		return (T) mappedFormulaElement.get();
 	}
 
+	/**
+	 * Returns an element of the previous formula (see {@link #FeatureModelFormula(IFeatureModel, FeatureModelFormula)}) without computing it. Creators can use
+	 * this element to update their result instead of computing it from scratch.
+	 *
+	 * @return the element of the previous formula or {@code null} if there is no previous formula or the element was not computed for it.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getPreviousElement(ACreator<T> formulaElement) {
+		final FeatureModelFormula previous = previousFormula;
+		if (previous == null) {
+			return null;
+		}
+		final ACreator<?> mappedFormulaElement;
+		synchronized (previous.map) {
+			mappedFormulaElement = previous.map.get(formulaElement);
+		}
+		return mappedFormulaElement == null ? null : (T) mappedFormulaElement.peek();
+	}
+
 	private final IFeatureModel featureModel;
 
+	private volatile FeatureModelFormula previousFormula;
+
 	public FeatureModelFormula(IFeatureModel featureModel) {
+		this(featureModel, null);
+	}
+
+	/**
+	 * @param featureModel the feature model
+	 * @param previousFormula the formula of the previous version of the feature model, whose elements may be reused (see
+	 *        {@link #getPreviousElement(ACreator)}).
+	 */
+	public FeatureModelFormula(IFeatureModel featureModel, FeatureModelFormula previousFormula) {
 		this.featureModel = featureModel;
+		if (previousFormula != null) {
+			// Only keep one previous version
+			previousFormula.previousFormula = null;
+		}
+		this.previousFormula = previousFormula;
 	}
 
 	public IFeatureModel getFeatureModel() {
@@ -110,6 +145,7 @@ public class FeatureModelFormula {
 		synchronized (map) {
 			map.clear();
 		}
+		previousFormula = null;
 	}
 
 }
@@ -20,12 +20,14 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
+import de.ovgu.featureide.fm.core.analysis.mig.MIGUpdater;
 import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 
 /**
- * Creates a {@link ModalImplicationGraph}.
+ * Creates a {@link ModalImplicationGraph}. If the graph of the previous formula is available, it is updated by the {@link MIGUpdater} instead.
  *
  * @author Sebastian Krieter
  */
@@ -35,7 +37,18 @@ public class ModalImplicationGraphCreator extends ACreator<ModalImplicationGraph
 
 	@Override
 	protected ModalImplicationGraph create() {
-		return LongRunningWrapper.runMethod(new MIGBuilder(formula.getElement(new CNFCreator()), complete));
+		final CNF cnf = formula.getElement(new CNFCreator());
+		if (!complete) {
+			final ModalImplicationGraph previousMig = formula.getPreviousElement(this);
+			final CNF previousCnf = formula.getPreviousElement(new CNFCreator());
+			if ((previousMig != null) && (previousCnf != null)) {
+				final ModalImplicationGraph mig = LongRunningWrapper.runMethod(new MIGUpdater(previousMig, previousCnf, cnf));
+				if (mig != null) {
+					return mig;
+				}
+			}
+		}
+		return LongRunningWrapper.runMethod(new MIGBuilder(cnf, complete));
 	}
 
 	public boolean isComplete() {
@@ -46,4 +59,14 @@ public class ModalImplicationGraphCreator extends ACreator<ModalImplicationGraph
 		this.complete = complete;
 	}
 
+	@Override
+	public int hashCode() {
+		return (31 * super.hashCode()) + (complete ? 1 : 0);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && (complete == ((ModalImplicationGraphCreator) obj).complete);
+	}
+
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis;
@@ -75,7 +76,16 @@ public abstract class AConfigurationGenerator extends AbstractAnalysis<List<Lite
 
 	protected abstract void generate(IMonitor<List<LiteralSet>> monitor) throws Exception;
 
+	/**
+	 * Adds a solution to the result. Literals of {@link AuxiliaryVariables auxiliary variables} are removed from the solution.
+	 *
+	 * @param result the solution
+	 */
 	protected void addResult(LiteralSet result) {
+		final AuxiliaryVariables auxiliaryVariables = getAuxiliaryVariables();
+		if (auxiliaryVariables != null) {
+			result = auxiliaryVariables.removeAuxiliaryLiterals(result);
+		}
 		resultList.add(result);
 		try {
 			resultQueue.put(result);
@@ -28,6 +28,7 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.sat4j.specs.TimeoutException;
 
@@ -43,17 +44,37 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
-import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.job.JobExecutor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
-import de.ovgu.featureide.fm.core.job.monitor.MonitorThread;
 
 /**
- * Removes features from a model while retaining dependencies of all other feature.
+ * Removes features from a model while retaining dependencies of all other feature.<br> <br> Features are eliminated by resolution in the order given by an
+ * {@link AFeatureOrderHeuristic}. All clauses are indexed by occurrence lists, such that the clauses containing a feature are found without scanning the
+ * whole formula. New clauses that are subsumed by an existing clause are discarded and existing clauses that are subsumed by a new clause are removed. Literal
+ * signatures of the clauses filter most subset tests. Remaining redundant clauses are detected by a satisfiability solver, optionally in parallel.
  *
  * @author Sebastian Krieter
  */
 public class CNFSlicer extends AbstractManipulator {
 
+	/**
+	 * Creates the heuristic that determines the order in which the features are removed.
+	 */
+	@FunctionalInterface
+	public static interface HeuristicFactory {
+
+		AFeatureOrderHeuristic create(DeprecatedFeature[] map, int length);
+
+	}
+
+	public static final int DEFAULT_RESOLVENT_LIMIT = 1_000;
+	public static final int DEFAULT_SUBSUMPTION_LIMIT = 1_000;
+
+	/**
+	 * The minimal number of clauses for which redundancy checks are run in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 32;
+
 	protected static final Comparator<LiteralSet> lengthComparator = new ClauseLengthComparatorDsc();
 
 	protected final CNF cnfCopy;
@@ -62,26 +83,30 @@ public class CNFSlicer extends AbstractManipulator {
 	protected final List<DeprecatedClause> newCleanClauseList = new ArrayList<>();
 	protected final List<DeprecatedClause> dirtyClauseList = new ArrayList<>();
 	protected final ArrayList<LiteralSet> cleanClauseList = new ArrayList<>();
-	protected final Set<DeprecatedClause> dirtyClauseSet = new HashSet<>();
-	protected final Set<DeprecatedClause> cleanClauseSet = new HashSet<>();
+	protected final Set<DeprecatedClause> clauseSet = new HashSet<>();
 
 	protected final LiteralSet dirtyVariables;
-//	private int numberOfCleanFeatures = 0;
 	private int numberOfDirtyFeatures = 0;
 
+	/**
+	 * Contains all clauses for each literal. Deleted clauses are removed lazily.
+	 */
+	private List<List<DeprecatedClause>> occurrences;
+
 	protected int[] helper;
 	protected DeprecatedFeature[] map;
 	protected AFeatureOrderHeuristic heuristic;
 	private ISimpleSatSolver newSolver;
 
+	private HeuristicFactory heuristicFactory = MinimumClauseHeuristic::new;
+	private int resolventLimit = DEFAULT_RESOLVENT_LIMIT;
+	private int subsumptionLimit = DEFAULT_SUBSUMPTION_LIMIT;
+	private boolean parallel = false;
+
 	private boolean first = false;
 
 	protected int globalMixedClauseCount = 0;
 
-	protected int dirtyListPosIndex = 0;
-	protected int dirtyListNegIndex = 0;
-	protected int newDirtyListDelIndex = 0;
-
 	public CNFSlicer(CNF orgCNF, Collection<String> dirtyVariableNames) {
 		super(orgCNF);
 		dirtyVariables = orgCNF.getVariables().convertToVariables(dirtyVariableNames);
@@ -94,27 +119,6 @@ public class CNFSlicer extends AbstractManipulator {
 		cnfCopy = new CNF(orgCNF, false);
 	}
 
-	int cr = 0, cnr = 0, dr = 0, dnr = 0;
-
-	ModalImplicationGraph dirtyGraph;
-
-	MonitorThread monitorThread = new MonitorThread(new Runnable() {
-
-		@Override
-		public void run() {
-			final StringBuilder sb = new StringBuilder();
-
-			sb.append(heuristic.size()).append(": ");
-			sb.append((newCleanClauseList.size() + newDirtyClauseList.size())).append(" || ");
-			sb.append(cr).append(" | ");
-			sb.append(cnr).append(" || ");
-			sb.append(dr).append(" | ");
-			sb.append(dnr);
-
-			System.out.println(sb.toString());
-		}
-	});
-
 	@Override
 	protected CNF manipulate(IMonitor<CNF> monitor) throws TimeoutException {
 		// Collect all features in the prop node and remove TRUE and FALSE
@@ -139,31 +143,15 @@ public class CNFSlicer extends AbstractManipulator {
 		}
 		final SlicedVariables mapping = new SlicedVariables((Variables) orgCNF.getVariables(), slicedFeatureList);
 
-		// Initialize lists and sets
+		// Initialize lists and occurrence index
 		createClauseLists();
 
 		if (!prepareHeuristics()) {
 			return new CNF(mapping, orgCNF.getClauses());
 		}
 
-//		final CNF cleanCNF = new CNF(mapping, cleanClauseList);
-//		numberOfCleanFeatures = cleanCNF.getVariables().size();
-//		cleanGraph = ModalImplicationGraph.build(cleanCNF, false);
-//		dirtyGraph = ModalImplicationGraph.build(orgCNF, false);
-//
-//		final Traverser traverser = dirtyGraph.traverse();
-//		final List<VertexPath> paths = new ArrayList<>(dirtyGraph.getAdjList().size());
-//		for (final Vertex vertex : dirtyGraph.getAdjList()) {
-//			final VertexPath vertexPath = new VertexPath(dirtyGraph, vertex.getId(), dirtyGraph.getAdjList().size());
-//			paths.add(vertexPath);
-//			traverser.setVisitor(vertexPath);
-//			traverser.setModel(new int[numberOfDirtyFeatures]);
-//			traverser.traverse(vertex.getVar());
-//		}
-
 		monitor.setRemainingWork(heuristic.size());
 		monitor.checkCancel();
-//		monitorThread.start();
 
 		while (heuristic.hasNext()) {
 			final DeprecatedFeature nextFeature = heuristic.next();
@@ -172,16 +160,13 @@ public class CNFSlicer extends AbstractManipulator {
 			}
 
 			// Remove redundant dirty clauses
-			firstRedundancyCheck(nextFeature);
-
-			// Partition dirty list into clauses that contain the current variable and clauses that don't
-			partitionDirtyList(nextFeature);
+			firstRedundancyCheck(nextFeature, monitor);
 
 			// Remove variable & create transitive clauses
-			resolution(nextFeature);
+			resolution(nextFeature, monitor);
 
 			// Remove redundant clauses
-			detectRedundancy(nextFeature);
+			detectRedundancy(nextFeature, monitor);
 
 			// Merge new dirty list into the old list
 			updateLists();
@@ -197,47 +182,101 @@ public class CNFSlicer extends AbstractManipulator {
 		addCleanClauses();
 
 		release();
-//		monitorThread.finish();
 
 		return new CNF(mapping, cleanClauseList);
 	}
 
+	private static int getIndex(int literal) {
+		return literal > 0 ? literal << 1 : (-literal << 1) + 1;
+	}
+
+	/**
+	 * Adds a clause to the formula, unless it is a tautology or subsumed by another clause. Removes all dirty clauses that are subsumed by the new clause.
+	 */
 	private void addNewClause(final DeprecatedClause curClause) {
-		if (curClause != null) {
+		if ((curClause != null) && !clauseSet.contains(curClause) && !isSubsumed(curClause)) {
+			removeSubsumedClauses(curClause);
+			clauseSet.add(curClause);
 			if (curClause.computeRelevance(map)) {
 				globalMixedClauseCount++;
 			}
+			for (final int literal : curClause.getLiterals()) {
+				occurrences.get(getIndex(literal)).add(curClause);
+			}
 			if (curClause.getRelevance() == 0) {
-				if (cleanClauseSet.add(curClause)) {
-					newCleanClauseList.add(curClause);
-				} else {
-					deleteClause(curClause);
-				}
+				newCleanClauseList.add(curClause);
 			} else {
-				if (dirtyClauseSet.add(curClause)) {
-					newDirtyClauseList.add(curClause);
-				} else {
-					deleteClause(curClause);
+				newDirtyClauseList.add(curClause);
+			}
+		}
+	}
+
+	/**
+	 * Forward subsumption. Occurrence lists that are longer than the {@link #getSubsumptionLimit() subsumption limit} are not searched.
+	 */
+	private boolean isSubsumed(DeprecatedClause curClause) {
+		for (final int literal : curClause.getLiterals()) {
+			final List<DeprecatedClause> occurrenceList = occurrences.get(getIndex(literal));
+			if (occurrenceList.size() <= subsumptionLimit) {
+				for (final DeprecatedClause otherClause : occurrenceList) {
+					if (!otherClause.isDeleted() && otherClause.subsumes(curClause)) {
+						return true;
+					}
 				}
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Backward subsumption. Every subsumed clause contains all literals of the new clause, thus, only the shortest occurrence list has to be searched.
+	 */
+	private void removeSubsumedClauses(DeprecatedClause curClause) {
+		List<DeprecatedClause> shortestList = null;
+		for (final int literal : curClause.getLiterals()) {
+			final List<DeprecatedClause> occurrenceList = occurrences.get(getIndex(literal));
+			if ((shortestList == null) || (occurrenceList.size() < shortestList.size())) {
+				shortestList = occurrenceList;
+			}
+		}
+		if ((shortestList != null) && (shortestList.size() <= subsumptionLimit)) {
+			for (final DeprecatedClause otherClause : shortestList) {
+				if (!otherClause.isDeleted() && (otherClause.getRelevance() > 0) && curClause.subsumes(otherClause)) {
+					deleteDirtyClause(otherClause);
+				}
+			}
+		}
+	}
+
+	private List<DeprecatedClause> getOccurrences(int literal) {
+		final List<DeprecatedClause> occurrenceList = occurrences.get(getIndex(literal));
+		occurrenceList.removeIf(DeprecatedClause::isDeleted);
+		return occurrenceList;
+	}
+
+	private List<DeprecatedClause> getDirtyClauses() {
+		dirtyClauseList.removeIf(DeprecatedClause::isDeleted);
+		return dirtyClauseList;
 	}
 
 	private void createClauseLists() {
+		final int maxVariableID = orgCNF.getVariables().maxVariableID();
+		occurrences = new ArrayList<>((maxVariableID + 1) << 1);
+		for (int i = 0; i < ((maxVariableID + 1) << 1); i++) {
+			occurrences.add(new ArrayList<DeprecatedClause>());
+		}
+
+		// Tautologies would be resolved with themselves
 		for (final LiteralSet clause : orgCNF.getClauses()) {
-			addNewClause(new DeprecatedClause(clause.getLiterals()));
+			addNewClause(DeprecatedClause.createClause(clause.getLiterals()));
 		}
 
 		cleanClauseList.ensureCapacity(cleanClauseList.size() + newCleanClauseList.size());
 		for (final DeprecatedClause deprecatedClause : newCleanClauseList) {
 			cleanClauseList.add(new LiteralSet(deprecatedClause));
 		}
-		dirtyClauseList.addAll(newDirtyClauseList);
-		newDirtyClauseList.clear();
 		newCleanClauseList.clear();
-
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
+		updateLists();
 	}
 
 	protected final void deleteClause(final DeprecatedClause curClause) {
@@ -246,25 +285,9 @@ public class CNFSlicer extends AbstractManipulator {
 		}
 	}
 
-	protected final void deleteOldDirtyClauses() {
-		if (dirtyListPosIndex < dirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = dirtyClauseList.subList(dirtyListPosIndex, dirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
-			}
-			subList.clear();
-		}
-	}
-
-	protected final void deleteNewDirtyClauses() {
-		if (newDirtyListDelIndex < newDirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = newDirtyClauseList.subList(newDirtyListDelIndex, newDirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
-			}
-		}
+	private void deleteDirtyClause(final DeprecatedClause curClause) {
+		clauseSet.remove(curClause);
+		deleteClause(curClause);
 	}
 
 	private void init() {
@@ -272,12 +295,44 @@ public class CNFSlicer extends AbstractManipulator {
 		cleanClauseList.clear();
 	}
 
-	private void resolution(DeprecatedFeature nextFeature) {
+	private void resolution(DeprecatedFeature nextFeature, IMonitor<CNF> monitor) {
 		final int curFeatureID = nextFeature.getId();
-		for (int i = dirtyListPosIndex; i < dirtyListNegIndex; i++) {
-			final int[] posOrChildren = dirtyClauseList.get(i).getLiterals();
-			for (int j = dirtyListNegIndex; j < dirtyClauseList.size(); j++) {
-				final int[] negOrChildren = dirtyClauseList.get(j).getLiterals();
+		List<DeprecatedClause> positiveClauses = getOccurrences(curFeatureID);
+		List<DeprecatedClause> negativeClauses = getOccurrences(-curFeatureID);
+
+		// Bound the number of resolvents by removing redundant clauses first
+		if (((long) positiveClauses.size() * negativeClauses.size()) > resolventLimit) {
+			addCleanClauses();
+			final List<DeprecatedClause> candidates = new ArrayList<>(positiveClauses.size() + negativeClauses.size());
+			candidates.addAll(positiveClauses);
+			candidates.addAll(negativeClauses);
+			final List<LiteralSet> formula = new ArrayList<>(cleanClauseList);
+			for (final DeprecatedClause clause : getDirtyClauses()) {
+				if (!clause.containsVariable(curFeatureID)) {
+					formula.add(clause);
+				}
+			}
+			removeRedundantClauses(formula, candidates, monitor);
+			positiveClauses = getOccurrences(curFeatureID);
+			negativeClauses = getOccurrences(-curFeatureID);
+		}
+
+		final DeprecatedClause[] positiveArray = positiveClauses.toArray(new DeprecatedClause[0]);
+		final DeprecatedClause[] negativeArray = negativeClauses.toArray(new DeprecatedClause[0]);
+		for (final DeprecatedClause clause : positiveArray) {
+			deleteDirtyClause(clause);
+		}
+		for (final DeprecatedClause clause : negativeArray) {
+			deleteDirtyClause(clause);
+		}
+		positiveClauses.clear();
+		negativeClauses.clear();
+
+		for (final DeprecatedClause positiveClause : positiveArray) {
+			monitor.checkCancel();
+			final int[] posOrChildren = positiveClause.getLiterals();
+			for (final DeprecatedClause negativeClause : negativeArray) {
+				final int[] negOrChildren = negativeClause.getLiterals();
 				final int[] newChildren = new int[posOrChildren.length + negOrChildren.length];
 
 				System.arraycopy(posOrChildren, 0, newChildren, 0, posOrChildren.length);
@@ -286,45 +341,15 @@ public class CNFSlicer extends AbstractManipulator {
 				addNewClause(DeprecatedClause.createClause(newChildren, curFeatureID, helper));
 			}
 		}
-		newDirtyListDelIndex = newDirtyClauseList.size();
 	}
 
-	private void partitionDirtyList(DeprecatedFeature nextFeature) {
-		final int curFeatureID = nextFeature.getId();
-		for (int i = 0; i < dirtyListNegIndex; i++) {
-			final LiteralSet clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == -curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListNegIndex);
-					break;
-				}
-			}
-		}
-		dirtyListPosIndex = dirtyListNegIndex;
-		for (int i = 0; i < dirtyListPosIndex; i++) {
-			final LiteralSet clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListPosIndex);
-					break;
-				}
+	private void updateLists() {
+		for (final DeprecatedClause clause : newDirtyClauseList) {
+			if (!clause.isDeleted()) {
+				dirtyClauseList.add(clause);
 			}
 		}
-	}
-
-	private void updateLists() {
-		// delete old & redundant dirty clauses
-		deleteOldDirtyClauses();
-
-		// delete new & redundant dirty clauses
-		deleteNewDirtyClauses();
-
-		dirtyClauseList.addAll(newDirtyClauseList.subList(0, newDirtyListDelIndex));
 		newDirtyClauseList.clear();
-
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
-		newDirtyListDelIndex = 0;
 	}
 
 	protected final boolean isRedundant(ISimpleSatSolver solver, LiteralSet curClause) {
@@ -340,50 +365,80 @@ public class CNFSlicer extends AbstractManipulator {
 		}
 	}
 
-	protected void detectRedundancy(DeprecatedFeature nextFeature) {
-		if (nextFeature.getClauseCount() > 0) {
-			addCleanClauses();
-
-			final ISimpleSatSolver solver = new SimpleSatSolver(cnfCopy);
-			solver.addClauses(cleanClauseList);
-			solver.addClauses(dirtyClauseList.subList(0, dirtyListPosIndex));
+	private ISimpleSatSolver createSolver(List<? extends LiteralSet> formula) {
+		final ISimpleSatSolver solver = new SimpleSatSolver(cnfCopy);
+		solver.addClauses(formula);
+		return solver;
+	}
 
-			Collections.sort(newDirtyClauseList.subList(0, newDirtyListDelIndex), lengthComparator);
-			for (int i = newDirtyListDelIndex - 1; i >= 0; --i) {
-				final DeprecatedClause curClause = newDirtyClauseList.get(i);
+	/**
+	 * Deletes all candidate clauses that are implied by the given formula. Sequentially, the shortest clauses are checked first and every remaining clause is
+	 * added to the formula for the following checks. In parallel, every clause is checked against the given formula only, using one solver per worker of
+	 * the {@link JobExecutor}.
+	 *
+	 * @param formula the clauses that are kept
+	 * @param candidates the clauses to check (will be sorted)
+	 * @param monitor the monitor for cancellation
+	 */
+	private void removeRedundantClauses(List<? extends LiteralSet> formula, List<DeprecatedClause> candidates, IMonitor<?> monitor) {
+		Collections.sort(candidates, lengthComparator);
+		if (parallel && (candidates.size() >= PARALLEL_THRESHOLD)) {
+			final boolean[] redundant = new boolean[candidates.size()];
+			final AtomicInteger nextCandidate = new AtomicInteger();
+			JobExecutor.runInParallel(Math.min(JobExecutor.getPoolSize(), candidates.size()), () -> {
+				final ISimpleSatSolver solver = createSolver(formula);
+				for (int i = nextCandidate.getAndIncrement(); i < redundant.length; i = nextCandidate.getAndIncrement()) {
+					monitor.checkCancel();
+					redundant[i] = isRedundant(solver, candidates.get(i));
+				}
+			});
+			for (int i = 0; i < redundant.length; i++) {
+				if (redundant[i]) {
+					deleteDirtyClause(candidates.get(i));
+				}
+			}
+		} else {
+			final ISimpleSatSolver solver = createSolver(formula);
+			for (int i = candidates.size() - 1; i >= 0; --i) {
+				monitor.checkCancel();
+				final DeprecatedClause curClause = candidates.get(i);
 				if (isRedundant(solver, curClause)) {
-					dr++;
-					Collections.swap(newDirtyClauseList, i, --newDirtyListDelIndex);
+					deleteDirtyClause(curClause);
 				} else {
-					dnr++;
 					solver.addClause(curClause);
 				}
 			}
 		}
 	}
 
+	protected void detectRedundancy(DeprecatedFeature nextFeature, IMonitor<CNF> monitor) {
+		if (nextFeature.getClauseCount() > 0) {
+			addCleanClauses();
+
+			final List<DeprecatedClause> candidates = new ArrayList<>(newDirtyClauseList.size());
+			for (final DeprecatedClause clause : newDirtyClauseList) {
+				if (!clause.isDeleted()) {
+					candidates.add(clause);
+				}
+			}
+			if (!candidates.isEmpty()) {
+				final List<LiteralSet> formula = new ArrayList<>(cleanClauseList);
+				formula.addAll(getDirtyClauses());
+				removeRedundantClauses(formula, candidates, monitor);
+			}
+		}
+	}
+
+	/**
+	 * Adds all new clean clauses that are not implied by the other clean clauses to the result. Redundant clean clauses stay in the occurrence index, as they
+	 * are implied by the result and can still subsume other clauses.
+	 */
 	protected void addCleanClauses() {
 		Collections.sort(newCleanClauseList, lengthComparator);
 
 		for (int i = newCleanClauseList.size() - 1; i >= 0; --i) {
 			final DeprecatedClause clause = newCleanClauseList.get(i);
-
-//			if (clause.getLiterals().length == 2) {
-//				if (paths.get(dirtyGraph.getVertex(clause.getLiterals()[0]).getId()).hasStrongPath(clause.getLiterals()[1])) {
-//					deleteClause(clause);
-//				}
-////				dirtyGraph.addClause(clause);
-//			} else {
-//				for (final int literals : clause.getLiterals()) {
-//
-//				}
-//			}
-
-			if (isRedundant(newSolver, clause)) {
-				cr++;
-				deleteClause(clause);
-			} else {
-				cnr++;
+			if (!isRedundant(newSolver, clause)) {
 				newSolver.addClause(clause);
 				cleanClauseList.add(new LiteralSet(clause));
 			}
@@ -391,44 +446,19 @@ public class CNFSlicer extends AbstractManipulator {
 		newCleanClauseList.clear();
 	}
 
-	protected void firstRedundancyCheck(DeprecatedFeature nextFeature) {
+	protected void firstRedundancyCheck(DeprecatedFeature nextFeature, IMonitor<CNF> monitor) {
 		if (first && (nextFeature.getClauseCount() > 0)) {
 			first = false;
-			Collections.sort(dirtyClauseList.subList(0, dirtyListPosIndex), lengthComparator);
-
 			addCleanClauses();
-
-			final ISimpleSatSolver solver = new SimpleSatSolver(cnfCopy);
-			solver.addClauses(cleanClauseList);
-
-			// SAT Relevant
-			for (int i = dirtyListPosIndex - 1; i >= 0; --i) {
-				final DeprecatedClause mainClause = dirtyClauseList.get(i);
-				if (isRedundant(solver, mainClause)) {
-					dr++;
-					Collections.swap(dirtyClauseList, i, --dirtyListPosIndex);
-				} else {
-					dnr++;
-					solver.addClause(mainClause);
-				}
-			}
-			deleteOldDirtyClauses();
-
-			dirtyListPosIndex = dirtyClauseList.size();
-			dirtyListNegIndex = dirtyClauseList.size();
-			cr = 0;
-			cnr = 0;
-			dr = 0;
-			dnr = 0;
+			removeRedundantClauses(cleanClauseList, new ArrayList<>(getDirtyClauses()), monitor);
 		}
 	}
 
 	protected boolean prepareHeuristics() {
-		heuristic = new MinimumClauseHeuristic(map, numberOfDirtyFeatures);
+		heuristic = heuristicFactory.create(map, numberOfDirtyFeatures);
 		first = true;
 		try {
 			newSolver = new SimpleSatSolver(cnfCopy);
-			// newSolver.addClauses(cleanClauseList);
 		} catch (final RuntimeContradictionException e) {
 			return false;
 		}
@@ -438,13 +468,66 @@ public class CNFSlicer extends AbstractManipulator {
 	protected void release() {
 		newDirtyClauseList.clear();
 		newCleanClauseList.clear();
-		dirtyClauseSet.clear();
-		cleanClauseSet.clear();
+		clauseSet.clear();
 		dirtyClauseList.clear();
+		occurrences = null;
 
 		if (newSolver != null) {
 			newSolver.reset();
 		}
 	}
 
+	public HeuristicFactory getHeuristicFactory() {
+		return heuristicFactory;
+	}
+
+	/**
+	 * Sets the heuristic that determines the order in which the features are removed. The default is the {@link MinimumClauseHeuristic}.
+	 *
+	 * @param heuristicFactory creates the heuristic for the features to remove
+	 */
+	public void setHeuristicFactory(HeuristicFactory heuristicFactory) {
+		this.heuristicFactory = heuristicFactory;
+	}
+
+	public int getResolventLimit() {
+		return resolventLimit;
+	}
+
+	/**
+	 * If the resolution of a feature can create more than this number of clauses, all clauses that contain the feature are checked for redundancy beforehand.
+	 *
+	 * @param resolventLimit the maximal number of resolvents without a prior redundancy check
+	 */
+	public void setResolventLimit(int resolventLimit) {
+		this.resolventLimit = resolventLimit;
+	}
+
+	public int getSubsumptionLimit() {
+		return subsumptionLimit;
+	}
+
+	/**
+	 * Occurrence lists with more clauses than this limit are not searched for subsumed or subsuming clauses.
+	 *
+	 * @param subsumptionLimit the maximal length of a searched occurrence list
+	 */
+	public void setSubsumptionLimit(int subsumptionLimit) {
+		this.subsumptionLimit = subsumptionLimit;
+	}
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * If enabled, large sets of clauses are checked for redundancy in parallel. In this case, a clause is only checked against the kept clauses, but not
+	 * against other checked clauses, which may keep some redundant clauses.
+	 *
+	 * @param parallel whether to check clauses for redundancy in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 }
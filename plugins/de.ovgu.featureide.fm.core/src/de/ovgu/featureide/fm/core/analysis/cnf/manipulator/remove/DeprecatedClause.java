@@ -34,6 +34,8 @@ public class DeprecatedClause extends LiteralSet {
 	private static final long serialVersionUID = -5929829591136725758L;
 
 	private int relevance;
+	private boolean deleted;
+	private long signature;
 
 	public static DeprecatedClause createClause(int[] newLiterals, int curFeature) {
 		final HashSet<Integer> literalSet = new HashSet<>(newLiterals.length << 1);
@@ -115,11 +117,46 @@ public class DeprecatedClause extends LiteralSet {
 	public DeprecatedClause(int[] literals) {
 		super(literals);
 		relevance = 0;
+		signature = computeSignature(literals);
 	}
 
 	public DeprecatedClause(DeprecatedClause clause) {
 		super(clause);
 		relevance = clause.relevance;
+		deleted = clause.deleted;
+		signature = clause.signature;
+	}
+
+	private static long computeSignature(int[] literals) {
+		long signature = 0;
+		for (final int literal : literals) {
+			signature |= 1L << ((literal > 0 ? literal << 1 : (-literal << 1) + 1) & 63);
+		}
+		return signature;
+	}
+
+	/**
+	 * Returns a bit set, in which every literal of this clause sets one bit. If a clause is subset of another clause, its signature is a subset of the other
+	 * signature.
+	 *
+	 * @return the literal signature of this clause
+	 */
+	public long getSignature() {
+		return signature;
+	}
+
+	/**
+	 * Checks whether all literals of this clause are contained in the given clause.
+	 *
+	 * @param otherClause the other clause
+	 * @return {@code true} if this clause subsumes the given clause
+	 */
+	public boolean subsumes(DeprecatedClause otherClause) {
+		return ((signature & ~otherClause.signature) == 0) && (literals.length <= otherClause.literals.length) && otherClause.containsAll(this);
+	}
+
+	public boolean isDeleted() {
+		return deleted;
 	}
 
 	boolean computeRelevance(DeprecatedFeature[] map) {
@@ -138,6 +175,7 @@ public class DeprecatedClause extends LiteralSet {
 	}
 
 	public boolean delete(DeprecatedFeature[] map) {
+		deleted = true;
 		if (literals.length > 1) {
 			final boolean mixed = ((relevance > 0) && (relevance < literals.length));
 			for (final int literal : literals) {
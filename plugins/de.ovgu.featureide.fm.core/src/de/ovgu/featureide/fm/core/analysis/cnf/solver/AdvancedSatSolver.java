@@ -167,9 +167,17 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 
 	@Override
 	public SatResult hasSolution() {
+		final long startTime = SolverStatistics.startCall();
+		return SolverStatistics.endCall(startTime, assignment.size(), solve());
+	}
+
+	private SatResult solve() {
 		if (contradiction) {
 			return SatResult.FALSE;
 		}
+		if (isBudgetExhausted()) {
+			return budgetTimeout();
+		}
 		try {
 			if (solver.isSatisfiable(assignment, globalTimeout)) {
 				addSolution();
@@ -178,7 +186,7 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 				return SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
-			return SatResult.TIMEOUT;
+			return budgetTimeout();
 		}
 	}
 
@@ -187,9 +195,17 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 	 */
 	@Override
 	public SatResult hasSolution(int... assignment) {
+		final long startTime = SolverStatistics.startCall();
+		return SolverStatistics.endCall(startTime, assignment.length, solve(assignment));
+	}
+
+	private SatResult solve(int[] assignment) {
 		if (contradiction) {
 			return SatResult.FALSE;
 		}
+		if (isBudgetExhausted()) {
+			return budgetTimeout();
+		}
 		final int[] unitClauses = new int[assignment.length];
 		System.arraycopy(internalMapping.convertToInternal(assignment), 0, unitClauses, 0, unitClauses.length);
 
@@ -203,8 +219,7 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 				return SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
-			e.printStackTrace();
-			return SatResult.TIMEOUT;
+			return budgetTimeout();
 		}
 	}
 
@@ -256,4 +256,12 @@ public class EmptySatSolver implements ISatSolver {
 		return null;
 	}
 
+	@Override
+	public void setBudget(SolverBudget budget) {}
+
+	@Override
+	public SolverBudget getBudget() {
+		return null;
+	}
+
 }
@@ -168,6 +168,21 @@ public interface ISimpleSatSolver extends Cloneable {
 
 	void setTimeout(int timeout);
 
+	/**
+	 * Sets a budget that limits all subsequent calls of this solver. The budget is checked during each call and can abort it before the regular timeout is
+	 * reached.
+	 *
+	 * @param budget The budget or {@code null} to remove the current budget.
+	 */
+	void setBudget(SolverBudget budget);
+
+	/**
+	 * @return The current budget of this solver or {@code null} if there is none.
+	 *
+	 * @see #setBudget(SolverBudget)
+	 */
+	SolverBudget getBudget();
+
 	IInternalVariables getInternalMapping();
 
 }
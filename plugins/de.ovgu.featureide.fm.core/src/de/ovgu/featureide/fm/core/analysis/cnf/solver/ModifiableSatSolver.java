@@ -101,7 +101,8 @@ public class ModifiableSatSolver extends AdvancedSatSolver {
 
 	@Override
 	protected void configureSolver(Solver<?> solver) {
-		solver.setTimeoutMs(1000);
+		timeout = 1000;
+		solver.setTimeoutMs(timeout);
 		solver.setDBSimplificationAllowed(false);
 		solver.setVerbose(false);
 	}
@@ -29,7 +29,9 @@ import org.sat4j.minisat.SolverFactory;
 import org.sat4j.minisat.core.Solver;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolverService;
 import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.SearchListenerAdapter;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.IInternalVariables;
@@ -42,6 +44,11 @@ import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
  */
 public class SimpleSatSolver implements ISimpleSatSolver {
 
+	/**
+	 * Default timeout for a single solver call in ms.
+	 */
+	public static final int DEFAULT_TIMEOUT = 10_000;
+
 	// XXX: Must be initialized here (is used in ModifiableSatSolver)
 	protected final ArrayList<IConstr> constrList = new ArrayList<>();
 
@@ -51,6 +58,9 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 
 	protected final boolean contradiction;
 
+	protected SolverBudget budget = null;
+	protected int timeout = DEFAULT_TIMEOUT;
+
 	public SimpleSatSolver(CNF satInstance) {
 		this(satInstance, satInstance.getInternalVariables());
 	}
@@ -90,6 +100,7 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 		}
 		try {
 			assert checkClauseValidity(literals);
+			SolverStatistics.addClause(literals.length);
 			return solver.addClause(new VecInt(Arrays.copyOfRange(literals, 0, literals.length)));
 		} catch (final ContradictionException e) {
 			throw new RuntimeContradictionException(e);
@@ -148,9 +159,17 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 
 	@Override
 	public SatResult hasSolution() {
+		final long startTime = SolverStatistics.startCall();
+		return SolverStatistics.endCall(startTime, 0, solve());
+	}
+
+	private SatResult solve() {
 		if (contradiction) {
 			return SatResult.FALSE;
 		}
+		if (isBudgetExhausted()) {
+			return budgetTimeout();
+		}
 		try {
 			if (solver.isSatisfiable(false)) {
 				return SatResult.TRUE;
@@ -158,16 +177,23 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 				return SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
-			e.printStackTrace();
-			return SatResult.TIMEOUT;
+			return budgetTimeout();
 		}
 	}
 
 	@Override
 	public SatResult hasSolution(int... assignment) {
+		final long startTime = SolverStatistics.startCall();
+		return SolverStatistics.endCall(startTime, assignment.length, solve(assignment));
+	}
+
+	private SatResult solve(int[] assignment) {
 		if (contradiction) {
 			return SatResult.FALSE;
 		}
+		if (isBudgetExhausted()) {
+			return budgetTimeout();
+		}
 		final int[] unitClauses = new int[assignment.length];
 		System.arraycopy(internalMapping.convertToInternal(assignment), 0, unitClauses, 0, unitClauses.length);
 
@@ -178,8 +204,7 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 				return SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
-			e.printStackTrace();
-			return SatResult.TIMEOUT;
+			return budgetTimeout();
 		}
 	}
 
@@ -238,7 +263,7 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 	 * Set several options for the Sat4J solver instance.
 	 */
 	protected void configureSolver(Solver<?> solver) {
-		solver.setTimeoutMs(10_000);
+		solver.setTimeoutMs(timeout);
 		solver.setDBSimplificationAllowed(true);
 		solver.setVerbose(false);
 	}
@@ -270,11 +295,55 @@ public class SimpleSatSolver implements ISimpleSatSolver {
 
 	@Override
 	public void setTimeout(int timeout) {
-		if (!contradiction) {
+		this.timeout = timeout;
+		if (!contradiction && ((budget == null) || (budget.getConflictLimit() <= 0))) {
 			solver.setTimeoutMs(timeout);
 		}
 	}
 
+	@Override
+	public void setBudget(SolverBudget budget) {
+		this.budget = budget;
+		if (!contradiction) {
+			if (budget != null) {
+				solver.setSearchListener(budget.createSearchListener());
+				if (budget.getConflictLimit() > 0) {
+					solver.setTimeoutOnConflicts(budget.getConflictLimit());
+				}
+			} else {
+				solver.setSearchListener(new SearchListenerAdapter<ISolverService>() {
+
+					private static final long serialVersionUID = 1L;
+				});
+				solver.setTimeoutMs(timeout);
+			}
+		}
+	}
+
+	@Override
+	public SolverBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @return {@code true} if the solver has a budget that is exhausted. In this case, no solver call should be made.
+	 */
+	protected final boolean isBudgetExhausted() {
+		return (budget != null) && budget.isExhausted();
+	}
+
+	/**
+	 * Marks the current budget as incomplete.
+	 *
+	 * @return {@link SatResult#TIMEOUT}
+	 */
+	protected final SatResult budgetTimeout() {
+		if (budget != null) {
+			budget.setIncomplete();
+		}
+		return SatResult.TIMEOUT;
+	}
+
 	@Override
 	public IInternalVariables getInternalMapping() {
 		return internalMapping;
@@ -0,0 +1,185 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolverService;
+import org.sat4j.tools.SearchListenerAdapter;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Limits the resources of a sequence of solver calls (e.g., all calls of an {@link AbstractAnalysis analysis}).<br> A budget consists of a wall-clock
+ * deadline for the whole sequence and a conflict limit for each single call. Additionally, the budget checks the associated {@link IMonitor monitor} for cancel
+ * requests while the solver is running. If the deadline is reached or the monitor is canceled, all running and subsequent solver calls return
+ * {@link ISimpleSatSolver.SatResult#TIMEOUT TIMEOUT} and the budget is marked as {@link #isIncomplete() incomplete}.
+ *
+ * @see ISimpleSatSolver#setBudget(SolverBudget)
+ * @see AbstractAnalysis#setBudget(SolverBudget)
+ */
+public class SolverBudget {
+
+	/**
+	 * Number of conflicts after which the deadline and the monitor are checked during a solver call.
+	 */
+	private static final int CHECK_INTERVAL = 64;
+
+	private final long timeout;
+	private final int conflictLimit;
+
+	private long deadline = Long.MAX_VALUE;
+	private IMonitor<?> monitor = null;
+
+	private volatile boolean canceled = false;
+	private volatile boolean incomplete = false;
+
+	/**
+	 * @param timeout The wall-clock time in ms for the whole sequence of solver calls, starting with the first call of {@link #start(IMonitor)}. A value of 0
+	 *        or less means no deadline.
+	 * @param conflictLimit The maximum number of conflicts for each single solver call. A value of 0 or less means no limit.
+	 */
+	public SolverBudget(long timeout, int conflictLimit) {
+		this.timeout = timeout;
+		this.conflictLimit = conflictLimit;
+	}
+
+	/**
+	 * Starts the deadline of this budget, if not already started. A budget can be shared between several analyses by starting it only once.
+	 *
+	 * @param monitor The monitor that is checked for cancel requests (may be {@code null}).
+	 */
+	public void start(IMonitor<?> monitor) {
+		if (monitor != null) {
+			this.monitor = monitor;
+		}
+		if ((timeout > 0) && (deadline == Long.MAX_VALUE)) {
+			deadline = System.currentTimeMillis() + timeout;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the deadline was reached or the monitor was canceled.
+	 */
+	public boolean isExhausted() {
+		if (canceled) {
+			return true;
+		}
+		if (monitor != null) {
+			try {
+				monitor.checkCancel();
+			} catch (final MethodCancelException e) {
+				canceled = true;
+				return true;
+			}
+		}
+		return System.currentTimeMillis() >= deadline;
+	}
+
+	/**
+	 * Throws a {@link MethodCancelException} if the monitor was canceled during a solver call.
+	 *
+	 * @throws MethodCancelException
+	 */
+	public void checkCancel() throws MethodCancelException {
+		if (canceled) {
+			throw new MethodCancelException();
+		}
+	}
+
+	/**
+	 * @return The remaining time in ms until the deadline is reached ({@link Long#MAX_VALUE} if there is no deadline).
+	 */
+	public long getRemainingTime() {
+		return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, deadline - System.currentTimeMillis());
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	public int getConflictLimit() {
+		return conflictLimit;
+	}
+
+	/**
+	 * @return {@code true} if at least one solver call using this budget was aborted, meaning that results computed with this budget may be partial.
+	 */
+	public boolean isIncomplete() {
+		return incomplete;
+	}
+
+	public void setIncomplete() {
+		incomplete = true;
+	}
+
+	/**
+	 * Creates a search listener that aborts a running solver call, if this budget is exhausted.
+	 *
+	 * @return A new search listener.
+	 */
+	SearchListenerAdapter<ISolverService> createSearchListener() {
+		return new BudgetSearchListener(this);
+	}
+
+	private static final class BudgetSearchListener extends SearchListenerAdapter<ISolverService> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient SolverBudget budget;
+		private transient ISolverService solverService;
+		private int conflicts = 0;
+
+		BudgetSearchListener(SolverBudget budget) {
+			this.budget = budget;
+		}
+
+		@Override
+		public void init(ISolverService solverService) {
+			this.solverService = solverService;
+		}
+
+		@Override
+		public void start() {
+			conflicts = 0;
+		}
+
+		@Override
+		public void conflictFound(IConstr confl, int dlevel, int trailLevel) {
+			if ((++conflicts % CHECK_INTERVAL) == 0) {
+				check();
+			}
+		}
+
+		@Override
+		public void restarting() {
+			check();
+		}
+
+		private void check() {
+			if ((solverService != null) && budget.isExhausted()) {
+				solverService.stop();
+			}
+		}
+	}
+
+}
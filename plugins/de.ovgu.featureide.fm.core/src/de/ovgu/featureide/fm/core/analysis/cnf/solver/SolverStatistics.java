@@ -0,0 +1,382 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+
+/**
+ * Collects statistics about solver calls, grouped by the analysis that issued the calls.<br> <br> The collection is disabled by default. If disabled, the
+ * solvers only check a static flag, thus, the overhead is negligible. Solver calls are assigned to the analysis that is currently executed in the calling
+ * thread (see {@link #enterAnalysis(String)}). {@link AbstractAnalysis Analyses} are registered automatically. Calls outside of any analysis are assigned to
+ * {@link #NO_ANALYSIS}.
+ *
+ * @see #setEnabled(boolean)
+ * @see #toJSON()
+ */
+public final class SolverStatistics {
+
+	public static final String NO_ANALYSIS = "<none>";
+
+	/**
+	 * Number of buckets of the latency histogram. Bucket {@code i} counts all calls with a latency less than 2<sup>i</sup> µs (and at least 2<sup>i-1</sup>
+	 * µs). The last bucket counts all calls that take longer.
+	 */
+	public static final int HISTOGRAM_SIZE = 32;
+
+	private static volatile boolean enabled = false;
+
+	private static final ConcurrentHashMap<String, SolverStatistics> statisticsMap = new ConcurrentHashMap<>();
+	private static final ThreadLocal<String> currentAnalysis = new ThreadLocal<>();
+
+	private final String name;
+
+	private long calls, satCalls, unsatCalls, timeoutCalls;
+	private long totalTime, maxTime;
+	private final long[] latencyHistogram = new long[HISTOGRAM_SIZE];
+	private long totalAssumptions, maxAssumptions;
+	private long clauses, totalClauseSize, maxClauseSize;
+	private long cacheHits, cacheMisses;
+
+	private SolverStatistics(String name) {
+		this.name = name;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		SolverStatistics.enabled = enabled;
+	}
+
+	/**
+	 * Removes all collected statistics.
+	 */
+	public static void reset() {
+		statisticsMap.clear();
+	}
+
+	/**
+	 * @return the statistics of all analyses, sorted by name.
+	 */
+	public static List<SolverStatistics> getStatistics() {
+		final List<SolverStatistics> list = new ArrayList<>(statisticsMap.values());
+		Collections.sort(list, Comparator.comparing(SolverStatistics::getName));
+		return list;
+	}
+
+	/**
+	 * @param name the name of an analysis
+	 * @return the statistics of the given analysis or {@code null} if there were no recorded events.
+	 */
+	public static SolverStatistics getStatistics(String name) {
+		return statisticsMap.get(name);
+	}
+
+	/**
+	 * Assigns all subsequent solver calls of the current thread to the given analysis.
+	 *
+	 * @param name the name of the analysis (usually its class name)
+	 * @return the name of the previous analysis, which must be passed to {@link #exitAnalysis(String)}.
+	 */
+	public static String enterAnalysis(String name) {
+		if (!enabled) {
+			return null;
+		}
+		final String previous = currentAnalysis.get();
+		currentAnalysis.set(name);
+		return previous;
+	}
+
+	/**
+	 * Restores the analysis that was active before the corresponding call of {@link #enterAnalysis(String)}.
+	 *
+	 * @param previous the return value of {@link #enterAnalysis(String)}
+	 */
+	public static void exitAnalysis(String previous) {
+		if (previous == null) {
+			currentAnalysis.remove();
+		} else {
+			currentAnalysis.set(previous);
+		}
+	}
+
+	private static SolverStatistics getCurrent() {
+		final String name = currentAnalysis.get();
+		return statisticsMap.computeIfAbsent(name != null ? name : NO_ANALYSIS, SolverStatistics::new);
+	}
+
+	/**
+	 * @return the start time of a solver call or 0 if statistics are disabled.
+	 */
+	static long startCall() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records a finished solver call.
+	 *
+	 * @param startTime the return value of {@link #startCall()}
+	 * @param assumptions number of assumed literals
+	 * @param result the result of the solver call
+	 * @return the given result
+	 */
+	static SatResult endCall(long startTime, int assumptions, SatResult result) {
+		if ((startTime != 0) && enabled) {
+			getCurrent().recordCall(System.nanoTime() - startTime, assumptions, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Records a clause that is added to a solver.
+	 *
+	 * @param size the number of literals of the clause
+	 */
+	static void addClause(int size) {
+		if (enabled) {
+			getCurrent().recordClause(size);
+		}
+	}
+
+	/**
+	 * Records a solver call that could be avoided, e.g., by using a previously found solution.
+	 */
+	public static void cacheHit() {
+		if (enabled) {
+			getCurrent().recordCache(true);
+		}
+	}
+
+	/**
+	 * Records a cache lookup that did not avoid a solver call.
+	 */
+	public static void cacheMiss() {
+		if (enabled) {
+			getCurrent().recordCache(false);
+		}
+	}
+
+	private synchronized void recordCall(long time, int assumptions, SatResult result) {
+		calls++;
+		switch (result) {
+		case TRUE:
+			satCalls++;
+			break;
+		case FALSE:
+			unsatCalls++;
+			break;
+		case TIMEOUT:
+			timeoutCalls++;
+			break;
+		default:
+			throw new AssertionError(result);
+		}
+		totalTime += time;
+		maxTime = Math.max(maxTime, time);
+		final long micros = time / 1000;
+		latencyHistogram[Math.min(HISTOGRAM_SIZE - 1, 64 - Long.numberOfLeadingZeros(micros))]++;
+		totalAssumptions += assumptions;
+		maxAssumptions = Math.max(maxAssumptions, assumptions);
+	}
+
+	private synchronized void recordClause(int size) {
+		clauses++;
+		totalClauseSize += size;
+		maxClauseSize = Math.max(maxClauseSize, size);
+	}
+
+	private synchronized void recordCache(boolean hit) {
+		if (hit) {
+			cacheHits++;
+		} else {
+			cacheMisses++;
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public synchronized long getCalls() {
+		return calls;
+	}
+
+	public synchronized long getSatCalls() {
+		return satCalls;
+	}
+
+	public synchronized long getUnsatCalls() {
+		return unsatCalls;
+	}
+
+	public synchronized long getTimeoutCalls() {
+		return timeoutCalls;
+	}
+
+	/**
+	 * @return the total time of all solver calls in ns.
+	 */
+	public synchronized long getTotalTime() {
+		return totalTime;
+	}
+
+	/**
+	 * @return the time of the longest solver call in ns.
+	 */
+	public synchronized long getMaxTime() {
+		return maxTime;
+	}
+
+	/**
+	 * @return a copy of the latency histogram.
+	 *
+	 * @see #HISTOGRAM_SIZE
+	 */
+	public synchronized long[] getLatencyHistogram() {
+		return latencyHistogram.clone();
+	}
+
+	public synchronized long getTotalAssumptions() {
+		return totalAssumptions;
+	}
+
+	public synchronized long getMaxAssumptions() {
+		return maxAssumptions;
+	}
+
+	public synchronized long getClauses() {
+		return clauses;
+	}
+
+	public synchronized long getTotalClauseSize() {
+		return totalClauseSize;
+	}
+
+	public synchronized long getMaxClauseSize() {
+		return maxClauseSize;
+	}
+
+	public synchronized long getCacheHits() {
+		return cacheHits;
+	}
+
+	public synchronized long getCacheMisses() {
+		return cacheMisses;
+	}
+
+	/**
+	 * @return the statistics of all analyses as JSON document.
+	 */
+	public static String toJSON() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("{\n  \"analyses\": [");
+		boolean first = true;
+		for (final SolverStatistics statistics : getStatistics()) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			sb.append("\n    ");
+			statistics.appendJSON(sb);
+		}
+		sb.append("\n  ]\n}\n");
+		return sb.toString();
+	}
+
+	private synchronized void appendJSON(StringBuilder sb) {
+		sb.append("{\"name\": \"");
+		for (final char c : name.toCharArray()) {
+			switch (c) {
+			case '"':
+			case '\\':
+				sb.append('\\').append(c);
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		sb.append("\", ");
+		appendJSON(sb, "calls", calls);
+		appendJSON(sb, "sat", satCalls);
+		appendJSON(sb, "unsat", unsatCalls);
+		appendJSON(sb, "timeout", timeoutCalls);
+		appendJSON(sb, "satRatio", ratio(satCalls, calls));
+		appendJSON(sb, "unsatRatio", ratio(unsatCalls, calls));
+		appendJSON(sb, "timeoutRatio", ratio(timeoutCalls, calls));
+		appendJSON(sb, "totalTimeMs", totalTime / 1_000_000.0);
+		appendJSON(sb, "meanTimeUs", ratio(totalTime, calls) / 1000);
+		appendJSON(sb, "maxTimeUs", maxTime / 1000.0);
+		appendJSON(sb, "meanAssumptions", ratio(totalAssumptions, calls));
+		appendJSON(sb, "maxAssumptions", maxAssumptions);
+		appendJSON(sb, "clauses", clauses);
+		appendJSON(sb, "meanClauseSize", ratio(totalClauseSize, clauses));
+		appendJSON(sb, "maxClauseSize", maxClauseSize);
+		appendJSON(sb, "cacheHits", cacheHits);
+		appendJSON(sb, "cacheMisses", cacheMisses);
+		appendJSON(sb, "cacheHitRate", ratio(cacheHits, cacheHits + cacheMisses));
+		sb.append("\"latencyHistogramUs\": {");
+		boolean first = true;
+		for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+			if (latencyHistogram[i] > 0) {
+				if (first) {
+					first = false;
+				} else {
+					sb.append(", ");
+				}
+				sb.append('"').append(i < (HISTOGRAM_SIZE - 1) ? "<" + (1L << i) : ">=" + (1L << (i - 1))).append("\": ").append(latencyHistogram[i]);
+			}
+		}
+		sb.append("}}");
+	}
+
+	private static void appendJSON(StringBuilder sb, String key, long value) {
+		sb.append('"').append(key).append("\": ").append(value).append(", ");
+	}
+
+	private static void appendJSON(StringBuilder sb, String key, double value) {
+		sb.append('"').append(key).append("\": ").append(String.format(Locale.ENGLISH, "%.4f", value)).append(", ");
+	}
+
+	private static double ratio(long value, long total) {
+		return total == 0 ? 0 : (double) value / total;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "SolverStatistics [name=" + name + ", calls=" + calls + ", sat=" + satCalls + ", unsat=" + unsatCalls + ", timeout=" + timeoutCalls
+			+ ", totalTime=" + (totalTime / 1_000_000) + "ms, cacheHits=" + cacheHits + ", cacheMisses=" + cacheMisses + "]";
+	}
+
+}
@@ -39,6 +39,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
@@ -93,6 +94,15 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 
 	@Override
 	public ModalImplicationGraph execute(IMonitor<ModalImplicationGraph> monitor) throws Exception {
+		final String previousAnalysis = SolverStatistics.enterAnalysis(getClass().getName());
+		try {
+			return build(monitor);
+		} finally {
+			SolverStatistics.exitAnalysis(previousAnalysis);
+		}
+	}
+
+	private ModalImplicationGraph build(IMonitor<ModalImplicationGraph> monitor) throws Exception {
 		monitor.setRemainingWork(5 + (detectStrong ? 3 : 0));
 		if (!init()) {
 			return null;
@@ -266,7 +276,8 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 
 	private void initEdges() {
 		outer: for (final LiteralSet clause : solver.getSatInstance().getClauses()) {
-			final int[] literals = clause.getLiterals();
+			// Copy literals, as they are reordered below and the clause may be shared with other analyses
+			final int[] literals = Arrays.copyOf(clause.getLiterals(), clause.size());
 			final HashSet<Integer> literalSet = new HashSet<>(literals.length << 1);
 
 			// Sort out dead and core features
@@ -539,7 +550,10 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 			}
 			solver.assignmentPush(mx1);
 			if (xModel1 == null) {
+				SolverStatistics.cacheMiss();
 				xModel1 = solver.findSolution();
+			} else {
+				SolverStatistics.cacheHit();
 			}
 
 			int c = 0;
@@ -555,9 +569,11 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 						final int mxI = solution[i];
 						final int myI = solution[j];
 						if ((mx1 == mxI) && (my1 != myI)) {
+							SolverStatistics.cacheHit();
 							continue inner1;
 						}
 					}
+					SolverStatistics.cacheMiss();
 
 					solver.assignmentPush(-my1);
 					solver.setSelectionStrategy(((c++ % 2) != 0) ? SelectionStrategy.POSITIVE : SelectionStrategy.NEGATIVE);
@@ -0,0 +1,399 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Derives the {@link ModalImplicationGraph} of a changed {@link CNF} from the graph of the previous version instead of building it from scratch with
+ * {@link MIGBuilder}. The previous graph must have been built without strong edge detection.<br> <br> The update works on the difference of both clause
+ * sets:
+ * <ul>
+ * <li>Core and dead features are only checked for the literals that can have changed (i.e., the previous core and dead features if clauses were removed and
+ * the remaining features if clauses were added). If they changed, all clauses have to be simplified again and the update is aborted.</li>
+ * <li>The transitive strong edges are recomputed only for vertices that could reach one of the added or removed binary clauses.</li>
+ * <li>Only added clauses and, if clauses were removed, clauses that were previously omitted as redundant are checked for redundancy.</li>
+ * </ul>
+ * The result is {@code null} if the graph cannot be updated (e.g., the variables or core features differ). In this case, the graph must be rebuilt.
+ *
+ * @see MIGBuilder
+ */
+public class MIGUpdater implements LongRunningMethod<ModalImplicationGraph> {
+
+	private static final Comparator<LiteralSet> lengthComparator = new Comparator<LiteralSet>() {
+
+		@Override
+		public int compare(LiteralSet o1, LiteralSet o2) {
+			return o1.size() - o2.size();
+		}
+	};
+
+	private final ModalImplicationGraph oldMig;
+	private final CNF oldSatInstance;
+	private final CNF satInstance;
+	private final int numberOfVariables;
+
+	/**
+	 * Sign of every core (1) and dead (-1) variable.
+	 */
+	private final byte[] core;
+
+	/**
+	 * @param oldMig the graph of the previous formula
+	 * @param oldSatInstance the previous formula
+	 * @param satInstance the new formula
+	 */
+	public MIGUpdater(ModalImplicationGraph oldMig, CNF oldSatInstance, CNF satInstance) {
+		this.oldMig = oldMig;
+		this.oldSatInstance = oldSatInstance;
+		this.satInstance = satInstance;
+		numberOfVariables = satInstance.getVariables().size();
+		core = new byte[numberOfVariables];
+	}
+
+	@Override
+	public ModalImplicationGraph execute(IMonitor<ModalImplicationGraph> monitor) throws Exception {
+		final String previousAnalysis = SolverStatistics.enterAnalysis(getClass().getName());
+		try {
+			return update(monitor);
+		} finally {
+			SolverStatistics.exitAnalysis(previousAnalysis);
+		}
+	}
+
+	private ModalImplicationGraph update(IMonitor<ModalImplicationGraph> monitor) throws Exception {
+		if (!oldSatInstance.getVariables().equals(satInstance.getVariables()) || (oldMig.adjList.size() != (2 * numberOfVariables))) {
+			return null;
+		}
+		monitor.setRemainingWork(4);
+
+		for (int var = 1; var <= numberOfVariables; var++) {
+			final Vertex vertex = oldMig.getVertex(var);
+			core[var - 1] = (byte) (vertex.isCore() ? 1 : vertex.isDead() ? -1 : 0);
+		}
+		final Set<LiteralSet> oldClauses = new HashSet<>(oldSatInstance.getClauses());
+		final Set<LiteralSet> newClauses = new HashSet<>(satInstance.getClauses());
+		final boolean clausesAdded = !oldClauses.containsAll(newClauses);
+		final boolean clausesRemoved = !newClauses.containsAll(oldClauses);
+		if (!hasSameCoreFeatures(clausesAdded, clausesRemoved)) {
+			return null;
+		}
+		monitor.step();
+
+		final Set<LiteralSet> oldSimplifiedClauses = simplify(oldSatInstance);
+		final Set<LiteralSet> simplifiedClauses = simplify(satInstance);
+		final List<LiteralSet> addedClauses = new ArrayList<>();
+		for (final LiteralSet clause : simplifiedClauses) {
+			if (!oldSimplifiedClauses.contains(clause)) {
+				addedClauses.add(clause);
+			}
+		}
+		final List<LiteralSet> removedClauses = new ArrayList<>();
+		for (final LiteralSet clause : oldSimplifiedClauses) {
+			if (!simplifiedClauses.contains(clause)) {
+				removedClauses.add(clause);
+			}
+		}
+
+		final int[][] strongEdges = updateStrongEdges(simplifiedClauses, addedClauses, removedClauses);
+		monitor.step();
+		final List<LiteralSet> complexClauses = updateComplexClauses(simplifiedClauses, addedClauses, removedClauses);
+		monitor.step();
+		final ModalImplicationGraph mig = createGraph(strongEdges, complexClauses);
+		monitor.step();
+		return mig;
+	}
+
+	private boolean hasSameCoreFeatures(boolean clausesAdded, boolean clausesRemoved) {
+		final ISatSolver solver;
+		try {
+			solver = new AdvancedSatSolver(satInstance);
+		} catch (final RuntimeContradictionException e) {
+			return false;
+		}
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		final int[] model1 = solver.findSolution();
+		if (model1 == null) {
+			return false;
+		}
+		if (clausesRemoved) {
+			// previous core and dead features may have become optional
+			for (int i = 0; i < numberOfVariables; i++) {
+				if ((core[i] != 0) && (solver.hasSolution(-core[i] * (i + 1)) != SatResult.FALSE)) {
+					return false;
+				}
+			}
+		}
+		if (clausesAdded) {
+			// optional features may have become core or dead
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			LiteralSet.resetConflicts(model1, solver.findSolution());
+			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+			for (int i = 0; i < numberOfVariables; i++) {
+				final int varX = model1[i];
+				if ((varX != 0) && (core[i] == 0)) {
+					solver.assignmentPush(-varX);
+					final SatResult hasSolution = solver.hasSolution();
+					solver.assignmentPop();
+					if (hasSolution != SatResult.TRUE) {
+						return false;
+					}
+					LiteralSet.resetConflicts(model1, solver.getSolution());
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes satisfied clauses and unsatisfied literals in the same way as {@link MIGBuilder}.
+	 */
+	private Set<LiteralSet> simplify(CNF cnf) {
+		final Set<LiteralSet> simplifiedClauses = new LinkedHashSet<>();
+		outer: for (final LiteralSet clause : cnf.getClauses()) {
+			final int[] literals = clause.getLiterals();
+			final LinkedHashSet<Integer> literalSet = new LinkedHashSet<>(literals.length << 1);
+			int childrenCount = literals.length;
+			for (final int literal : literals) {
+				final int coreB = literal * core[Math.abs(literal) - 1];
+				if (coreB > 0) {
+					// Clause is satisfied
+					continue outer;
+				} else if (coreB < 0) {
+					// Current literal is unsatisfied (dead or core feature)
+					if (childrenCount <= 2) {
+						continue outer;
+					}
+					childrenCount--;
+				} else if (literalSet.contains(-literal)) {
+					continue outer;
+				} else {
+					literalSet.add(literal);
+				}
+			}
+			if (literalSet.size() > 1) {
+				final int[] literalArray = new int[literalSet.size()];
+				int i = 0;
+				for (final int literal : literalSet) {
+					literalArray[i++] = literal;
+				}
+				simplifiedClauses.add(new LiteralSet(literalArray));
+			}
+		}
+		return simplifiedClauses;
+	}
+
+	private int[][] updateStrongEdges(Set<LiteralSet> simplifiedClauses, List<LiteralSet> addedClauses, List<LiteralSet> removedClauses) {
+		final int[][] strongEdges = new int[2 * numberOfVariables][];
+		for (int i = 0; i < strongEdges.length; i++) {
+			strongEdges[i] = oldMig.adjList.get(i).getStrongEdges();
+		}
+
+		// collect all vertices that reach the start of a changed implication (each binary clause represents two implications)
+		final boolean[] affected = new boolean[strongEdges.length];
+		boolean anyAffected = false;
+		for (final LiteralSet clause : concat(addedClauses, removedClauses)) {
+			if (clause.size() == 2) {
+				for (final int literal : clause.getLiterals()) {
+					final int start = -literal;
+					affected[getIndex(start)] = true;
+					// u implies start iff -start implies -u
+					for (final int reverse : strongEdges[getIndex(-start)]) {
+						affected[getIndex(-reverse)] = true;
+					}
+					anyAffected = true;
+				}
+			}
+		}
+		if (!anyAffected) {
+			return strongEdges;
+		}
+
+		final List<List<Integer>> implications = new ArrayList<>(strongEdges.length);
+		for (int i = 0; i < strongEdges.length; i++) {
+			implications.add(new ArrayList<Integer>(0));
+		}
+		for (final LiteralSet clause : simplifiedClauses) {
+			if (clause.size() == 2) {
+				final int[] literals = clause.getLiterals();
+				implications.get(getIndex(-literals[0])).add(literals[1]);
+				implications.get(getIndex(-literals[1])).add(literals[0]);
+			}
+		}
+
+		final byte[] visited = new byte[numberOfVariables];
+		final ArrayDeque<Integer> stack = new ArrayDeque<>();
+		for (int i = 0; i < strongEdges.length; i++) {
+			if (affected[i]) {
+				final int start = getLiteral(i);
+				Arrays.fill(visited, (byte) 0);
+				visited[Math.abs(start) - 1] = (byte) Math.signum(start);
+				stack.push(start);
+				while (!stack.isEmpty()) {
+					for (final int next : implications.get(getIndex(stack.pop()))) {
+						final int nextIndex = Math.abs(next) - 1;
+						if (visited[nextIndex] == 0) {
+							visited[nextIndex] = (byte) Math.signum(next);
+							stack.push(next);
+						}
+					}
+				}
+				visited[Math.abs(start) - 1] = 0;
+
+				int count = 0;
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (visited[j] != 0) {
+						count++;
+					}
+				}
+				final int[] edges = new int[count];
+				count = 0;
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (visited[j] != 0) {
+						edges[count++] = visited[j] * (j + 1);
+					}
+				}
+				strongEdges[i] = edges;
+			}
+		}
+		return strongEdges;
+	}
+
+	private List<LiteralSet> updateComplexClauses(Set<LiteralSet> simplifiedClauses, List<LiteralSet> addedClauses, List<LiteralSet> removedClauses) {
+		final List<LiteralSet> complexClauses = new ArrayList<>(oldMig.complexClauses.size() + addedClauses.size());
+		for (final LiteralSet clause : oldMig.complexClauses) {
+			if (simplifiedClauses.contains(clause)) {
+				complexClauses.add(clause);
+			}
+		}
+
+		// If clauses were removed, clauses that were previously omitted as redundant may be necessary now
+		final List<LiteralSet> candidates = new ArrayList<>();
+		if (removedClauses.isEmpty()) {
+			for (final LiteralSet clause : addedClauses) {
+				if (clause.size() > 2) {
+					candidates.add(clause);
+				}
+			}
+		} else {
+			final Set<LiteralSet> keptClauses = new HashSet<>(complexClauses);
+			for (final LiteralSet clause : simplifiedClauses) {
+				if ((clause.size() > 2) && !keptClauses.contains(clause)) {
+					candidates.add(clause);
+				}
+			}
+		}
+		if (candidates.isEmpty()) {
+			return complexClauses;
+		}
+		Collections.sort(candidates, lengthComparator);
+
+		final AdvancedSatSolver solver = new AdvancedSatSolver(new CNF(satInstance, false));
+		for (int i = 0; i < numberOfVariables; i++) {
+			if (core[i] != 0) {
+				solver.addClause(new LiteralSet(core[i] * (i + 1)));
+			}
+		}
+		for (final LiteralSet clause : simplifiedClauses) {
+			if (clause.size() == 2) {
+				solver.addClause(clause);
+			}
+		}
+		solver.addClauses(complexClauses);
+		for (final LiteralSet clause : candidates) {
+			if (solver.hasSolution(clause.negate()) != SatResult.FALSE) {
+				solver.addClause(clause);
+				complexClauses.add(clause);
+			}
+		}
+		return complexClauses;
+	}
+
+	private ModalImplicationGraph createGraph(int[][] strongEdges, List<LiteralSet> complexClauses) {
+		final ModalImplicationGraph mig = new ModalImplicationGraph(2 * numberOfVariables);
+		mig.complexClauses.addAll(complexClauses);
+
+		final int[] complexClauseCount = new int[strongEdges.length];
+		for (final LiteralSet clause : complexClauses) {
+			for (final int literal : clause.getLiterals()) {
+				complexClauseCount[getIndex(-literal)]++;
+			}
+		}
+		final int[][] vertexComplexClauses = new int[strongEdges.length][];
+		for (int i = 0; i < strongEdges.length; i++) {
+			vertexComplexClauses[i] = new int[complexClauseCount[i]];
+		}
+		for (int clauseIndex = complexClauses.size() - 1; clauseIndex >= 0; clauseIndex--) {
+			for (final int literal : complexClauses.get(clauseIndex).getLiterals()) {
+				final int index = getIndex(-literal);
+				vertexComplexClauses[index][--complexClauseCount[index]] = clauseIndex;
+			}
+		}
+
+		for (int i = 0; i < strongEdges.length; i++) {
+			final Vertex oldVertex = oldMig.adjList.get(i);
+			final Vertex vertex = new Vertex(oldVertex.getVar());
+			vertex.setCore(oldVertex.isCore());
+			vertex.setDead(oldVertex.isDead());
+			vertex.setStrongEdges(strongEdges[i]);
+			vertex.setComplexClauses(vertexComplexClauses[i]);
+			vertex.setId(i);
+			mig.adjList.add(vertex);
+		}
+		return mig;
+	}
+
+	private static List<LiteralSet> concat(List<LiteralSet> list1, List<LiteralSet> list2) {
+		final List<LiteralSet> list = new ArrayList<>(list1.size() + list2.size());
+		list.addAll(list1);
+		list.addAll(list2);
+		return list;
+	}
+
+	private static int getIndex(int literal) {
+		return ((Math.abs(literal) - 1) << 1) + (literal < 0 ? 0 : 1);
+	}
+
+	private static int getLiteral(int index) {
+		final int var = (index >> 1) + 1;
+		return (index & 1) == 0 ? -var : var;
+	}
+
+}
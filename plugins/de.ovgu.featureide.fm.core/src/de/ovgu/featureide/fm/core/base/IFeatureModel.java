@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import de.ovgu.featureide.fm.core.RenamingsManager;
+import de.ovgu.featureide.fm.core.base.event.FeatureModelEventBus;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.event.IEventManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
@@ -731,4 +732,12 @@ public interface IFeatureModel extends Cloneable, IEventManager {
 
 	void setEventManager(IEventManager eventManager);
 
+	/**
+	 * Returns the event bus that dispatches the events of this feature model and its elements. Use {@link FeatureModelEventBus#beginBatch()} and
+	 * {@link FeatureModelEventBus#commitBatch()} to coalesce the events of a bulk edit into a single event.
+	 *
+	 * @return the event bus of this feature model
+	 */
+	FeatureModelEventBus getEventBus();
+
 }
@@ -0,0 +1,46 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event that replaces all events fired during a batch of a {@link FeatureModelEventBus}. As the model may have changed arbitrarily, its type is
+ * {@link EventType#MODEL_DATA_CHANGED}. Listeners that need the details can access the coalesced events in the order they were fired.
+ */
+public class CompoundFeatureIDEEvent extends FeatureIDEEvent {
+
+	private final List<FeatureIDEEvent> events;
+
+	public CompoundFeatureIDEEvent(Object source, List<FeatureIDEEvent> events) {
+		super(source, EventType.MODEL_DATA_CHANGED, Boolean.FALSE, Boolean.TRUE);
+		this.events = Collections.unmodifiableList(events);
+	}
+
+	/**
+	 * @return the coalesced events in the order they were fired
+	 */
+	public List<FeatureIDEEvent> getEvents() {
+		return events;
+	}
+
+}
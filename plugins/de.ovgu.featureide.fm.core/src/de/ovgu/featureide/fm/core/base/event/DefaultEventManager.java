@@ -20,45 +20,39 @@
  */
 package de.ovgu.featureide.fm.core.base.event;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.Logger;
 
 /**
- * Default implementation of {@link IEventManager}.
+ * Default implementation of {@link IEventManager}.<br> The listeners are stored in a copy-on-write array. Thus, firing an event neither locks nor copies the
+ * listeners.
  *
  * @author Sebastian Krieter
  */
 public class DefaultEventManager implements IEventManager, IEventListener {
 
-	protected final List<IEventListener> listenerList = new LinkedList<>();
+	private static final IEventListener[] NO_LISTENERS = new IEventListener[0];
+
+	private volatile IEventListener[] listeners = NO_LISTENERS;
 
 	@Override
 	public void addListener(IEventListener listener) {
 		synchronized (this) {
-			if (!listenerList.contains(listener)) {
-				listenerList.add(listener);
-			}
+			listeners = add(listeners, listener);
 		}
 	}
 
 	@Override
 	public List<IEventListener> getListeners() {
-		synchronized (this) {
-			return Collections.unmodifiableList(listenerList);
-		}
+		return Collections.unmodifiableList(Arrays.asList(listeners));
 	}
 
 	@Override
 	public void fireEvent(FeatureIDEEvent event) {
-		ArrayList<IEventListener> tempList;
-		synchronized (this) {
-			tempList = new ArrayList<>(listenerList);
-		}
-		for (final IEventListener listener : tempList) {
+		for (final IEventListener listener : listeners) {
 			callListener(event, listener);
 		}
 	}
@@ -74,7 +68,7 @@ public class DefaultEventManager implements IEventManager, IEventListener {
 	@Override
 	public void removeListener(IEventListener listener) {
 		synchronized (this) {
-			listenerList.remove(listener);
+			listeners = remove(listeners, listener);
 		}
 	}
 
@@ -83,4 +77,47 @@ public class DefaultEventManager implements IEventManager, IEventListener {
 		fireEvent(event);
 	}
 
+	/**
+	 * Returns a copy of the given listener array that additionally contains the given listener. If the listener is already contained, the given array is
+	 * returned.
+	 *
+	 * @param listeners the current listeners (may be {@code null})
+	 * @param listener the listener to add
+	 * @return the new listener array
+	 */
+	public static IEventListener[] add(IEventListener[] listeners, IEventListener listener) {
+		if (listeners == null) {
+			return new IEventListener[] { listener };
+		}
+		for (final IEventListener l : listeners) {
+			if (l.equals(listener)) {
+				return listeners;
+			}
+		}
+		final IEventListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listener;
+		return newListeners;
+	}
+
+	/**
+	 * Returns a copy of the given listener array without the given listener. If the listener is not contained, the given array is returned.
+	 *
+	 * @param listeners the current listeners (may be {@code null})
+	 * @param listener the listener to remove
+	 * @return the new listener array
+	 */
+	public static IEventListener[] remove(IEventListener[] listeners, IEventListener listener) {
+		if (listeners != null) {
+			for (int i = 0; i < listeners.length; i++) {
+				if (listeners[i].equals(listener)) {
+					final IEventListener[] newListeners = new IEventListener[listeners.length - 1];
+					System.arraycopy(listeners, 0, newListeners, 0, i);
+					System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+					return newListeners;
+				}
+			}
+		}
+		return listeners;
+	}
+
 }
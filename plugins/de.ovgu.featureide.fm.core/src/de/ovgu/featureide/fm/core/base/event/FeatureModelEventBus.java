@@ -0,0 +1,139 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
+
+/**
+ * Dispatches the events of a feature model and its {@link IFeatureModelElement elements}. There is one bus per feature model, while each element only holds
+ * a copy-on-write array of its listeners, which is created when the first listener is registered.<br> <br> Bulk edits (e.g., imports or renamings of many
+ * features) can be wrapped in a batch:
+ *
+ * <pre>
+ * bus.beginBatch();
+ * try {
+ * 	...
+ * } finally {
+ * 	bus.commitBatch();
+ * }
+ * </pre>
+ *
+ * During a batch, no event is dispatched. Instead, all events of the model and its elements are coalesced into a single {@link CompoundFeatureIDEEvent} that
+ * is fired to the listeners of the model when the outermost batch is committed.
+ */
+public class FeatureModelEventBus {
+
+	private final IFeatureModel featureModel;
+
+	private volatile int batchDepth = 0;
+	private List<FeatureIDEEvent> batchedEvents = null;
+
+	public FeatureModelEventBus(IFeatureModel featureModel) {
+		this.featureModel = featureModel;
+	}
+
+	/**
+	 * Starts a new batch. Batches can be nested, only the outermost batch fires the compound event.
+	 */
+	public synchronized void beginBatch() {
+		if (batchDepth++ == 0) {
+			batchedEvents = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Ends the current batch. If it is the outermost batch and any events were fired during the batch, a {@link CompoundFeatureIDEEvent} is fired to the
+	 * listeners of the feature model.
+	 *
+	 * @throws IllegalStateException if no batch was started
+	 */
+	public void commitBatch() {
+		final List<FeatureIDEEvent> events;
+		synchronized (this) {
+			if (batchDepth == 0) {
+				throw new IllegalStateException("No batch was started");
+			}
+			if (--batchDepth > 0) {
+				return;
+			}
+			events = batchedEvents;
+			batchedEvents = null;
+		}
+		if (!events.isEmpty()) {
+			featureModel.fireEvent(new CompoundFeatureIDEEvent(featureModel, events));
+		}
+	}
+
+	/**
+	 * @return {@code true} if a batch is currently open, {@code false} otherwise
+	 */
+	public boolean isBatching() {
+		return batchDepth > 0;
+	}
+
+	/**
+	 * Fires the given event to the given listeners of an element or adds it to the current batch.
+	 *
+	 * @param listeners the listeners of the element (may be {@code null})
+	 * @param event the event
+	 */
+	public void fireEvent(IEventListener[] listeners, FeatureIDEEvent event) {
+		if (!addToBatch(event) && (listeners != null)) {
+			for (final IEventListener listener : listeners) {
+				try {
+					listener.propertyChange(event);
+				} catch (final Throwable e) {
+					Logger.logError(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fires the given event to the given event manager of the model or adds it to the current batch.
+	 *
+	 * @param eventManager the event manager of the model
+	 * @param event the event
+	 */
+	public void fireEvent(IEventManager eventManager, FeatureIDEEvent event) {
+		if (!addToBatch(event)) {
+			eventManager.fireEvent(event);
+		}
+	}
+
+	private boolean addToBatch(FeatureIDEEvent event) {
+		if (batchDepth > 0) {
+			synchronized (this) {
+				if (batchDepth > 0) {
+					batchedEvents.add(event);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -60,7 +60,7 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 		featureSelected = oldConstraint.featureSelected;
 		isImplicit = oldConstraint.isImplicit;
 		description = oldConstraint.description;
-		propertyContainer = new MapPropertyContainer(oldConstraint.propertyContainer);
+		propertyContainer = observePropertyContainer(new MapPropertyContainer(oldConstraint.propertyContainer));
 	}
 
 	public AConstraint(IFeatureModel featureModel, Node propNode) {
@@ -69,7 +69,28 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 		featureSelected = false;
 		isImplicit = false;
 		description = "";
-		propertyContainer = new MapPropertyContainer();
+		propertyContainer = observePropertyContainer(new MapPropertyContainer());
+	}
+
+	/**
+	 * Constructs a constraint with the given internal identifier, which must not be taken by another element of the feature model.
+	 *
+	 * @param featureModel the feature model of the constraint
+	 * @param id the internal identifier of the constraint
+	 * @param propNode the formula of the constraint
+	 */
+	protected AConstraint(IFeatureModel featureModel, long id, Node propNode) {
+		super(featureModel, id);
+		setNode(propNode);
+		featureSelected = false;
+		isImplicit = false;
+		description = "";
+		propertyContainer = observePropertyContainer(new MapPropertyContainer());
+	}
+
+	private MapPropertyContainer observePropertyContainer(MapPropertyContainer propertyContainer) {
+		propertyContainer.setModificationListener(this::elementChanged);
+		return propertyContainer;
 	}
 
 	@Override
@@ -119,6 +140,10 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 				}
 			}
 		}
+		if (featureModel instanceof FeatureModel) {
+			((FeatureModel) featureModel).invalidateConstraintIndex();
+		}
+		elementChanged();
 	}
 
 	@Override
@@ -129,6 +154,7 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 	@Override
 	public void setDescription(@Nonnull final String description) {
 		this.description = description;
+		elementChanged();
 	}
 
 	@Override
@@ -93,6 +93,7 @@ public abstract class AFeature extends AFeatureModelElement implements IFeature
 		property = oldFeature.property.clone(this);
 		structure = newFeatrureStructure != null ? newFeatrureStructure : oldFeature.structure;
 		propertyContainer = clonePropertyContainer(oldFeature);
+		observePropertyContainer();
 	}
 
 	/**
@@ -112,6 +113,31 @@ public abstract class AFeature extends AFeatureModelElement implements IFeature
 		property = createProperty();
 		structure = createStructure();
 		propertyContainer = createPropertyContainer();
+		observePropertyContainer();
+	}
+
+	/**
+	 * Constructs a new instance of <code>AFeature</code> with the name <code>name</code> and the internal identifier <code>id</code>, which must not be
+	 * taken by another element of <code>featureModel</code>.
+	 *
+	 * @param featureModel in which the new instance feature should be part of
+	 * @param id the internal identifier of the feature
+	 * @param name the name of the feature.
+	 */
+	protected AFeature(IFeatureModel featureModel, long id, String name) {
+		super(featureModel, id);
+		this.name = name;
+
+		property = createProperty();
+		structure = createStructure();
+		propertyContainer = createPropertyContainer();
+		observePropertyContainer();
+	}
+
+	private void observePropertyContainer() {
+		if (propertyContainer instanceof MapPropertyContainer) {
+			((MapPropertyContainer) propertyContainer).setModificationListener(this::elementChanged);
+		}
 	}
 
 	protected IPropertyContainer createPropertyContainer() {
@@ -149,6 +175,9 @@ public abstract class AFeature extends AFeatureModelElement implements IFeature
 	public void setName(String name) {
 		final String oldName = this.name;
 		super.setName(name);
+		if (featureModel instanceof FeatureModel) {
+			((FeatureModel) featureModel).invalidateConstraintIndex();
+		}
 		fireEvent(new FeatureIDEEvent(getFeatureModel(), EventType.FEATURE_NAME_CHANGED, oldName, name));
 	}
 
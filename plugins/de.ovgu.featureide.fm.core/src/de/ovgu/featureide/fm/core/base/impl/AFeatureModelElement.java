@@ -20,14 +20,16 @@
  */
 package de.ovgu.featureide.fm.core.base.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
 import de.ovgu.featureide.fm.core.base.event.DefaultEventManager;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureModelEventBus;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
-import de.ovgu.featureide.fm.core.base.event.IEventManager;
 
 /**
  * Partial implementation of feature and constraint.
@@ -42,7 +44,12 @@ public abstract class AFeatureModelElement implements IFeatureModelElement {
 	protected String name;
 
 	protected final IFeatureModel featureModel;
-	protected final IEventManager eventManager = new DefaultEventManager();
+
+	/**
+	 * Copy-on-write array of the listeners of this element. Is {@code null} until the first listener is registered. The events are dispatched by the
+	 * {@link FeatureModelEventBus} of the feature model.
+	 */
+	private volatile IEventListener[] listeners = null;
 
 	protected AFeatureModelElement(AFeatureModelElement oldElement, IFeatureModel featureModel) {
 		this.featureModel = featureModel != null ? featureModel : oldElement.featureModel;
@@ -59,6 +66,21 @@ public abstract class AFeatureModelElement implements IFeatureModelElement {
 		name = null;
 	}
 
+	/**
+	 * Constructs an element with the given identifier, which must not be taken by another element of the feature model.
+	 *
+	 * @param featureModel the feature model of the element
+	 * @param id the identifier of the element
+	 */
+	protected AFeatureModelElement(IFeatureModel featureModel, long id) {
+		if (featureModel == null) {
+			throw new NullPointerException("Feature model must not be null!");
+		}
+		this.id = id;
+		this.featureModel = featureModel;
+		name = null;
+	}
+
 	@Override
 	public IFeatureModel getFeatureModel() {
 		return featureModel;
@@ -77,26 +99,38 @@ public abstract class AFeatureModelElement implements IFeatureModelElement {
 	@Override
 	public void setName(String name) {
 		this.name = name;
+		elementChanged();
+	}
+
+	/**
+	 * Notifies the feature model that this element was modified, such that its next snapshot does not reuse the old data of this element (see
+	 * {@link FeatureModel#createSnapshot()}).
+	 */
+	protected void elementChanged() {
+		if (featureModel instanceof FeatureModel) {
+			((FeatureModel) featureModel).elementChanged(this);
+		}
 	}
 
 	@Override
-	public final void addListener(IEventListener listener) {
-		eventManager.addListener(listener);
+	public final synchronized void addListener(IEventListener listener) {
+		listeners = DefaultEventManager.add(listeners, listener);
 	}
 
 	@Override
 	public List<IEventListener> getListeners() {
-		return eventManager.getListeners();
+		final IEventListener[] currentListeners = listeners;
+		return currentListeners == null ? Collections.<IEventListener> emptyList() : Collections.unmodifiableList(Arrays.asList(currentListeners));
 	}
 
 	@Override
-	public final void removeListener(IEventListener listener) {
-		eventManager.removeListener(listener);
+	public final synchronized void removeListener(IEventListener listener) {
+		listeners = DefaultEventManager.remove(listeners, listener);
 	}
 
 	@Override
 	public final void fireEvent(FeatureIDEEvent event) {
-		eventManager.fireEvent(event);
+		featureModel.getEventBus().fireEvent(listeners, event);
 	}
 
 	@Override
@@ -109,11 +143,20 @@ public abstract class AFeatureModelElement implements IFeatureModelElement {
 		if (this == obj) {
 			return true;
 		}
-		if ((obj == null) || (getClass() != obj.getClass())) {
+		if (!(obj instanceof AFeatureModelElement)) {
 			return false;
 		}
 		final AFeatureModelElement other = (AFeatureModelElement) obj;
-		return id == other.id;
+		return (id == other.id) && (getElementClass() == other.getElementClass());
+	}
+
+	/**
+	 * Returns the class that {@link #equals(Object)} compares. Subclasses that only provide another view of an element return the class of the element.
+	 *
+	 * @return the class of this element
+	 */
+	protected Class<?> getElementClass() {
+		return getClass();
 	}
 
 }
@@ -43,6 +43,10 @@ public class Constraint extends AConstraint {
 		super(featureModel, propNode);
 	}
 
+	protected Constraint(IFeatureModel featureModel, long id, Node propNode) {
+		super(featureModel, id, propNode);
+	}
+
 	@Override
 	public IConstraint clone(IFeatureModel newFeatureModel) {
 		return new Constraint(this, newFeatureModel);
@@ -41,13 +41,27 @@ public abstract class FactoryManager<T> extends ExtensionManager<IFactory<T>> {
 
 	private IFactoryWorkspaceLoader fwIOHandler = null;
 
-	public final void setWorkspaceLoader(IFactoryWorkspaceLoader factorySpaceLoader) {
+	private boolean workspaceLoaded = true;
+
+	/**
+	 * Sets the loader for the factory workspaces. The workspaces are not loaded until they are accessed for the first time.
+	 *
+	 * @param factorySpaceLoader the loader
+	 */
+	public final synchronized void setWorkspaceLoader(IFactoryWorkspaceLoader factorySpaceLoader) {
 		fwIOHandler = factorySpaceLoader != null ? factorySpaceLoader : new CoreFactoryWorkspaceLoader();
-		if (!load()) {
-			try {
-				getDefaultFactoryWorkspace().setDefaultFactoryID(getFactory(getDefaultID()).getId());
-			} catch (final de.ovgu.featureide.fm.core.ExtensionManager.NoSuchExtensionException e) {
-				Logger.logError(e);
+		workspaceLoaded = false;
+	}
+
+	private synchronized void loadWorkspace() {
+		if (!workspaceLoaded) {
+			workspaceLoaded = true;
+			if (!load()) {
+				try {
+					defaultWorkspace.setDefaultFactoryID(getFactory(getDefaultID()).getId());
+				} catch (final de.ovgu.featureide.fm.core.ExtensionManager.NoSuchExtensionException e) {
+					Logger.logError(e);
+				}
 			}
 		}
 	}
@@ -56,15 +70,18 @@ public abstract class FactoryManager<T> extends ExtensionManager<IFactory<T>> {
 	protected final FactoryWorkspace defaultWorkspace = new FactoryWorkspace();
 
 	public FactoryWorkspace getFactoryWorkspace(Path path) {
+		loadWorkspace();
 		final FactoryWorkspace factoryWorkspace = projectMap.get(fwIOHandler.getDistinctPath(path));
 		return factoryWorkspace != null ? factoryWorkspace : defaultWorkspace;
 	}
 
 	public FactoryWorkspace getDefaultFactoryWorkspace() {
+		loadWorkspace();
 		return defaultWorkspace;
 	}
 
 	public FactoryWorkspace addFactoryWorkspace(Path path) {
+		loadWorkspace();
 		final Path distinctPath = fwIOHandler.getDistinctPath(path);
 		FactoryWorkspace factoryWorkspace = getFactoryWorkspace(distinctPath);
 		if (factoryWorkspace == null) {
@@ -75,6 +92,7 @@ public abstract class FactoryManager<T> extends ExtensionManager<IFactory<T>> {
 	}
 
 	public void removeFactoryWorkspace(Path path) {
+		loadWorkspace();
 		projectMap.remove(fwIOHandler.getDistinctPath(path));
 	}
 
@@ -133,6 +151,8 @@ public abstract class FactoryManager<T> extends ExtensionManager<IFactory<T>> {
 	}
 
 	public void save() {
-		fwIOHandler.save(this);
+		if (workspaceLoaded) {
+			fwIOHandler.save(this);
+		}
 	}
 }
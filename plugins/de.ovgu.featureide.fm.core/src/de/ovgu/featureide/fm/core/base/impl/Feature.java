@@ -111,6 +111,10 @@ public class Feature extends AFeature {
 		super(featureModel, name);
 	}
 
+	protected Feature(IFeatureModel featureModel, long id, String name) {
+		super(featureModel, id, name);
+	}
+
 	@Override
 	protected IFeatureProperty createProperty() {
 		return new FeatureProperty(this);
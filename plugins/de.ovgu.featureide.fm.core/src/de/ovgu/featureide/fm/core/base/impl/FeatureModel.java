@@ -24,8 +24,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +45,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.event.DefaultEventManager;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.event.FeatureModelEventBus;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.event.IEventManager;
 import de.ovgu.featureide.fm.core.filter.ConcreteFeatureFilter;
@@ -74,10 +76,23 @@ public class FeatureModel implements IFeatureModel {
 		return nextElementId++;
 	}
 
+	/**
+	 * Returns the identifier that {@link #getNextElementId()} returns next without taking it.
+	 */
+	final synchronized long peekNextElementId() {
+		return nextElementId;
+	}
+
 	protected final String factoryID;
 
 	protected final List<IConstraint> constraints = new ArrayList<>();
 
+	/**
+	 * Maps the name of each feature to the constraints that contain it (in the order of {@link #constraints}). Is built on demand and discarded whenever the
+	 * constraints or a feature name change.
+	 */
+	private Map<String, List<IConstraint>> constraintIndex = null;
+
 	/**
 	 * A list containing the feature names in their specified order will be initialized in XmlFeatureModelReader.
 	 */
@@ -91,6 +106,8 @@ public class FeatureModel implements IFeatureModel {
 
 	protected IEventManager eventManager = new DefaultEventManager();
 
+	protected final FeatureModelEventBus eventBus = new FeatureModelEventBus(this);
+
 	protected final IFeatureModelProperty property;
 
 	protected final RenamingsManager renamingsManager;
@@ -99,11 +116,16 @@ public class FeatureModel implements IFeatureModel {
 
 	protected Path sourceFile;
 
+	/**
+	 * Records the modifications since the last snapshot (see {@link #createSnapshot()}). Is {@code null} until the first snapshot is created.
+	 */
+	private volatile FeatureModelSnapshotBuilder snapshotBuilder = null;
+
 	public FeatureModel(String factoryID) {
 		this.factoryID = factoryID;
 
 		id = getNextId();
-		featureOrderList = new LinkedList<>();
+		featureOrderList = new ArrayList<>();
 		featureOrderUserDefined = false;
 
 		property = createProperty();
@@ -115,7 +137,7 @@ public class FeatureModel implements IFeatureModel {
 	protected FeatureModel(FeatureModel oldFeatureModel, IFeature newRoot) {
 		factoryID = oldFeatureModel.factoryID;
 		id = oldFeatureModel.id;
-		featureOrderList = new LinkedList<>(oldFeatureModel.featureOrderList);
+		featureOrderList = new ArrayList<>(oldFeatureModel.featureOrderList);
 		featureOrderUserDefined = oldFeatureModel.featureOrderUserDefined;
 
 		property = oldFeatureModel.getProperty().clone(this);
@@ -125,17 +147,39 @@ public class FeatureModel implements IFeatureModel {
 
 		sourceFile = oldFeatureModel.sourceFile;
 
+		copyFeatures(oldFeatureModel.getStructure().getRoot(), oldFeatureModel.constraints, newRoot);
+	}
+
+	/**
+	 * Creates a modifiable copy of a snapshot (see {@link FeatureModelSnapshot#clone()}).
+	 */
+	FeatureModel(FeatureModelSnapshot snapshot, IFeature newRoot) {
+		factoryID = snapshot.getFactoryID();
+		id = snapshot.getId();
+		featureOrderList = new ArrayList<>(snapshot.featureOrderList);
+		featureOrderUserDefined = snapshot.isFeatureOrderUserDefined();
+
+		property = snapshot.getProperty().clone(this);
+		structure = createStructure();
+
+		renamingsManager = snapshot.getRenamingsManager().clone(this);
+
+		sourceFile = snapshot.getSourceFile();
+
+		copyFeatures(snapshot.getStructure().getRoot(), snapshot.getConstraints(), newRoot);
+	}
+
+	private void copyFeatures(IFeatureStructure root, List<IConstraint> oldConstraints, IFeature newRoot) {
 		if (newRoot == null) {
-			final IFeatureStructure root = oldFeatureModel.getStructure().getRoot();
 			if (root != null) {
 				structure.setRoot(root.cloneSubtree(this));// structure.getRoot().cloneSubtree(this));
-				for (final IConstraint constraint : oldFeatureModel.constraints) {
+				for (final IConstraint constraint : oldConstraints) {
 					constraints.add(constraint.clone(this));
 				}
 			}
 		} else {
 			structure.setRoot(newRoot.getStructure().cloneSubtree(this));
-			for (final IConstraint constraint : oldFeatureModel.constraints) {
+			for (final IConstraint constraint : oldConstraints) {
 				if (featureTable.keySet().containsAll(Functional.mapToStringList(constraint.getContainedFeatures()))) {
 					constraints.add(constraint.clone(this));
 				}
@@ -155,12 +199,98 @@ public class FeatureModel implements IFeatureModel {
 	public void addConstraint(IConstraint constraint) {
 		constraints.add(constraint);
 		elements.put(constraint.getInternalId(), constraint);
+		constraintsChanged();
 	}
 
 	@Override
 	public void addConstraint(IConstraint constraint, int index) {
 		constraints.add(index, constraint);
 		elements.put(constraint.getInternalId(), constraint);
+		constraintsChanged();
+	}
+
+	/**
+	 * Returns all constraints that contain a feature with the given name in the order of {@link #getConstraints()}.
+	 *
+	 * @param featureName the name of the feature
+	 * @return an unmodifiable list of the constraints
+	 */
+	synchronized List<IConstraint> getRelevantConstraints(String featureName) {
+		if (constraintIndex == null) {
+			final Map<String, List<IConstraint>> index = new HashMap<>();
+			for (final IConstraint constraint : constraints) {
+				for (final IFeature feature : constraint.getContainedFeatures()) {
+					if (feature != null) {
+						final List<IConstraint> relevantConstraints = index.computeIfAbsent(feature.getName(), k -> new ArrayList<>(2));
+						if (relevantConstraints.isEmpty() || (relevantConstraints.get(relevantConstraints.size() - 1) != constraint)) {
+							relevantConstraints.add(constraint);
+						}
+					}
+				}
+			}
+			constraintIndex = index;
+		}
+		final List<IConstraint> relevantConstraints = constraintIndex.get(featureName);
+		return relevantConstraints == null ? Collections.<IConstraint> emptyList() : Collections.unmodifiableList(relevantConstraints);
+	}
+
+	/**
+	 * Discards the index of the relevant constraints of each feature (see {@link #getRelevantConstraints(String)}).
+	 */
+	synchronized void invalidateConstraintIndex() {
+		constraintIndex = null;
+	}
+
+	private void constraintsChanged() {
+		invalidateConstraintIndex();
+		final FeatureModelSnapshotBuilder builder = snapshotBuilder;
+		if (builder != null) {
+			builder.constraintsChanged();
+		}
+	}
+
+	private void featureOrderChanged() {
+		final FeatureModelSnapshotBuilder builder = snapshotBuilder;
+		if (builder != null) {
+			builder.featureOrderChanged();
+		}
+	}
+
+	/**
+	 * Records that the given feature or constraint was modified since the last snapshot. Is called by the elements of this model.
+	 *
+	 * @param element the modified element
+	 */
+	void elementChanged(IFeatureModelElement element) {
+		final FeatureModelSnapshotBuilder builder = snapshotBuilder;
+		if (builder != null) {
+			builder.elementChanged(element);
+		}
+	}
+
+	/**
+	 * Creates an immutable snapshot of this feature model. The snapshot shares the data of all features and constraints that were not modified since the
+	 * previous snapshot (see {@link FeatureModelSnapshot}). Thus, creating a snapshot only takes time proportional to the number of modified elements. Feature
+	 * models of subclasses or with elements of other classes than {@link Feature} and {@link Constraint} are cloned instead.
+	 *
+	 * @return the snapshot or a clone of this model
+	 */
+	public IFeatureModel createSnapshot() {
+		if (getClass() != FeatureModel.class) {
+			return clone();
+		}
+		FeatureModelSnapshotBuilder builder = snapshotBuilder;
+		if (builder == null) {
+			synchronized (this) {
+				builder = snapshotBuilder;
+				if (builder == null) {
+					builder = new FeatureModelSnapshotBuilder(this);
+					snapshotBuilder = builder;
+				}
+			}
+		}
+		final FeatureModelSnapshot snapshot = builder.build();
+		return snapshot != null ? snapshot : clone();
 	}
 
 	@Override
@@ -238,7 +368,9 @@ public class FeatureModel implements IFeatureModel {
 		parent.removeChild(feature.getStructure());
 		featureTable.remove(name);
 		elements.remove(feature.getInternalId());
-		featureOrderList.remove(name);
+		if (featureOrderList.remove(name)) {
+			featureOrderChanged();
+		}
 		return true;
 	}
 
@@ -265,7 +397,7 @@ public class FeatureModel implements IFeatureModel {
 
 	@Override
 	public final void fireEvent(FeatureIDEEvent event) {
-		eventManager.fireEvent(event);
+		eventBus.fireEvent(eventManager, event);
 	}
 
 	protected void fireEvent(final EventType action) {
@@ -374,12 +506,14 @@ public class FeatureModel implements IFeatureModel {
 	public void removeConstraint(IConstraint constraint) {
 		constraints.remove(constraint);
 		elements.remove(constraint.getInternalId());
+		constraintsChanged();
 	}
 
 	@Override
 	public void removeConstraint(int index) {
 		final IConstraint constraint = constraints.remove(index);
 		elements.remove(constraint.getInternalId());
+		constraintsChanged();
 	}
 
 	@Override
@@ -390,6 +524,7 @@ public class FeatureModel implements IFeatureModel {
 		elements.remove(constraints.get(index).getInternalId());
 		constraints.set(index, constraint);
 		elements.put(constraint.getInternalId(), constraint);
+		constraintsChanged();
 	}
 
 	@Override
@@ -401,25 +536,32 @@ public class FeatureModel implements IFeatureModel {
 		constraints.clear();
 		featureOrderList.clear();
 		elements.clear();
+		invalidateConstraintIndex();
 
 		property.reset();
 		nextElementId = 0;
+
+		final FeatureModelSnapshotBuilder builder = snapshotBuilder;
+		if (builder != null) {
+			builder.invalidate();
+		}
 	}
 
 	@Override
 	public void setConstraints(Iterable<IConstraint> constraints) {
 		this.constraints.clear();
 		this.constraints.addAll(Functional.toList(constraints));
+		constraintsChanged();
 	}
 
 	@Override
 	public void setFeatureOrderList(List<String> featureOrderList) {
 		final List<String> basicSet = Functional.mapToList(new FeaturePreOrder(this), new ConcreteFeatureFilter(), IFeature::getName);
-		// TODO optimize performance
-		basicSet.removeAll(featureOrderList);
+		basicSet.removeAll(new HashSet<>(featureOrderList));
 		this.featureOrderList.clear();
 		this.featureOrderList.addAll(featureOrderList);
 		this.featureOrderList.addAll(basicSet);
+		featureOrderChanged();
 	}
 
 	@Override
@@ -449,6 +591,7 @@ public class FeatureModel implements IFeatureModel {
 	public void setFeatureOrderListItem(int i, String newName) {
 		if (!featureOrderList.isEmpty()) {
 			featureOrderList.set(i, newName);
+			featureOrderChanged();
 		}
 	}
 
@@ -516,6 +659,10 @@ public class FeatureModel implements IFeatureModel {
 		if (this == obj) {
 			return true;
 		}
+		if (obj instanceof FeatureModelSnapshot) {
+			// A snapshot represents the same model as the model it was created from
+			return (getClass() == FeatureModel.class) && (id == ((FeatureModelSnapshot) obj).getId());
+		}
 		if ((obj == null) || (getClass() != obj.getClass())) {
 			return false;
 		}
@@ -526,6 +673,7 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void setConstraint(int index, IConstraint constraint) {
 		constraints.set(index, constraint);
+		constraintsChanged();
 	}
 
 	@Override
@@ -543,6 +691,11 @@ public class FeatureModel implements IFeatureModel {
 		this.eventManager = eventManager;
 	}
 
+	@Override
+	public FeatureModelEventBus getEventBus() {
+		return eventBus;
+	}
+
 	@Override
 	public IFeatureModelElement getElement(long id) {
 		return elements.get(id);
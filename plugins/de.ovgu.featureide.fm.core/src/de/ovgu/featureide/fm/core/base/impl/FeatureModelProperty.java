@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.base.impl;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -140,7 +141,7 @@ public class FeatureModelProperty extends MapPropertyContainer implements IFeatu
 		featureOrderInXML = false;
 		comments.clear();
 		annotations.clear();
-		properties.clear();
+		setProperties(Collections.<Entry> emptySet());
 	}
 
 	@Override
@@ -0,0 +1,597 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.prop4j.Node;
+import org.prop4j.NodeWriter;
+
+import de.ovgu.featureide.fm.core.RenamingsManager;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
+import de.ovgu.featureide.fm.core.base.IFeatureModelProperty;
+import de.ovgu.featureide.fm.core.base.IFeatureModelStructure;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.event.DefaultEventManager;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.event.FeatureModelEventBus;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
+import de.ovgu.featureide.fm.core.base.event.IEventManager;
+import de.ovgu.featureide.fm.core.base.util.PersistentHashMap;
+import de.ovgu.featureide.fm.core.filter.ConcreteFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+
+/**
+ * Immutable snapshot of a {@link FeatureModel} (see {@link FeatureModel#createSnapshot()}).<br> <br> The snapshot stores immutable data objects for its
+ * features and constraints, which are shared with the previous and the next snapshot of the same model as long as the corresponding element is not modified.
+ * The features, feature structures, and constraints of the snapshot are created on demand as read-only views of these data objects. They are equal to the
+ * elements of the original model with the same identifier. Methods that modify the tree, the constraints, or the names of a snapshot throw an
+ * {@link UnsupportedOperationException}. Descriptions and custom properties can be modified, but these modifications are only visible in this snapshot.
+ * {@link #clone()} returns a modifiable copy.
+ */
+public final class FeatureModelSnapshot implements IFeatureModel {
+
+	static final String READ_ONLY = "The snapshot of a feature model cannot be modified.";
+
+	/**
+	 * Immutable data of a feature.
+	 */
+	static final class FeatureData {
+
+		final long id;
+		final String name;
+		final String description;
+		/**
+		 * Is never modified. Views share the properties (see {@link MapPropertyContainer#share(MapPropertyContainer)}).
+		 */
+		final MapPropertyContainer properties;
+		final boolean and;
+		final boolean concrete;
+		final boolean hidden;
+		final boolean mandatory;
+		final boolean multiple;
+		/**
+		 * The identifier of the parent or -1 for the root.
+		 */
+		final long parentId;
+		final long[] childIds;
+
+		FeatureData(IFeature feature) {
+			id = feature.getInternalId();
+			name = feature.getName();
+			description = feature.getProperty().getDescription();
+			properties = new MapPropertyContainer(feature.getCustomProperties());
+
+			final FeatureStructure structure = (FeatureStructure) feature.getStructure();
+			and = structure.and;
+			concrete = structure.concrete;
+			hidden = structure.hidden;
+			mandatory = structure.mandatory;
+			multiple = structure.multiple;
+
+			final IFeatureStructure parent = structure.getParent();
+			parentId = parent == null ? -1 : parent.getFeature().getInternalId();
+			final List<IFeatureStructure> children = structure.getChildren();
+			childIds = new long[children.size()];
+			for (int i = 0; i < childIds.length; i++) {
+				childIds[i] = children.get(i).getFeature().getInternalId();
+			}
+		}
+
+	}
+
+	/**
+	 * Immutable data of a constraint.
+	 */
+	static final class ConstraintData {
+
+		final long id;
+		final String name;
+		/**
+		 * Is never modified. Views use a copy.
+		 */
+		final Node node;
+		final String description;
+		final boolean featureSelected;
+		final boolean implicit;
+		/**
+		 * Is never modified. Views share the properties (see {@link MapPropertyContainer#share(MapPropertyContainer)}).
+		 */
+		final MapPropertyContainer properties;
+
+		ConstraintData(AConstraint constraint) {
+			id = constraint.getInternalId();
+			name = constraint.getName();
+			node = constraint.getNode() == null ? null : constraint.getNode().clone();
+			description = constraint.getDescription();
+			featureSelected = constraint.featureSelected;
+			implicit = constraint.isImplicit;
+			properties = new MapPropertyContainer(constraint.getCustomProperties());
+		}
+
+	}
+
+	private static final class SnapshotFeatureModelStructure extends FeatureModelStructure {
+
+		private SnapshotFeatureModelStructure(FeatureModelSnapshot featureModel, IFeatureStructure root) {
+			super(featureModel);
+			rootFeature = root;
+		}
+
+		@Override
+		public void replaceRoot(IFeatureStructure feature) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+		@Override
+		public void setRoot(IFeatureStructure root) {
+			throw new UnsupportedOperationException(READ_ONLY);
+		}
+
+	}
+
+	private final long id;
+	private final String factoryID;
+	private final Path sourceFile;
+	private final boolean featureOrderUserDefined;
+	private long nextElementId;
+
+	final PersistentHashMap<Long, FeatureData> features;
+	final PersistentHashMap<String, Long> featureIds;
+	final List<ConstraintData> constraints;
+	final List<String> featureOrderList;
+
+	private final IFeatureModelProperty property;
+	private final RenamingsManager renamingsManager;
+	private final IFeatureModelStructure structure;
+
+	private IEventManager eventManager = new DefaultEventManager();
+	private final FeatureModelEventBus eventBus = new FeatureModelEventBus(this);
+
+	/**
+	 * The views of the features that were requested so far.
+	 */
+	private final Map<Long, SnapshotFeature> featureViews = new ConcurrentHashMap<>();
+
+	private volatile List<IConstraint> constraintViews = null;
+	private volatile Map<String, IFeature> featureTable = null;
+	private volatile Map<Long, IConstraint> constraintTable = null;
+	private volatile Map<String, List<IConstraint>> constraintIndex = null;
+
+	FeatureModelSnapshot(FeatureModel featureModel, long rootId, PersistentHashMap<Long, FeatureData> features, PersistentHashMap<String, Long> featureIds,
+			List<ConstraintData> constraints, List<String> featureOrderList) {
+		id = featureModel.getId();
+		factoryID = featureModel.getFactoryID();
+		sourceFile = featureModel.getSourceFile();
+		featureOrderUserDefined = featureModel.isFeatureOrderUserDefined();
+		nextElementId = featureModel.peekNextElementId();
+
+		this.features = features;
+		this.featureIds = featureIds;
+		this.constraints = constraints;
+		this.featureOrderList = featureOrderList;
+
+		property = featureModel.getProperty().clone(this);
+		renamingsManager = featureModel.getRenamingsManager().clone(this);
+		final SnapshotFeature root = getFeature(rootId);
+		structure = new SnapshotFeatureModelStructure(this, root == null ? null : root.getStructure());
+	}
+
+	FeatureData getFeatureData(long id) {
+		return features.get(id);
+	}
+
+	/**
+	 * Returns the view of the feature with the given identifier.
+	 *
+	 * @param id the identifier of the feature
+	 * @return the feature or {@code null} if this snapshot does not contain such a feature
+	 */
+	SnapshotFeature getFeature(long id) {
+		SnapshotFeature feature = featureViews.get(id);
+		if (feature == null) {
+			final FeatureData data = features.get(id);
+			if (data == null) {
+				return null;
+			}
+			feature = new SnapshotFeature(this, data);
+			final SnapshotFeature otherFeature = featureViews.putIfAbsent(id, feature);
+			if (otherFeature != null) {
+				feature = otherFeature;
+			}
+		}
+		return feature;
+	}
+
+	/**
+	 * Creates a modifiable copy of a feature of this snapshot.
+	 *
+	 * @param data the feature
+	 * @param newFeatureModel the feature model of the copy
+	 * @param copySubtree whether the children are copied as well
+	 * @return the structure of the copy
+	 */
+	IFeatureStructure cloneStructure(FeatureData data, IFeatureModel newFeatureModel, boolean copySubtree) {
+		final Feature feature = new Feature(newFeatureModel, data.id, data.name);
+		feature.getProperty().setDescription(data.description);
+		((MapPropertyContainer) feature.getCustomProperties()).share(data.properties);
+
+		final FeatureStructure featureStructure = (FeatureStructure) feature.getStructure();
+		featureStructure.and = data.and;
+		featureStructure.concrete = data.concrete;
+		featureStructure.hidden = data.hidden;
+		featureStructure.mandatory = data.mandatory;
+		featureStructure.multiple = data.multiple;
+
+		if (copySubtree) {
+			newFeatureModel.addFeature(feature);
+			for (final long childId : data.childIds) {
+				featureStructure.addNewChild(cloneStructure(features.get(childId), newFeatureModel, true));
+			}
+		}
+		return featureStructure;
+	}
+
+	/**
+	 * Returns all constraints that contain a feature with the given name in the order of {@link #getConstraints()}.
+	 *
+	 * @param featureName the name of the feature
+	 * @return an unmodifiable list of the constraints
+	 */
+	List<IConstraint> getRelevantConstraints(String featureName) {
+		Map<String, List<IConstraint>> index = constraintIndex;
+		if (index == null) {
+			index = new HashMap<>();
+			for (final IConstraint constraint : getConstraints()) {
+				for (final IFeature feature : constraint.getContainedFeatures()) {
+					if (feature != null) {
+						final List<IConstraint> relevantConstraints = index.computeIfAbsent(feature.getName(), k -> new ArrayList<>(2));
+						if (relevantConstraints.isEmpty() || (relevantConstraints.get(relevantConstraints.size() - 1) != constraint)) {
+							relevantConstraints.add(constraint);
+						}
+					}
+				}
+			}
+			constraintIndex = index;
+		}
+		final List<IConstraint> relevantConstraints = index.get(featureName);
+		return relevantConstraints == null ? Collections.<IConstraint> emptyList() : Collections.unmodifiableList(relevantConstraints);
+	}
+
+	@Override
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public String getFactoryID() {
+		return factoryID;
+	}
+
+	@Override
+	public synchronized long getNextElementId() {
+		return nextElementId++;
+	}
+
+	@Override
+	public void addConstraint(IConstraint constraint) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void addConstraint(IConstraint constraint, int index) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean addFeature(IFeature feature) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public IFeatureModel clone(IFeature newRoot) {
+		return new FeatureModel(this, newRoot);
+	}
+
+	@Override
+	public FeatureModel clone() {
+		return new FeatureModel(this, null);
+	}
+
+	@Override
+	public void createDefaultValues(CharSequence projectName) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public boolean deleteFeature(IFeature feature) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void deleteFeatureFromTable(IFeature feature) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return constraints.size();
+	}
+
+	@Override
+	public int getConstraintIndex(IConstraint constraint) {
+		return getConstraints().indexOf(constraint);
+	}
+
+	@Override
+	public List<IConstraint> getConstraints() {
+		List<IConstraint> currentConstraints = constraintViews;
+		if (currentConstraints == null) {
+			synchronized (this) {
+				currentConstraints = constraintViews;
+				if (currentConstraints == null) {
+					final List<IConstraint> views = new ArrayList<>(constraints.size());
+					for (final ConstraintData data : constraints) {
+						views.add(new SnapshotConstraint(this, data));
+					}
+					currentConstraints = Collections.unmodifiableList(views);
+					constraintViews = currentConstraints;
+				}
+			}
+		}
+		return currentConstraints;
+	}
+
+	@Override
+	public IFeature getFeature(CharSequence name) {
+		final Long featureId = featureIds.get(name.toString());
+		return featureId == null ? null : getFeature(featureId);
+	}
+
+	@Override
+	public IFeatureModelElement getElement(long id) {
+		final IFeature feature = getFeature(id);
+		if (feature != null) {
+			return feature;
+		}
+		Map<Long, IConstraint> table = constraintTable;
+		if (table == null) {
+			table = new HashMap<>();
+			for (final IConstraint constraint : getConstraints()) {
+				table.put(constraint.getInternalId(), constraint);
+			}
+			constraintTable = table;
+		}
+		return table.get(id);
+	}
+
+	@Override
+	public List<String> getFeatureOrderList() {
+		if (featureOrderList.isEmpty()) {
+			return Functional.mapToStringList(Functional.filter(new FeaturePreOrderIterator(this), new ConcreteFeatureFilter()));
+		}
+		return featureOrderList;
+	}
+
+	@Override
+	public Collection<IFeature> getFeatures() {
+		return getFeatureTable().values();
+	}
+
+	@Override
+	public Collection<IFeature> getVisibleFeatures() {
+		return new ArrayList<>(getFeatures());
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return features.size();
+	}
+
+	@Override
+	public IFeatureModelProperty getProperty() {
+		return property;
+	}
+
+	@Override
+	public RenamingsManager getRenamingsManager() {
+		return renamingsManager;
+	}
+
+	@Override
+	public IFeatureModelStructure getStructure() {
+		return structure;
+	}
+
+	@Override
+	public void handleModelDataChanged() {
+		fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED, Boolean.FALSE, Boolean.TRUE));
+	}
+
+	@Override
+	public boolean isFeatureOrderUserDefined() {
+		return featureOrderUserDefined;
+	}
+
+	@Override
+	public void removeConstraint(IConstraint constraint) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void removeConstraint(int index) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void replaceConstraint(IConstraint constraint, int index) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void reset() {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void setConstraints(Iterable<IConstraint> constraints) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void setFeatureOrderList(List<String> featureOrderList) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void setFeatureOrderUserDefined(boolean featureOrderUserDefined) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void setFeatureTable(Hashtable<String, IFeature> featureTable) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Map<String, IFeature> getFeatureTable() {
+		Map<String, IFeature> table = featureTable;
+		if (table == null) {
+			final Map<String, IFeature> newTable = new HashMap<>();
+			featureIds.forEach((name, featureId) -> newTable.put(name, getFeature(featureId)));
+			table = Collections.unmodifiableMap(newTable);
+			featureTable = table;
+		}
+		return table;
+	}
+
+	@Override
+	public void setFeatureOrderListItem(int i, String newName) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void setSourceFile(Path file) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Path getSourceFile() {
+		return sourceFile;
+	}
+
+	@Override
+	public void setConstraint(int index, IConstraint constraint) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public List<IEventListener> getListenerList() {
+		return eventManager.getListeners();
+	}
+
+	@Override
+	public void setEventManager(IEventManager eventManager) {
+		this.eventManager = eventManager;
+	}
+
+	@Override
+	public FeatureModelEventBus getEventBus() {
+		return eventBus;
+	}
+
+	@Override
+	public void addListener(IEventListener listener) {
+		eventManager.addListener(listener);
+	}
+
+	@Override
+	public List<IEventListener> getListeners() {
+		return eventManager.getListeners();
+	}
+
+	@Override
+	public void removeListener(IEventListener listener) {
+		eventManager.removeListener(listener);
+	}
+
+	@Override
+	public void fireEvent(FeatureIDEEvent event) {
+		eventBus.fireEvent(eventManager, event);
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (37 * id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof FeatureModelSnapshot) {
+			return id == ((FeatureModelSnapshot) obj).id;
+		}
+		// A snapshot represents the same model as the model it was created from
+		return (obj != null) && (obj.getClass() == FeatureModel.class) && (id == ((FeatureModel) obj).getId());
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("FeatureModel(");
+		if (structure.getRoot() != null) {
+			sb.append("Structure=[");
+			FeatureUtils.print(structure.getRoot().getFeature(), sb);
+			sb.append("], Constraints=[");
+			final List<IConstraint> constraints = getConstraints();
+			for (int i = 0; i < constraints.size(); i++) {
+				sb.append("[");
+				sb.append(new NodeWriter(constraints.get(i).getNode()).nodeToString());
+				sb.append("]");
+				if ((i + 1) < constraints.size()) {
+					sb.append(", ");
+				}
+			}
+			sb.append("], ");
+		} else {
+			sb.append("Feature model without root feature.");
+		}
+		sb.append("Features=[");
+		sb.append(String.join(", ", getFeatureTable().keySet()));
+		sb.append("])");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,244 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.impl.FeatureModelSnapshot.ConstraintData;
+import de.ovgu.featureide.fm.core.base.impl.FeatureModelSnapshot.FeatureData;
+import de.ovgu.featureide.fm.core.base.util.PersistentHashMap;
+
+/**
+ * Creates the snapshots of a {@link FeatureModel}. Records which elements were modified since the last snapshot and only recreates their data for the next
+ * snapshot. All other data is shared with the last snapshot.<br> <br> The features of a snapshot are all features that can be reached from the root of the
+ * model (as in {@link FeatureModel#clone()}). A modified feature that can be reached is updated, including all of its children that were not part of the last
+ * snapshot. A modified feature that cannot be reached is removed together with its subtree.
+ */
+final class FeatureModelSnapshotBuilder {
+
+	private final FeatureModel featureModel;
+
+	/**
+	 * The data of the last snapshot. Is {@code null} if the next snapshot must be created from scratch.
+	 */
+	private PersistentHashMap<Long, FeatureData> features = null;
+	private PersistentHashMap<String, Long> featureIds = null;
+	private List<ConstraintData> constraints = null;
+	private List<String> featureOrderList = null;
+
+	private final Set<IFeature> changedFeatures = Collections.newSetFromMap(new IdentityHashMap<IFeature, Boolean>());
+	private final Set<Long> changedConstraints = new HashSet<>();
+	private boolean constraintsChanged = false;
+	private boolean featureOrderChanged = false;
+
+	/**
+	 * The features that were updated while creating the current snapshot.
+	 */
+	private final Set<Long> updatedFeatures = new HashSet<>();
+
+	FeatureModelSnapshotBuilder(FeatureModel featureModel) {
+		this.featureModel = featureModel;
+	}
+
+	synchronized void elementChanged(IFeatureModelElement element) {
+		if (features != null) {
+			if (element instanceof IFeature) {
+				changedFeatures.add((IFeature) element);
+			} else {
+				changedConstraints.add(element.getInternalId());
+			}
+		}
+	}
+
+	synchronized void constraintsChanged() {
+		constraintsChanged = true;
+	}
+
+	synchronized void featureOrderChanged() {
+		featureOrderChanged = true;
+	}
+
+	/**
+	 * Discards the data of the last snapshot, such that the next snapshot is created from scratch.
+	 */
+	synchronized void invalidate() {
+		features = null;
+		featureIds = null;
+		constraints = null;
+		featureOrderList = null;
+		clearChanges();
+	}
+
+	private void clearChanges() {
+		changedFeatures.clear();
+		changedConstraints.clear();
+		constraintsChanged = false;
+		featureOrderChanged = false;
+		updatedFeatures.clear();
+	}
+
+	/**
+	 * Creates a snapshot of the current state of the feature model.
+	 *
+	 * @return the snapshot or {@code null} if the feature model contains elements that cannot be represented by a snapshot
+	 */
+	synchronized FeatureModelSnapshot build() {
+		final IFeatureStructure root = featureModel.getStructure().getRoot();
+		if (!(updateFeatures(root) && updateConstraints())) {
+			invalidate();
+			return null;
+		}
+		if ((featureOrderList == null) || featureOrderChanged) {
+			featureOrderList = Collections.unmodifiableList(new ArrayList<>(featureModel.featureOrderList));
+		}
+		clearChanges();
+		return new FeatureModelSnapshot(featureModel, root == null ? -1 : root.getFeature().getInternalId(), features, featureIds, constraints,
+				featureOrderList);
+	}
+
+	private boolean updateFeatures(IFeatureStructure root) {
+		if (features == null) {
+			features = PersistentHashMap.empty();
+			featureIds = PersistentHashMap.empty();
+			return (root == null) || putFeature(root);
+		}
+		final List<IFeature> unreachableFeatures = new ArrayList<>();
+		for (final IFeature feature : changedFeatures) {
+			if (isReachable(feature.getStructure(), root)) {
+				if (!putFeature(feature.getStructure())) {
+					return false;
+				}
+			} else {
+				unreachableFeatures.add(feature);
+			}
+		}
+		for (final IFeature feature : unreachableFeatures) {
+			removeFeature(feature.getInternalId());
+		}
+		return true;
+	}
+
+	private static boolean isReachable(IFeatureStructure structure, IFeatureStructure root) {
+		if (root == null) {
+			return false;
+		}
+		IFeatureStructure current = structure;
+		while (current.getParent() != null) {
+			current = current.getParent();
+		}
+		return current == root;
+	}
+
+	/**
+	 * Updates the data of the given feature and adds all children that are not part of the last snapshot.
+	 *
+	 * @return {@code false} if the feature or one of its new children cannot be represented by a snapshot
+	 */
+	private boolean putFeature(IFeatureStructure structure) {
+		final IFeature feature = structure.getFeature();
+		if ((feature.getClass() != Feature.class) || (structure.getClass() != FeatureStructure.class)
+			|| (feature.getProperty().getClass() != FeatureProperty.class)) {
+			return false;
+		}
+		final FeatureData data = new FeatureData(feature);
+		final FeatureData oldData = features.get(data.id);
+		features = features.put(data.id, data);
+		updatedFeatures.add(data.id);
+		if ((oldData != null) && (oldData.name != null) && !oldData.name.equals(data.name)) {
+			removeName(oldData);
+		}
+		if (data.name != null) {
+			featureIds = featureIds.put(data.name, data.id);
+		}
+		for (final IFeatureStructure child : structure.getChildren()) {
+			if (!features.containsKey(child.getFeature().getInternalId()) && !putFeature(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the given feature and its subtree, except for features that were updated, because they were moved to another parent.
+	 */
+	private void removeFeature(long id) {
+		if (updatedFeatures.contains(id)) {
+			return;
+		}
+		final FeatureData data = features.get(id);
+		if (data != null) {
+			features = features.remove(id);
+			removeName(data);
+			for (final long childId : data.childIds) {
+				removeFeature(childId);
+			}
+		}
+	}
+
+	private void removeName(FeatureData data) {
+		if ((data.name != null) && Long.valueOf(data.id).equals(featureIds.get(data.name))) {
+			featureIds = featureIds.remove(data.name);
+		}
+	}
+
+	/**
+	 * Rebuilds the list of constraints if it or one of its constraints was modified. Reuses the data of all unmodified constraints.
+	 *
+	 * @return {@code false} if a constraint cannot be represented by a snapshot
+	 */
+	private boolean updateConstraints() {
+		if ((constraints != null) && !constraintsChanged && changedConstraints.isEmpty()) {
+			return true;
+		}
+		final Map<Long, ConstraintData> oldConstraints = new HashMap<>();
+		if (constraints != null) {
+			for (final ConstraintData data : constraints) {
+				oldConstraints.put(data.id, data);
+			}
+		}
+		final List<ConstraintData> newConstraints = new ArrayList<>(featureModel.constraints.size());
+		for (final IConstraint constraint : featureModel.constraints) {
+			if (constraint.getClass() != Constraint.class) {
+				return false;
+			}
+			final long id = constraint.getInternalId();
+			ConstraintData data = oldConstraints.get(id);
+			if ((data == null) || changedConstraints.contains(id)) {
+				data = new ConstraintData((Constraint) constraint);
+			}
+			newConstraints.add(data);
+		}
+		constraints = Collections.unmodifiableList(newConstraints);
+		return true;
+	}
+
+}
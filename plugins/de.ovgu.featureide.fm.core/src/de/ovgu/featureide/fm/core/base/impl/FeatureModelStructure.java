@@ -232,12 +232,25 @@ public class FeatureModelStructure implements IFeatureModelStructure {
 		correspondingFeatureModel.deleteFeatureFromTable(rootFeature.getFeature());
 
 		feature.setParent(null);
+		rootChanged(rootFeature, feature);
 		rootFeature = feature;
 	}
 
 	@Override
 	public void setRoot(IFeatureStructure root) {
+		rootChanged(rootFeature, root);
 		rootFeature = root;
 	}
 
+	private void rootChanged(IFeatureStructure oldRoot, IFeatureStructure newRoot) {
+		if (correspondingFeatureModel instanceof FeatureModel) {
+			if (oldRoot != null) {
+				((FeatureModel) correspondingFeatureModel).elementChanged(oldRoot.getFeature());
+			}
+			if (newRoot != null) {
+				((FeatureModel) correspondingFeatureModel).elementChanged(newRoot.getFeature());
+			}
+		}
+	}
+
 }
@@ -75,6 +75,9 @@ public class FeatureProperty implements IFeatureProperty {
 	@Override
 	public void setDescription(@Nonnull final CharSequence description) {
 		this.description = description.toString();
+		if (correspondingFeature instanceof AFeature) {
+			((AFeature) correspondingFeature).elementChanged();
+		}
 	}
 
 	@Override
@@ -20,8 +20,8 @@
  */
 package de.ovgu.featureide.fm.core.base.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -43,7 +43,14 @@ public class FeatureStructure implements IFeatureStructure {
 
 	protected boolean and;
 
-	protected final LinkedList<IFeatureStructure> children = new LinkedList<>();
+	protected final List<IFeatureStructure> children = new IndexedArrayList<IFeatureStructure>() {
+
+		@Override
+		void modified() {
+			markChanged();
+		}
+
+	};
 	protected boolean concrete;
 	protected final IFeature correspondingFeature;
 
@@ -53,7 +60,7 @@ public class FeatureStructure implements IFeatureStructure {
 	protected boolean multiple;
 
 	protected IFeatureStructure parent = null;
-	protected List<IConstraint> partOfConstraints = new LinkedList<>();
+	protected List<IConstraint> partOfConstraints = new ArrayList<>();
 
 	protected FeatureStructure(FeatureStructure oldStructure, IFeatureModel newFeatureModel) {
 		this(oldStructure, newFeatureModel, false);
@@ -120,6 +127,7 @@ public class FeatureStructure implements IFeatureStructure {
 		}
 		and = false;
 		multiple = false;
+		markChanged();
 		fireChildrenChanged();
 	}
 
@@ -127,6 +135,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public void changeToAnd() {
 		and = true;
 		multiple = false;
+		markChanged();
 		fireChildrenChanged();
 	}
 
@@ -137,6 +146,7 @@ public class FeatureStructure implements IFeatureStructure {
 		}
 		and = false;
 		multiple = true;
+		markChanged();
 		fireChildrenChanged();
 	}
 
@@ -150,6 +160,16 @@ public class FeatureStructure implements IFeatureStructure {
 		return new FeatureStructure(this, newFeatureModel, false);
 	}
 
+	/**
+	 * Notifies the feature model that this structure was modified (see {@link FeatureModel#elementChanged}).
+	 */
+	private void markChanged() {
+		final IFeatureModel featureModel = correspondingFeature.getFeatureModel();
+		if (featureModel instanceof FeatureModel) {
+			((FeatureModel) featureModel).elementChanged(correspondingFeature);
+		}
+	}
+
 	protected void fireAttributeChanged() {
 		final FeatureIDEEvent event = new FeatureIDEEvent(this, EventType.ATTRIBUTE_CHANGED);
 		correspondingFeature.fireEvent(event);
@@ -212,7 +232,7 @@ public class FeatureStructure implements IFeatureStructure {
 	@Override
 	public IFeatureStructure getLastChild() {
 		if (!children.isEmpty()) {
-			return children.getLast();
+			return children.get(children.size() - 1);
 		}
 		return null;
 	}
@@ -311,7 +331,7 @@ public class FeatureStructure implements IFeatureStructure {
 
 	@Override
 	public boolean isFirstChild(IFeatureStructure child) {
-		return children.indexOf(child) == 0;
+		return !children.isEmpty() && children.get(0).equals(child);
 	}
 
 	@Override
@@ -355,7 +375,10 @@ public class FeatureStructure implements IFeatureStructure {
 
 	@Override
 	public IFeatureStructure removeLastChild() {
-		final IFeatureStructure child = children.removeLast();
+		if (children.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		final IFeatureStructure child = children.remove(children.size() - 1);
 		child.setParent(null);
 		fireChildrenChanged();
 		return child;
@@ -373,6 +396,7 @@ public class FeatureStructure implements IFeatureStructure {
 	@Override
 	public void setAbstract(boolean value) {
 		concrete = !value;
+		markChanged();
 		fireAttributeChanged();
 	}
 
@@ -380,16 +404,19 @@ public class FeatureStructure implements IFeatureStructure {
 	public void setAlternative() {
 		and = false;
 		multiple = false;
+		markChanged();
 	}
 
 	@Override
 	public void setAnd() {
 		and = true;
+		markChanged();
 	}
 
 	@Override
 	public void setAND(boolean and) {
 		this.and = and;
+		markChanged();
 		fireChildrenChanged();
 	}
 
@@ -405,18 +432,21 @@ public class FeatureStructure implements IFeatureStructure {
 	@Override
 	public void setHidden(boolean hid) {
 		hidden = hid;
+		markChanged();
 		fireHiddenChanged();
 	}
 
 	@Override
 	public void setMandatory(boolean mandatory) {
 		this.mandatory = mandatory;
+		markChanged();
 		fireMandatoryChanged();
 	}
 
 	@Override
 	public void setMultiple(boolean multiple) {
 		this.multiple = multiple;
+		markChanged();
 		fireChildrenChanged();
 	}
 
@@ -424,6 +454,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public void setOr() {
 		and = false;
 		multiple = true;
+		markChanged();
 	}
 
 	@Override
@@ -432,12 +463,18 @@ public class FeatureStructure implements IFeatureStructure {
 			return;
 		}
 		parent = newParent;
+		markChanged();
 	}
 
 	@Override
 	public void setRelevantConstraints() {
-		final List<IConstraint> constraintList = new LinkedList<>();
-		for (final IConstraint constraint : correspondingFeature.getFeatureModel().getConstraints()) {
+		final IFeatureModel featureModel = correspondingFeature.getFeatureModel();
+		if (featureModel instanceof FeatureModel) {
+			partOfConstraints = new ArrayList<>(((FeatureModel) featureModel).getRelevantConstraints(correspondingFeature.getName()));
+			return;
+		}
+		final List<IConstraint> constraintList = new ArrayList<>();
+		for (final IConstraint constraint : featureModel.getConstraints()) {
 			for (final IFeature f : constraint.getContainedFeatures()) {
 				if (f.getName().equals(correspondingFeature.getName())) {
 					constraintList.add(constraint);
@@ -0,0 +1,168 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed list that caches the index of its elements. Thus, {@link #indexOf(Object)}, {@link #contains(Object)}, and {@link #remove(Object)} do not scan
+ * the list when it was not modified since the last lookup. The cache is built on demand and only for lists with at least {@value #MIN_INDEXED_SIZE} elements.
+ * Appending an element keeps the cache valid, any other modification discards it.
+ *
+ * @param <E> the type of the elements
+ */
+class IndexedArrayList<E> extends AbstractList<E> implements RandomAccess {
+
+	private static final int MIN_INDEXED_SIZE = 8;
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private Object[] elements = EMPTY;
+	private int size = 0;
+
+	/**
+	 * Maps each element to the index of its first occurrence. Is {@code null} if not built yet or invalid.
+	 */
+	private volatile HashMap<Object, Integer> index = null;
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E get(int i) {
+		checkIndex(i, size);
+		return (E) elements[i];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E set(int i, E element) {
+		checkIndex(i, size);
+		final E oldElement = (E) elements[i];
+		elements[i] = element;
+		index = null;
+		modified();
+		return oldElement;
+	}
+
+	@Override
+	public void add(int i, E element) {
+		checkIndex(i, size + 1);
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, Math.max(4, size + (size >> 1)));
+		}
+		System.arraycopy(elements, i, elements, i + 1, size - i);
+		elements[i] = element;
+		size++;
+		modCount++;
+
+		final HashMap<Object, Integer> currentIndex = index;
+		if ((currentIndex != null) && (i == (size - 1))) {
+			currentIndex.putIfAbsent(element, i);
+		} else {
+			index = null;
+		}
+		modified();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E remove(int i) {
+		checkIndex(i, size);
+		final E oldElement = (E) elements[i];
+		System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+		elements[--size] = null;
+		modCount++;
+		index = null;
+		modified();
+		return oldElement;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		final int i = indexOf(o);
+		if (i < 0) {
+			return false;
+		}
+		remove(i);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		modCount++;
+		index = null;
+		modified();
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+		final int newSize = size - (toIndex - fromIndex);
+		Arrays.fill(elements, newSize, size, null);
+		size = newSize;
+		modCount++;
+		index = null;
+		modified();
+	}
+
+	/**
+	 * Is called after each modification of this list.
+	 */
+	void modified() {}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (size < MIN_INDEXED_SIZE) {
+			return super.indexOf(o);
+		}
+		HashMap<Object, Integer> currentIndex = index;
+		if (currentIndex == null) {
+			currentIndex = new HashMap<>((size * 4) / 3 + 1);
+			for (int i = 0; i < size; i++) {
+				currentIndex.putIfAbsent(elements[i], i);
+			}
+			index = currentIndex;
+		}
+		final Integer i = currentIndex.get(o);
+		return i == null ? -1 : i;
+	}
+
+	private static void checkIndex(int i, int size) {
+		if ((i < 0) || (i >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+	}
+
+}
@@ -30,6 +30,8 @@ import java.util.Set;
 import de.ovgu.featureide.fm.core.base.IPropertyContainer;
 
 /**
+ * Stores properties in a map. Copies of a container share the same map until one of them is modified (copy-on-write).
+ *
  * @author Marcus Pinnecke
  */
 public class MapPropertyContainer implements IPropertyContainer {
@@ -37,11 +39,66 @@ public class MapPropertyContainer implements IPropertyContainer {
 	public MapPropertyContainer() {}
 
 	public MapPropertyContainer(IPropertyContainer other) {
-		setProperties(other.getProperties());
+		if (other instanceof MapPropertyContainer) {
+			share((MapPropertyContainer) other);
+		} else {
+			setProperties(other.getProperties());
+		}
 	}
 
 	protected Map<Entry, Entry> properties = new HashMap<>();
 
+	/**
+	 * Whether {@link #properties} may be referenced by another container and must be copied before it is modified.
+	 */
+	private volatile boolean shared = false;
+
+	/**
+	 * Is called after each modification of this container. May be {@code null}.
+	 */
+	private Runnable modificationListener = null;
+
+	void setModificationListener(Runnable modificationListener) {
+		this.modificationListener = modificationListener;
+	}
+
+	private void modified() {
+		final Runnable listener = modificationListener;
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	/**
+	 * Replaces the properties of this container with the properties of the given container. Both containers share their properties until one of them is
+	 * modified.
+	 *
+	 * @param other the container to copy
+	 */
+	public void share(MapPropertyContainer other) {
+		if (other != this) {
+			other.shared = true;
+			properties = other.properties;
+			shared = true;
+			modified();
+		}
+	}
+
+	/**
+	 * Copies the shared properties, such that they can be modified.
+	 */
+	protected void copyOnWrite() {
+		if (shared) {
+			final Map<Entry, Entry> copiedProperties = new HashMap<>();
+			for (final Entry entry : properties.keySet()) {
+				final Entry copiedEntry = new Entry(entry);
+				copiedProperties.put(copiedEntry, copiedEntry);
+			}
+			properties = copiedProperties;
+			shared = false;
+		}
+	}
+
 	@Override
 	public String get(String key, String type, String defaultValue) {
 		final Entry newEntry = new Entry(key, type);
@@ -86,20 +143,32 @@ public class MapPropertyContainer implements IPropertyContainer {
 
 	@Override
 	public void setProperties(Collection<Entry> entries) {
-		properties.clear();
+		if (shared) {
+			properties = new HashMap<>();
+			shared = false;
+		} else {
+			properties.clear();
+		}
 		for (final Entry entry : entries) {
 			final Entry copiedEntry = new Entry(entry);
 			properties.put(copiedEntry, copiedEntry);
 		}
+		modified();
 	}
 
 	@Override
 	public Entry remove(String key, String type) {
-		return properties.remove(new Entry(key, type));
+		copyOnWrite();
+		final Entry removedEntry = properties.remove(new Entry(key, type));
+		if (removedEntry != null) {
+			modified();
+		}
+		return removedEntry;
 	}
 
 	@Override
 	public void set(String key, String type, String value) {
+		copyOnWrite();
 		final Entry newEntry = new Entry(key, type);
 		final Entry retrievedEntry = properties.get(newEntry);
 		if (retrievedEntry == null) {
@@ -108,6 +177,7 @@ public class MapPropertyContainer implements IPropertyContainer {
 		} else {
 			retrievedEntry.setValue(value);
 		}
+		modified();
 	}
 
 	@Override
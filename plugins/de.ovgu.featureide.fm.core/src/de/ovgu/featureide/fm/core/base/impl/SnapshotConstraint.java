@@ -0,0 +1,58 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.base.impl.FeatureModelSnapshot.ConstraintData;
+
+/**
+ * Read-only view of a constraint of a {@link FeatureModelSnapshot}. Is equal to the {@link Constraint} with the same identifier.
+ */
+final class SnapshotConstraint extends Constraint {
+
+	private final boolean initialized;
+
+	SnapshotConstraint(FeatureModelSnapshot featureModel, ConstraintData data) {
+		super(featureModel, data.id, data.node == null ? null : data.node.clone());
+		name = data.name;
+		description = data.description;
+		featureSelected = data.featureSelected;
+		isImplicit = data.implicit;
+		((MapPropertyContainer) propertyContainer).share(data.properties);
+		initialized = true;
+	}
+
+	@Override
+	public void setNode(Node node) {
+		// Is called once by the constructor of AConstraint
+		if (initialized) {
+			throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+		}
+		super.setNode(node);
+	}
+
+	@Override
+	protected Class<?> getElementClass() {
+		return Constraint.class;
+	}
+
+}
@@ -0,0 +1,68 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import de.ovgu.featureide.fm.core.base.IFeatureProperty;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.impl.FeatureModelSnapshot.FeatureData;
+
+/**
+ * Read-only view of a feature of a {@link FeatureModelSnapshot}. Is equal to the {@link Feature} with the same identifier.
+ */
+final class SnapshotFeature extends Feature {
+
+	SnapshotFeature(FeatureModelSnapshot featureModel, FeatureData data) {
+		super(featureModel, data.id, data.name);
+	}
+
+	private FeatureData getData() {
+		return ((FeatureModelSnapshot) featureModel).getFeatureData(id);
+	}
+
+	@Override
+	protected IFeatureProperty createProperty() {
+		final FeatureProperty featureProperty = new FeatureProperty(this);
+		featureProperty.description = getData().description;
+		return featureProperty;
+	}
+
+	@Override
+	protected IFeatureStructure createStructure() {
+		return new SnapshotFeatureStructure(this, getData());
+	}
+
+	@Override
+	protected IPropertyContainer createPropertyContainer() {
+		return new MapPropertyContainer(getData().properties);
+	}
+
+	@Override
+	public void setName(String name) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	protected Class<?> getElementClass() {
+		return Feature.class;
+	}
+
+}
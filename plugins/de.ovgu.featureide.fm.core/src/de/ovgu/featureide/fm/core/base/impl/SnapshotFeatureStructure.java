@@ -0,0 +1,346 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.impl.FeatureModelSnapshot.FeatureData;
+
+/**
+ * Read-only view of the structure of a feature of a {@link FeatureModelSnapshot}. Behaves like a {@link FeatureStructure}, but all modifying methods throw an
+ * {@link UnsupportedOperationException}.
+ */
+final class SnapshotFeatureStructure implements IFeatureStructure {
+
+	private final SnapshotFeature correspondingFeature;
+	private final FeatureModelSnapshot featureModel;
+	private final FeatureData data;
+
+	/**
+	 * Is created on demand.
+	 */
+	private volatile List<IFeatureStructure> children = null;
+
+	SnapshotFeatureStructure(SnapshotFeature correspondingFeature, FeatureData data) {
+		this.correspondingFeature = correspondingFeature;
+		featureModel = (FeatureModelSnapshot) correspondingFeature.getFeatureModel();
+		this.data = data;
+	}
+
+	@Override
+	public IFeatureStructure cloneSubtree(IFeatureModel newFeatureModel) {
+		return featureModel.cloneStructure(data, newFeatureModel, true);
+	}
+
+	@Override
+	public IFeatureStructure clone(IFeatureModel newFeatureModel) {
+		return featureModel.cloneStructure(data, newFeatureModel, false);
+	}
+
+	@Override
+	public int getChildIndex(IFeatureStructure feature) {
+		return getChildren().indexOf(feature);
+	}
+
+	@Override
+	public List<IFeatureStructure> getChildren() {
+		List<IFeatureStructure> currentChildren = children;
+		if (currentChildren == null) {
+			final List<IFeatureStructure> newChildren = new ArrayList<>(data.childIds.length);
+			for (final long childId : data.childIds) {
+				newChildren.add(featureModel.getFeature(childId).getStructure());
+			}
+			currentChildren = Collections.unmodifiableList(newChildren);
+			children = currentChildren;
+		}
+		return currentChildren;
+	}
+
+	@Override
+	public boolean hasVisibleChildren(boolean showHiddenFeature) {
+		for (final IFeatureStructure child : getChildren()) {
+			if ((!child.hasHiddenParent() || showHiddenFeature)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int getChildrenCount() {
+		return data.childIds.length;
+	}
+
+	@Override
+	public IFeature getFeature() {
+		return correspondingFeature;
+	}
+
+	@Override
+	public IFeatureStructure getFirstChild() {
+		return hasChildren() ? getChildren().get(0) : null;
+	}
+
+	@Override
+	public IFeatureStructure getLastChild() {
+		return hasChildren() ? getChildren().get(data.childIds.length - 1) : null;
+	}
+
+	@Override
+	public IFeatureStructure getParent() {
+		final SnapshotFeature parent = (data.parentId < 0) ? null : featureModel.getFeature(data.parentId);
+		return parent == null ? null : parent.getStructure();
+	}
+
+	@Override
+	public Collection<IConstraint> getRelevantConstraints() {
+		return new ArrayList<>(featureModel.getRelevantConstraints(data.name));
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return data.childIds.length > 0;
+	}
+
+	@Override
+	public boolean hasHiddenParent() {
+		if (isHidden()) {
+			return true;
+		}
+		if (isRoot()) {
+			return false;
+		}
+		IFeatureStructure p = getParent();
+		while (!p.isRoot()) {
+			if (p.isHidden()) {
+				return true;
+			}
+			p = p.getParent();
+		}
+		return false;
+	}
+
+	@Override
+	public boolean hasInlineRule() {
+		return (getChildrenCount() > 1) && data.and && isMandatory() && !data.multiple;
+	}
+
+	@Override
+	public boolean isAbstract() {
+		return !isConcrete();
+	}
+
+	@Override
+	public boolean isAlternative() {
+		return !data.and && !data.multiple && (getChildrenCount() > 1);
+	}
+
+	@Override
+	public boolean isAncestor(IFeatureStructure parent) {
+		IFeatureStructure currParent = getParent();
+		while (currParent != null) {
+			if (parent == currParent) {
+				return true;
+			}
+			currParent = currParent.getParent();
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isAnd() {
+		return data.and || (getChildrenCount() <= 1);
+	}
+
+	@Override
+	public boolean isANDPossible() {
+		final IFeatureStructure parent = getParent();
+		if ((parent == null) || parent.isAnd()) {
+			return false;
+		}
+		for (final IFeatureStructure child : getChildren()) {
+			if (child.isAnd()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isConcrete() {
+		return data.concrete;
+	}
+
+	@Override
+	public boolean isFirstChild(IFeatureStructure child) {
+		return hasChildren() && getChildren().get(0).equals(child);
+	}
+
+	@Override
+	public boolean isHidden() {
+		return data.hidden;
+	}
+
+	@Override
+	public boolean isMandatory() {
+		final IFeatureStructure parent = getParent();
+		return (parent == null) || !parent.isAnd() || data.mandatory;
+	}
+
+	@Override
+	public boolean isMandatorySet() {
+		return data.mandatory;
+	}
+
+	@Override
+	public boolean isMultiple() {
+		return data.multiple && (getChildrenCount() > 1);
+	}
+
+	@Override
+	public boolean isOr() {
+		return !data.and && data.multiple && (getChildrenCount() > 1);
+	}
+
+	@Override
+	public boolean isRoot() {
+		return getParent() == null;
+	}
+
+	@Override
+	public void addChild(IFeatureStructure newChild) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void addChildAtPosition(int index, IFeatureStructure newChild) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void changeToAlternative() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void changeToAnd() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void changeToOr() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void removeChild(IFeatureStructure child) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public IFeatureStructure removeLastChild() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void replaceChild(IFeatureStructure oldChild, IFeatureStructure newChild) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setAbstract(boolean value) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setAlternative() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setAnd() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setAND(boolean and) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setChildren(List<IFeatureStructure> children) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setHidden(boolean hid) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setMandatory(boolean mandatory) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setMultiple(boolean multiple) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setOr() {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	@Override
+	public void setParent(IFeatureStructure newParent) {
+		throw new UnsupportedOperationException(FeatureModelSnapshot.READ_ONLY);
+	}
+
+	/**
+	 * Does nothing, because the relevant constraints are computed by the snapshot.
+	 */
+	@Override
+	public void setRelevantConstraints() {}
+
+	/**
+	 * Does nothing, because the relevant constraints are computed by the snapshot.
+	 */
+	@Override
+	public void setRelevantConstraints(List<IConstraint> constraints) {}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("FeatureStructure=(");
+		FeatureUtils.print(getFeature(), sb);
+		sb.append(")");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,362 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map (hash array mapped trie). Each modification returns a new map that shares all unmodified nodes with the old map, such that a
+ * modification only copies the path from the root to the changed entry (at most 7 nodes with up to 32 slots each).
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PersistentHashMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private static final PersistentHashMap<Object, Object> EMPTY = new PersistentHashMap<>(null, 0);
+
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return (PersistentHashMap<K, V>) EMPTY;
+	}
+
+	private final Node root;
+	private final int size;
+
+	private PersistentHashMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (root == null) {
+			return null;
+		}
+		final Entry entry = root.find(0, hash(key), key);
+		return entry == null ? null : (V) entry.value;
+	}
+
+	public boolean containsKey(Object key) {
+		return (root != null) && (root.find(0, hash(key), key) != null);
+	}
+
+	/**
+	 * Returns a map that additionally maps the given key to the given value. Returns this map if the key is already mapped to the same value.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the modified map
+	 */
+	public PersistentHashMap<K, V> put(K key, V value) {
+		final Entry entry = new Entry(hash(key), key, value);
+		if (root == null) {
+			return new PersistentHashMap<>(new BitmapNode(0, new Object[0]).put(0, entry), 1);
+		}
+		final Node newRoot = root.put(0, entry);
+		if (newRoot == root) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, (root.find(0, entry.hash, key) == null) ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a map without the given key. Returns this map if the key is not contained.
+	 *
+	 * @param key the key
+	 * @return the modified map
+	 */
+	public PersistentHashMap<K, V> remove(Object key) {
+		if (root == null) {
+			return this;
+		}
+		final Node newRoot = root.remove(0, hash(key), key);
+		if (newRoot == root) {
+			return this;
+		}
+		return (newRoot == null) ? PersistentHashMap.<K, V> empty() : new PersistentHashMap<>(newRoot, size - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if (root != null) {
+			root.forEach((BiConsumer<Object, Object>) action);
+		}
+	}
+
+	private static int hash(Object key) {
+		final int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static final class Entry {
+
+		private final int hash;
+		private final Object key;
+		private final Object value;
+
+		private Entry(int hash, Object key, Object value) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+		}
+
+		private boolean matches(int hash, Object key) {
+			return (this.hash == hash) && this.key.equals(key);
+		}
+
+	}
+
+	private abstract static class Node {
+
+		abstract Entry find(int shift, int hash, Object key);
+
+		/**
+		 * @return the modified node or this node if the entry is already contained
+		 */
+		abstract Node put(int shift, Entry entry);
+
+		/**
+		 * @return the modified node, this node if the key is not contained, or {@code null} if the node would be empty
+		 */
+		abstract Node remove(int shift, int hash, Object key);
+
+		abstract void forEach(BiConsumer<Object, Object> action);
+
+	}
+
+	/**
+	 * Node whose slots are indexed by 5 bits of the hash. Only occupied slots are stored, each slot is either an {@link Entry} or a sub {@link Node}.
+	 */
+	private static final class BitmapNode extends Node {
+
+		private final int bitmap;
+		private final Object[] slots;
+
+		private BitmapNode(int bitmap, Object[] slots) {
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		private static Node create(int shift, Entry entry1, Entry entry2) {
+			if ((entry1.hash == entry2.hash) || (shift >= Integer.SIZE)) {
+				return new CollisionNode(entry1.hash, new Entry[] { entry1, entry2 });
+			}
+			final int bit1 = 1 << ((entry1.hash >>> shift) & MASK);
+			final int bit2 = 1 << ((entry2.hash >>> shift) & MASK);
+			if (bit1 == bit2) {
+				return new BitmapNode(bit1, new Object[] { create(shift + BITS, entry1, entry2) });
+			}
+			return new BitmapNode(bit1 | bit2, (Integer.compareUnsigned(bit1, bit2) < 0) ? new Object[] { entry1, entry2 } : new Object[] { entry2, entry1 });
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Entry find(int shift, int hash, Object key) {
+			final int bit = 1 << ((hash >>> shift) & MASK);
+			if ((bitmap & bit) == 0) {
+				return null;
+			}
+			final Object slot = slots[index(bit)];
+			if (slot instanceof Entry) {
+				final Entry entry = (Entry) slot;
+				return entry.matches(hash, key) ? entry : null;
+			}
+			return ((Node) slot).find(shift + BITS, hash, key);
+		}
+
+		@Override
+		Node put(int shift, Entry entry) {
+			final int bit = 1 << ((entry.hash >>> shift) & MASK);
+			final int index = index(bit);
+			if ((bitmap & bit) == 0) {
+				final Object[] newSlots = new Object[slots.length + 1];
+				System.arraycopy(slots, 0, newSlots, 0, index);
+				newSlots[index] = entry;
+				System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+				return new BitmapNode(bitmap | bit, newSlots);
+			}
+			final Object slot = slots[index];
+			final Object newSlot;
+			if (slot instanceof Entry) {
+				final Entry oldEntry = (Entry) slot;
+				if (oldEntry.matches(entry.hash, entry.key)) {
+					if (oldEntry.value == entry.value) {
+						return this;
+					}
+					newSlot = entry;
+				} else {
+					newSlot = create(shift + BITS, oldEntry, entry);
+				}
+			} else {
+				newSlot = ((Node) slot).put(shift + BITS, entry);
+				if (newSlot == slot) {
+					return this;
+				}
+			}
+			final Object[] newSlots = slots.clone();
+			newSlots[index] = newSlot;
+			return new BitmapNode(bitmap, newSlots);
+		}
+
+		@Override
+		Node remove(int shift, int hash, Object key) {
+			final int bit = 1 << ((hash >>> shift) & MASK);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			final int index = index(bit);
+			final Object slot = slots[index];
+			final Object newSlot;
+			if (slot instanceof Entry) {
+				if (!((Entry) slot).matches(hash, key)) {
+					return this;
+				}
+				newSlot = null;
+			} else {
+				newSlot = ((Node) slot).remove(shift + BITS, hash, key);
+				if (newSlot == slot) {
+					return this;
+				}
+			}
+			if (newSlot != null) {
+				final Object[] newSlots = slots.clone();
+				newSlots[index] = newSlot;
+				return new BitmapNode(bitmap, newSlots);
+			}
+			if (slots.length == 1) {
+				return null;
+			}
+			final Object[] newSlots = new Object[slots.length - 1];
+			System.arraycopy(slots, 0, newSlots, 0, index);
+			System.arraycopy(slots, index + 1, newSlots, index, newSlots.length - index);
+			return new BitmapNode(bitmap & ~bit, newSlots);
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (final Object slot : slots) {
+				if (slot instanceof Entry) {
+					action.accept(((Entry) slot).key, ((Entry) slot).value);
+				} else {
+					((Node) slot).forEach(action);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Node for entries whose keys have the same hash.
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+		private final Entry[] entries;
+
+		private CollisionNode(int hash, Entry[] entries) {
+			this.hash = hash;
+			this.entries = entries;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < entries.length; i++) {
+				if (Objects.equals(entries[i].key, key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Entry find(int shift, int hash, Object key) {
+			if (hash != this.hash) {
+				return null;
+			}
+			final int index = indexOf(key);
+			return index < 0 ? null : entries[index];
+		}
+
+		@Override
+		Node put(int shift, Entry entry) {
+			if (entry.hash != hash) {
+				// Keys with a different hash share the path up to this node, so it is replaced by a node that distinguishes both hashes
+				final int bit = 1 << ((hash >>> shift) & MASK);
+				return new BitmapNode(bit, new Object[] { this }).put(shift, entry);
+			}
+			final int index = indexOf(entry.key);
+			if (index < 0) {
+				final Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+				newEntries[entries.length] = entry;
+				return new CollisionNode(hash, newEntries);
+			}
+			if (entries[index].value == entry.value) {
+				return this;
+			}
+			final Entry[] newEntries = entries.clone();
+			newEntries[index] = entry;
+			return new CollisionNode(hash, newEntries);
+		}
+
+		@Override
+		Node remove(int shift, int hash, Object key) {
+			if (hash != this.hash) {
+				return this;
+			}
+			final int index = indexOf(key);
+			if (index < 0) {
+				return this;
+			}
+			if (entries.length == 1) {
+				return null;
+			}
+			final Entry[] newEntries = new Entry[entries.length - 1];
+			System.arraycopy(entries, 0, newEntries, 0, index);
+			System.arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+			return new CollisionNode(hash, newEntries);
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (final Entry entry : entries) {
+				action.accept(entry.key, entry.value);
+			}
+		}
+
+	}
+
+}
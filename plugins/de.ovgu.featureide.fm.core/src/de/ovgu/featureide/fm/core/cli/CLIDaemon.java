@@ -0,0 +1,473 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves requests to {@link ICLIFunction CLI functions} within a single, long-running JVM. This avoids the start-up and warm-up of a new JVM for each call and
+ * allows functions to reuse models from the {@link ModelCache}. Requests are run concurrently.<br> <br> The daemon reads requests from the standard input or
+ * from connections to a local socket. Each request is a single line containing a request id, the name of the function, and its arguments, separated by tabs.
+ * For each request, the daemon responds with the lines printed by the function, each prefixed by the request id and {@value #OUT} or {@value #ERR}, followed
+ * by a line containing the request id, {@value #EXIT}, and the exit code of the request (see {@link FeatureIDECLI}). The responses of a request are written
+ * contiguously, but responses of different requests may appear in any order. A request with the function {@value #SHUTDOWN} stops the daemon after all
+ * running requests are finished. Requests that arrive after a shutdown fail with the exit code {@value #EXIT_SHUT_DOWN}.<br> <br> Any local process can
+ * connect to the socket. Thus, the daemon writes a random token to a file that only the current user can read (see {@link #getTokenFile(Path, int)}) and
+ * requests from the socket must start with this token as an additional first field. A request with an invalid token fails with the exit code
+ * {@value #EXIT_INVALID_TOKEN} and the daemon closes the connection.
+ */
+public class CLIDaemon {
+
+	static final String SEPARATOR = "\t";
+	static final String OUT = "out";
+	static final String ERR = "err";
+	static final String EXIT = "exit";
+	static final String SHUTDOWN = "-shutdown";
+
+	private static final int EXIT_INVALID_REQUEST = 1;
+	private static final int EXIT_EXCEPTION = 2;
+	private static final int EXIT_SHUT_DOWN = 3;
+	private static final int EXIT_INVALID_TOKEN = 4;
+
+	private static final int TOKEN_LENGTH = 32;
+
+	/**
+	 * Forwards all output to the stream of the request that is handled by the current thread, or to the default stream if the current thread does not handle
+	 * a request.
+	 */
+	private static final class RequestOutputStream extends OutputStream {
+
+		private final OutputStream defaultStream;
+		private final ThreadLocal<OutputStream> requestStream = new ThreadLocal<>();
+
+		private RequestOutputStream(OutputStream defaultStream) {
+			this.defaultStream = defaultStream;
+		}
+
+		private OutputStream getStream() {
+			final OutputStream stream = requestStream.get();
+			return stream == null ? defaultStream : stream;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			getStream().write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			getStream().write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			getStream().flush();
+		}
+
+	}
+
+	private final ExecutorService executor;
+
+	private RequestOutputStream requestOut;
+	private RequestOutputStream requestErr;
+
+	private volatile boolean running = true;
+	private volatile ServerSocket serverSocket;
+
+	/**
+	 * @param poolSize the maximum number of requests that are run concurrently
+	 */
+	public CLIDaemon(int poolSize) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+			final Thread thread = new Thread(runnable, "FeatureIDE-CLI-Request-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Serves all requests read from the given input stream until the stream is closed or a shutdown is requested. Output that is not part of a request (e.g.,
+	 * of other threads) is written to {@link System#err}, as the output stream is usually {@link System#out}.
+	 *
+	 * @param input the stream to read requests from
+	 * @param output the stream to write responses to
+	 * @throws IOException if reading the requests fails
+	 */
+	public void serve(InputStream input, OutputStream output) throws IOException {
+		final PrintWriter responses = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		redirectSystemStreams(System.err);
+		try {
+			serveConnection(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), responses, null);
+		} finally {
+			awaitTermination();
+		}
+	}
+
+	/**
+	 * Serves all requests from connections to a local socket until a shutdown is requested. The socket only accepts connections from the loopback address.
+	 * The token for the requests is written to the {@link #getDefaultTokenDirectory() default token directory}.
+	 *
+	 * @param port the port of the socket; 0 to use any free port
+	 * @throws IOException if the socket cannot be opened or the token file cannot be written
+	 */
+	public void serve(int port) throws IOException {
+		serve(port, getDefaultTokenDirectory());
+	}
+
+	/**
+	 * Serves all requests from connections to a local socket until a shutdown is requested. The socket only accepts connections from the loopback address.
+	 *
+	 * @param port the port of the socket; 0 to use any free port
+	 * @param tokenDirectory the directory of the token file
+	 * @throws IOException if the socket cannot be opened or the token file cannot be written
+	 */
+	void serve(int port, Path tokenDirectory) throws IOException {
+		try (ServerSocket socket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+			serverSocket = socket;
+			final Path tokenFile = getTokenFile(tokenDirectory, socket.getLocalPort());
+			final String token = createToken();
+			writeTokenFile(tokenFile, token);
+			try {
+				System.out.println("Listening on port " + socket.getLocalPort());
+				redirectSystemStreams(System.out);
+				acceptConnections(socket, token);
+			} finally {
+				Files.deleteIfExists(tokenFile);
+			}
+		} finally {
+			awaitTermination();
+		}
+	}
+
+	private void acceptConnections(ServerSocket socket, String token) throws IOException {
+		while (running) {
+			final Socket connection;
+			try {
+				connection = socket.accept();
+			} catch (final SocketException e) {
+				// socket was closed by a shutdown request
+				break;
+			}
+			final Thread connectionThread = new Thread(() -> {
+				try (Socket s = connection) {
+					serveConnection(new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8)),
+							new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)), token);
+				} catch (final IOException e) {
+					// connection was closed by the client
+				}
+			}, "FeatureIDE-CLI-Connection");
+			connectionThread.setDaemon(true);
+			connectionThread.start();
+		}
+	}
+
+	/**
+	 * Requests the daemon to stop. Requests that are already running are finished.
+	 */
+	public void shutdown() {
+		running = false;
+		final ServerSocket socket = serverSocket;
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (final IOException e) {}
+		}
+	}
+
+	/**
+	 * @param defaultOut the stream for output to {@link System#out} that is not part of a request
+	 */
+	private synchronized void redirectSystemStreams(OutputStream defaultOut) {
+		if (requestOut == null) {
+			requestOut = new RequestOutputStream(defaultOut);
+			requestErr = new RequestOutputStream(System.err);
+			System.setOut(new PrintStream(requestOut, true));
+			System.setErr(new PrintStream(requestErr, true));
+		}
+	}
+
+	private void awaitTermination() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Reads and runs the requests of a single connection. Returns after the responses of all its requests have been written, so that the caller can close the
+	 * connection. Stops reading at the first request with an invalid token.
+	 *
+	 * @param token the token that each request must start with; {@code null} if the requests contain no token
+	 */
+	private void serveConnection(BufferedReader requests, PrintWriter responses, String token) throws IOException {
+		final List<Future<?>> pendingRequests = new ArrayList<>();
+		try {
+			while (running) {
+				final String line = requests.readLine();
+				if (line == null) {
+					break;
+				}
+				if (!line.isEmpty()) {
+					String request = line;
+					if (token != null) {
+						final int tokenEnd = line.indexOf(SEPARATOR);
+						if ((tokenEnd < 0) || !isValidToken(line.substring(0, tokenEnd), token)) {
+							respond(responses, "", "", "Invalid token", EXIT_INVALID_TOKEN);
+							break;
+						}
+						request = line.substring(tokenEnd + 1);
+					}
+					pendingRequests.removeIf(Future::isDone);
+					final Future<?> pendingRequest = handleRequest(request, responses);
+					if (pendingRequest != null) {
+						pendingRequests.add(pendingRequest);
+					}
+				}
+			}
+		} finally {
+			for (final Future<?> pendingRequest : pendingRequests) {
+				try {
+					pendingRequest.get();
+				} catch (final ExecutionException e) {
+					// the request already responded with an exit code
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the running request or {@code null} if the request was answered immediately
+	 */
+	private Future<?> handleRequest(String request, PrintWriter responses) {
+		final List<String> fields = Arrays.asList(request.split(SEPARATOR, -1));
+		final String id = fields.get(0);
+		if (fields.size() < 2) {
+			respond(responses, id, "", "Invalid request: " + request, EXIT_INVALID_REQUEST);
+			return null;
+		}
+		final List<String> args = new ArrayList<>(fields.subList(1, fields.size()));
+		if (SHUTDOWN.equals(args.get(0))) {
+			shutdown();
+			respond(responses, id, "", "", 0);
+			return null;
+		}
+		try {
+			return executor.submit(() -> runRequest(id, args, responses));
+		} catch (final RejectedExecutionException e) {
+			respond(responses, id, "", "Daemon is shutting down", EXIT_SHUT_DOWN);
+			return null;
+		}
+	}
+
+	private void runRequest(String id, List<String> args, PrintWriter responses) {
+		final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+		final ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+		requestOut.requestStream.set(outBuffer);
+		requestErr.requestStream.set(errBuffer);
+		int exitCode;
+		try {
+			exitCode = FeatureIDECLI.run(args);
+		} catch (final Throwable e) {
+			e.printStackTrace();
+			exitCode = EXIT_EXCEPTION;
+		} finally {
+			System.out.flush();
+			System.err.flush();
+			requestOut.requestStream.remove();
+			requestErr.requestStream.remove();
+		}
+		final Charset charset = Charset.defaultCharset();
+		respond(responses, id, new String(outBuffer.toByteArray(), charset), new String(errBuffer.toByteArray(), charset), exitCode);
+	}
+
+	private static void respond(PrintWriter responses, String id, String out, String err, int exitCode) {
+		synchronized (responses) {
+			writeLines(responses, id, OUT, out);
+			writeLines(responses, id, ERR, err);
+			responses.print(id + SEPARATOR + EXIT + SEPARATOR + exitCode + "\n");
+			responses.flush();
+		}
+	}
+
+	private static void writeLines(PrintWriter responses, String id, String channel, String text) {
+		if (!text.isEmpty()) {
+			for (final String line : text.split("\\r?\\n")) {
+				responses.print(id + SEPARATOR + channel + SEPARATOR + line + "\n");
+			}
+		}
+	}
+
+	/**
+	 * @return the directory {@code .featureide} in the home directory of the current user
+	 */
+	public static Path getDefaultTokenDirectory() {
+		return Paths.get(System.getProperty("user.home"), ".featureide");
+	}
+
+	/**
+	 * Returns the file that contains the token of the daemon listening on the given port.
+	 *
+	 * @param tokenDirectory the directory of the token file
+	 * @param port the port of the daemon
+	 * @return the path of the token file
+	 */
+	public static Path getTokenFile(Path tokenDirectory, int port) {
+		return tokenDirectory.resolve("cli-daemon-" + port + ".token");
+	}
+
+	private static String createToken() {
+		final byte[] bytes = new byte[TOKEN_LENGTH];
+		new SecureRandom().nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	/**
+	 * Writes the token to a temporary file, which can only be read by the current user, and moves it to the token file. Thus, other processes never see a
+	 * token file that is incomplete or readable by others.
+	 */
+	private static void writeTokenFile(Path tokenFile, String token) throws IOException {
+		final Path directory = tokenFile.getParent();
+		Files.createDirectories(directory);
+		final Path temporaryFile = Files.createTempFile(directory, "cli-daemon-", ".tmp");
+		try {
+			final File file = temporaryFile.toFile();
+			file.setReadable(false, false);
+			file.setReadable(true, true);
+			file.setWritable(false, false);
+			file.setWritable(true, true);
+			Files.write(temporaryFile, token.getBytes(StandardCharsets.UTF_8));
+			Files.move(temporaryFile, tokenFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private static String readTokenFile(Path tokenFile) throws IOException {
+		return new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8).trim();
+	}
+
+	private static boolean isValidToken(String token, String expectedToken) {
+		return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), expectedToken.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Sends a single request to a daemon listening on a local socket and prints the output of the request to {@link System#out} and {@link System#err}. The
+	 * token is read from the {@link #getDefaultTokenDirectory() default token directory}.
+	 *
+	 * @param port the port of the daemon
+	 * @param args the name of the function followed by its arguments
+	 * @return the exit code of the request
+	 * @throws IOException if the token file cannot be read or the connection fails
+	 * @throws IllegalArgumentException if an argument contains a tab or a line break
+	 */
+	public static int sendRequest(int port, List<String> args) throws IOException {
+		return sendRequest(port, getDefaultTokenDirectory(), args);
+	}
+
+	/**
+	 * Sends a single request to a daemon listening on a local socket and prints the output of the request to {@link System#out} and {@link System#err}.
+	 *
+	 * @param port the port of the daemon
+	 * @param tokenDirectory the directory of the token file
+	 * @param args the name of the function followed by its arguments
+	 * @return the exit code of the request
+	 * @throws IOException if the token file cannot be read or the connection fails
+	 * @throws IllegalArgumentException if an argument contains a tab or a line break
+	 */
+	static int sendRequest(int port, Path tokenDirectory, List<String> args) throws IOException {
+		final StringBuilder request = new StringBuilder(readTokenFile(getTokenFile(tokenDirectory, port)));
+		request.append(SEPARATOR).append("1");
+		for (final String arg : args) {
+			if (arg.contains(SEPARATOR) || arg.contains("\n") || arg.contains("\r")) {
+				throw new IllegalArgumentException("Arguments must not contain tabs or line breaks: " + arg);
+			}
+			request.append(SEPARATOR).append(arg);
+		}
+		request.append('\n');
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			final Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			writer.write(request.toString());
+			writer.flush();
+			final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				final String[] fields = line.split(SEPARATOR, 3);
+				if (fields.length < 3) {
+					continue;
+				}
+				switch (fields[1]) {
+				case OUT:
+					System.out.println(fields[2]);
+					break;
+				case ERR:
+					System.err.println(fields[2]);
+					break;
+				case EXIT:
+					return Integer.parseInt(fields[2]);
+				default:
+					break;
+				}
+			}
+		}
+		throw new IOException("Connection closed before the request was finished");
+	}
+
+}
@@ -36,11 +36,12 @@ import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.PairWiseC
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.RandomConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.SPLCAToolConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.TWiseConfigurationGenerator;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
-import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormatCNF;
 import de.ovgu.featureide.fm.core.io.expression.ExpressionGroupFormat;
 import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+import de.ovgu.featureide.fm.core.io.sample.BinarySampleFormat;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.ConsoleMonitor;
 
@@ -78,16 +79,12 @@ public class ConfigurationGenerator extends ACLIFunction {
 			throw new IllegalArgumentException("No algorithm specified!");
 		}
 
-		final CNF cnf = new CNF();
-		ProblemList lastProblems = FileHandler.load(fmFile, cnf, new DIMACSFormatCNF());
-		if (lastProblems.containsError()) {
-			throw new IllegalArgumentException(lastProblems.getErrors().get(0).error);
-		}
+		final CNF cnf = ModelCache.getInstance().getCNF(fmFile);
 
 		final ArrayList<List<ClauseList>> expressionGroups;
 		if (expressionFile != null) {
 			expressionGroups = new ArrayList<>();
-			lastProblems = FileHandler.load(expressionFile, expressionGroups, new ExpressionGroupFormat());
+			final ProblemList lastProblems = FileHandler.load(expressionFile, expressionGroups, new ExpressionGroupFormat());
 			if (lastProblems.containsError()) {
 				throw new IllegalArgumentException(lastProblems.getErrors().get(0).error);
 			}
@@ -130,7 +127,10 @@ public class ConfigurationGenerator extends ACLIFunction {
 			throw new IllegalArgumentException("No algorithm specified!");
 		}
 		final List<LiteralSet> result = LongRunningWrapper.runMethod(generator, new ConsoleMonitor<>());
-		FileHandler.save(outputFile, new SolutionList(cnf.getVariables(), result), new ConfigurationListFormat());
+		final BinarySampleFormat binaryFormat = new BinarySampleFormat();
+		final IPersistentFormat<SolutionList> outputFormat =
+			binaryFormat.getSuffix().equals(FileHandler.getFileExtension(outputFile)) ? binaryFormat : new ConfigurationListFormat();
+		FileHandler.save(outputFile, new SolutionList(cnf.getVariables(), result), outputFormat);
 	}
 
 	private void resetArguments() {
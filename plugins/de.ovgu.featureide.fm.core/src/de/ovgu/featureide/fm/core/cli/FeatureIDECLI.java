@@ -20,19 +20,42 @@
  */
 package de.ovgu.featureide.fm.core.cli;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import de.ovgu.featureide.fm.core.ExtensionManager.NoSuchExtensionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
 import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
 import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.job.JobExecutor;
 
 /**
- * Command line interface for several functions of FeatureIDE.
+ * Command line interface for several functions of FeatureIDE.<br> <br> In addition to the arguments of a function, the option {@code -solverstats <file>}
+ * can be used to write {@link SolverStatistics statistics} about all solver calls to a JSON file.<br> <br> Instead of a function, the following options can
+ * be specified as first argument:
+ * <ul>
+ * <li>{@code -daemon [<port>]} starts a {@link CLIDaemon daemon} that keeps running and serves requests from the standard input or from a local socket with
+ * the given port. For a socket, the daemon writes a token to a {@link CLIDaemon#getTokenFile(java.nio.file.Path, int) file} that only the current user can
+ * read.</li>
+ * <li>{@code -connect <port> <function> [<arguments>]} sends a single request to a running daemon and prints its output. The request is authenticated with
+ * the token from the file of the daemon. The exit code is the exit code of the request.</li>
+ * </ul>
+ * As solver statistics are collected globally, the statistics written for a request to a daemon comprise all requests that were running at the same time.
  *
  * @author Sebastian Krieter
  */
 public class FeatureIDECLI {
 
+	private static final String SOLVER_STATISTICS_OPTION = "-solverstats";
+	private static final String DAEMON_OPTION = "-daemon";
+	private static final String CONNECT_OPTION = "-connect";
+
 	public static void main(String[] args) {
 		if (args.length == 0) {
 			System.err.println("No operation specified!");
@@ -40,10 +63,65 @@ public class FeatureIDECLI {
 		}
 		System.err.println(Arrays.asList(args));
 
-		final String functionName = args[0];
-
 		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
 
+		final List<String> argList = Arrays.asList(args);
+		switch (args[0]) {
+		case DAEMON_OPTION:
+			startDaemon(argList.subList(1, args.length));
+			break;
+		case CONNECT_OPTION:
+			final int exitCode = connect(argList.subList(1, args.length));
+			if (exitCode != 0) {
+				System.exit(exitCode);
+			}
+			break;
+		default:
+			run(argList);
+			break;
+		}
+	}
+
+	private static void startDaemon(List<String> args) {
+		final CLIDaemon daemon = new CLIDaemon(JobExecutor.getPoolSize());
+		try {
+			if (args.isEmpty()) {
+				daemon.serve(System.in, System.out);
+			} else {
+				daemon.serve(Integer.parseInt(args.get(0)));
+			}
+		} catch (final NumberFormatException e) {
+			System.err.println("Invalid port " + args.get(0));
+		} catch (final IOException e) {
+			System.err.println("Daemon stopped: " + e.getMessage());
+		}
+	}
+
+	private static int connect(List<String> args) {
+		if (args.size() < 2) {
+			System.err.println("No port or operation specified!");
+			return 1;
+		}
+		try {
+			return CLIDaemon.sendRequest(Integer.parseInt(args.get(0)), args.subList(1, args.size()));
+		} catch (final NumberFormatException e) {
+			System.err.println("Invalid port " + args.get(0));
+			return 1;
+		} catch (final IllegalArgumentException | IOException e) {
+			System.err.println("Could not connect to daemon: " + e.getMessage());
+			return 1;
+		}
+	}
+
+	/**
+	 * Runs a single function. Errors are printed to {@link System#err}.
+	 *
+	 * @param args the name of the function followed by its arguments
+	 * @return the exit code; 0 if the function was successful
+	 */
+	static int run(List<String> args) {
+		final String functionName = args.get(0);
+
 		ICLIFunction function = null;
 		try {
 			function = CLIFunctionManager.getInstance().getFactory(functionName);
@@ -53,15 +131,58 @@ public class FeatureIDECLI {
 			for (final ICLIFunction availableFunction : CLIFunctionManager.getInstance().getExtensions()) {
 				System.err.println("\t" + availableFunction.getName());
 			}
-			return;
+			return 1;
+		}
+
+		final List<String> functionArgs = new ArrayList<>(args.subList(1, args.size()));
+		Path statisticsFile = null;
+		final int statisticsIndex = functionArgs.indexOf(SOLVER_STATISTICS_OPTION);
+		if (statisticsIndex >= 0) {
+			if ((statisticsIndex + 1) >= functionArgs.size()) {
+				System.err.println("No value specified for " + SOLVER_STATISTICS_OPTION);
+				return 1;
+			}
+			statisticsFile = Paths.get(functionArgs.remove(statisticsIndex + 1));
+			functionArgs.remove(statisticsIndex);
+			SolverStatistics.setEnabled(true);
 		}
 
 		try {
-			function.run(Arrays.asList(args).subList(1, args.length));
+			run(function, functionArgs);
+			return 0;
 		} catch (final IllegalArgumentException e) {
 			System.err.println(e.getMessage());
+			return 1;
+		} finally {
+			if (statisticsFile != null) {
+				writeSolverStatistics(statisticsFile);
+			}
+		}
+	}
+
+	/**
+	 * Runs the given function. As functions may store their arguments in fields, a new instance of the function is used for each call, such that a daemon
+	 * can run the same function concurrently. Functions without a default constructor are not run concurrently.
+	 */
+	private static void run(ICLIFunction function, List<String> args) {
+		final ICLIFunction instance;
+		try {
+			instance = function.getClass().getDeclaredConstructor().newInstance();
+		} catch (final ReflectiveOperationException e) {
+			synchronized (function) {
+				function.run(args);
+			}
 			return;
 		}
+		instance.run(args);
+	}
+
+	private static void writeSolverStatistics(Path statisticsFile) {
+		try {
+			Files.write(statisticsFile, SolverStatistics.toJSON().getBytes(StandardCharsets.UTF_8));
+		} catch (final IOException e) {
+			System.err.println("Could not write solver statistics: " + e.getMessage());
+		}
 	}
 
 }
@@ -0,0 +1,150 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormatCNF;
+
+/**
+ * Caches models that are loaded by {@link ICLIFunction CLI functions}, such that repeated requests of a {@link CLIDaemon daemon} do not need to load them
+ * again.<br> Entries are identified by the normalized absolute path of the model file and are reloaded as soon as the modification time or the size of the
+ * file changes. If the cache holds more than {@link #getMaximumSize()} models, the least recently used models are removed.
+ */
+public final class ModelCache {
+
+	private static final ModelCache INSTANCE = new ModelCache();
+
+	public static ModelCache getInstance() {
+		return INSTANCE;
+	}
+
+	private static final class Entry<T> {
+
+		private final FileTime lastModified;
+		private final long size;
+		private final T model;
+		private volatile long lastAccess;
+
+		private Entry(FileTime lastModified, long size, T model) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.model = model;
+		}
+
+	}
+
+	private final ConcurrentHashMap<Path, Entry<CNF>> cnfs = new ConcurrentHashMap<>();
+
+	private final AtomicLong accessCounter = new AtomicLong();
+	private volatile int maximumSize = 16;
+
+	private ModelCache() {}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Sets the maximum number of cached models. Additional models are removed on the next access.
+	 *
+	 * @param maximumSize the maximum number of cached models
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException(Integer.toString(maximumSize));
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns the CNF stored in the given DIMACS file. The returned CNF is a copy and can be modified by the caller.
+	 *
+	 * @param path the path of the DIMACS file
+	 * @return a copy of the CNF
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	public CNF getCNF(Path path) {
+		return get(cnfs, path, p -> {
+			final CNF cnf = new CNF();
+			final ProblemList lastProblems = new DIMACSFormatCNF().read(cnf, p);
+			if (lastProblems.containsError()) {
+				throw new IllegalArgumentException(lastProblems.getErrors().get(0).error);
+			}
+			return cnf;
+		}).clone();
+	}
+
+	/**
+	 * Removes all cached models.
+	 */
+	public void clear() {
+		cnfs.clear();
+	}
+
+	private <T> T get(ConcurrentHashMap<Path, Entry<T>> cache, Path path, Function<Path, T> loader) {
+		final Path key = path.toAbsolutePath().normalize();
+		final FileTime lastModified;
+		final long size;
+		try {
+			lastModified = Files.getLastModifiedTime(key);
+			size = Files.size(key);
+		} catch (final IOException e) {
+			cache.remove(key);
+			throw new IllegalArgumentException("Could not read " + path, e);
+		}
+		// loads the model while holding the lock of the entry, such that concurrent requests for the same file wait for the first one
+		final Entry<T> entry = cache.compute(key, (p, oldEntry) -> {
+			if ((oldEntry != null) && oldEntry.lastModified.equals(lastModified) && (oldEntry.size == size)) {
+				return oldEntry;
+			}
+			return new Entry<>(lastModified, size, loader.apply(p));
+		});
+		entry.lastAccess = accessCounter.incrementAndGet();
+		removeLeastRecentlyUsed(cache);
+		return entry.model;
+	}
+
+	private <T> void removeLeastRecentlyUsed(ConcurrentHashMap<Path, Entry<T>> cache) {
+		while (cache.size() > maximumSize) {
+			Map.Entry<Path, Entry<T>> leastRecentlyUsed = null;
+			for (final Map.Entry<Path, Entry<T>> entry : cache.entrySet()) {
+				if ((leastRecentlyUsed == null) || (entry.getValue().lastAccess < leastRecentlyUsed.getValue().lastAccess)) {
+					leastRecentlyUsed = entry;
+				}
+			}
+			if (leastRecentlyUsed == null) {
+				break;
+			}
+			cache.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+		}
+	}
+
+}
@@ -0,0 +1,260 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.BitSet;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+
+/**
+ * An immutable, lightweight representation of a {@link Configuration}. Features are identified by their index in a given {@link IVariables} instance.
+ * Manual and automatic selections are each stored as a pair of bit sets (selected and unselected); all other features are undefined.<br> In contrast to
+ * {@link Configuration}, no {@link SelectableFeature} tree is created, which makes this class suitable for processing large amounts of configurations.
+ *
+ * @see CompactConfigurationReader
+ */
+public final class CompactConfiguration {
+
+	private final IVariables variables;
+
+	private final BitSet manualSelected;
+	private final BitSet manualUnselected;
+	private final BitSet automaticSelected;
+	private final BitSet automaticUnselected;
+
+	/**
+	 * Creates a configuration from the given bit sets. The bit sets are not copied and must not be modified afterwards.
+	 */
+	CompactConfiguration(IVariables variables, BitSet manualSelected, BitSet manualUnselected, BitSet automaticSelected, BitSet automaticUnselected) {
+		this.variables = variables;
+		this.manualSelected = manualSelected;
+		this.manualUnselected = manualUnselected;
+		this.automaticSelected = automaticSelected;
+		this.automaticUnselected = automaticUnselected;
+	}
+
+	/**
+	 * Creates a configuration in which all features contained in the given literals are manually selected or unselected.
+	 *
+	 * @param variables the variables of the feature model
+	 * @param literals the selected (positive) and unselected (negative) features
+	 * @return the configuration
+	 */
+	public static CompactConfiguration of(IVariables variables, LiteralSet literals) {
+		final BitSet selected = new BitSet();
+		final BitSet unselected = new BitSet();
+		for (final int literal : literals.getLiterals()) {
+			if (literal > 0) {
+				selected.set(literal);
+			} else if (literal < 0) {
+				unselected.set(-literal);
+			}
+		}
+		return new CompactConfiguration(variables, selected, unselected, new BitSet(), new BitSet());
+	}
+
+	/**
+	 * Creates a compact copy of the given configuration. Features that are not contained in the given variables are omitted.
+	 *
+	 * @param variables the variables of the feature model
+	 * @param configuration the configuration to copy
+	 * @return the configuration
+	 */
+	public static CompactConfiguration of(IVariables variables, Configuration configuration) {
+		final BitSet manualSelected = new BitSet();
+		final BitSet manualUnselected = new BitSet();
+		final BitSet automaticSelected = new BitSet();
+		final BitSet automaticUnselected = new BitSet();
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			final int variable = variables.getVariable(feature.getName());
+			if (variable != 0) {
+				set(variable, feature.getManual(), manualSelected, manualUnselected);
+				set(variable, feature.getAutomatic(), automaticSelected, automaticUnselected);
+			}
+		}
+		return new CompactConfiguration(variables, manualSelected, manualUnselected, automaticSelected, automaticUnselected);
+	}
+
+	static void set(int variable, Selection selection, BitSet selected, BitSet unselected) {
+		switch (selection) {
+		case SELECTED:
+			selected.set(variable);
+			unselected.clear(variable);
+			break;
+		case UNSELECTED:
+			selected.clear(variable);
+			unselected.set(variable);
+			break;
+		case UNDEFINED:
+		default:
+			selected.clear(variable);
+			unselected.clear(variable);
+			break;
+		}
+	}
+
+	private static Selection get(int variable, BitSet selected, BitSet unselected) {
+		return selected.get(variable) ? Selection.SELECTED : unselected.get(variable) ? Selection.UNSELECTED : Selection.UNDEFINED;
+	}
+
+	public IVariables getVariables() {
+		return variables;
+	}
+
+	public Selection getManual(int variable) {
+		return get(variable, manualSelected, manualUnselected);
+	}
+
+	public Selection getAutomatic(int variable) {
+		return get(variable, automaticSelected, automaticUnselected);
+	}
+
+	/**
+	 * Returns the selection of the given variable. As in {@link SelectableFeature#getSelection()}, an automatic selection takes precedence over a manual one.
+	 *
+	 * @param variable the index of the variable
+	 * @return the selection; not null
+	 */
+	public Selection getSelection(int variable) {
+		final Selection automatic = getAutomatic(variable);
+		return automatic == Selection.UNDEFINED ? getManual(variable) : automatic;
+	}
+
+	/**
+	 * Returns the selection of the given feature.
+	 *
+	 * @param featureName the name of the feature
+	 * @return the selection; {@link Selection#UNDEFINED} if the feature is unknown
+	 */
+	public Selection getSelection(String featureName) {
+		return getSelection(variables.getVariable(featureName));
+	}
+
+	public boolean isSelected(int variable) {
+		return automaticSelected.get(variable) || (manualSelected.get(variable) && !automaticUnselected.get(variable));
+	}
+
+	/**
+	 * Returns the selected features.
+	 *
+	 * @return a new bit set containing the indices of all selected variables
+	 */
+	public BitSet getSelectedVariables() {
+		final BitSet selected = (BitSet) manualSelected.clone();
+		selected.andNot(automaticUnselected);
+		selected.or(automaticSelected);
+		return selected;
+	}
+
+	/**
+	 * Returns the unselected features.
+	 *
+	 * @return a new bit set containing the indices of all unselected variables
+	 */
+	public BitSet getUnselectedVariables() {
+		final BitSet unselected = (BitSet) manualUnselected.clone();
+		unselected.andNot(automaticSelected);
+		unselected.or(automaticUnselected);
+		return unselected;
+	}
+
+	/**
+	 * Returns the {@link #getSelection(int) selection} of all defined features as literals.
+	 *
+	 * @return the selected (positive) and unselected (negative) features
+	 */
+	public LiteralSet getLiterals() {
+		return toLiterals(getSelectedVariables(), getUnselectedVariables());
+	}
+
+	/**
+	 * Returns the manual selection of all defined features as literals.
+	 *
+	 * @return the manually selected (positive) and unselected (negative) features
+	 */
+	public LiteralSet getManualLiterals() {
+		return toLiterals(manualSelected, manualUnselected);
+	}
+
+	private static LiteralSet toLiterals(BitSet selected, BitSet unselected) {
+		final int[] literals = new int[selected.cardinality() + unselected.cardinality()];
+		int index = 0;
+		for (int variable = unselected.nextSetBit(0); variable >= 0; variable = unselected.nextSetBit(variable + 1)) {
+			literals[index++] = -variable;
+		}
+		for (int variable = selected.nextSetBit(0); variable >= 0; variable = selected.nextSetBit(variable + 1)) {
+			literals[index++] = variable;
+		}
+		return new LiteralSet(literals);
+	}
+
+	/**
+	 * Creates a full {@link Configuration} with the same selections.
+	 *
+	 * @param featureModel the formula of the feature model; if null, a configuration without a feature model is created
+	 * @return the configuration
+	 */
+	public Configuration toConfiguration(FeatureModelFormula featureModel) {
+		final Configuration configuration = featureModel == null ? new Configuration() : new Configuration(featureModel);
+		for (int variable = 1; variable <= variables.size(); variable++) {
+			final Selection manual = getManual(variable);
+			final Selection automatic = getAutomatic(variable);
+			if ((manual != Selection.UNDEFINED) || (automatic != Selection.UNDEFINED)) {
+				final SelectableFeature feature = configuration.getSelectableFeature(variables.getName(variable), featureModel == null);
+				if (feature != null) {
+					feature.setManual(manual);
+					feature.setAutomatic(automatic);
+				}
+			}
+		}
+		return configuration;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = manualSelected.hashCode();
+		result = (31 * result) + manualUnselected.hashCode();
+		result = (31 * result) + automaticSelected.hashCode();
+		result = (31 * result) + automaticUnselected.hashCode();
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if ((obj == null) || (getClass() != obj.getClass())) {
+			return false;
+		}
+		final CompactConfiguration other = (CompactConfiguration) obj;
+		return (variables == other.variables) && manualSelected.equals(other.manualSelected) && manualUnselected.equals(other.manualUnselected)
+			&& automaticSelected.equals(other.automaticSelected) && automaticUnselected.equals(other.automaticUnselected);
+	}
+
+	@Override
+	public String toString() {
+		return "CompactConfiguration " + variables.convertToString(getLiterals(), true, true, true);
+	}
+
+}
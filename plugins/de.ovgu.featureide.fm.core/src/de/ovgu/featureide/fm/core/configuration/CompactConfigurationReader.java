@@ -0,0 +1,269 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.DOES_NOT_EXIST;
+import static de.ovgu.featureide.fm.core.localization.StringTable.FEATURE;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import de.ovgu.featureide.fm.core.RenamingsManager;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.base.impl.FormatManager;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+
+/**
+ * Reads configuration files directly into {@link CompactConfiguration}s without creating a {@link Configuration}.<br> The {@link XMLConfFormat XML},
+ * {@link DefaultFormat feature list}, {@link EquationFormat equation}, and {@link ExpressionFormat expression} formats are parsed directly with the same
+ * semantics and warnings as the respective format. Files in other formats are read as a {@link Configuration} and converted afterwards.<br> <br> A reader
+ * does not have a mutable state and can be used to read multiple files concurrently.
+ */
+public class CompactConfigurationReader {
+
+	private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+	static {
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+	}
+
+	private final FeatureModelFormula featureModel;
+	private final IVariables variables;
+	private final RenamingsManager renamingsManager;
+	private final BitSet hiddenFeatures = new BitSet();
+
+	/**
+	 * Creates a reader for configurations of the given feature model. Renamed features are mapped to their new names.
+	 *
+	 * @param featureModel the formula of the feature model
+	 */
+	public CompactConfigurationReader(FeatureModelFormula featureModel) {
+		this.featureModel = featureModel;
+		variables = featureModel.getVariables();
+		renamingsManager = featureModel.getFeatureModel().getRenamingsManager();
+		for (final IFeature feature : featureModel.getFeatureModel().getFeatures()) {
+			if (feature.getStructure().hasHiddenParent()) {
+				final int variable = variables.getVariable(feature.getName());
+				if (variable != 0) {
+					hiddenFeatures.set(variable);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a reader for configurations over the given variables.
+	 *
+	 * @param variables the variables
+	 */
+	public CompactConfigurationReader(IVariables variables) {
+		featureModel = null;
+		this.variables = variables;
+		renamingsManager = null;
+	}
+
+	public IVariables getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Reads the configuration file at the given path.
+	 *
+	 * @param path the path of the configuration file
+	 * @param problems the list to add all warnings and errors to
+	 * @return the configuration or {@code null} if the file could not be read
+	 */
+	@CheckForNull
+	public CompactConfiguration read(Path path, ProblemList problems) {
+		final String content;
+		try {
+			content = new String(FileSystem.read(path), SimpleFileHandler.DEFAULT_CHARSET);
+		} catch (final IOException e) {
+			problems.add(new Problem(e));
+			return null;
+		}
+		return read(content, path.getFileName().toString(), problems);
+	}
+
+	/**
+	 * Reads a configuration from the given source. The format is determined by the file name and the content.
+	 *
+	 * @param source the content of the configuration file
+	 * @param fileName the name of the configuration file
+	 * @param problems the list to add all warnings and errors to
+	 * @return the configuration or {@code null} if the source could not be read
+	 */
+	@CheckForNull
+	public CompactConfiguration read(CharSequence source, String fileName, ProblemList problems) {
+		final IPersistentFormat<Configuration> format = ConfigFormatManager.getInstance().getFormatByContent(source, fileName);
+		if (format == null) {
+			problems.add(new Problem(new FormatManager.NoSuchExtensionException("No format found for file \"" + fileName + "\"!")));
+			return null;
+		}
+		final String formatId = format.getId();
+		if (XMLConfFormat.ID.equals(formatId)) {
+			return readXML(source, problems);
+		} else if (DefaultFormat.ID.equals(formatId) || EquationFormat.ID.equals(formatId) || ExpressionFormat.ID.equals(formatId)) {
+			return readFeatureList(source, problems);
+		}
+		final Configuration configuration = featureModel == null ? new Configuration() : new Configuration(featureModel);
+		try {
+			problems.addAll(format.getInstance().read(configuration, source));
+		} catch (final Exception e) {
+			problems.add(new Problem(e));
+			return null;
+		}
+		return CompactConfiguration.of(variables, configuration);
+	}
+
+	private int getVariable(String name) {
+		return variables.getVariable(renamingsManager == null ? name : renamingsManager.getNewName(name));
+	}
+
+	/**
+	 * @see DefaultFormat#read(Configuration, CharSequence)
+	 */
+	private CompactConfiguration readFeatureList(CharSequence source, ProblemList problems) {
+		final BitSet manualSelected = new BitSet();
+		final BitSet automaticSelected = new BitSet();
+
+		String line = null;
+		int lineNumber = 1;
+		try (BufferedReader reader = new BufferedReader(new StringReader(source.toString()))) {
+			while ((line = reader.readLine()) != null) {
+				if (DefaultFormat.isSkippedLine(line)) {
+					continue;
+				}
+				final List<String> hiddenNames = new ArrayList<>();
+				for (final String name : DefaultFormat.readFeatureNames(line, lineNumber, problems)) {
+					final int variable = getVariable(name);
+					if (variable == 0) {
+						problems.add(new Problem(FEATURE + name + DOES_NOT_EXIST, lineNumber));
+					} else if (hiddenFeatures.get(variable)) {
+						hiddenNames.add(name);
+					} else {
+						manualSelected.set(variable);
+					}
+				}
+				for (final String name : hiddenNames) {
+					automaticSelected.set(getVariable(name));
+				}
+				lineNumber++;
+			}
+		} catch (final IOException e) {
+			problems.clear();
+			problems.add(new Problem(e));
+			return null;
+		}
+		return new CompactConfiguration(variables, manualSelected, new BitSet(), automaticSelected, new BitSet());
+	}
+
+	/**
+	 * @see XMLConfFormat#readDocument(org.w3c.dom.Document, List)
+	 */
+	private CompactConfiguration readXML(CharSequence source, ProblemList problems) {
+		final BitSet manualSelected = new BitSet();
+		final BitSet manualUnselected = new BitSet();
+		final BitSet automaticSelected = new BitSet();
+		final BitSet automaticUnselected = new BitSet();
+
+		try {
+			final XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(source.toString()));
+			try {
+				if (reader.nextTag() != XMLStreamConstants.START_ELEMENT) {
+					problems.add(new Problem("No root element specified", 1, Problem.Severity.ERROR));
+					return null;
+				}
+				if (!XMLConfFormat.CONFIGURATION.equals(reader.getLocalName())) {
+					problems.add(new Problem("Root element must be <configuration>", 1, Problem.Severity.ERROR));
+					return null;
+				}
+				while (reader.hasNext()) {
+					if ((reader.next() != XMLStreamConstants.START_ELEMENT) || !XMLConfFormat.NODE_FEATURE.equals(reader.getLocalName())) {
+						continue;
+					}
+					final int line = reader.getLocation().getLineNumber();
+					String featureName = null;
+					String manual = null;
+					String automatic = null;
+					for (int i = 0; i < reader.getAttributeCount(); i++) {
+						final String attributeName = reader.getAttributeLocalName(i);
+						switch (attributeName) {
+						case XMLConfFormat.ATTRIBUTE_NAME:
+							featureName = reader.getAttributeValue(i);
+							break;
+						case XMLConfFormat.ATTRIBUTE_MANUAL:
+							manual = reader.getAttributeValue(i);
+							break;
+						case XMLConfFormat.ATTRIBUTE_AUTOMATIC:
+							automatic = reader.getAttributeValue(i);
+							break;
+						default:
+							if (reader.getAttributeCount() > 3) {
+								problems.add(new Problem("Unknown attribute: " + attributeName, line, Problem.Severity.WARNING));
+							}
+							break;
+						}
+					}
+					if (featureName == null) {
+						problems.add(new Problem("No feature name specified", line, Problem.Severity.ERROR));
+						continue;
+					}
+					final int variable = getVariable(featureName);
+					if (variable == 0) {
+						problems.add(new Problem("Invalid feature name: " + featureName, line, Problem.Severity.WARNING));
+						continue;
+					}
+					if (manual != null) {
+						CompactConfiguration.set(variable, XMLConfFormat.getSelection(manual), manualSelected, manualUnselected);
+					}
+					if (automatic != null) {
+						CompactConfiguration.set(variable, XMLConfFormat.getSelection(automatic), automaticSelected, automaticUnselected);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (final XMLStreamException e) {
+			problems.add(new Problem(e, (e.getLocation() != null) ? e.getLocation().getLineNumber() : 1));
+			return null;
+		}
+		return new CompactConfiguration(variables, manualSelected, manualUnselected, automaticSelected, automaticUnselected);
+	}
+
+}
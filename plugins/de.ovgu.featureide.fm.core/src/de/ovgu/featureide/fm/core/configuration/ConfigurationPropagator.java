@@ -45,6 +45,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverBudget;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -75,8 +76,10 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			if (solver == null) {
 				return false;
 			}
+			solver.setBudget(createCancelBudget(monitor));
 
 			final SatResult satResult = solver.hasSolution();
+			monitor.checkCancel();
 			switch (satResult) {
 			case FALSE:
 			case TIMEOUT:
@@ -174,7 +177,10 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 				return 0L;
 			}
 			solver.setTimeout(timeout);
-			return new CountSolutionsAnalysis(solver).analyze(monitor);
+			solver.setBudget(createCancelBudget(monitor));
+			final Long number = new CountSolutionsAnalysis(solver).analyze(monitor);
+			monitor.checkCancel();
+			return number;
 		}
 
 	}
@@ -546,6 +552,18 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return solver;
 	}
 
+	/**
+	 * Creates a budget without resource limits that aborts a running solver call as soon as the given monitor is canceled.
+	 *
+	 * @param monitor The monitor of the current method.
+	 * @return A new budget.
+	 */
+	protected static SolverBudget createCancelBudget(IMonitor<?> monitor) {
+		final SolverBudget budget = new SolverBudget(0, 0);
+		budget.start(monitor);
+		return budget;
+	}
+
 	protected AdvancedSatSolver getSolver(boolean includeHiddenFeatures) {
 		final CNF satInstance;
 		if (includeAbstractFeatures) {
@@ -64,26 +64,11 @@ public class DefaultFormat extends APersistentFormat<Configuration> implements I
 		int lineNumber = 1;
 		try (BufferedReader reader = new BufferedReader(new StringReader(source.toString()))) {
 			while ((line = reader.readLine()) != null) {
-				if (line.startsWith("#") || line.isEmpty() || line.equals(" ")) {
+				if (isSkippedLine(line)) {
 					continue;
 				}
-				// the string tokenizer is used to also support the expression
-				// format used by FeatureHouse
-				final StringTokenizer tokenizer = new StringTokenizer(line);
 				final List<String> hiddenFeatures = new ArrayList<>();
-				while (tokenizer.hasMoreTokens()) {
-					String name = tokenizer.nextToken(" ");
-					if (name.startsWith("\"")) {
-						try {
-							name = name.substring(1);
-							name += tokenizer.nextToken("\"");
-							if (!tokenizer.nextToken(" ").startsWith("\"")) {
-								warnings.add(new Problem(FEATURE_ + name + IS_CORRUPT__NO_ENDING_QUOTATION_MARKS_FOUND_, lineNumber));
-							}
-						} catch (final RuntimeException e) {
-							warnings.add(new Problem(FEATURE_ + name + IS_CORRUPT__NO_ENDING_QUOTATION_MARKS_FOUND_, lineNumber));
-						}
-					}
+				for (String name : readFeatureNames(line, lineNumber, warnings)) {
 					name = renamingsManager == null ? name : renamingsManager.getNewName(name);
 					final IFeature feature = featureModel != null ? featureModel.getFeature(name) : null;
 					if ((feature != null) && feature.getStructure().hasHiddenParent()) {
@@ -117,6 +102,47 @@ public class DefaultFormat extends APersistentFormat<Configuration> implements I
 		return warnings;
 	}
 
+	/**
+	 * Returns the feature names listed in a single line. Names containing spaces are enclosed in quotation marks.
+	 *
+	 * @param line the line to parse
+	 * @param lineNumber the number of the line, used for warnings
+	 * @param warnings the list to add warnings to
+	 * @return the feature names in the order of their occurrence
+	 */
+	static List<String> readFeatureNames(String line, int lineNumber, ProblemList warnings) {
+		final List<String> names = new ArrayList<>();
+		// the string tokenizer is used to also support the expression
+		// format used by FeatureHouse
+		final StringTokenizer tokenizer = new StringTokenizer(line);
+		while (tokenizer.hasMoreTokens()) {
+			String name = tokenizer.nextToken(" ");
+			if (name.startsWith("\"")) {
+				try {
+					name = name.substring(1);
+					name += tokenizer.nextToken("\"");
+					if (!tokenizer.nextToken(" ").startsWith("\"")) {
+						warnings.add(new Problem(FEATURE_ + name + IS_CORRUPT__NO_ENDING_QUOTATION_MARKS_FOUND_, lineNumber));
+					}
+				} catch (final RuntimeException e) {
+					warnings.add(new Problem(FEATURE_ + name + IS_CORRUPT__NO_ENDING_QUOTATION_MARKS_FOUND_, lineNumber));
+				}
+			}
+			names.add(name);
+		}
+		return names;
+	}
+
+	/**
+	 * Returns whether the given line contains no feature names.
+	 *
+	 * @param line the line to check
+	 * @return {@code true} if the line is empty or a comment
+	 */
+	static boolean isSkippedLine(String line) {
+		return line.startsWith("#") || line.isEmpty() || line.equals(" ");
+	}
+
 	public String readLine(String line) {
 		return null;
 	}
@@ -45,13 +45,13 @@ import de.ovgu.featureide.fm.core.localization.StringTable;
  */
 public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigurationFormat {
 
-	private static final String NODE_FEATURE = "feature";
-	private static final String ATTRIBUTE_NAME = "name";
-	private static final String ATTRIBUTE_MANUAL = "manual";
-	private static final String ATTRIBUTE_AUTOMATIC = "automatic";
+	static final String NODE_FEATURE = "feature";
+	static final String ATTRIBUTE_NAME = "name";
+	static final String ATTRIBUTE_MANUAL = "manual";
+	static final String ATTRIBUTE_AUTOMATIC = "automatic";
 	public static final String ID = PluginID.PLUGIN_ID + ".format.config." + XMLConfFormat.class.getSimpleName();
 	public static final String EXTENSION = StringTable.CONF;
-	private static final String CONFIGURATION = "configuration";
+	static final String CONFIGURATION = "configuration";
 
 	private static final Pattern CONTENT_REGEX = Pattern.compile("\\A\\s*(<[?]xml\\s.*[?]>\\s*)?<configuration\\s*/?>");
 
@@ -88,10 +88,10 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 				}
 
 				if (feature.hasAttribute(ATTRIBUTE_MANUAL)) {
-					selectablefeature.setManual(getSelection(feature.getAttribute(ATTRIBUTE_MANUAL), feature, warnings));
+					selectablefeature.setManual(getSelection(feature.getAttribute(ATTRIBUTE_MANUAL)));
 				}
 				if (feature.hasAttribute(ATTRIBUTE_AUTOMATIC)) {
-					selectablefeature.setAutomatic(getSelection(feature.getAttribute(ATTRIBUTE_AUTOMATIC), feature, warnings));
+					selectablefeature.setAutomatic(getSelection(feature.getAttribute(ATTRIBUTE_AUTOMATIC)));
 				}
 
 				final NamedNodeMap attributes = feature.getAttributes();
@@ -126,7 +126,7 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 		warnings.add(new Problem(message, (lineNumber instanceof Integer) ? (int) lineNumber : 1, Problem.Severity.ERROR));
 	}
 
-	private Selection getSelection(String selection, Element feature, List<Problem> warnings) {
+	static Selection getSelection(String selection) {
 		if (selection == null) {
 			return Selection.UNDEFINED;
 		} else {
@@ -30,9 +30,11 @@ import org.sat4j.core.VecInt;
 import org.sat4j.pb.IPBSolver;
 import org.sat4j.pb.SolverFactory;
 import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.constraint.analysis.Restriction.Op;
 
 /**
@@ -104,6 +106,97 @@ public class SAT4JPBSolver implements PBSolver {
 		}
 	}
 
+	/**
+	 * Checks satisfiability with respect to the passed assumptions without throwing an exception if the solver times out.
+	 *
+	 * @param assumptions An array of temporary assumption used for this call.
+	 * @return A {@link SatResult}.
+	 *
+	 * @see #setTimeout(long)
+	 */
+	public SatResult solve(int[] assumptions) {
+		if (alreadyContradiction) {
+			return SatResult.FALSE;
+		}
+
+		try {
+			return solver.isSatisfiable(new VecInt(assumptions)) ? SatResult.TRUE : SatResult.FALSE;
+		} catch (final TimeoutException e) {
+			return SatResult.TIMEOUT;
+		}
+	}
+
+	/**
+	 * Adds the inequality "terms <= degree" as a constraint that can later be removed again via {@link #removeConstraint(IConstr)}. Can be used to
+	 * incrementally tighten the bound of an objective function.
+	 *
+	 * @param ids The literals of the terms.
+	 * @param coefficients The coefficients of the terms (may be negative).
+	 * @param degree The upper bound.
+	 * @return The identifying constraint object or {@code null}, if the bound is already violated by the current restrictions.
+	 */
+	public IConstr addUpperBound(int[] ids, BigInteger[] coefficients, BigInteger degree) {
+		if (alreadyContradiction) {
+			return null;
+		}
+		try {
+			return solver.addPseudoBoolean(new VecInt(ids), new Vec<>(coefficients), false, degree);
+		} catch (final ContradictionException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Adds a clause that cannot be removed anymore (e.g., to block a found solution).
+	 *
+	 * @param literals The literals of the clause.
+	 */
+	public void addClause(int[] literals) {
+		try {
+			solver.addClause(new VecInt(literals));
+		} catch (final ContradictionException e) {
+			alreadyContradiction = true;
+		}
+	}
+
+	/**
+	 * Removes a constraint that was added by {@link #addUpperBound(int[], BigInteger[], BigInteger)}.
+	 *
+	 * @param constr The identifying constraint object.
+	 */
+	public void removeConstraint(IConstr constr) {
+		if (constr != null) {
+			solver.removeConstr(constr);
+		}
+	}
+
+	/**
+	 * Returns the last satisfying assignment. Can only be called after a successful call of {@link #solve(int[])} or {@link #isSatisfiable()}.
+	 *
+	 * @return An int array representing the satisfying assignment.
+	 */
+	public int[] getModel() {
+		return solver.model();
+	}
+
+	/**
+	 * Sets the timeout for each subsequent solver call.
+	 *
+	 * @param timeout The timeout in ms.
+	 */
+	public void setTimeout(long timeout) {
+		solver.setTimeoutMs(timeout);
+	}
+
+	/**
+	 * Ensures that the solver knows at least the given number of variables.
+	 *
+	 * @param numberOfVariables The number of variables.
+	 */
+	public void newVariables(int numberOfVariables) {
+		solver.newVar(numberOfVariables);
+	}
+
 	@Override
 	public Set<Integer> backbone(Set<Integer> varibales) {
 		final Set<Integer> backbone = new HashSet<>();
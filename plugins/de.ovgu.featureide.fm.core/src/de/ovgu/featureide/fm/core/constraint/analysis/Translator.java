@@ -33,6 +33,8 @@ import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.Or;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
@@ -211,6 +213,29 @@ public class Translator {
 		}
 	}
 
+	/**
+	 * Translates every clause of a {@link CNF} into a pseudo boolean restriction. In contrast to the feature model based methods, the variable ids of the
+	 * {@link CNF} are used directly.
+	 *
+	 * @param <T> The concrete type of the restrictions.
+	 * @param cnf The CNF.
+	 * @param factory The factory for the restrictions.
+	 * @return A list of restrictions, one for each clause.
+	 */
+	public static <T> List<T> translateCNF(CNF cnf, RestrictionFactory<T> factory) {
+		final List<T> rs = new ArrayList<>(cnf.getClauses().size());
+
+		for (final LiteralSet clause : cnf.getClauses()) {
+			final List<Term> terms = new ArrayList<>(clause.size());
+			for (final int literal : clause.getLiterals()) {
+				terms.add(new Term(Math.abs(literal), 1, literal > 0));
+			}
+			factory.createAndAdd(terms, RelationOperator.GREATER_EQUAL, 1, rs);
+		}
+
+		return rs;
+	}
+
 	/**
 	 * Translates a CNF literal into a pseudo boolean restriction.
 	 */
@@ -82,8 +82,13 @@ public class FeatureModelObfuscator implements LongRunningMethod<IFeatureModel>
 	public IFeatureModel execute(IMonitor<IFeatureModel> monitor) throws Exception {
 		digest = MessageDigest.getInstance("SHA-256");
 		obfuscatedFeatureModel = factory.create();
-		obfuscateStructure(orgFeatureModel.getStructure().getRoot(), null);
-		obfuscateConstraints();
+		obfuscatedFeatureModel.getEventBus().beginBatch();
+		try {
+			obfuscateStructure(orgFeatureModel.getStructure().getRoot(), null);
+			obfuscateConstraints();
+		} finally {
+			obfuscatedFeatureModel.getEventBus().commitBatch();
+		}
 		return obfuscatedFeatureModel;
 	}
 
@@ -70,8 +70,11 @@ public abstract class Generator {
 	public static IFeatureModel generateFeatureDiagram(Random random, int numberOfFeatures) {
 		final IFeatureModelFactory factory = DefaultFeatureModelFactory.getInstance();
 		final IFeatureModel fm = factory.create();
+		final IFeature root = factory.createFeature(fm, "C1");
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
 		final List<IFeature> leaves = new LinkedList<>();
-		leaves.add(fm.getFeature("C1"));
+		leaves.add(root);
 		int count = 1;
 		while (count < numberOfFeatures) {
 			final int parentIndex = random.nextInt(leaves.size());
@@ -61,7 +61,7 @@ public class MusFalseOptionalFeatureExplanationCreator extends MusFeatureModelEx
 		try {
 			oracle.addAssumption(NodeCreator.getVariable(getSubject()), false);
 			oracle.addAssumption(NodeCreator.getVariable(FeatureUtils.getParent(getSubject())), true);
-			explanation = getExplanation(oracle.getAllMinimalUnsatisfiableSubsetIndexes());
+			explanation = getExplanation(getAllMinimalUnsatisfiableSubsetIndexes());
 		} finally {
 			oracle.pop();
 		}
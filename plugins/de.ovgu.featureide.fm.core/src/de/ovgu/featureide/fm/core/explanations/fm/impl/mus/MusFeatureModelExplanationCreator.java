@@ -20,6 +20,12 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
 
@@ -39,6 +45,11 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
+	/**
+	 * Indexes of clauses that were part of previously found minimal unsatisfiable subsets. May be shared between several creators for the same feature model
+	 * and is then accessed concurrently. Null if no candidates are used.
+	 */
+	private Set<Integer> candidateClauseIndexes;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -61,6 +72,82 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return solverFactory;
 	}
 
+	/**
+	 * Returns the indexes of clauses that are tried first when extracting a minimal unsatisfiable subset.
+	 *
+	 * @return the candidate clause indexes; null if no candidates are used
+	 */
+	public Set<Integer> getCandidateClauseIndexes() {
+		return candidateClauseIndexes;
+	}
+
+	/**
+	 * <p> Sets the indexes of clauses that are tried first when extracting a minimal unsatisfiable subset. If the candidate clauses are already unsatisfiable
+	 * under the current assumptions, every minimal unsatisfiable subset of them is also one of the complete CNF and is extracted from a much smaller problem.
+	 * Otherwise, the complete CNF is used and the clauses of the result are added to the candidates. </p>
+	 *
+	 * <p> Only creators with the same CNF may share the set and it must be thread-safe if the creators are used concurrently. The oracles of the
+	 * {@link #getSatSolverFactory() solver factory} must be able to decide satisfiability, which is not the case for the LTMS. </p>
+	 *
+	 * @param candidateClauseIndexes the candidate clause indexes; null to always use the complete CNF
+	 */
+	public void setCandidateClauseIndexes(Set<Integer> candidateClauseIndexes) {
+		this.candidateClauseIndexes = candidateClauseIndexes;
+	}
+
+	/**
+	 * Returns the minimal unsatisfiable subsets of the oracle's clauses under its current assumptions. Uses the {@link #getCandidateClauseIndexes() candidate
+	 * clauses} if possible.
+	 *
+	 * @return the clause indexes of the minimal unsatisfiable subsets
+	 */
+	protected List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() {
+		final MusExtractor oracle = getOracle();
+		if (candidateClauseIndexes == null) {
+			return oracle.getAllMinimalUnsatisfiableSubsetIndexes();
+		}
+		final List<Set<Integer>> candidateMuses = getCandidateMinimalUnsatisfiableSubsetIndexes(oracle);
+		if (candidateMuses != null) {
+			return candidateMuses;
+		}
+		final List<Set<Integer>> muses = oracle.getAllMinimalUnsatisfiableSubsetIndexes();
+		for (final Set<Integer> mus : muses) {
+			candidateClauseIndexes.addAll(mus);
+		}
+		return muses;
+	}
+
+	private List<Set<Integer>> getCandidateMinimalUnsatisfiableSubsetIndexes(MusExtractor oracle) {
+		final List<Integer> clauseIndexes = new ArrayList<>(candidateClauseIndexes);
+		if (clauseIndexes.isEmpty()) {
+			return null;
+		}
+		final MusExtractor candidateOracle = getSatSolverFactory().getMusExtractor();
+		final List<Integer> originalClauseIndexes = new ArrayList<>(clauseIndexes.size());
+		for (final Integer clauseIndex : clauseIndexes) {
+			if (clauseIndex >= oracle.getClauseCount()) {
+				continue;
+			}
+			final int count = candidateOracle.addFormula(oracle.getClause(clauseIndex));
+			for (int i = 0; i < count; i++) {
+				originalClauseIndexes.add(clauseIndex);
+			}
+		}
+		candidateOracle.addAssumptions(oracle.getAssumptions());
+		if (candidateOracle.isSatisfiable()) {
+			return null;
+		}
+		final Set<Set<Integer>> muses = new LinkedHashSet<>();
+		for (final Set<Integer> candidateMus : candidateOracle.getAllMinimalUnsatisfiableSubsetIndexes()) {
+			final Set<Integer> mus = new TreeSet<>();
+			for (final Integer candidateClauseIndex : candidateMus) {
+				mus.add(originalClauseIndexes.get(candidateClauseIndex));
+			}
+			muses.add(mus);
+		}
+		return new ArrayList<>(muses);
+	}
+
 	@Override
 	protected MusExtractor createOracle() {
 		final MusExtractor oracle = getSatSolverFactory().getMusExtractor();
@@ -22,30 +22,20 @@ package de.ovgu.featureide.fm.core.init;
 
 import de.ovgu.featureide.fm.core.JavaLogger;
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.ServiceExtensionLoader;
+import de.ovgu.featureide.fm.core.base.IConfigurationFactory;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
 import de.ovgu.featureide.fm.core.base.impl.ConfigurationFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.CoreFactoryWorkspaceLoader;
-import de.ovgu.featureide.fm.core.base.impl.DefaultConfigurationFactory;
-import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
-import de.ovgu.featureide.fm.core.base.impl.MultiFeatureModelFactory;
 import de.ovgu.featureide.fm.core.cli.CLIFunctionManager;
-import de.ovgu.featureide.fm.core.cli.ConfigurationGenerator;
-import de.ovgu.featureide.fm.core.configuration.DefaultFormat;
-import de.ovgu.featureide.fm.core.configuration.EquationFormat;
-import de.ovgu.featureide.fm.core.configuration.ExpressionFormat;
-import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
-import de.ovgu.featureide.fm.core.configuration.XMLConfFormat;
+import de.ovgu.featureide.fm.core.cli.ICLIFunction;
 import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IConfigurationFormat;
+import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.JavaFileSystem;
-import de.ovgu.featureide.fm.core.io.cnf.CNFFormat;
-import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
-import de.ovgu.featureide.fm.core.io.guidsl.GuidslFormat;
-import de.ovgu.featureide.fm.core.io.splconquerer.ConquererFMWriter;
-import de.ovgu.featureide.fm.core.io.sxfm.SXFMFormat;
-import de.ovgu.featureide.fm.core.io.velvet.SimpleVelvetFeatureModelFormat;
-import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
 import de.ovgu.featureide.fm.core.job.LongRunningCore;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 
@@ -73,28 +63,18 @@ public final class FMCoreLibrary implements ILibrary {
 		LongRunningWrapper.INSTANCE = new LongRunningCore();
 		Logger.logger = new JavaLogger();
 
-		FMFactoryManager.getInstance().addExtension(DefaultFeatureModelFactory.getInstance());
-		FMFactoryManager.getInstance().addExtension(MultiFeatureModelFactory.getInstance());
+		// Factories and formats are listed in META-INF/services and are not instantiated before they are used for the first time.
+		FMFactoryManager.getInstance().addLazyExtensions(new ServiceExtensionLoader<>(IFeatureModelFactory.class));
 		FMFactoryManager.getInstance().setWorkspaceLoader(new CoreFactoryWorkspaceLoader());
 
-		FMFormatManager.getInstance().addExtension(new XmlFeatureModelFormat());
-		FMFormatManager.getInstance().addExtension(new SimpleVelvetFeatureModelFormat());
-		FMFormatManager.getInstance().addExtension(new DIMACSFormat());
-		FMFormatManager.getInstance().addExtension(new SXFMFormat());
-		FMFormatManager.getInstance().addExtension(new GuidslFormat());
-		FMFormatManager.getInstance().addExtension(new ConquererFMWriter());
-		FMFormatManager.getInstance().addExtension(new CNFFormat());
+		FMFormatManager.getInstance().addLazyExtensions(new ServiceExtensionLoader<>(IFeatureModelFormat.class));
 
-		ConfigurationFactoryManager.getInstance().addExtension(DefaultConfigurationFactory.getInstance());
+		ConfigurationFactoryManager.getInstance().addLazyExtensions(new ServiceExtensionLoader<>(IConfigurationFactory.class));
 		ConfigurationFactoryManager.getInstance().setWorkspaceLoader(new CoreFactoryWorkspaceLoader());
 
-		ConfigFormatManager.getInstance().addExtension(new XMLConfFormat());
-		ConfigFormatManager.getInstance().addExtension(new DefaultFormat());
-		ConfigFormatManager.getInstance().addExtension(new FeatureIDEFormat());
-		ConfigFormatManager.getInstance().addExtension(new EquationFormat());
-		ConfigFormatManager.getInstance().addExtension(new ExpressionFormat());
+		ConfigFormatManager.getInstance().addLazyExtensions(new ServiceExtensionLoader<>(IConfigurationFormat.class));
 
-		CLIFunctionManager.getInstance().addExtension(new ConfigurationGenerator());
+		CLIFunctionManager.getInstance().addLazyExtensions(new ServiceExtensionLoader<>(ICLIFunction.class));
 	}
 
 	@Override
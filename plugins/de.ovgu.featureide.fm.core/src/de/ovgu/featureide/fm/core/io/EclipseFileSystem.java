@@ -21,7 +21,9 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
@@ -90,6 +92,33 @@ public class EclipseFileSystem implements IFileSystem {
 		}
 	}
 
+	@Override
+	public OutputStream newOutputStream(Path path) throws IOException {
+		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path));
+		final OutputStream out = JAVA.newOutputStream(path);
+		if (file == null) {
+			return out;
+		}
+		// Writes the file directly and synchronizes the workspace afterwards
+		return new FilterOutputStream(out) {
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				super.close();
+				try {
+					file.refreshLocal(IResource.DEPTH_ZERO, null);
+				} catch (final CoreException e) {
+					throw new IOException(e);
+				}
+			}
+		};
+	}
+
 	@Override
 	public void append(Path path, byte[] content) throws IOException {
 		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path));
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -34,6 +35,8 @@ public final class FileSystem {
 
 		void write(Path path, byte[] content) throws IOException;
 
+		OutputStream newOutputStream(Path path) throws IOException;
+
 		void append(Path path, byte[] content) throws IOException;
 
 		byte[] read(Path path) throws IOException;
@@ -57,6 +60,17 @@ public final class FileSystem {
 		INSTANCE.write(path, content);
 	}
 
+	/**
+	 * Opens a stream that replaces the content of the given file. Allows to write large content without holding it in memory.
+	 *
+	 * @param path the file to write
+	 * @return a new output stream, which must be closed by the caller
+	 * @throws IOException if the file cannot be opened
+	 */
+	public static OutputStream newOutputStream(Path path) throws IOException {
+		return INSTANCE.newOutputStream(path);
+	}
+
 	public static byte[] read(Path path) throws IOException {
 		return INSTANCE.read(path);
 	}
@@ -0,0 +1,65 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format whose content is binary instead of text. File handlers read and write such formats with {@link #read(Object, InputStream)} and
+ * {@link #write(Object, OutputStream)}. The string-based methods of {@link IPersistentFormat} use {@link #CHARSET}, which maps each byte to exactly one
+ * character, so the content can still be passed around as a string without loss.
+ *
+ * @see de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler#getCharset(IPersistentFormat)
+ */
+public interface IBinaryFormat<T> extends IPersistentFormat<T> {
+
+	/**
+	 * The charset of the string representation of the binary content.
+	 */
+	Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+	/**
+	 * Parses the contents of the given stream and transfers all information onto the given object. The stream is not closed.
+	 *
+	 * @param object the object to write the information into.
+	 * @param in the source content.
+	 * @return A list of {@link Problem problems} that occurred during the parsing process.
+	 *
+	 * @see #read(Object, CharSequence)
+	 */
+	ProblemList read(T object, InputStream in);
+
+	/**
+	 * Writes the information of an object to the given stream. The stream is flushed, but not closed.
+	 *
+	 * @param object the object to get the information from.
+	 * @param out the stream to write to.
+	 * @throws IOException if the stream cannot be written.
+	 *
+	 * @see #write(Object)
+	 */
+	void write(T object, OutputStream out) throws IOException;
+
+}
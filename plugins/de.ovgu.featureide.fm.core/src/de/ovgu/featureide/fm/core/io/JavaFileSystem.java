@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -34,6 +35,11 @@ public class JavaFileSystem implements IFileSystem {
 		Files.write(path, content, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
 	}
 
+	@Override
+	public OutputStream newOutputStream(Path path) throws IOException {
+		return Files.newOutputStream(path, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+	}
+
 	@Override
 	public void append(Path path, byte[] content) throws IOException {
 		Files.write(path, content, StandardOpenOption.APPEND, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
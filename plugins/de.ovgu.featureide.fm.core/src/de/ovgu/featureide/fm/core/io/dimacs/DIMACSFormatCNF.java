@@ -20,15 +20,15 @@
  */
 package de.ovgu.featureide.fm.core.io.dimacs;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 
-import org.prop4j.Node;
-
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
-import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
-import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
 import de.ovgu.featureide.fm.core.io.APersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
@@ -51,25 +51,65 @@ public class DIMACSFormatCNF extends APersistentFormat<CNF> {
 		return w.write();
 	}
 
+	/**
+	 * Writes the given CNF directly into a file without building the document as a string.
+	 *
+	 * @param cnf the CNF to write
+	 * @param path the file to write to
+	 * @return a problem list containing any error that occurred
+	 */
+	public ProblemList write(CNF cnf, Path path) {
+		final ProblemList problemList = new ProblemList();
+		final DimacsStreamWriter w = new DimacsStreamWriter(cnf);
+		w.setWritingVariableDirectory(true);
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+			w.write(out);
+		} catch (final IOException e) {
+			problemList.add(new Problem(e));
+		}
+		return problemList;
+	}
+
 	@Override
 	public ProblemList read(CNF cnf, CharSequence source) {
 		final ProblemList problemList = new ProblemList();
-		final DimacsReader r = new DimacsReader();
-		r.setReadingVariableDirectory(true);
-		r.setFlattenCNF(false);
 		try {
-			final Node node = r.read(source.toString());
-			final Variables variables = new Variables(r.getVariables());
-			final ClauseList clauseList = Nodes.convertNF(variables, node, true, true);
-			cnf.setVariables(variables);
-			cnf.getClauses().clear();
-			cnf.getClauses().addAll(clauseList);
+			set(cnf, createReader().read(source));
+		} catch (final ParseException e) {
+			problemList.add(new Problem(e));
+		}
+		return problemList;
+	}
+
+	/**
+	 * Reads the given file directly from a memory-mapped buffer. Should be preferred over {@link #read(CNF, CharSequence)} for large files.
+	 *
+	 * @param cnf the CNF to read into
+	 * @param path the file to read from
+	 * @return a problem list containing any error that occurred
+	 */
+	public ProblemList read(CNF cnf, Path path) {
+		final ProblemList problemList = new ProblemList();
+		try {
+			set(cnf, createReader().read(path));
 		} catch (ParseException | IOException e) {
 			problemList.add(new Problem(e));
 		}
 		return problemList;
 	}
 
+	private DimacsStreamReader createReader() {
+		final DimacsStreamReader r = new DimacsStreamReader();
+		r.setReadingVariableDirectory(true);
+		return r;
+	}
+
+	private void set(CNF cnf, CNF source) {
+		cnf.setVariables((Variables) source.getVariables());
+		cnf.getClauses().clear();
+		cnf.getClauses().addAll(source.getClauses());
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
@@ -0,0 +1,504 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * Reads DIMACS CNF files directly into a {@link CNF}. In contrast to the {@link DimacsReader}, the input is processed byte-wise without creating strings or
+ * intermediate {@link org.prop4j.Node nodes}. Literals are parsed in place into the literal arrays of the resulting clauses. Files are read via a
+ * {@link java.nio.MappedByteBuffer memory-mapped} {@link FileChannel}.<br> <br> The accepted syntax and the resulting CNF are the same as for the
+ * {@link DimacsReader} followed by {@link de.ovgu.featureide.fm.core.analysis.cnf.Nodes#convertNF(de.ovgu.featureide.fm.core.analysis.cnf.IVariables, org.prop4j.Node, boolean, boolean)
+ * Nodes.convertNF}.
+ *
+ * @see DimacsStreamWriter
+ */
+public class DimacsStreamReader {
+
+	/** The default maximal number of bytes that are mapped into memory at once. */
+	private static final int WINDOW_SIZE = 1 << 30;
+
+	private final int windowSize;
+
+	/** True to read the variable directory for naming variables. */
+	private boolean readingVariableDirectory = false;
+
+	private FileChannel channel;
+	private long windowOffset;
+	private ByteBuffer buffer;
+
+	/** Start of the current line (inclusive). */
+	private int lineStart;
+	/** End of the current line (exclusive). */
+	private int lineEnd;
+	/** Start of the next line. */
+	private int nextLineStart;
+	private int lineCount;
+
+	/** The variable names in the order in which their indexes occurred. */
+	private final List<String> names = new ArrayList<>();
+	/** Maps small indexes (array index) to their position in {@link #names}. */
+	private int[] denseIndexes;
+	/** Maps remaining indexes to their position in {@link #names}. */
+	private final HashMap<Integer, Integer> sparseIndexes = new HashMap<>();
+
+	private int[] literalBuffer = new int[16];
+	private int variableCount;
+	private int clauseCount;
+
+	public DimacsStreamReader() {
+		this(WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize the maximal number of bytes that are mapped into memory at once; limits the length of a line
+	 */
+	DimacsStreamReader(int windowSize) {
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * <p> Sets the reading variable directory flag. If true, the reader will look for a variable directory in the comments. This contains names for the
+	 * variables which would otherwise just be numbers. </p>
+	 *
+	 * <p> Defaults to false. </p>
+	 *
+	 * @param readingVariableDirectory whether to read the variable directory
+	 */
+	public void setReadingVariableDirectory(boolean readingVariableDirectory) {
+		this.readingVariableDirectory = readingVariableDirectory;
+	}
+
+	public boolean isReadingVariableDirectory() {
+		return readingVariableDirectory;
+	}
+
+	/**
+	 * Reads the given file by mapping it into memory.
+	 *
+	 * @param path the file to read from
+	 * @return a CNF; not null
+	 * @throws IOException if the file cannot be read
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(Path path) throws ParseException, IOException {
+		try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+			channel = fileChannel;
+			windowOffset = 0;
+			buffer = mapWindow();
+			return read();
+		} finally {
+			channel = null;
+			buffer = null;
+		}
+	}
+
+	/**
+	 * Reads the remaining bytes of the given buffer. The position of the buffer is not changed.
+	 *
+	 * @param source the bytes to read from (encoded in UTF-8)
+	 * @return a CNF; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(ByteBuffer source) throws ParseException {
+		buffer = source.slice();
+		try {
+			return read();
+		} catch (final IOException e) {
+			// cannot happen without a channel
+			throw new IllegalStateException(e);
+		} finally {
+			buffer = null;
+		}
+	}
+
+	/**
+	 * Reads the given character sequence.
+	 *
+	 * @param source the text to read from
+	 * @return a CNF; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(CharSequence source) throws ParseException {
+		return read(ByteBuffer.wrap(source.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private CNF read() throws ParseException, IOException {
+		names.clear();
+		sparseIndexes.clear();
+		denseIndexes = new int[1024];
+		variableCount = -1;
+		clauseCount = -1;
+		lineCount = 0;
+		nextLineStart = 0;
+
+		nextLine();
+		readComments(readingVariableDirectory);
+		readProblem();
+		readComments(readingVariableDirectory);
+		final List<int[]> clauses = readClauses();
+		if (variableCount != names.size()) {
+			throw new ParseException(String.format("Found %d instead of %d variables", names.size(), variableCount), 1);
+		}
+		return createCNF(clauses);
+	}
+
+	private CNF createCNF(List<int[]> clauses) {
+		final Variables variables = new Variables(names);
+
+		// variables with equal names are merged into the variable that was named last
+		int[] mapping = null;
+		for (int i = 0; i < names.size(); i++) {
+			final int variable = variables.getVariable(names.get(i));
+			if (variable != (i + 1)) {
+				if (mapping == null) {
+					mapping = new int[names.size() + 1];
+					for (int j = 0; j < mapping.length; j++) {
+						mapping[j] = j;
+					}
+				}
+				mapping[i + 1] = variable;
+			}
+		}
+
+		final ClauseList clauseList = new ClauseList(clauses.size());
+		for (final int[] literals : clauses) {
+			if (mapping != null) {
+				for (int i = 0; i < literals.length; i++) {
+					final int literal = literals[i];
+					literals[i] = literal > 0 ? mapping[literal] : -mapping[-literal];
+				}
+			}
+			clauseList.add(new LiteralSet(literals, Order.UNORDERED));
+		}
+		return new CNF(variables, clauseList);
+	}
+
+	/**
+	 * Reads consecutive comment lines, starting at the current line.
+	 *
+	 * @param readVariables whether comments are parsed as entries of the variable directory
+	 */
+	private void readComments(boolean readVariables) throws IOException {
+		while ((lineStart < lineEnd) && (buffer.get(lineStart) == DIMACSConstants.COMMENT.charAt(0))) {
+			if (readVariables) {
+				int i = lineStart + 1;
+				while ((i < lineEnd) && isWhitespace(buffer.get(i))) {
+					i++;
+				}
+				readVariableDirectoryEntry(decode(i, lineEnd));
+			}
+			nextLine();
+		}
+	}
+
+	/**
+	 * Reads an entry of the variable directory.
+	 *
+	 * @param comment content of the comment
+	 */
+	private void readVariableDirectoryEntry(String comment) {
+		final int firstSeparator = comment.indexOf(' ');
+		if ((firstSeparator <= 0) || (comment.length() < (firstSeparator + 2))) {
+			return;
+		}
+		final int index;
+		try {
+			index = Integer.parseInt(comment.substring(0, firstSeparator));
+		} catch (final NumberFormatException e) {
+			return;
+		}
+		if (getPosition(index) == 0) {
+			addVariable(index, comment.substring(firstSeparator + 1));
+		}
+	}
+
+	/**
+	 * Reads the problem definition.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readProblem() throws ParseException, IOException {
+		if (lineStart == lineEnd) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		int i = skipWhitespace(lineStart);
+		i = readKeyword(i, DIMACSConstants.PROBLEM);
+		i = readKeyword(skipRequiredWhitespace(i), DIMACSConstants.CNF);
+		final int variableCountStart = skipRequiredWhitespace(i);
+		final int variableCountEnd = skipDigits(variableCountStart);
+		final int clauseCountStart = skipRequiredWhitespace(variableCountEnd);
+		final int clauseCountEnd = skipDigits(clauseCountStart);
+
+		variableCount = parseCount(variableCountStart, variableCountEnd, "Variable count is not an integer");
+		clauseCount = parseCount(clauseCountStart, clauseCountEnd, "Clause count is not an integer");
+
+		if (skipWhitespace(clauseCountEnd) == lineEnd) {
+			nextLine();
+		} else {
+			// the clauses start in the same line
+			lineStart = clauseCountEnd;
+		}
+	}
+
+	private int readKeyword(int start, String keyword) throws ParseException {
+		final int end = start + keyword.length();
+		if (end > lineEnd) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		for (int i = start; i < end; i++) {
+			if (buffer.get(i) != keyword.charAt(i - start)) {
+				throw new ParseException("Invalid problem format", lineCount);
+			}
+		}
+		return end;
+	}
+
+	private int skipRequiredWhitespace(int start) throws ParseException {
+		final int end = skipWhitespace(start);
+		if (end == start) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		return end;
+	}
+
+	private int skipDigits(int start) throws ParseException {
+		int i = start;
+		while ((i < lineEnd) && isDigit(buffer.get(i))) {
+			i++;
+		}
+		if (i == start) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		return i;
+	}
+
+	private int parseCount(int start, int end, String errorMessage) throws ParseException {
+		long count = 0;
+		for (int i = start; i < end; i++) {
+			count = (count * 10) + (buffer.get(i) - '0');
+			if (count > Integer.MAX_VALUE) {
+				throw new ParseException(errorMessage, lineCount);
+			}
+		}
+		return (int) count;
+	}
+
+	/**
+	 * Reads all clauses.
+	 *
+	 * @return the literals of all clauses (referencing the positions in {@link #names}); not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private List<int[]> readClauses() throws ParseException, IOException {
+		final List<int[]> clauses = new ArrayList<>(clauseCount);
+		int literalCount = 0;
+		for (; lineStart < lineEnd; nextLine()) {
+			if (buffer.get(lineStart) == DIMACSConstants.COMMENT.charAt(0)) {
+				continue;
+			}
+			int i = lineStart;
+			while (true) {
+				i = skipWhitespace(i);
+				if (i == lineEnd) {
+					break;
+				}
+				final int tokenStart = i;
+				byte b = buffer.get(i);
+				final boolean negative = b == '-';
+				if (negative || (b == '+')) {
+					i++;
+				}
+				final int digitStart = i;
+				long index = 0;
+				for (; (i < lineEnd) && !isWhitespace(b = buffer.get(i)); i++) {
+					if (!isDigit(b)) {
+						throw new ParseException("Illegal literal", lineCount);
+					}
+					index = (index * 10) + (b - '0');
+					if (index > Integer.MAX_VALUE) {
+						throw new ParseException("Illegal literal", lineCount);
+					}
+				}
+				if (index == 0) {
+					if ((i - tokenStart) != 1 || (digitStart != tokenStart)) {
+						throw new ParseException("Illegal literal", lineCount);
+					}
+					if (literalCount == 0) {
+						throw new ParseException("Empty clause", lineCount);
+					}
+					addClause(clauses, literalCount);
+					literalCount = 0;
+				} else {
+					if (literalCount == literalBuffer.length) {
+						literalBuffer = Arrays.copyOf(literalBuffer, literalCount << 1);
+					}
+					final int variable = getVariable((int) index);
+					literalBuffer[literalCount++] = negative ? -variable : variable;
+				}
+			}
+		}
+		if (literalCount > 0) {
+			addClause(clauses, literalCount);
+		}
+		if (clauses.size() < clauseCount) {
+			throw new ParseException(String.format("Found %d instead of %d clauses", clauses.size(), clauseCount), 1);
+		}
+		return clauses;
+	}
+
+	private void addClause(List<int[]> clauses, int literalCount) throws ParseException {
+		if (clauses.size() == clauseCount) {
+			throw new ParseException(String.format("Found more than %d clauses", clauseCount), 1);
+		}
+		clauses.add(Arrays.copyOf(literalBuffer, literalCount));
+	}
+
+	/**
+	 * @param index the (positive) index of a variable in the file
+	 * @return the position of the variable in {@link #names} (starting at 1)
+	 */
+	private int getVariable(int index) {
+		final int position = getPosition(index);
+		return position != 0 ? position : addVariable(index, String.valueOf(index));
+	}
+
+	private int getPosition(int index) {
+		if ((index >= 0) && (index < denseIndexes.length)) {
+			final int position = denseIndexes[index];
+			if ((position != 0) || sparseIndexes.isEmpty()) {
+				return position;
+			}
+		}
+		final Integer position = sparseIndexes.get(index);
+		return position != null ? position : 0;
+	}
+
+	private int addVariable(int index, String name) {
+		names.add(name);
+		final int position = names.size();
+		if ((index >= 0) && (index >= denseIndexes.length) && (index < (2L * Math.max(names.size(), variableCount)))) {
+			denseIndexes = Arrays.copyOf(denseIndexes, Math.max(index + 1, denseIndexes.length << 1));
+		}
+		if ((index >= 0) && (index < denseIndexes.length)) {
+			denseIndexes[index] = position;
+		} else {
+			sparseIndexes.put(index, position);
+		}
+		return position;
+	}
+
+	/**
+	 * Moves to the next non-blank line. Sets {@link #lineStart} and {@link #lineEnd} to the same value if there is no further line.
+	 */
+	private void nextLine() throws IOException {
+		while (true) {
+			int start = nextLineStart;
+			int i = start;
+			int limit = buffer.limit();
+			while (true) {
+				while (i < limit) {
+					final byte b = buffer.get(i);
+					if ((b == '\n') || (b == '\r')) {
+						break;
+					}
+					i++;
+				}
+				// the line terminator must be completely visible
+				if ((i < (limit - 1)) || !hasMoreInput()) {
+					break;
+				}
+				if (start == 0) {
+					throw new IOException("Line " + (lineCount + 1) + " exceeds " + windowSize + " bytes");
+				}
+				windowOffset += start;
+				buffer = mapWindow();
+				i -= start;
+				start = 0;
+				limit = buffer.limit();
+			}
+			if (start == limit) {
+				lineStart = lineEnd = nextLineStart = limit;
+				return;
+			}
+			lineCount++;
+			lineStart = start;
+			lineEnd = i;
+			if (i < limit) {
+				i += ((buffer.get(i) == '\r') && ((i + 1) < limit) && (buffer.get(i + 1) == '\n')) ? 2 : 1;
+			}
+			nextLineStart = i;
+			if (skipWhitespace(lineStart) < lineEnd) {
+				return;
+			}
+		}
+	}
+
+	private boolean hasMoreInput() throws IOException {
+		return (channel != null) && ((windowOffset + buffer.limit()) < channel.size());
+	}
+
+	private ByteBuffer mapWindow() throws IOException {
+		return channel.map(MapMode.READ_ONLY, windowOffset, Math.min(windowSize, channel.size() - windowOffset));
+	}
+
+	private int skipWhitespace(int start) {
+		int i = start;
+		while ((i < lineEnd) && isWhitespace(buffer.get(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private String decode(int start, int end) {
+		final byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return (b == ' ') || (b == '\t') || (b == 0x0B) || (b == '\f');
+	}
+
+	private static boolean isDigit(byte b) {
+		return (b >= '0') && (b <= '9');
+	}
+
+}
@@ -0,0 +1,184 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IInternalVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Writes a {@link CNF} in the DIMACS CNF file format to an {@link OutputStream}. The output is the same as the one of the {@link DimacsWriter}, but it is
+ * encoded directly into a byte buffer without building the whole document (or any line) as a string.
+ *
+ * @see DimacsStreamReader
+ */
+public class DimacsStreamWriter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** The maximal number of bytes a single integer (including its sign) and a separator can take. */
+	private static final int MAX_INT_LENGTH = 12;
+
+	private static final byte[] COMMENT_START = DIMACSConstants.COMMENT_START.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] PROBLEM = (DIMACSConstants.PROBLEM + ' ' + DIMACSConstants.CNF + ' ').getBytes(StandardCharsets.UTF_8);
+
+	/** Whether the writer should write a variable directory listing the names of the variables. */
+	private boolean writingVariableDirectory = true;
+
+	private final CNF cnf;
+
+	private final byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private final byte[] digits = new byte[MAX_INT_LENGTH];
+	private int position;
+	private OutputStream out;
+
+	/**
+	 * Constructs a new instance of this class with the given CNF.
+	 *
+	 * @param cnf the CNF to transform; not null
+	 * @throws IllegalArgumentException if the input is null
+	 */
+	public DimacsStreamWriter(CNF cnf) throws IllegalArgumentException {
+		if (cnf == null) {
+			throw new IllegalArgumentException();
+		}
+		this.cnf = cnf;
+	}
+
+	/**
+	 * Sets the writing variable directory flag. If true, the writer will write a variable directory at the start of the output.
+	 *
+	 * @param writingVariableDirectory whether to write the variable directory
+	 *
+	 * @see DimacsWriter#setWritingVariableDirectory(boolean)
+	 */
+	public void setWritingVariableDirectory(boolean writingVariableDirectory) {
+		this.writingVariableDirectory = writingVariableDirectory;
+	}
+
+	public boolean isWritingVariableDirectory() {
+		return writingVariableDirectory;
+	}
+
+	/**
+	 * Writes the DIMACS CNF file format. The stream is flushed, but not closed.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void write(OutputStream out) throws IOException {
+		this.out = out;
+		position = 0;
+		try {
+			if (writingVariableDirectory) {
+				writeVariableDirectory();
+			}
+			writeProblem();
+			writeClauses();
+			flush();
+			out.flush();
+		} finally {
+			this.out = null;
+		}
+	}
+
+	private void writeVariableDirectory() throws IOException {
+		final String[] names = cnf.getVariables().getNames();
+		for (int i = 1; i < names.length; i++) {
+			writeBytes(COMMENT_START);
+			writeInt(i);
+			writeByte((byte) ' ');
+			writeBytes(String.valueOf(names[i]).getBytes(StandardCharsets.UTF_8));
+			writeBytes(lineSeparator);
+		}
+	}
+
+	private void writeProblem() throws IOException {
+		writeBytes(PROBLEM);
+		writeInt(cnf.getVariables().size());
+		writeByte((byte) ' ');
+		writeInt(cnf.getClauses().size());
+		writeBytes(lineSeparator);
+	}
+
+	private void writeClauses() throws IOException {
+		final IInternalVariables internalVariables = cnf.getInternalVariables();
+		for (final LiteralSet clause : cnf.getClauses()) {
+			for (final int literal : internalVariables.convertToInternal(clause).getLiterals()) {
+				writeInt(literal);
+				writeByte((byte) ' ');
+			}
+			writeByte((byte) '0');
+			writeBytes(lineSeparator);
+		}
+	}
+
+	private void writeInt(int value) throws IOException {
+		if (position > (BUFFER_SIZE - MAX_INT_LENGTH)) {
+			flush();
+		}
+		if (value == Integer.MIN_VALUE) {
+			writeBytes(Integer.toString(value).getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+		if (value < 0) {
+			buffer[position++] = '-';
+			value = -value;
+		}
+		int length = 0;
+		do {
+			digits[length++] = (byte) ('0' + (value % 10));
+			value /= 10;
+		} while (value != 0);
+		while (length > 0) {
+			buffer[position++] = digits[--length];
+		}
+	}
+
+	private void writeByte(byte b) throws IOException {
+		if (position == BUFFER_SIZE) {
+			flush();
+		}
+		buffer[position++] = b;
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		if (bytes.length > (BUFFER_SIZE - position)) {
+			flush();
+			if (bytes.length > BUFFER_SIZE) {
+				out.write(bytes);
+				return;
+			}
+		}
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	private void flush() throws IOException {
+		out.write(buffer, 0, position);
+		position = 0;
+	}
+
+}
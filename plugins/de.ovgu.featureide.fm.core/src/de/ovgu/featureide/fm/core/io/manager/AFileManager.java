@@ -30,7 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -47,6 +47,7 @@ import de.ovgu.featureide.fm.core.base.impl.FactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FormatManager;
 import de.ovgu.featureide.fm.core.io.ExternalChangeListener;
 import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IBinaryFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
@@ -166,7 +167,22 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	private final IEventManager eventManager = new DefaultEventManager();
 	private final ProblemList lastProblems = new ProblemList();
 
-	protected final Lock fileOperationLock = new ReentrantLock();
+	private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Write lock for all modifications of the variable object.
+	 */
+	protected final Lock fileOperationLock = readWriteLock.writeLock();
+
+	/**
+	 * Read lock for accessing the variable object or the snapshot without modifications. Readers do not block each other.
+	 */
+	protected final Lock readLock = readWriteLock.readLock();
+
+	/**
+	 * Guards the lazy creation of the snapshot by concurrent readers.
+	 */
+	private final Object snapshotLock = new Object();
 
 	private final Path path;
 	private final List<? extends IPersistentFormat<T>> formats;
@@ -175,7 +191,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	protected String persistentObjectSource;
 	protected T persistentObject;
 	protected T variableObject;
-	protected T snapshot;
+	protected volatile T snapshot;
 
 	private IPersistentFormat<T> format;
 	private boolean modifying = false;
@@ -189,13 +205,17 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	protected boolean init(IPersistentFormat<T> desiredFormat) {
 		if ((desiredFormat != null) || FileSystem.exists(path)) {
 			try {
-				final String content = new String(FileSystem.read(path), SimpleFileHandler.DEFAULT_CHARSET);
+				final byte[] bytes = FileSystem.read(path);
+				String content = new String(bytes, SimpleFileHandler.DEFAULT_CHARSET);
 				if (desiredFormat != null) {
 					format = desiredFormat;
 					setVariableObject(createObject());
 				} else {
 					detectFormat(content);
 				}
+				if (format instanceof IBinaryFormat) {
+					content = new String(bytes, IBinaryFormat.CHARSET);
+				}
 				final ProblemList problems = format.getInstance().read(variableObject, content);
 				final T newPersistentObject = createObject();
 				format.getInstance().read(newPersistentObject, content);
@@ -265,14 +285,21 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 
 	@Override
 	public T getSnapshot() {
-		fileOperationLock.lock();
+		readLock.lock();
 		try {
-			if (snapshot == null) {
-				snapshot = copyObject(variableObject);
+			T currentSnapshot = snapshot;
+			if (currentSnapshot == null) {
+				synchronized (snapshotLock) {
+					currentSnapshot = snapshot;
+					if (currentSnapshot == null) {
+						currentSnapshot = copyObject(variableObject);
+						snapshot = currentSnapshot;
+					}
+				}
 			}
-			return snapshot;
+			return currentSnapshot;
 		} finally {
-			fileOperationLock.unlock();
+			readLock.unlock();
 		}
 	}
 
@@ -286,6 +313,11 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 		return fileOperationLock;
 	}
 
+	@Override
+	public Lock getReadLock() {
+		return readLock;
+	}
+
 	@Override
 	public <R> R processObject(Function<T, R> editOperation) {
 		return processObject(editOperation, 0);
@@ -343,11 +375,11 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 
 	@Override
 	public ProblemList getLastProblems() {
-		fileOperationLock.lock();
+		readLock.lock();
 		try {
 			return new ProblemList(lastProblems);
 		} finally {
-			fileOperationLock.unlock();
+			readLock.unlock();
 		}
 	}
 
@@ -397,8 +429,12 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 		}
 		lastProblems.clear();
 		final T tempObject;
-		final String content = new String(FileSystem.read(path), SimpleFileHandler.DEFAULT_CHARSET);
+		final byte[] bytes = FileSystem.read(path);
+		String content = new String(bytes, SimpleFileHandler.DEFAULT_CHARSET);
 		detectFormat(content);
+		if (format instanceof IBinaryFormat) {
+			content = new String(bytes, IBinaryFormat.CHARSET);
+		}
 		tempObject = createObject();
 		final List<Problem> problemList = format.getInstance().read(tempObject, content);
 		if (problemList != null) {
@@ -481,7 +517,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 				}
 				modifying = true;
 				final String source = format.getInstance().write(variableObject);
-				FileSystem.write(path, source.getBytes(SimpleFileHandler.DEFAULT_CHARSET));
+				FileSystem.write(path, source.getBytes(SimpleFileHandler.getCharset(format)));
 				final T tempObject = createObject();
 				format.getInstance().read(tempObject, source);
 				setPersistentObject(tempObject);
@@ -30,6 +30,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.base.impl.FeatureModel;
 import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 
@@ -49,7 +50,8 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 	public static final int CHANGE_NOTHING = Integer.MAX_VALUE;
 
 	private FeatureModelFormula persistentFormula = null;
-	private FeatureModelFormula variableFormula = null;
+	private volatile FeatureModelFormula variableFormula = null;
+	private volatile FeatureModelFormula previousVariableFormula = null;
 
 	@CheckForNull
 	public static FeatureModelManager getInstance(Path path) {
@@ -97,9 +99,13 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 		return (IFeatureModelFormat) super.getFormat();
 	}
 
+	/**
+	 * Creates the snapshot of the variable object. A {@link FeatureModel} creates an immutable snapshot that shares the data of all unmodified features and
+	 * constraints with the previous snapshot (see {@link FeatureModel#createSnapshot()}). Other models are cloned.
+	 */
 	@Override
 	protected IFeatureModel copyObject(IFeatureModel oldObject) {
-		final IFeatureModel clone = oldObject.clone();
+		final IFeatureModel clone = (oldObject instanceof FeatureModel) ? ((FeatureModel) oldObject).createSnapshot() : oldObject.clone();
 		clone.setEventManager(this);
 		return clone;
 	}
@@ -114,22 +120,33 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 
 	@Override
 	public FeatureModelFormula getVariableFormula() {
-		fileOperationLock.lock();
+		readLock.lock();
 		try {
-			if (variableFormula == null) {
-				variableFormula = new FeatureModelFormula(getSnapshot());
+			FeatureModelFormula currentFormula = variableFormula;
+			if (currentFormula == null) {
+				synchronized (this) {
+					currentFormula = variableFormula;
+					if (currentFormula == null) {
+						currentFormula = new FeatureModelFormula(getSnapshot(), previousVariableFormula);
+						variableFormula = currentFormula;
+						previousVariableFormula = null;
+					}
+				}
 			}
-			return variableFormula;
+			return currentFormula;
 		} finally {
-			fileOperationLock.unlock();
+			readLock.unlock();
 		}
 	}
 
 	@Override
 	protected void resetSnapshot(int changeIndicator) {
+		// The next snapshot only recreates the data of the features and constraints that were modified since the last snapshot (see FeatureModel#createSnapshot)
 		super.resetSnapshot(changeIndicator);
 		if (variableFormula != null) {
 			if (changeIndicator <= CHANGE_DEPENDENCIES) {
+				// Keep the old formula, so that its elements can be updated instead of recomputed
+				previousVariableFormula = variableFormula;
 				variableFormula = null;
 			} else if (changeIndicator == CHANGE_MODEL_PROPERTY) {
 				// Not nessessary to rebuild the variable formula, just copy the properties to the variable formula's model
@@ -74,6 +74,14 @@ public interface IManager<T> extends IEventManager {
 	 */
 	Lock getFileOperationLock();
 
+	/**
+	 * Acquire the lock for reading the variable object without modifying it. In contrast to the {@link #getFileOperationLock() file operation lock}, multiple
+	 * readers do not block each other.
+	 *
+	 * @return The read lock corresponding to the file operation lock.
+	 */
+	Lock getReadLock();
+
 	ProblemList externalSave(Runnable externalSaveMethod);
 
 	void dispose();
@@ -20,11 +20,13 @@
  */
 package de.ovgu.featureide.fm.core.io.manager;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,6 +36,7 @@ import javax.annotation.Nonnull;
 
 import de.ovgu.featureide.fm.core.base.impl.FormatManager;
 import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IBinaryFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
@@ -115,6 +118,16 @@ public class SimpleFileHandler<T> {
 		return (extensionIndex > 0) ? fileName.substring(extensionIndex + 1) : "";
 	}
 
+	/**
+	 * Returns the charset that is used to convert the content of a file in the given format from and to a string.
+	 *
+	 * @param format the format
+	 * @return {@link IBinaryFormat#CHARSET} for binary formats, {@link #DEFAULT_CHARSET} otherwise
+	 */
+	public static Charset getCharset(IPersistentFormat<?> format) {
+		return format instanceof IBinaryFormat ? IBinaryFormat.CHARSET : DEFAULT_CHARSET;
+	}
+
 	public static <T> ProblemList load(Path path, T object, IPersistentFormat<T> format) {
 		final SimpleFileHandler<T> fileHandler = new SimpleFileHandler<>(path, object, format);
 		fileHandler.read();
@@ -141,7 +154,11 @@ public class SimpleFileHandler<T> {
 				fileHandler.getLastProblems().add(new Problem(new FormatManager.NoSuchExtensionException("No format found for file \"" + fileName + "\"!")));
 			} else {
 				fileHandler.setFormat(format);
-				fileHandler.parse(content);
+				if (format instanceof IBinaryFormat) {
+					fileHandler.read();
+				} else {
+					fileHandler.parse(content);
+				}
 			}
 		}
 		return fileHandler.getLastProblems();
@@ -209,14 +226,34 @@ public class SimpleFileHandler<T> {
 
 	public boolean read() {
 		problemList.clear();
+		if (format instanceof IBinaryFormat) {
+			try (InputStream inputStream = Files.newInputStream(path)) {
+				return parse(inputStream);
+			} catch (final Exception e) {
+				problemList.add(new Problem(e));
+				return false;
+			}
+		}
 		return parse(getContent());
 	}
 
 	public boolean read(InputStream inputStream) {
 		problemList.clear();
+		if (format instanceof IBinaryFormat) {
+			return parse(inputStream);
+		}
 		return parse(getContent(inputStream));
 	}
 
+	private boolean parse(InputStream inputStream) {
+		try {
+			problemList.addAll(((IBinaryFormat<T>) format.getInstance()).read(object, inputStream));
+		} catch (final Exception e) {
+			problemList.add(new Problem(e));
+		}
+		return !problemList.containsError();
+	}
+
 	String getContent() {
 		try {
 			return readContent();
@@ -267,8 +304,13 @@ public class SimpleFileHandler<T> {
 	public boolean write() {
 		problemList.clear();
 		try {
-			final byte[] content = format.getInstance().write(object).getBytes(DEFAULT_CHARSET);
-			FileSystem.write(path, content);
+			if (format instanceof IBinaryFormat) {
+				try (OutputStream out = new BufferedOutputStream(FileSystem.newOutputStream(path))) {
+					((IBinaryFormat<T>) format.getInstance()).write(object, out);
+				}
+			} else {
+				FileSystem.write(path, format.getInstance().write(object).getBytes(DEFAULT_CHARSET));
+			}
 		} catch (final Exception e) {
 			problemList.add(new Problem(e));
 		}
@@ -23,7 +23,7 @@ package de.ovgu.featureide.fm.core.io.manager;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -45,7 +45,9 @@ public class VirtualManager<T> implements IManager<T> {
 
 	protected final T variableObject;
 
-	protected final Lock lock = new ReentrantLock();
+	private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+	protected final Lock lock = readWriteLock.writeLock();
 
 	public VirtualManager(T object) {
 		variableObject = object;
@@ -126,6 +128,11 @@ public class VirtualManager<T> implements IManager<T> {
 		return lock;
 	}
 
+	@Override
+	public Lock getReadLock() {
+		return readWriteLock.readLock();
+	}
+
 	@Override
 	public T getSnapshot() {
 		return variableObject;
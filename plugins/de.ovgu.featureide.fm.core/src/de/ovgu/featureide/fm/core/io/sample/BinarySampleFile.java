@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.sample;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Provides random access to the configurations of a file in the {@link BinarySampleFormat}. Only the block containing a requested configuration is read (and
+ * decompressed), the last read block is cached.<br> <br> Instances are not thread-safe.
+ */
+public class BinarySampleFile implements Closeable {
+
+	private final FileChannel channel;
+	private final BinarySampleFormat.Header header;
+	private final long[] blockOffsets;
+
+	private final Inflater inflater = new Inflater();
+	private final byte[] rawBuffer;
+	private final byte[] storedBuffer;
+	private byte[] block;
+	private int blockIndex = -1;
+
+	/**
+	 * Opens the given file and reads its header and block index.
+	 *
+	 * @param path the file to read
+	 * @throws IOException if the file cannot be read
+	 * @throws UnsupportedModelException if the file is not in the {@link BinarySampleFormat}
+	 */
+	public BinarySampleFile(Path path) throws IOException, UnsupportedModelException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			header = BinarySampleFormat.Header.read(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel))));
+
+			final long size = channel.size();
+			final long indexOffset = readBuffer(size - Long.BYTES, Long.BYTES).getLong();
+			if ((indexOffset < 0) || ((indexOffset + ((header.blockCount + 1L) * Long.BYTES)) != size)) {
+				throw new UnsupportedModelException("Invalid block index!", 0);
+			}
+			blockOffsets = new long[header.blockCount];
+			readBuffer(indexOffset, header.blockCount * Long.BYTES).asLongBuffer().get(blockOffsets);
+
+			rawBuffer = new byte[header.rowSize * Math.min(header.blockSize, Math.max(1, header.configurationCount))];
+			storedBuffer = new byte[rawBuffer.length];
+		} catch (IOException | UnsupportedModelException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the variables of all configurations
+	 */
+	public IVariables getVariables() {
+		return header.variables;
+	}
+
+	/**
+	 * @return the number of configurations in the file
+	 */
+	public int size() {
+		return header.configurationCount;
+	}
+
+	/**
+	 * Reads a single configuration.
+	 *
+	 * @param index the index of the configuration
+	 * @return the configuration with its literals in {@link LiteralSet.Order#INDEX index order}
+	 * @throws IOException if the file cannot be read or is corrupted
+	 */
+	public LiteralSet get(int index) throws IOException {
+		if ((index < 0) || (index >= header.configurationCount)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		final int blockNumber = index / header.blockSize;
+		if (blockNumber != blockIndex) {
+			final long offset = blockOffsets[blockNumber];
+			final long end = (blockNumber + 1) < blockOffsets.length ? blockOffsets[blockNumber + 1] : channel.size() - ((blockOffsets.length + 1L) * Long.BYTES);
+			final ByteBuffer stored = readBuffer(offset, (int) (end - offset));
+			blockIndex = -1;
+			try {
+				block = header.readBlock(new DataInputStream(new ByteArrayInputStream(stored.array(), 0, stored.limit())), inflater, storedBuffer, rawBuffer, blockNumber);
+			} catch (DataFormatException | UnsupportedModelException e) {
+				throw new IOException(e);
+			}
+			blockIndex = blockNumber;
+		}
+		return header.getRow(block, index - (blockNumber * header.blockSize));
+	}
+
+	private ByteBuffer readBuffer(long position, int length) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		channel.close();
+	}
+
+}
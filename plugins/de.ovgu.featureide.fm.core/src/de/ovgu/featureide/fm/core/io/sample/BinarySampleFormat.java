@@ -0,0 +1,411 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.sample;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.io.APersistentFormat;
+import de.ovgu.featureide.fm.core.io.IBinaryFormat;
+import de.ovgu.featureide.fm.core.io.LazyReader;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
+
+/**
+ * Reads / Writes a list of configurations in a compact binary format. In contrast to the {@link ConfigurationListFormat}, the variable names are stored only
+ * once and each configuration is stored as a row of bits (one bit per variable). Rows are grouped into blocks, which can be compressed independently. An index
+ * of all blocks at the end of the file allows random access to single configurations via {@link BinarySampleFile}.<br> <br> Layout of the file:
+ * <ul>
+ * <li>Header: {@link #MAGIC}, version, flags, number of variables, number of configurations, number of configurations per block</li>
+ * <li>Variable names: length in bytes and UTF-8 encoded name for each variable</li>
+ * <li>Blocks: stored length in bytes and (possibly deflated) rows for each block</li>
+ * <li>Index: file offset of each block, followed by the file offset of the index</li>
+ * </ul>
+ * If not all configurations assign all variables, each row consists of the selection bits followed by the bits of all assigned variables.
+ */
+public class BinarySampleFormat extends APersistentFormat<SolutionList> implements IBinaryFormat<SolutionList> {
+
+	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + BinarySampleFormat.class.getSimpleName();
+
+	static final byte[] MAGIC = "FIDESMPL".getBytes(StandardCharsets.US_ASCII);
+	static final int VERSION = 1;
+	static final int FLAG_COMPRESSED = 1;
+	static final int FLAG_PARTIAL = 2;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The header of a binary sample file, which is stored before the first block.
+	 */
+	static class Header {
+
+		int flags;
+		int configurationCount;
+		int blockSize;
+		Variables variables;
+
+		int rowSize;
+		int blockCount;
+
+		static Header read(DataInput in) throws IOException, UnsupportedModelException {
+			final byte[] magic = new byte[MAGIC.length];
+			in.readFully(magic);
+			if (!Arrays.equals(MAGIC, magic)) {
+				throw new UnsupportedModelException("Not a binary sample file!", 0);
+			}
+			final int version = in.readInt();
+			if (version != VERSION) {
+				throw new UnsupportedModelException("Unsupported version " + version + "!", 0);
+			}
+			final Header header = new Header();
+			header.flags = in.readInt();
+			final int variableCount = in.readInt();
+			header.configurationCount = in.readInt();
+			header.blockSize = in.readInt();
+			if ((variableCount < 0) || (header.configurationCount < 0) || (header.blockSize <= 0)) {
+				throw new UnsupportedModelException("Invalid header!", 0);
+			}
+			final List<String> names = new ArrayList<>(variableCount);
+			for (int i = 0; i < variableCount; i++) {
+				final byte[] name = new byte[in.readInt()];
+				in.readFully(name);
+				names.add(new String(name, StandardCharsets.UTF_8));
+			}
+			header.variables = new Variables(names);
+			header.rowSize = getRowSize(variableCount, header.isPartial());
+			header.blockCount = getBlockCount(header.configurationCount, header.blockSize);
+			return header;
+		}
+
+		boolean isCompressed() {
+			return (flags & FLAG_COMPRESSED) != 0;
+		}
+
+		boolean isPartial() {
+			return (flags & FLAG_PARTIAL) != 0;
+		}
+
+		int getRowCount(int block) {
+			return Math.min(blockSize, configurationCount - (block * blockSize));
+		}
+
+		/**
+		 * Reads the stored content of a block and returns the raw rows.
+		 */
+		byte[] readBlock(DataInput in, Inflater inflater, byte[] storedBuffer, byte[] rawBuffer, int block)
+				throws IOException, DataFormatException, UnsupportedModelException {
+			final int storedLength = in.readInt();
+			final int rawLength = getRowCount(block) * rowSize;
+			if (!isCompressed()) {
+				if (storedLength != rawLength) {
+					throw new UnsupportedModelException("Invalid length of block " + block + "!", 0);
+				}
+				in.readFully(rawBuffer, 0, rawLength);
+				return rawBuffer;
+			}
+			final byte[] stored = storedLength <= storedBuffer.length ? storedBuffer : new byte[storedLength];
+			in.readFully(stored, 0, storedLength);
+			inflater.reset();
+			inflater.setInput(stored, 0, storedLength);
+			int length = 0;
+			while (length < rawLength) {
+				final int inflated = inflater.inflate(rawBuffer, length, rawLength - length);
+				if ((inflated == 0) && (inflater.finished() || inflater.needsInput())) {
+					throw new UnsupportedModelException("Invalid length of block " + block + "!", 0);
+				}
+				length += inflated;
+			}
+			return rawBuffer;
+		}
+
+		LiteralSet getRow(byte[] block, int row) {
+			final int variableCount = variables.size();
+			final int offset = row * rowSize;
+			final int definedOffset = offset + getRowSize(variableCount, false);
+			final boolean partial = isPartial();
+			final int[] literals = new int[variableCount];
+			for (int i = 0; i < variableCount; i++) {
+				final int mask = 1 << (i & 7);
+				if (!partial || ((block[definedOffset + (i >>> 3)] & mask) != 0)) {
+					literals[i] = (block[offset + (i >>> 3)] & mask) != 0 ? i + 1 : -(i + 1);
+				}
+			}
+			return new LiteralSet(literals, Order.INDEX, false);
+		}
+	}
+
+	private boolean compressed = true;
+	private int blockSize = 256;
+
+	@Override
+	public void write(SolutionList configurationList, OutputStream out) throws IOException {
+		final String[] names = configurationList.getVariables().getNames();
+		final int variableCount = names.length - 1;
+		final List<LiteralSet> configurations = configurationList.getSolutions();
+		final boolean partial = isPartial(configurations, variableCount);
+		final int rowSize = getRowSize(variableCount, partial);
+		final int blockCount = getBlockCount(configurations.size(), blockSize);
+
+		final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+		data.write(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt((compressed ? FLAG_COMPRESSED : 0) | (partial ? FLAG_PARTIAL : 0));
+		data.writeInt(variableCount);
+		data.writeInt(configurations.size());
+		data.writeInt(blockSize);
+		long offset = MAGIC.length + (5 * Integer.BYTES);
+		for (int i = 1; i < names.length; i++) {
+			final byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+			data.writeInt(name.length);
+			data.write(name);
+			offset += Integer.BYTES + name.length;
+		}
+
+		final long[] blockOffsets = new long[blockCount];
+		final byte[] block = new byte[Math.multiplyExact(rowSize, Math.min(blockSize, Math.max(1, configurations.size())))];
+		final Deflater deflater = compressed ? new Deflater(Deflater.BEST_SPEED) : null;
+		byte[] deflated = compressed ? new byte[block.length + 64] : null;
+		try {
+			for (int b = 0; b < blockCount; b++) {
+				final int firstRow = b * blockSize;
+				final int rowCount = Math.min(blockSize, configurations.size() - firstRow);
+				final int rawLength = rowCount * rowSize;
+				Arrays.fill(block, 0, rawLength, (byte) 0);
+				for (int row = 0; row < rowCount; row++) {
+					setRow(block, row * rowSize, configurations.get(firstRow + row).getLiterals(), variableCount, partial);
+				}
+
+				blockOffsets[b] = offset;
+				if (compressed) {
+					deflater.reset();
+					deflater.setInput(block, 0, rawLength);
+					deflater.finish();
+					int length = 0;
+					while (!deflater.finished()) {
+						if (length == deflated.length) {
+							deflated = Arrays.copyOf(deflated, deflated.length << 1);
+						}
+						length += deflater.deflate(deflated, length, deflated.length - length);
+					}
+					data.writeInt(length);
+					data.write(deflated, 0, length);
+					offset += Integer.BYTES + length;
+				} else {
+					data.writeInt(rawLength);
+					data.write(block, 0, rawLength);
+					offset += Integer.BYTES + rawLength;
+				}
+			}
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+
+		for (final long blockOffset : blockOffsets) {
+			data.writeLong(blockOffset);
+		}
+		data.writeLong(offset);
+		data.flush();
+	}
+
+	@Override
+	public ProblemList read(SolutionList configurationList, InputStream in) {
+		final ProblemList problems = new ProblemList();
+		final Inflater inflater = new Inflater();
+		try {
+			final DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+			final Header header = Header.read(data);
+			configurationList.setVariables(header.variables);
+			final byte[] rawBuffer = new byte[header.rowSize * Math.min(header.blockSize, Math.max(1, header.configurationCount))];
+			final byte[] storedBuffer = new byte[rawBuffer.length];
+			for (int b = 0; b < header.blockCount; b++) {
+				final byte[] block = header.readBlock(data, inflater, storedBuffer, rawBuffer, b);
+				for (int row = 0, rowCount = header.getRowCount(b); row < rowCount; row++) {
+					configurationList.addSolution(header.getRow(block, row));
+				}
+			}
+		} catch (final Exception e) {
+			problems.add(new Problem(e));
+		} finally {
+			inflater.end();
+		}
+		return problems;
+	}
+
+	@Override
+	public String write(SolutionList configurationList) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			write(configurationList, out);
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return null;
+		}
+		return new String(out.toByteArray(), CHARSET);
+	}
+
+	@Override
+	public ProblemList read(SolutionList configurationList, CharSequence source) {
+		return read(configurationList, new ByteArrayInputStream(source.toString().getBytes(CHARSET)));
+	}
+
+	private static boolean isPartial(List<LiteralSet> configurations, int variableCount) {
+		for (final LiteralSet configuration : configurations) {
+			int assigned = 0;
+			for (final int literal : configuration.getLiterals()) {
+				if (literal != 0) {
+					assigned++;
+				}
+			}
+			if (assigned != variableCount) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void setRow(byte[] block, int offset, int[] literals, int variableCount, boolean partial) {
+		final int definedOffset = offset + getRowSize(variableCount, false);
+		for (final int literal : literals) {
+			if (literal != 0) {
+				final int i = Math.abs(literal) - 1;
+				final byte mask = (byte) (1 << (i & 7));
+				if (literal > 0) {
+					block[offset + (i >>> 3)] |= mask;
+				}
+				if (partial) {
+					block[definedOffset + (i >>> 3)] |= mask;
+				}
+			}
+		}
+	}
+
+	static int getRowSize(int variableCount, boolean partial) {
+		final int size = (variableCount + 7) >>> 3;
+		return partial ? size << 1 : size;
+	}
+
+	static int getBlockCount(int configurationCount, int blockSize) {
+		return (configurationCount + (blockSize - 1)) / blockSize;
+	}
+
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	/**
+	 * @param compressed whether each block is compressed (deflated). Defaults to {@code true}.
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * @param blockSize the number of configurations per block. Smaller blocks allow faster random access, larger blocks compress better. Defaults to 256.
+	 */
+	public void setBlockSize(int blockSize) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException(String.valueOf(blockSize));
+		}
+		this.blockSize = blockSize;
+	}
+
+	@Override
+	public boolean supportsContent(CharSequence content) {
+		if (content.length() < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (content.charAt(i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean supportsContent(LazyReader reader) {
+		reader.expand();
+		return supportsContent((CharSequence) reader);
+	}
+
+	@Override
+	public String getSuffix() {
+		return "sample";
+	}
+
+	@Override
+	public BinarySampleFormat getInstance() {
+		final BinarySampleFormat format = new BinarySampleFormat();
+		format.compressed = compressed;
+		format.blockSize = blockSize;
+		return format;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public String getName() {
+		return "Binary Sample";
+	}
+
+}
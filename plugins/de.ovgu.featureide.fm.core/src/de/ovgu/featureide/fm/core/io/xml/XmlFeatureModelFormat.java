@@ -27,12 +27,19 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
 import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.prop4j.And;
 import org.prop4j.AtMost;
 import org.prop4j.Equals;
@@ -47,6 +54,7 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -60,6 +68,7 @@ import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IFeatureNameValidator;
 import de.ovgu.featureide.fm.core.io.LazyReader;
 import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
 
 /**
@@ -75,6 +84,8 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 
 	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + XmlFeatureModelFormat.class.getSimpleName();
 
+	private static final String STAX_MESSAGE_PREFIX = "Message: ";
+
 	private static final Pattern CONTENT_REGEX = Pattern.compile("\\A\\s*(<[?]xml\\s.*[?]>\\s*)?<featureModel[\\s>]");
 
 	protected IFeatureModelFactory factory;
@@ -88,6 +99,79 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 		validator = oldFormat.validator;
 	}
 
+	/**
+	 * Whether this format reads and writes feature models with the streaming {@link XmlFeatureModelStreamReader reader} and
+	 * {@link XmlFeatureModelStreamWriter writer} instead of a DOM. Subclasses that customize the DOM-based methods (e.g., {@link #readDocument(Document, List)}
+	 * or {@link #writeDocument(Document)}) use the DOM.
+	 *
+	 * @return {@code true} if the streaming reader and writer are used.
+	 */
+	protected boolean isStreamingSupported() {
+		return getClass() == XmlFeatureModelFormat.class;
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, CharSequence source) {
+		if (isStreamingSupported()) {
+			return read(object, new StringReader(source.toString()));
+		}
+		return super.read(object, source);
+	}
+
+	/**
+	 * Reads a feature model directly from the given reader without building a DOM.
+	 *
+	 * @param object the feature model to fill
+	 * @param source the reader for the XML content
+	 * @return the list of problems that occurred during reading
+	 */
+	public ProblemList read(IFeatureModel object, Reader source) {
+		this.object = object;
+
+		final ProblemList lastWarnings = new ProblemList();
+		try {
+			new XmlFeatureModelStreamReader(object, validator, lastWarnings).read(source);
+		} catch (final XMLStreamException e) {
+			// Remove the location prefix that is added by the StAX parser
+			final String message = e.getMessage();
+			final int messageIndex = message == null ? -1 : message.indexOf(STAX_MESSAGE_PREFIX);
+			lastWarnings.add(new Problem(messageIndex < 0 ? message : message.substring(messageIndex + STAX_MESSAGE_PREFIX.length()),
+					e.getLocation() == null ? -1 : e.getLocation().getLineNumber(), e));
+		} catch (final UnsupportedModelException e) {
+			lastWarnings.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			lastWarnings.add(new Problem(e));
+		}
+		return lastWarnings;
+	}
+
+	@Override
+	public String write(IFeatureModel object) {
+		if (isStreamingSupported()) {
+			final StringWriter writer = new StringWriter();
+			try {
+				write(object, writer);
+			} catch (final IOException e) {
+				Logger.logError(e);
+				return "";
+			}
+			return writer.toString();
+		}
+		return super.write(object);
+	}
+
+	/**
+	 * Writes a feature model directly to the given writer without building a DOM.
+	 *
+	 * @param object the feature model to write
+	 * @param writer the target writer (is flushed, but not closed)
+	 * @throws IOException if the writer throws an exception
+	 */
+	public void write(IFeatureModel object, Writer writer) throws IOException {
+		this.object = object;
+		new XmlFeatureModelStreamWriter(object, writer).write();
+	}
+
 	@Override
 	protected void readDocument(Document doc, List<Problem> warnings) throws UnsupportedModelException {
 		object.reset();
@@ -418,13 +502,14 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	}
 
 	protected String getDescription(final Node e) {
-		String description = e.getTextContent();
+		final String description = e.getTextContent();
+		return description != null ? normalizeDescription(description) : null;
+	}
+
+	static String normalizeDescription(String description) {
 		// NOTE: THe following code is used for backwards compatibility. It replaces spaces and tabs that were added to the XML for indentation, but don't
 		// belong to the actual description.
-		if (description != null) {
-			description = description.replaceAll("(\r\n|\r|\n)\\s*", "\n").replaceAll("\\A\n|\n\\Z", "");
-		}
-		return description;
+		return description.replaceAll("(\r\n|\r|\n)\\s*", "\n").replaceAll("\\A\n|\n\\Z", "");
 	}
 
 	/**
@@ -0,0 +1,610 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.ABSTRACT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.COMMENTS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.HIDDEN;
+import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
+import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.prop4j.And;
+import org.prop4j.AtMost;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.IFeatureNameValidator;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Reads a feature model in the FeatureIDE XML format with a StAX parser and builds the feature model directly without an intermediate DOM.<br> <br> The
+ * result, including the reported problems and their line numbers, is the same as for the DOM-based
+ * {@link XmlFeatureModelFormat#readDocument(org.w3c.dom.Document, List) reader}. As constraints and the feature order may reference features, they are
+ * checked and added after the whole feature model element was read.
+ *
+ * @see XmlFeatureModelStreamWriter
+ */
+class XmlFeatureModelStreamReader implements XMLFeatureModelTags {
+
+	private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+	static {
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+
+	private static class NameReference {
+
+		private final String name;
+		private final int line;
+
+		private NameReference(String name, int line) {
+			this.name = name;
+			this.line = line;
+		}
+	}
+
+	private static class PropertyDefinition {
+
+		private final IPropertyContainer properties;
+		private final String key;
+		private final String type;
+		private final String value;
+		private final int line;
+
+		private PropertyDefinition(IPropertyContainer properties, String key, String type, String value, int line) {
+			this.properties = properties;
+			this.key = key;
+			this.type = type;
+			this.value = value;
+			this.line = line;
+		}
+	}
+
+	private final IFeatureModel object;
+	private final IFeatureNameValidator validator;
+	private final List<Problem> problems;
+
+	private IFeatureModelFactory factory;
+	private XMLStreamReader reader;
+
+	private final List<IConstraint> constraints = new ArrayList<>();
+	private final List<NameReference> referencedFeatures = new ArrayList<>();
+	private final List<List<String>> featureOrderLists = new ArrayList<>();
+	private final List<PropertyDefinition> calculations = new ArrayList<>();
+	private final List<PropertyDefinition> modelProperties = new ArrayList<>();
+
+	/**
+	 * @param object the feature model to fill
+	 * @param validator the validator for feature names (may be {@code null})
+	 * @param problems the list to which all warnings and non-fatal errors are added
+	 */
+	XmlFeatureModelStreamReader(IFeatureModel object, IFeatureNameValidator validator, List<Problem> problems) {
+		this.object = object;
+		this.validator = validator;
+		this.problems = problems;
+	}
+
+	void read(Reader source) throws XMLStreamException, UnsupportedModelException {
+		object.reset();
+		factory = FMFactoryManager.getInstance().getFactory(object);
+
+		reader = inputFactory.createXMLStreamReader(source);
+		try {
+			int featureModelCount = 0;
+			while (reader.hasNext()) {
+				if ((reader.next() == XMLStreamConstants.START_ELEMENT) && FEATURE_MODEL.equals(reader.getLocalName())) {
+					featureModelCount++;
+					parseFeatureModel();
+				}
+			}
+			if (featureModelCount == 0) {
+				throw new UnsupportedModelException("Node " + FEATURE_MODEL + " not defined!", 0);
+			} else if (featureModelCount > 1) {
+				problems.add(new Problem("Multiple nodes of " + FEATURE_MODEL + " defined.", 0, Severity.WARNING));
+			}
+		} finally {
+			reader.close();
+		}
+
+		if (object.getStructure().getRoot() == null) {
+			throw new UnsupportedModelException(WRONG_SYNTAX, 1);
+		}
+	}
+
+	private void parseFeatureModel() throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		int structCount = 0;
+		int constraintsCount = 0;
+		int commentsCount = 0;
+		int featureOrderCount = 0;
+		int calculationsCount = 0;
+		int propertiesCount = 0;
+		while (nextChild()) {
+			switch (reader.getLocalName()) {
+			case STRUCT:
+				structCount++;
+				parseFeatures(null);
+				break;
+			case CONSTRAINTS:
+				constraintsCount++;
+				parseConstraints();
+				break;
+			case COMMENTS:
+				commentsCount++;
+				parseComments();
+				break;
+			case FEATURE_ORDER:
+				featureOrderCount++;
+				final List<String> order = new ArrayList<>();
+				parseFeatureOrder(order);
+				if (!order.isEmpty()) {
+					featureOrderLists.add(order);
+				}
+				break;
+			case CALCULATIONS:
+				calculationsCount++;
+				parseCalculations();
+				break;
+			case PROPERTIES:
+				propertiesCount++;
+				// Nested calculations elements are counted as well
+				calculationsCount += parseFeatureModelProperties();
+				break;
+			default:
+				skipElement();
+				break;
+			}
+		}
+
+		if (structCount == 0) {
+			throw new UnsupportedModelException("Node " + STRUCT + " not defined!", line);
+		}
+		checkCount(STRUCT, structCount, line);
+		checkCount(CONSTRAINTS, constraintsCount, line);
+		checkCount(COMMENTS, commentsCount, line);
+		checkCount(FEATURE_ORDER, featureOrderCount, line);
+		checkCount(CALCULATIONS, calculationsCount, line);
+		checkCount(PROPERTIES, propertiesCount, line);
+
+		// Add elements that reference features after all features are known
+		for (final NameReference reference : referencedFeatures) {
+			if (object.getFeature(reference.name) == null) {
+				throw new UnsupportedModelException("Feature \"" + reference.name + "\" does not exists", reference.line);
+			}
+		}
+		referencedFeatures.clear();
+		for (final IConstraint constraint : constraints) {
+			object.addConstraint(constraint);
+		}
+		constraints.clear();
+		for (final List<String> order : featureOrderLists) {
+			object.setFeatureOrderList(order);
+		}
+		featureOrderLists.clear();
+		for (final PropertyDefinition property : calculations) {
+			setProperty(property);
+		}
+		calculations.clear();
+		for (final PropertyDefinition property : modelProperties) {
+			setProperty(property);
+		}
+		modelProperties.clear();
+	}
+
+	private void checkCount(String nodeName, int count, int line) {
+		if (count > 1) {
+			addWarning("Multiple nodes of " + nodeName + " defined.", line);
+		}
+	}
+
+	private void parseFeatures(IFeature parent) throws XMLStreamException, UnsupportedModelException {
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case DESCRIPTION:
+				if (parent == null) {
+					throw new UnsupportedModelException("Misplaced description element", getLine());
+				}
+				final String description = readText();
+				if (description != null) {
+					parent.getProperty().setDescription(XmlFeatureModelFormat.normalizeDescription(description));
+				}
+				break;
+			case GRAPHICS:
+			case PROPERTY:
+				if (parent == null) {
+					throw new UnsupportedModelException("Misplaced " + nodeName + " element", getLine());
+				}
+				setProperty(parseProperty(parent.getCustomProperties(), GRAPHICS.equals(nodeName) ? GRAPHICS : null));
+				break;
+			case AND:
+			case OR:
+			case ALT:
+			case FEATURE:
+				parseFeature(parent, nodeName);
+				break;
+			default:
+				addWarning("Unknown feature type: " + nodeName, getLine());
+				skipElement();
+				break;
+			}
+		}
+	}
+
+	private void parseFeature(IFeature parent, String nodeName) throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		boolean mandatory = false;
+		boolean _abstract = false;
+		boolean hidden = false;
+		String name = "";
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(ABSTRACT)) {
+				_abstract = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(MANDATORY)) {
+				mandatory = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(NAME)) {
+				name = attributeValue;
+			} else if (attributeName.equals(HIDDEN)) {
+				hidden = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(COORDINATES)) {
+				// Legacy case, for backwards compatibility
+			} else {
+				addWarning("Unknown feature attribute: " + attributeName, line);
+			}
+		}
+
+		if (object.getFeature(name) != null) {
+			throw new UnsupportedModelException("Duplicate entry for feature: " + name, line);
+		}
+
+		if ((validator != null) && !validator.isValidFeatureName(name)) {
+			problems.add(new Problem(name + " is not a valid feature name", line, Severity.ERROR));
+		}
+
+		final IFeature f = factory.createFeature(object, name);
+		switch (nodeName) {
+		case AND:
+			f.getStructure().setAnd();
+			break;
+		case OR:
+			f.getStructure().setOr();
+			break;
+		case ALT:
+			f.getStructure().setAlternative();
+			break;
+		default:
+			break;
+		}
+
+		f.getStructure().setAbstract(_abstract);
+		f.getStructure().setMandatory(mandatory);
+		f.getStructure().setHidden(hidden);
+
+		object.addFeature(f);
+		if (parent == null) {
+			object.getStructure().setRoot(f.getStructure());
+		} else {
+			parent.getStructure().addChild(f.getStructure());
+		}
+		parseFeatures(f);
+	}
+
+	private void parseConstraints() throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(RULE)) {
+				final List<String> unknownAttributes = new ArrayList<>();
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					final String attributeName = reader.getAttributeLocalName(i);
+					if (!attributeName.equals(COORDINATES)) {
+						unknownAttributes.add(attributeName);
+					}
+				}
+				final int ruleLine = getLine();
+
+				final IConstraint constraint = factory.createConstraint(object, null);
+				final LinkedList<Node> constraintNodeList = parseConstraintNode(constraint);
+				if (constraintNodeList.isEmpty()) {
+					addWarning("Missing elements", line);
+				} else if (constraintNodeList.size() > 1) {
+					addWarning("Too many elements", line);
+				} else {
+					constraint.setNode(constraintNodeList.getFirst());
+					for (final String attributeName : unknownAttributes) {
+						addWarning("Unknown constraint attribute: " + attributeName, ruleLine);
+					}
+					constraints.add(constraint);
+				}
+			} else {
+				addWarning("Unknown constraint node: " + nodeName, getLine());
+				skipElement();
+			}
+		}
+	}
+
+	private LinkedList<Node> parseConstraintNode(IConstraint parent) throws XMLStreamException, UnsupportedModelException {
+		final LinkedList<Node> nodes = new LinkedList<>();
+		LinkedList<Node> children;
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case DESCRIPTION:
+				if (parent != null) {
+					final String description = readText();
+					parent.setDescription(XmlFeatureModelFormat.normalizeDescription(description == null ? "" : description));
+				} else {
+					addWarning("Misplaced description element", getLine());
+					skipElement();
+				}
+				break;
+			case GRAPHICS:
+				if (parent != null) {
+					setProperty(parseProperty(parent.getCustomProperties(), GRAPHICS));
+				} else {
+					addWarning("Misplaced graphics element", getLine());
+					skipElement();
+				}
+				break;
+			case PROPERTY:
+				if (parent != null) {
+					setProperty(parseProperty(parent.getCustomProperties(), null));
+				} else {
+					addWarning("Misplaced property element", getLine());
+					skipElement();
+				}
+				break;
+			case DISJ:
+				nodes.add(new Or(parseConstraintNode(null)));
+				break;
+			case CONJ:
+				nodes.add(new And(parseConstraintNode(null)));
+				break;
+			case EQ:
+				children = parseConstraintNode(null);
+				nodes.add(new Equals(children.get(0), children.get(1)));
+				break;
+			case IMP:
+				children = parseConstraintNode(null);
+				nodes.add(new Implies(children.get(0), children.get(1)));
+				break;
+			case NOT:
+				nodes.add(new Not(parseConstraintNode(null).getFirst()));
+				break;
+			case ATMOST1:
+				nodes.add(new AtMost(1, parseConstraintNode(null)));
+				break;
+			case VAR:
+				final int line = getLine();
+				final String text = readText();
+				final String featureName = text == null ? "" : text;
+				referencedFeatures.add(new NameReference(featureName, line));
+				nodes.add(new Literal(featureName));
+				break;
+			default:
+				addWarning("Unknown constraint type: " + nodeName, getLine());
+				skipElement();
+				break;
+			}
+		}
+		return nodes;
+	}
+
+	private void parseComments() throws XMLStreamException {
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(C)) {
+				final String comment = readText();
+				object.getProperty().addComment(comment == null ? "" : comment);
+			} else {
+				addWarning("Unknown comment attribute: " + nodeName, getLine());
+				skipElement();
+			}
+		}
+	}
+
+	/**
+	 * Parses the current element of the feature order section and its child elements.
+	 *
+	 * @param order the list to which the name of the current element is added
+	 */
+	private void parseFeatureOrder(List<String> order) throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(USER_DEFINED)) {
+				object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
+			} else if (attributeName.equals(NAME)) {
+				referencedFeatures.add(new NameReference(attributeValue, line));
+				order.add(attributeValue);
+			} else {
+				throw new UnsupportedModelException("Unknown feature order attribute: " + attributeName, line);
+			}
+		}
+		final List<String> childOrder = new ArrayList<>();
+		while (nextChild()) {
+			parseFeatureOrder(childOrder);
+		}
+		if (!childOrder.isEmpty()) {
+			featureOrderLists.add(childOrder);
+		}
+	}
+
+	private void parseCalculations() throws XMLStreamException {
+		final int line = getLine();
+		for (final String key : new String[] { CALCULATE_AUTO, CALCULATE_CONSTRAINTS, CALCULATE_FEATURES, CALCULATE_REDUNDANT, CALCULATE_TAUTOLOGY }) {
+			final String value = reader.getAttributeValue(null, key);
+			if (value != null) {
+				calculations.add(new PropertyDefinition(object.getProperty(), key, CALCULATIONS, value, line));
+			}
+		}
+		skipElement();
+	}
+
+	/**
+	 * @return the number of calculations elements
+	 */
+	private int parseFeatureModelProperties() throws XMLStreamException {
+		int calculationsCount = 0;
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case CALCULATIONS:
+				calculationsCount++;
+				modelProperties.add(parseProperty(object.getProperty(), nodeName));
+				break;
+			case GRAPHICS:
+				modelProperties.add(parseProperty(object.getProperty(), nodeName));
+				break;
+			case PROPERTY:
+				modelProperties.add(parseProperty(object.getProperty(), null));
+				break;
+			default:
+				skipElement();
+				break;
+			}
+		}
+		return calculationsCount;
+	}
+
+	/**
+	 * Reads the current property element. The property is set later by {@link #setProperty(PropertyDefinition)}.
+	 */
+	private PropertyDefinition parseProperty(IPropertyContainer properties, String type) throws XMLStreamException {
+		final int line = getLine();
+		final String key = reader.getAttributeValue(null, KEY);
+		final String value = reader.getAttributeValue(null, VALUE);
+		final String dataType = reader.getAttributeValue(null, TYPE);
+		skipElement();
+		return new PropertyDefinition(properties, key, type != null ? type : dataType != null ? dataType : TYPE_CUSTOM, value, line);
+	}
+
+	private void setProperty(PropertyDefinition property) {
+		if ((property.key == null) || (property.value == null)) {
+			addWarning("Missing one of the required attributes: " + KEY + " or " + VALUE, property.line);
+		} else if (property.properties.has(property.key, property.type)) {
+			addWarning("Redundant property definition for key: " + property.key, property.line);
+		} else {
+			property.properties.set(property.key, property.type, property.value);
+		}
+	}
+
+	/**
+	 * Advances to the next child element of the current element.
+	 *
+	 * @return {@code true} if the reader is positioned at the start of the next child element, {@code false} if it is positioned at the end of the current
+	 *         element.
+	 */
+	private boolean nextChild() throws XMLStreamException {
+		while (true) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				return true;
+			case XMLStreamConstants.END_ELEMENT:
+			case XMLStreamConstants.END_DOCUMENT:
+				return false;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Skips the remaining content of the current element.
+	 */
+	private void skipElement() throws XMLStreamException {
+		while (nextChild()) {
+			skipElement();
+		}
+	}
+
+	/**
+	 * Reads the text content of the current element including the text of all child elements.
+	 *
+	 * @return the text or {@code null} if the element is empty.
+	 */
+	private String readText() throws XMLStreamException {
+		StringBuilder text = null;
+		int depth = 0;
+		while (true) {
+			switch (reader.next()) {
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (text == null) {
+					text = new StringBuilder();
+				}
+				text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				break;
+			case XMLStreamConstants.START_ELEMENT:
+				if (text == null) {
+					text = new StringBuilder();
+				}
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if (depth-- == 0) {
+					return text == null ? null : text.toString();
+				}
+				break;
+			case XMLStreamConstants.END_DOCUMENT:
+				return text == null ? null : text.toString();
+			default:
+				break;
+			}
+		}
+	}
+
+	private int getLine() {
+		return reader.getLocation().getLineNumber();
+	}
+
+	private void addWarning(String message, int line) {
+		problems.add(new Problem(message, line, Severity.WARNING));
+	}
+
+}
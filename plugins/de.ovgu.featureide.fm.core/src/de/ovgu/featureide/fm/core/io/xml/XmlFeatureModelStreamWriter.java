@@ -0,0 +1,383 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.ABSTRACT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.COMMENTS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.HIDDEN;
+import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
+import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+
+import org.prop4j.And;
+import org.prop4j.AtMost;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer.Entry;
+
+/**
+ * Writes a feature model in the FeatureIDE XML format directly to a {@link Writer} without building a DOM.<br> <br> The output is the same as the one of the
+ * DOM-based {@link XmlFeatureModelFormat#writeDocument(org.w3c.dom.Document) writer} after pretty printing, i.e., elements are indented by tabs, attributes
+ * are ordered by name, and multi-line text is written on separate lines.
+ *
+ * @see XmlFeatureModelStreamReader
+ */
+class XmlFeatureModelStreamWriter implements XMLFeatureModelTags {
+
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+	private final IFeatureModel object;
+	private final Writer writer;
+
+	private int indentLevel = 0;
+
+	/**
+	 * Whether the start tag of the current element is not yet closed, because it is still unknown whether the element has any content.
+	 */
+	private boolean openStartTag = false;
+
+	XmlFeatureModelStreamWriter(IFeatureModel object, Writer writer) {
+		this.object = object;
+		this.writer = writer;
+	}
+
+	void write() throws IOException {
+		writer.write(HEADER);
+		writer.write('\n');
+		startElement(FEATURE_MODEL);
+		writeProperties();
+		writeFeatures();
+		writeConstraints();
+		writeComments();
+		writeFeatureOrder();
+		endElement(FEATURE_MODEL);
+		writer.flush();
+	}
+
+	private void writeProperties() throws IOException {
+		if (!object.getProperty().getProperties().isEmpty()) {
+			startElement(PROPERTIES);
+			writeProperties(object.getProperty());
+			endElement(PROPERTIES);
+		}
+	}
+
+	private void writeFeatures() throws IOException {
+		startElement(STRUCT);
+		final IFeature root = FeatureUtils.getRoot(object);
+		if (root != null) {
+			writeFeatureTreeRec(root.getStructure());
+		}
+		endElement(STRUCT);
+	}
+
+	private void writeConstraints() throws IOException {
+		final List<IConstraint> constraints = object.getConstraints();
+		if (!constraints.isEmpty()) {
+			startElement(CONSTRAINTS);
+			for (final IConstraint constraint : constraints) {
+				startElement(RULE);
+				writeDescription(constraint.getDescription());
+				writeProperties(constraint.getCustomProperties());
+				writePropositionalConstraint(constraint.getNode());
+				endElement(RULE);
+			}
+			endElement(CONSTRAINTS);
+		}
+	}
+
+	private void writeComments() throws IOException {
+		final Collection<String> comments = object.getProperty().getComments();
+		if (!comments.isEmpty()) {
+			startElement(COMMENTS);
+			for (final String comment : comments) {
+				writeTextElement(C, comment);
+			}
+			endElement(COMMENTS);
+		}
+	}
+
+	private void writeFeatureOrder() throws IOException {
+		if (object.isFeatureOrderUserDefined()) {
+			startElement(FEATURE_ORDER);
+			writeAttribute(USER_DEFINED, TRUE);
+			Collection<String> featureOrderList = object.getFeatureOrderList();
+			if (featureOrderList.isEmpty()) {
+				featureOrderList = FeatureUtils.extractConcreteFeaturesAsStringList(object);
+			}
+			for (final String featureName : featureOrderList) {
+				startElement(FEATURE);
+				writeAttribute(NAME, featureName);
+				endElement(FEATURE);
+			}
+			endElement(FEATURE_ORDER);
+		}
+	}
+
+	private void writeFeatureTreeRec(IFeatureStructure structure) throws IOException {
+		final String nodeName;
+		if (!structure.hasChildren()) {
+			nodeName = FEATURE;
+		} else if (structure.isAnd()) {
+			nodeName = AND;
+		} else if (structure.isOr()) {
+			nodeName = OR;
+		} else if (structure.isAlternative()) {
+			nodeName = ALT;
+		} else {
+			nodeName = UNKNOWN;
+		}
+		startElement(nodeName);
+
+		// Attributes in alphabetical order
+		if (structure.isAbstract()) {
+			writeAttribute(ABSTRACT, TRUE);
+		}
+		if (structure.isHidden()) {
+			writeAttribute(HIDDEN, TRUE);
+		}
+		if (structure.isMandatory() && ((structure.getParent() == null) || structure.getParent().isAnd())) {
+			writeAttribute(MANDATORY, TRUE);
+		}
+		final IFeature feature = structure.getFeature();
+		writeAttribute(NAME, feature.getName());
+
+		writeDescription(feature.getProperty().getDescription());
+		writeProperties(feature.getCustomProperties());
+		for (final IFeatureStructure child : structure.getChildren()) {
+			writeFeatureTreeRec(child);
+		}
+		endElement(nodeName);
+	}
+
+	private void writeDescription(String description) throws IOException {
+		if ((description != null) && !description.trim().isEmpty()) {
+			writeTextElement(DESCRIPTION, description);
+		}
+	}
+
+	private void writeProperties(IPropertyContainer properties) throws IOException {
+		for (final Entry property : properties.getProperties()) {
+			if (property.getValue() != null) {
+				final String nodeName;
+				if (GRAPHICS.equals(property.getType())) {
+					nodeName = GRAPHICS;
+					startElement(nodeName);
+				} else if (CALCULATIONS.equals(property.getType())) {
+					nodeName = CALCULATIONS;
+					startElement(nodeName);
+				} else {
+					nodeName = PROPERTY;
+					startElement(nodeName);
+					writeAttribute(TYPE, property.getType());
+				}
+				writeAttribute(KEY, property.getKey());
+				writeAttribute(VALUE, property.getValue());
+				endElement(nodeName);
+			}
+		}
+	}
+
+	private void writePropositionalConstraint(Node node) throws IOException {
+		if (node == null) {
+			return;
+		}
+
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			if (!literal.positive) {
+				startElement(NOT);
+			}
+			writeTextElement(VAR, String.valueOf(literal.var));
+			if (!literal.positive) {
+				endElement(NOT);
+			}
+			return;
+		}
+
+		final String nodeName;
+		if (node instanceof Or) {
+			nodeName = DISJ;
+		} else if (node instanceof Equals) {
+			nodeName = EQ;
+		} else if (node instanceof Implies) {
+			nodeName = IMP;
+		} else if (node instanceof And) {
+			nodeName = CONJ;
+		} else if (node instanceof org.prop4j.Not) {
+			nodeName = NOT;
+		} else if (node instanceof AtMost) {
+			nodeName = ATMOST1;
+		} else {
+			nodeName = UNKNOWN;
+		}
+		startElement(nodeName);
+		for (final Node child : node.getChildren()) {
+			writePropositionalConstraint(child);
+		}
+		endElement(nodeName);
+	}
+
+	private void startElement(String name) throws IOException {
+		closeStartTag();
+		indent();
+		writer.write('<');
+		writer.write(name);
+		openStartTag = true;
+		indentLevel++;
+	}
+
+	private void writeAttribute(String name, String value) throws IOException {
+		writer.write(' ');
+		writer.write(name);
+		writer.write("=\"");
+		writeEscaped(value, true);
+		writer.write('"');
+	}
+
+	private void endElement(String name) throws IOException {
+		indentLevel--;
+		if (openStartTag) {
+			writer.write("/>\n");
+			openStartTag = false;
+		} else {
+			indent();
+			writer.write("</");
+			writer.write(name);
+			writer.write(">\n");
+		}
+	}
+
+	/**
+	 * Writes an element that only contains text. Single-line text is written inline, each line of multi-line text is trimmed and written on a separate line.
+	 */
+	private void writeTextElement(String name, String text) throws IOException {
+		startElement(name);
+		if (!text.isEmpty()) {
+			openStartTag = false;
+			writer.write('>');
+			final int firstLineBreak = text.indexOf('\n');
+			if (firstLineBreak < 0) {
+				writeEscaped(text, false);
+				writer.write("</");
+				writer.write(name);
+				writer.write(">\n");
+				indentLevel--;
+				return;
+			}
+			writer.write('\n');
+			int start = 0;
+			for (int end = firstLineBreak; start <= text.length(); end = text.indexOf('\n', start)) {
+				if (end < 0) {
+					end = text.length();
+				}
+				// Trim the line, but keep carriage returns, as they are escaped
+				int lineStart = start;
+				int lineEnd = end;
+				while ((lineStart < lineEnd) && isTrimmed(text.charAt(lineStart))) {
+					lineStart++;
+				}
+				while ((lineStart < lineEnd) && isTrimmed(text.charAt(lineEnd - 1))) {
+					lineEnd--;
+				}
+				if (lineStart < lineEnd) {
+					indent();
+					writeEscaped(text.substring(lineStart, lineEnd), false);
+					writer.write('\n');
+				}
+				start = end + 1;
+			}
+		}
+		endElement(name);
+	}
+
+	private static boolean isTrimmed(char c) {
+		return (c <= ' ') && (c != '\r');
+	}
+
+	private void closeStartTag() throws IOException {
+		if (openStartTag) {
+			writer.write(">\n");
+			openStartTag = false;
+		}
+	}
+
+	private void indent() throws IOException {
+		for (int i = 0; i < indentLevel; i++) {
+			writer.write('\t');
+		}
+	}
+
+	private void writeEscaped(String text, boolean attribute) throws IOException {
+		int start = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			final String escaped;
+			switch (c) {
+			case '&':
+				escaped = "&amp;";
+				break;
+			case '<':
+				escaped = "&lt;";
+				break;
+			case '>':
+				escaped = "&gt;";
+				break;
+			case '\r':
+				escaped = "&#13;";
+				break;
+			case '"':
+				escaped = attribute ? "&quot;" : null;
+				break;
+			case '\n':
+				escaped = attribute ? "&#10;" : null;
+				break;
+			case '\t':
+				escaped = attribute ? "&#9;" : null;
+				break;
+			default:
+				escaped = null;
+				break;
+			}
+			if (escaped != null) {
+				writer.write(text, start, i - start);
+				writer.write(escaped);
+				start = i + 1;
+			}
+		}
+		writer.write(text, start, text.length() - start);
+	}
+
+}
@@ -0,0 +1,239 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.ovgu.featureide.fm.core.Logger;
+
+/**
+ * Shared thread pools for all {@link LongRunningThread jobs} that are not run by Eclipse.<br> <br> Jobs are executed by a pool with a fixed maximum size
+ * (default: number of available processors). Additionally, there is a pool for threads that only wait for other jobs (see {@link JobSynchronizer}) and a
+ * scheduler for periodic tasks (see {@link de.ovgu.featureide.fm.core.job.monitor.MonitorThread MonitorThread}). All threads are daemon threads.
+ *
+ * @see #setExecutorService(ExecutorService)
+ * @see #useVirtualThreads()
+ */
+public final class JobExecutor {
+
+	private static final long KEEP_ALIVE_TIME = 60;
+
+	private static final class NamedThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+		private final String name;
+
+		public NamedThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	private static int poolSize = Runtime.getRuntime().availableProcessors();
+
+	private static ExecutorService executor;
+	private static ExecutorService waitingExecutor;
+	private static ScheduledExecutorService scheduler;
+
+	private JobExecutor() {}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("FeatureIDE-Job"));
+			threadPool.allowCoreThreadTimeOut(true);
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	static void execute(Runnable task) {
+		getExecutor().execute(task);
+	}
+
+	/**
+	 * Removes a task from the queue of the executor, if it was not started yet.
+	 *
+	 * @param task the task to remove
+	 * @return {@code true} if the task was removed and must be run by the caller, {@code false} otherwise.
+	 */
+	static boolean remove(Runnable task) {
+		final ExecutorService currentExecutor = getExecutor();
+		return (currentExecutor instanceof ThreadPoolExecutor) && ((ThreadPoolExecutor) currentExecutor).remove(task);
+	}
+
+	/**
+	 * Runs a task several times in parallel and waits until all runs are finished. One run is executed by the calling thread, the others by the job pool.
+	 * Runs that were not started by the pool until the calling thread has finished its run are executed by the calling thread as well. Thus, this method
+	 * can also be called from a job without waiting for free threads in the pool.
+	 *
+	 * @param count the number of runs, usually the number of workers that take their work from a shared queue
+	 * @param task the task to run
+	 *
+	 * @throws RuntimeException the first exception thrown by any run (e.g., {@link de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException
+	 *         MethodCancelException})
+	 */
+	public static void runInParallel(int count, Runnable task) {
+		final List<FutureTask<Void>> runs = new ArrayList<>(count - 1);
+		for (int i = 1; i < count; i++) {
+			final FutureTask<Void> run = new FutureTask<>(task, null);
+			runs.add(run);
+			execute(run);
+		}
+		Throwable exception = null;
+		try {
+			task.run();
+		} catch (RuntimeException | Error e) {
+			exception = e;
+		}
+		for (final FutureTask<Void> run : runs) {
+			if (remove(run)) {
+				run.run();
+			}
+			try {
+				run.get();
+			} catch (final ExecutionException e) {
+				if (exception == null) {
+					exception = e.getCause();
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (exception == null) {
+					exception = e;
+				}
+			}
+		}
+		if (exception instanceof RuntimeException) {
+			throw (RuntimeException) exception;
+		} else if (exception instanceof Error) {
+			throw (Error) exception;
+		} else if (exception != null) {
+			throw new RuntimeException(exception);
+		}
+	}
+
+	/**
+	 * Executes a task that mainly waits for other jobs. These tasks do not occupy a thread of the job pool.
+	 *
+	 * @param task the task to execute
+	 */
+	static synchronized void executeWaiting(Runnable task) {
+		if (waitingExecutor == null) {
+			waitingExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_TIME, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+					new NamedThreadFactory("FeatureIDE-Job-Starter"));
+		}
+		waitingExecutor.execute(task);
+	}
+
+	/**
+	 * @return a single threaded scheduler for short periodic tasks.
+	 */
+	public static synchronized ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			final ScheduledThreadPoolExecutor scheduledThreadPool = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("FeatureIDE-Monitor"));
+			scheduledThreadPool.setRemoveOnCancelPolicy(true);
+			scheduledThreadPool.setKeepAliveTime(KEEP_ALIVE_TIME, TimeUnit.SECONDS);
+			scheduledThreadPool.allowCoreThreadTimeOut(true);
+			scheduler = scheduledThreadPool;
+		}
+		return scheduler;
+	}
+
+	public static synchronized int getPoolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * Sets the maximum number of jobs that are executed in parallel. Has no effect, if a custom executor is used.
+	 *
+	 * @param poolSize the maximum number of threads in the job pool
+	 */
+	public static synchronized void setPoolSize(int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException(Integer.toString(poolSize));
+		}
+		JobExecutor.poolSize = poolSize;
+		if (executor instanceof ThreadPoolExecutor) {
+			final ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+			if (poolSize > threadPool.getMaximumPoolSize()) {
+				threadPool.setMaximumPoolSize(poolSize);
+				threadPool.setCorePoolSize(poolSize);
+			} else {
+				threadPool.setCorePoolSize(poolSize);
+				threadPool.setMaximumPoolSize(poolSize);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the executor for all subsequently scheduled jobs. Jobs that are already scheduled are finished by the previous executor, which is shut down
+	 * afterwards.
+	 *
+	 * @param executorService the new executor or {@code null} to restore the default pool
+	 */
+	public static synchronized void setExecutorService(ExecutorService executorService) {
+		final ExecutorService oldExecutor = executor;
+		executor = executorService;
+		if (oldExecutor != null) {
+			oldExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Executes every job in its own virtual thread, if the running JVM supports virtual threads (Java 21 or later).
+	 *
+	 * @return {@code true} if virtual threads are used from now on, {@code false} if they are not supported by the JVM.
+	 */
+	public static boolean useVirtualThreads() {
+		try {
+			final Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			setExecutorService((ExecutorService) factoryMethod.invoke(null));
+			return true;
+		} catch (final NoSuchMethodException e) {
+			return false;
+		} catch (final ReflectiveOperationException e) {
+			Logger.logError(e);
+			return false;
+		}
+	}
+
+}
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import java.lang.ref.WeakReference;
 import java.util.Iterator;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
@@ -38,8 +39,11 @@ public final class JobSynchronizer {
 		private final Semaphore semaphore = new Semaphore(1);
 
 		private final JobStartingStrategy strategy;
+		// weak reference, otherwise the token could never be removed from the jobMap
+		private final WeakReference<JobToken> token;
 
-		public JobEntry(JobStartingStrategy strategy) {
+		public JobEntry(JobToken token, JobStartingStrategy strategy) {
+			this.token = new WeakReference<>(token);
 			this.strategy = strategy;
 		}
 
@@ -75,7 +79,7 @@ public final class JobSynchronizer {
 
 		private void start(IRunner<?> job) {
 			jobs.offer(job);
-			new Starter(this).start();
+			JobExecutor.executeWaiting(new Starter(this, System.nanoTime()));
 		}
 
 		public synchronized void cancelAll() {
@@ -87,12 +91,14 @@ public final class JobSynchronizer {
 
 	}
 
-	private static class Starter extends Thread {
+	private static class Starter implements Runnable {
 
 		private final JobEntry jobEntry;
+		private final long queueStartTime;
 
-		public Starter(JobEntry jobEntry) {
+		public Starter(JobEntry jobEntry, long queueStartTime) {
 			this.jobEntry = jobEntry;
+			this.queueStartTime = queueStartTime;
 		}
 
 		@Override
@@ -102,8 +108,13 @@ public final class JobSynchronizer {
 				try {
 					final IRunner<?> job = jobEntry.jobs.peek();
 					if (job != null) {
+						final long runStartTime = System.nanoTime();
 						job.schedule();
 						job.join();
+						final JobToken token = jobEntry.token.get();
+						if (token != null) {
+							token.addJobTimes(runStartTime - queueStartTime, System.nanoTime() - runStartTime);
+						}
 					}
 				} finally {
 					jobEntry.jobs.poll();
@@ -122,7 +133,7 @@ public final class JobSynchronizer {
 
 	static JobToken createToken(JobStartingStrategy strategy) {
 		final JobToken token = new JobToken();
-		jobMap.put(token, new JobEntry(strategy));
+		jobMap.put(token, new JobEntry(token, strategy));
 		return token;
 	}
 
@@ -20,8 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import java.util.concurrent.TimeUnit;
+
 /**
- * Object to identifier related jobs.
+ * Object to identifier related jobs.<br> <br> Additionally, collects the waiting and running times of all jobs that were started with this token.
  *
  * @see JobStartingStrategy
  * @see LongRunningWrapper#startJob(JobToken, IRunner)
@@ -31,6 +33,65 @@ package de.ovgu.featureide.fm.core.job;
  */
 public class JobToken {
 
+	private int finishedJobs;
+	private long totalQueueTime;
+	private long maxQueueTime;
+	private long totalRunTime;
+	private long maxRunTime;
+
 	JobToken() {}
 
+	/**
+	 * @param queueTime time in ns between starting the job and its actual execution
+	 * @param runTime time in ns between the start and the end of the execution
+	 */
+	synchronized void addJobTimes(long queueTime, long runTime) {
+		finishedJobs++;
+		totalQueueTime += queueTime;
+		totalRunTime += runTime;
+		maxQueueTime = Math.max(maxQueueTime, queueTime);
+		maxRunTime = Math.max(maxRunTime, runTime);
+	}
+
+	/**
+	 * @return the number of finished jobs (including canceled and failed jobs)
+	 */
+	public synchronized int getFinishedJobs() {
+		return finishedJobs;
+	}
+
+	/**
+	 * @return the total time in ms the finished jobs waited for their execution
+	 */
+	public synchronized long getTotalQueueTime() {
+		return TimeUnit.NANOSECONDS.toMillis(totalQueueTime);
+	}
+
+	/**
+	 * @return the longest time in ms a finished job waited for its execution
+	 */
+	public synchronized long getMaxQueueTime() {
+		return TimeUnit.NANOSECONDS.toMillis(maxQueueTime);
+	}
+
+	/**
+	 * @return the total execution time of the finished jobs in ms
+	 */
+	public synchronized long getTotalRunTime() {
+		return TimeUnit.NANOSECONDS.toMillis(totalRunTime);
+	}
+
+	/**
+	 * @return the longest execution time of a finished job in ms
+	 */
+	public synchronized long getMaxRunTime() {
+		return TimeUnit.NANOSECONDS.toMillis(maxRunTime);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "JobToken [finishedJobs=" + finishedJobs + ", totalQueueTime=" + getTotalQueueTime() + "ms, maxQueueTime=" + getMaxQueueTime()
+			+ "ms, totalRunTime=" + getTotalRunTime() + "ms, maxRunTime=" + getMaxRunTime() + "ms]";
+	}
+
 }
@@ -22,35 +22,41 @@ package de.ovgu.featureide.fm.core.job;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Consumer;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 
 /**
- * Job that wraps the functionality of a {@link LongRunningMethod}.
+ * Job that wraps the functionality of a {@link LongRunningMethod}. The job is executed by the shared pool of the {@link JobExecutor}.
  *
  * @author Sebastian Krieter
  */
 // TODO Implement prioritization
-public class LongRunningThread<T> extends Thread implements IRunner<T> {
+public class LongRunningThread<T> implements IRunner<T> {
 
 	protected final List<JobFinishListener<T>> listenerList = new LinkedList<>();
 
+	private final String name;
 	private final LongRunningMethod<T> method;
 	private final IMonitor<T> monitor;
-	private Executer<T> executer;
+	private volatile Executer<T> executer;
+	private FutureTask<Void> task;
 
 	private int cancelingTimeout = -1;
-	private T methodResult = null;
-	private JobStatus status = JobStatus.NOT_STARTED;
+	private int priority = Thread.NORM_PRIORITY;
+	private volatile T methodResult = null;
+	private volatile JobStatus status = JobStatus.NOT_STARTED;
 
 	private boolean stoppable;
 
 	public LongRunningThread(String name, LongRunningMethod<T> method, IMonitor<T> monitor) {
-		super(name);
+		this.name = name;
 		this.method = method;
 		this.monitor = monitor != null ? monitor : new NullMonitor<T>();
 	}
@@ -64,10 +70,15 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 
 	@Override
 	public boolean cancel() {
-		if (executer != null) {
-			executer.cancel();
+		final Executer<T> currentExecuter = executer;
+		if (currentExecuter != null) {
+			currentExecuter.cancel();
+		} else {
+			// job was not started yet
+			monitor.cancel();
 		}
-		return !isAlive();
+		final FutureTask<Void> currentTask = getTask();
+		return (currentTask == null) || currentTask.isDone();
 	}
 
 	public void fireEvent() {
@@ -110,14 +121,49 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 		listenerList.remove(listener);
 	}
 
+	public String getName() {
+		return name;
+	}
+
+	public int getPriority() {
+		return priority;
+	}
+
+	@Override
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	private synchronized FutureTask<Void> getTask() {
+		return task;
+	}
+
 	@Override
-	public void run() {
-		// TODO check fo cancel at beginning
+	public void join() throws InterruptedException {
+		final FutureTask<Void> currentTask = getTask();
+		if (currentTask == null) {
+			return;
+		}
+		if (JobExecutor.remove(currentTask)) {
+			// job was not started yet, thus it is executed by the waiting thread to avoid blocking a pool thread
+			currentTask.run();
+		}
+		try {
+			currentTask.get();
+		} catch (final ExecutionException e) {
+			Logger.logError(e);
+		}
+	}
+
+	private void run() {
 		status = JobStatus.RUNNING;
 		try {
+			monitor.checkCancel();
 			executer = stoppable ? new StoppableExecuter<>(method, cancelingTimeout) : new Executer<>(method);
 			methodResult = executer.execute(monitor);
 			status = JobStatus.OK;
+		} catch (final MethodCancelException | InterruptedException e) {
+			status = JobStatus.FAILED;
 		} catch (final Exception e) {
 			Logger.logError(e);
 			status = JobStatus.FAILED;
@@ -135,7 +181,15 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 
 	@Override
 	public void schedule() {
-		start();
+		final FutureTask<Void> newTask;
+		synchronized (this) {
+			if (task != null) {
+				throw new IllegalStateException("Job was already scheduled: " + name);
+			}
+			newTask = new FutureTask<>(this::run, null);
+			task = newTask;
+		}
+		JobExecutor.execute(newTask);
 	}
 
 	@Override
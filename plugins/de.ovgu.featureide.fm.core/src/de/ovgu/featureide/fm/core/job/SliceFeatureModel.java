@@ -94,6 +94,17 @@ public class SliceFeatureModel implements LongRunningMethod<IFeatureModel> {
 		monitor.setTaskName("Slicing Feature Tree");
 		monitor.setRemainingWork(2);
 		final IFeatureModel m = orgFeatureModel.clone();
+		m.getEventBus().beginBatch();
+		try {
+			sliceTree(selectedFeatureNames, orgFeatureModel, factory, m, monitor);
+		} finally {
+			m.getEventBus().commitBatch();
+		}
+		return m;
+	}
+
+	private void sliceTree(Collection<String> selectedFeatureNames, IFeatureModel orgFeatureModel, IFeatureModelFactory factory, IFeatureModel m,
+			IMonitor<?> monitor) {
 		// mark features
 		for (final IFeature feat : m.getFeatures()) {
 			if (!selectedFeatureNames.contains(feat.getName())) {
@@ -159,8 +170,6 @@ public class SliceFeatureModel implements LongRunningMethod<IFeatureModel> {
 			}
 		}
 		monitor.step();
-
-		return m;
 	}
 
 	private boolean cut(final IFeature curFeature) {
@@ -20,12 +20,14 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
-import de.ovgu.featureide.fm.core.Logger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
-import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 
 /**
- * Abstract eclipse job which can be stopped.
+ * Executer that interrupts the running method, if it does not react to a cancel request of its monitor within the canceling timeout.<br> <br> The method
+ * is executed in the calling thread. Thus, the method has to check for interrupts (e.g., via {@link IMonitor#checkCancel()}) to be stopped.
  *
  * @author Sebastian Krieter
  */
@@ -33,28 +35,11 @@ class StoppableExecuter<T> extends Executer<T> {
 
 	static final int DEFAULT_TIMEOUT = 300;
 
-	private class InnerThread extends Thread {
-
-		private T result = null;
-		private Exception exception = null;
-
-		@Override
-		public void run() {
-			try {
-				result = method.execute(monitor);
-			} catch (final MethodCancelException e) {
-				exception = e;
-			} catch (final Exception e) {
-				exception = e;
-				Logger.logError(e);
-			}
-		}
-
-	}
-
 	private final int cancelingTimeout;
 
-	private InnerThread innerThread = null;
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private Thread executingThread = null;
+	private boolean interrupted = false;
 
 	public StoppableExecuter(LongRunningMethod<T> method, int cancelingTimeout) {
 		super(method);
@@ -68,7 +53,7 @@ class StoppableExecuter<T> extends Executer<T> {
 	@Override
 	public final void cancel() {
 		synchronized (this) {
-			if (innerThread == null) {
+			if (monitor == null) {
 				return;
 			}
 			monitor.cancel();
@@ -76,22 +61,18 @@ class StoppableExecuter<T> extends Executer<T> {
 
 		if (cancelingTimeout > 0) {
 			try {
-				innerThread.join(cancelingTimeout);
+				finished.await(cancelingTimeout, TimeUnit.MILLISECONDS);
 			} catch (final InterruptedException e) {
-				e.printStackTrace();
+				Thread.currentThread().interrupt();
 			}
 		}
-		stopInnerThread();
+		interruptExecutingThread();
 	}
 
-	@SuppressWarnings("deprecation")
-	private void stopInnerThread() {
-		try {
-			if (innerThread.isAlive()) {
-				innerThread.stop();
-			}
-		} catch (final Exception e) {
-			e.printStackTrace();
+	private synchronized void interruptExecutingThread() {
+		if ((executingThread != null) && (executingThread != Thread.currentThread())) {
+			interrupted = true;
+			executingThread.interrupt();
 		}
 	}
 
@@ -101,20 +82,19 @@ class StoppableExecuter<T> extends Executer<T> {
 			// in case job was started and canceled at the same time
 			this.monitor = monitor;
 			monitor.checkCancel();
-			innerThread = new InnerThread();
-			innerThread.start();
+			executingThread = Thread.currentThread();
 		}
 		try {
-			innerThread.join();
-			if (innerThread.exception != null) {
-				throw innerThread.exception;
-			}
-			return innerThread.result;
-		} catch (final InterruptedException e) {
-			Logger.logError(e);
-			stopInnerThread();
-			return null;
+			return method.execute(monitor);
 		} finally {
+			synchronized (this) {
+				executingThread = null;
+				if (interrupted) {
+					// reset the interrupt flag, which was only set to stop the method
+					Thread.interrupted();
+				}
+			}
+			finished.countDown();
 			monitor.done();
 		}
 	}
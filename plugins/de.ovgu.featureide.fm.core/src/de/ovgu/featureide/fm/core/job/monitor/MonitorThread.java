@@ -20,18 +20,25 @@
  */
 package de.ovgu.featureide.fm.core.job.monitor;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import de.ovgu.featureide.fm.core.job.JobExecutor;
+
 /**
- * Thread to run an arbitrary function at a regular time interval.
+ * Runs an arbitrary function at a regular time interval. The function is executed by the shared {@link JobExecutor#getScheduler() scheduler}.
  *
  * @author Sebastian Krieter
  */
-public class MonitorThread extends Thread {
+public class MonitorThread {
 
 	private final Runnable function;
 
-	private boolean monitorRun = true;
+	private boolean monitorRun = false;
 	private long updateTime;
 
+	private ScheduledFuture<?> future;
+
 	public MonitorThread(Runnable function) {
 		this(function, 1_000);
 	}
@@ -41,30 +48,43 @@ public class MonitorThread extends Thread {
 	 * @param updateTime in ms
 	 */
 	public MonitorThread(Runnable function, long updateTime) {
-		super();
 		this.function = function;
 		this.updateTime = updateTime;
 	}
 
-	@Override
-	public void run() {
-		function.run();
-		try {
-			while (monitorRun) {
-				Thread.sleep(updateTime);
-				function.run();
-			}
-		} catch (final InterruptedException e) {}
-		function.run();
+	/**
+	 * Calls the function immediately and then after every update interval until {@link #finish()} is called.
+	 */
+	public synchronized void start() {
+		if (!monitorRun) {
+			monitorRun = true;
+			future = JobExecutor.getScheduler().schedule(this::update, 0, TimeUnit.MILLISECONDS);
+		}
 	}
 
+	private synchronized void update() {
+		if (monitorRun) {
+			function.run();
+			future = JobExecutor.getScheduler().schedule(this::update, updateTime, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops the periodic calls and calls the function one last time. Does nothing if {@link #start()} was not called before.
+	 */
 	public void finish() {
-		try {
-			// to ensure to stop the monitor thread
+		synchronized (this) {
+			// waits for a running update
+			if (!monitorRun) {
+				return;
+			}
 			monitorRun = false;
-			interrupt();
-			join();
-		} catch (final InterruptedException e) {}
+			if (future != null) {
+				future.cancel(false);
+				future = null;
+			}
+		}
+		function.run();
 	}
 
 	public long getUpdateTime() {
@@ -0,0 +1,349 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> A {@link Node} compiled into a flat postfix program over an int-indexed assignment. Evaluating a compiled node does not walk the node tree and does not
+ * look up boxed values in a map, which makes it suitable for evaluating the same formula for a large number of assignments. </p>
+ *
+ * <p> Besides {@link #getValue(boolean[]) evaluating single assignments}, a compiled node can {@link #getValues(long[]) evaluate 64 assignments at once} by
+ * storing the values of each variable in the bits of a long. </p>
+ *
+ * <p> The result of an evaluation is equal to the result of {@link Node#getValue(Map)} for the corresponding assignment. Instances are immutable and can be
+ * used by multiple threads concurrently. </p>
+ */
+public class CompiledNode {
+
+	private static final int LOAD = 0;
+	private static final int LOAD_NOT = 1;
+	private static final int NOT = 2;
+	private static final int AND = 3;
+	private static final int OR = 4;
+	private static final int EQUALS = 5;
+	private static final int AT_LEAST = 6;
+	private static final int AT_MOST = 7;
+
+	/**
+	 * Compiles the given node. The variables are indexed in the order given by {@link Node#getUniqueVariables()}.
+	 *
+	 * @param node the node to compile; not null
+	 * @return the compiled node; not null
+	 * @throws IllegalArgumentException if the node contains an unsupported node type
+	 */
+	public static CompiledNode compile(Node node) {
+		return compile(node, new ArrayList<>(node.getUniqueVariables()));
+	}
+
+	/**
+	 * Compiles the given node. The index of each variable in an assignment is equal to its index in the given list.
+	 *
+	 * @param node the node to compile; not null
+	 * @param variables all variables of the node in the order of the assignment; not null
+	 * @return the compiled node; not null
+	 * @throws IllegalArgumentException if the node contains an unsupported node type or a variable that is not in the given list
+	 */
+	public static CompiledNode compile(Node node, List<?> variables) {
+		final Map<Object, Integer> variableIndex = new HashMap<>();
+		for (int i = 0; i < variables.size(); i++) {
+			variableIndex.putIfAbsent(variables.get(i), i);
+		}
+		final Compiler compiler = new Compiler(variableIndex);
+		compiler.compile(node);
+		return new CompiledNode(compiler, new ArrayList<>(variables), variableIndex);
+	}
+
+	private static final class Compiler {
+
+		private final Map<Object, Integer> variableIndex;
+
+		private int[] opcodes = new int[16];
+		private int[] arguments = new int[16];
+		private int[] thresholds = new int[16];
+		private int size = 0;
+
+		private int stackSize = 0;
+		private int maxStackSize = 0;
+		private int maxThreshold = 0;
+
+		private Compiler(Map<Object, Integer> variableIndex) {
+			this.variableIndex = variableIndex;
+		}
+
+		private void compile(Node node) {
+			if (node instanceof ErrorLiteral) {
+				emit(OR, 0, 0);
+			} else if (node instanceof Literal) {
+				final Literal literal = (Literal) node;
+				final Integer index = variableIndex.get(literal.var);
+				if (index == null) {
+					throw new IllegalArgumentException("Unknown variable " + literal.var);
+				}
+				emit(literal.positive ? LOAD : LOAD_NOT, index, 0);
+			} else if (node instanceof Not) {
+				compileChildren(node);
+				emit(NOT, 1, 0);
+			} else if (node instanceof And) {
+				emit(AND, compileChildren(node), 0);
+			} else if (node instanceof Or) {
+				emit(OR, compileChildren(node), 0);
+			} else if (node instanceof Implies) {
+				final Node[] children = node.getChildren();
+				compile(children[0]);
+				emit(NOT, 1, 0);
+				compile(children[1]);
+				emit(OR, 2, 0);
+			} else if (node instanceof Equals) {
+				final Node[] children = node.getChildren();
+				compile(children[0]);
+				compile(children[1]);
+				emit(EQUALS, 2, 0);
+			} else if (node instanceof AtLeast) {
+				final int count = compileChildren(node);
+				emitThreshold(AT_LEAST, count, Math.max(((AtLeast) node).min, 1));
+			} else if (node instanceof AtMost) {
+				final int count = compileChildren(node);
+				emitThreshold(AT_MOST, count, Math.max(((AtMost) node).max, 0) + 1);
+			} else if (node instanceof Choose) {
+				final int n = ((Choose) node).n;
+				final int count = compileChildren(node);
+				emitThreshold(AT_LEAST, count, n > 0 ? n : count + 1);
+			} else {
+				throw new IllegalArgumentException("Unsupported node type " + node.getClass().getName());
+			}
+		}
+
+		private int compileChildren(Node node) {
+			final Node[] children = node.getChildren();
+			for (final Node child : children) {
+				compile(child);
+			}
+			return children.length;
+		}
+
+		private void emitThreshold(int opcode, int count, int threshold) {
+			// thresholds above the number of children are never reached
+			final int clampedThreshold = Math.min(threshold, count + 1);
+			maxThreshold = Math.max(maxThreshold, clampedThreshold);
+			emit(opcode, count, clampedThreshold);
+		}
+
+		private void emit(int opcode, int argument, int threshold) {
+			if (size == opcodes.length) {
+				opcodes = Arrays.copyOf(opcodes, size << 1);
+				arguments = Arrays.copyOf(arguments, size << 1);
+				thresholds = Arrays.copyOf(thresholds, size << 1);
+			}
+			opcodes[size] = opcode;
+			arguments[size] = argument;
+			thresholds[size] = threshold;
+			size++;
+
+			switch (opcode) {
+			case LOAD:
+			case LOAD_NOT:
+				stackSize++;
+				break;
+			case NOT:
+				break;
+			default:
+				stackSize += 1 - argument;
+				break;
+			}
+			maxStackSize = Math.max(maxStackSize, stackSize);
+		}
+
+	}
+
+	private final int[] opcodes;
+	private final int[] arguments;
+	private final int[] thresholds;
+	private final int maxStackSize;
+	private final int maxThreshold;
+
+	private final List<Object> variables;
+	private final Map<Object, Integer> variableIndex;
+
+	private CompiledNode(Compiler compiler, List<Object> variables, Map<Object, Integer> variableIndex) {
+		opcodes = Arrays.copyOf(compiler.opcodes, compiler.size);
+		arguments = Arrays.copyOf(compiler.arguments, compiler.size);
+		thresholds = Arrays.copyOf(compiler.thresholds, compiler.size);
+		maxStackSize = compiler.maxStackSize;
+		maxThreshold = compiler.maxThreshold;
+		this.variables = variables;
+		this.variableIndex = variableIndex;
+	}
+
+	/**
+	 * Returns the variables of this node in the order of the assignment.
+	 *
+	 * @return the variables; not null
+	 */
+	public List<Object> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Returns the index of the given variable in an assignment.
+	 *
+	 * @param variable the variable
+	 * @return the index of the variable or -1 if the variable is unknown
+	 */
+	public int getVariableIndex(Object variable) {
+		final Integer index = variableIndex.get(variable);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Evaluates this node for a single assignment.
+	 *
+	 * @param assignment the value of each variable, indexed as in {@link #getVariables()}; not null
+	 * @return the value of this node for the given assignment
+	 */
+	public boolean getValue(boolean[] assignment) {
+		final boolean[] stack = new boolean[maxStackSize];
+		int top = 0;
+		for (int pc = 0; pc < opcodes.length; pc++) {
+			final int argument = arguments[pc];
+			switch (opcodes[pc]) {
+			case LOAD:
+				stack[top++] = assignment[argument];
+				break;
+			case LOAD_NOT:
+				stack[top++] = !assignment[argument];
+				break;
+			case NOT:
+				stack[top - 1] = !stack[top - 1];
+				break;
+			case AND: {
+				boolean value = true;
+				for (int i = top - argument; i < top; i++) {
+					value &= stack[i];
+				}
+				top -= argument;
+				stack[top++] = value;
+				break;
+			}
+			case OR: {
+				boolean value = false;
+				for (int i = top - argument; i < top; i++) {
+					value |= stack[i];
+				}
+				top -= argument;
+				stack[top++] = value;
+				break;
+			}
+			case EQUALS:
+				top--;
+				stack[top - 1] = stack[top - 1] == stack[top];
+				break;
+			case AT_LEAST:
+			case AT_MOST: {
+				int trueCount = 0;
+				for (int i = top - argument; i < top; i++) {
+					if (stack[i]) {
+						trueCount++;
+					}
+				}
+				top -= argument;
+				stack[top++] = (trueCount >= thresholds[pc]) == (opcodes[pc] == AT_LEAST);
+				break;
+			}
+			default:
+				throw new IllegalStateException();
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Evaluates this node for 64 assignments at once. Bit <i>j</i> of {@code assignment[i]} is the value of variable <i>i</i> in the <i>j</i>-th assignment.
+	 *
+	 * @param assignment the values of each variable, indexed as in {@link #getVariables()}; not null
+	 * @return the values of this node, bit <i>j</i> is the value for the <i>j</i>-th assignment
+	 */
+	public long getValues(long[] assignment) {
+		final long[] stack = new long[maxStackSize];
+		// counters[k] has all bits set for which at least k of the children processed so far are true
+		final long[] counters = new long[maxThreshold + 1];
+		int top = 0;
+		for (int pc = 0; pc < opcodes.length; pc++) {
+			final int argument = arguments[pc];
+			switch (opcodes[pc]) {
+			case LOAD:
+				stack[top++] = assignment[argument];
+				break;
+			case LOAD_NOT:
+				stack[top++] = ~assignment[argument];
+				break;
+			case NOT:
+				stack[top - 1] = ~stack[top - 1];
+				break;
+			case AND: {
+				long value = -1L;
+				for (int i = top - argument; i < top; i++) {
+					value &= stack[i];
+				}
+				top -= argument;
+				stack[top++] = value;
+				break;
+			}
+			case OR: {
+				long value = 0L;
+				for (int i = top - argument; i < top; i++) {
+					value |= stack[i];
+				}
+				top -= argument;
+				stack[top++] = value;
+				break;
+			}
+			case EQUALS:
+				top--;
+				stack[top - 1] = ~(stack[top - 1] ^ stack[top]);
+				break;
+			case AT_LEAST:
+			case AT_MOST: {
+				final int threshold = thresholds[pc];
+				counters[0] = -1L;
+				Arrays.fill(counters, 1, threshold + 1, 0L);
+				for (int i = top - argument; i < top; i++) {
+					final long value = stack[i];
+					for (int k = threshold; k > 0; k--) {
+						counters[k] |= counters[k - 1] & value;
+					}
+				}
+				top -= argument;
+				stack[top++] = opcodes[pc] == AT_LEAST ? counters[threshold] : ~counters[threshold];
+				break;
+			}
+			default:
+				throw new IllegalStateException();
+			}
+		}
+		return stack[0];
+	}
+
+}
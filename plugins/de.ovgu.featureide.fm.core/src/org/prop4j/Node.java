@@ -43,6 +43,12 @@ import java.util.Set;
  */
 public abstract class Node {
 
+	/**
+	 * Bit <i>j</i> of the <i>i</i>-th pattern is bit <i>i</i> of <i>j</i>.
+	 */
+	private static final long[] LANE_PATTERNS =
+		{ 0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L, 0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L };
+
 	protected Node[] children;
 
 	@SuppressWarnings("unchecked")
@@ -708,16 +714,27 @@ public abstract class Node {
 	 * @return all accepted truth value assignments; not null
 	 */
 	private Set<Map<Object, Boolean>> getAssignments(Boolean result) {
-		final Set<Object> keys = getUniqueVariables();
+		final List<Object> keys = new ArrayList<>(getUniqueVariables());
+		final CompiledNode compiledNode = result == null ? null : CompiledNode.compile(this, keys);
 		final Set<Map<Object, Boolean>> assignments = new LinkedHashSet<>();
-		for (int assignment = 0; assignment < (1 << keys.size()); assignment++) {
-			final Map<Object, Boolean> map = new LinkedHashMap<>();
-			int i = 0;
-			for (final Object key : keys) {
-				map.put(key, (assignment & (1 << i)) != 0);
-				i++;
+		final long assignmentCount = 1L << keys.size();
+		final long[] lanes = new long[keys.size()];
+		// evaluates the assignments in blocks of 64, one per bit
+		for (long block = 0; block < assignmentCount; block += Long.SIZE) {
+			for (int i = 0; i < lanes.length; i++) {
+				lanes[i] = i < LANE_PATTERNS.length ? LANE_PATTERNS[i] : ((block >>> i) & 1) != 0 ? -1L : 0L;
 			}
-			if ((result == null) || (getValue(map) == result)) {
+			long accepted = compiledNode == null ? -1L : result ? compiledNode.getValues(lanes) : ~compiledNode.getValues(lanes);
+			if ((assignmentCount - block) < Long.SIZE) {
+				accepted &= (1L << (assignmentCount - block)) - 1;
+			}
+			while (accepted != 0) {
+				final long assignment = block + Long.numberOfTrailingZeros(accepted);
+				accepted &= accepted - 1;
+				final Map<Object, Boolean> map = new LinkedHashMap<>();
+				for (int i = 0; i < lanes.length; i++) {
+					map.put(keys.get(i), ((assignment >>> i) & 1) != 0);
+				}
 				assignments.add(map);
 			}
 		}
@@ -236,6 +236,11 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 
 	private final JobToken analysisToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT);
 
+	/**
+	 * The analyzer of the last analysis. Its results are reused for the analysis of the next version of the feature model.
+	 */
+	private volatile FeatureModelAnalyzer lastAnalyzer;
+
 	FeatureDiagramEditorKeyHandler editorKeyHandler;
 
 	/** The currently active explanation. */
@@ -430,6 +435,7 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 		viewer.createControl(compositeBottom);
 		viewer.setContents(graphicalFeatureModel);
 		viewer.getControl().addControlListener(viewer.createControlListener());
+		viewer.createCullingListeners();
 		viewer.getControl().setBackground(FMPropertyManager.getDiagramBackgroundColor());
 
 		viewer.addSelectionChangedListener(new ISelectionChangedListener() {
@@ -541,8 +547,12 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 					return true;
 				}
 
-				final AnalysesCollection analysisResults = localAnalyzer.analyzeFeatureModel(monitor);
+				final AnalysesCollection analysisResults = localAnalyzer.analyzeFeatureModel(lastAnalyzer, monitor);
+				lastAnalyzer = localAnalyzer;
 				refreshGraphics(analysisResults);
+
+				// precompute the explanations, so the tooltips of defect elements do not have to wait for them
+				localAnalyzer.computeExplanations(monitor);
 				return true;
 			}
 		}, ANALYZE_FEATURE_MODEL);
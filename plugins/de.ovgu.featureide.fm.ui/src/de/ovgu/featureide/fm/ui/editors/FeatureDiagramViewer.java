@@ -20,10 +20,17 @@
  */
 package de.ovgu.featureide.fm.ui.editors;
 
+import java.beans.PropertyChangeListener;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 
 import org.eclipse.draw2d.ConnectionLayer;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.DefaultEditDomain;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.LayerConstants;
@@ -49,6 +56,7 @@ import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.ConnectionEditPar
 import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.FeatureEditPart;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.GraphicalEditPartFactory;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.LegendEditPart;
+import de.ovgu.featureide.fm.ui.editors.featuremodel.figures.FeatureFigure;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.figures.LegendFigure;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.layouts.FeatureDiagramLayoutHelper;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.layouts.FeatureDiagramLayoutManager;
@@ -118,12 +126,30 @@ public class FeatureDiagramViewer extends ScrollingGraphicalViewer implements IS
 		}
 	}
 
+	/**
+	 * Number of visible features above which only features in the viewport get edit parts and figures.
+	 */
+	public static final int CULLING_THRESHOLD = 1000;
+
+	/**
+	 * Margin around the viewport in which features still get edit parts when culling, so that small scroll steps do not change the edit parts.
+	 */
+	private static final int CULLING_MARGIN = 200;
+
 	private ZoomManager zoomManager;
 
 	private final IGraphicalFeatureModel graphicalFeatureModel;
 
 	private final FeatureDiagramEditorKeyHandler editorKeyHandler;
 	private FeatureDiagramLayoutManager layoutManager;
+	private int layoutAlgorithm = -1;
+
+	private boolean culling = false;
+	private boolean cullingRefreshScheduled = false;
+	/**
+	 * Whether the features of the current contents have been laid out at least once, i.e., whether their locations can be used for culling.
+	 */
+	private boolean layoutDone = false;
 
 	private boolean openConstraintViewDecisionDialogAlreadySpawned = false;
 
@@ -278,24 +304,167 @@ public class FeatureDiagramViewer extends ScrollingGraphicalViewer implements IS
 		internRefresh(true);
 	}
 
+	@Override
+	public void setContents(EditPart editpart) {
+		layoutDone = false;
+		super.setContents(editpart);
+	}
+
 	public void setLayout() {
-		layoutManager = FeatureDiagramLayoutHelper.getLayoutManager(graphicalFeatureModel.getLayout().getLayoutAlgorithm(), graphicalFeatureModel);
+		layoutFeatures();
+		if (culling) {
+			refreshCulledFeatures();
+		}
+
+		if (!graphicalFeatureModel.isLegendHidden() && graphicalFeatureModel.getLayout().hasLegendAutoLayout()) {
+			for (final Object obj : getEditPartRegistry().values()) {
+				if (obj instanceof LegendEditPart) {
+					final LegendFigure fig = ((LegendEditPart) obj).getFigure();
+					fig.recreateLegend();
+				}
+			}
+		}
+	}
+
+	private void layoutFeatures() {
+		final int algorithm = graphicalFeatureModel.getLayout().getLayoutAlgorithm();
+		final FeatureDiagramLayoutManager newLayoutManager = FeatureDiagramLayoutHelper.getLayoutManager(algorithm, graphicalFeatureModel);
+		// keep the layout manager while the algorithm does not change, so that it can skip layouts of unchanged diagrams
+		if ((layoutManager == null) || (algorithm != layoutAlgorithm)) {
+			layoutManager = newLayoutManager;
+			layoutAlgorithm = algorithm;
+		}
 
 		if (getControl() != null) {
 			final Point size = getControl().getSize();
 			layoutManager.setControlSize(size.x, size.y);
 		}
 
+		if (culling) {
+			measureCulledFeatures();
+		}
 		layoutManager.layout(graphicalFeatureModel, this);
+		layoutDone = true;
+	}
 
-		if (!graphicalFeatureModel.isLegendHidden() && graphicalFeatureModel.getLayout().hasLegendAutoLayout()) {
-			for (final Object obj : getEditPartRegistry().values()) {
-				if (obj instanceof LegendEditPart) {
-					final LegendFigure fig = ((LegendEditPart) obj).getFigure();
-					fig.recreateLegend();
+	/**
+	 * Returns the features that need an edit part. For large diagrams (see {@link #CULLING_THRESHOLD}), these are only the features that are visible in the
+	 * viewport or whose connection to their parent crosses the viewport, together with their parents.
+	 *
+	 * @param features all visible features
+	 * @return the features that need an edit part
+	 */
+	public Collection<IGraphicalFeature> cullFeatures(Collection<IGraphicalFeature> features) {
+		culling = features.size() > CULLING_THRESHOLD;
+		if (!culling) {
+			return features;
+		}
+		final Rectangle area = getVisibleArea();
+		if (area == null) {
+			return features;
+		}
+		if (!layoutDone) {
+			// before the first layout all features are still at the origin, so they are laid out (sized without figures) before they are culled
+			layoutFeatures();
+		}
+		final LinkedHashSet<IGraphicalFeature> visibleFeatures = new LinkedHashSet<>();
+		for (final IGraphicalFeature feature : features) {
+			final Rectangle bounds = new Rectangle(feature.getLocation(), feature.getSize());
+			final IGraphicalFeature parent = FeatureUIHelper.getGraphicalParent(feature);
+			if (parent != null) {
+				bounds.union(new Rectangle(parent.getLocation(), parent.getSize()));
+			}
+			if (bounds.intersects(area)) {
+				// parents first, so that the connection of a feature finds the edit part of its parent
+				if (parent != null) {
+					visibleFeatures.add(parent);
 				}
+				visibleFeatures.add(feature);
 			}
 		}
+		return visibleFeatures;
+	}
+
+	/**
+	 * @return the area of the diagram that is currently visible (including {@link #CULLING_MARGIN}) or {@code null} if there is no control yet
+	 */
+	private Rectangle getVisibleArea() {
+		final FigureCanvas canvas = getFigureCanvas();
+		if ((canvas == null) || canvas.isDisposed()) {
+			return null;
+		}
+		final Viewport viewport = canvas.getViewport();
+		final Rectangle area = new Rectangle(viewport.getViewLocation(), viewport.getSize());
+		area.scale(1 / getZoomManager().getZoom());
+		area.expand(CULLING_MARGIN, CULLING_MARGIN);
+		return area;
+	}
+
+	/**
+	 * Features without edit part have no figure that sets their size, so it is computed here for the layout.
+	 */
+	private void measureCulledFeatures() {
+		final Map<?, ?> registry = getEditPartRegistry();
+		for (final IGraphicalFeature feature : graphicalFeatureModel.getVisibleFeatures()) {
+			if (!registry.containsKey(feature)) {
+				feature.setSize(FeatureFigure.computeSize(feature));
+			}
+		}
+	}
+
+	/**
+	 * Creates and removes edit parts according to the current viewport.
+	 */
+	private void refreshCulledFeatures() {
+		final EditPart contents = getContents();
+		if (contents == null) {
+			return;
+		}
+		contents.refresh();
+		// connections of features whose parents got an edit part only now
+		for (final Object child : contents.getChildren()) {
+			if (child instanceof FeatureEditPart) {
+				for (final Object connection : ((FeatureEditPart) child).getSourceConnections()) {
+					if ((connection instanceof ConnectionEditPart) && (((ConnectionEditPart) connection).getTarget() == null)) {
+						((ConnectionEditPart) connection).refresh();
+					}
+				}
+			}
+		}
+	}
+
+	private void scheduleCullingRefresh() {
+		if (culling && !cullingRefreshScheduled && (getControl() != null)) {
+			cullingRefreshScheduled = true;
+			getControl().getDisplay().asyncExec(() -> {
+				cullingRefreshScheduled = false;
+				if ((getControl() != null) && !getControl().isDisposed()) {
+					refreshCulledFeatures();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Updates the edit parts of large diagrams whenever the visible area changes.
+	 */
+	public void createCullingListeners() {
+		final Viewport viewport = getFigureCanvas().getViewport();
+		final PropertyChangeListener listener = event -> scheduleCullingRefresh();
+		viewport.getHorizontalRangeModel().addPropertyChangeListener(listener);
+		viewport.getVerticalRangeModel().addPropertyChangeListener(listener);
+		getZoomManager().addZoomListener(zoom -> scheduleCullingRefresh());
+	}
+
+	/**
+	 * Scrolls to the given feature without using its edit part, which might not exist due to culling.
+	 */
+	private void scrollTo(IGraphicalFeature feature) {
+		final double zoom = getZoomManager().getZoom();
+		final Rectangle bounds = new Rectangle(feature.getLocation(), feature.getSize());
+		final Dimension viewportSize = getFigureCanvas().getViewport().getSize();
+		getFigureCanvas().getViewport().setViewLocation((int) (zoom * bounds.getCenter().x) - (viewportSize.width / 2),
+				(int) (zoom * bounds.getCenter().y) - (viewportSize.height / 2));
 	}
 
 	public void layoutLegendOnIntersect() {
@@ -354,6 +523,9 @@ public class FeatureDiagramViewer extends ScrollingGraphicalViewer implements IS
 			final int yCenter =
 				(int) (((getZoomManager().getZoom() * y) - (getFigureCanvas().getViewport().getSize().height / 2)) + (getZoomManager().getZoom() * offsetY));
 			getFigureCanvas().getViewport().setViewLocation(xCenter, yCenter);
+		} else if (culling && (graphFeature != null)) {
+			scrollTo(graphFeature);
+			refreshCulledFeatures();
 		}
 	}
 
@@ -407,7 +579,12 @@ public class FeatureDiagramViewer extends ScrollingGraphicalViewer implements IS
 	@Override
 	public void found(IGraphicalFeature searchResult) {
 		if (searchResult != null) {
-			final EditPart editPart = (EditPart) getEditPartRegistry().get(searchResult);
+			EditPart editPart = (EditPart) getEditPartRegistry().get(searchResult);
+			if ((editPart == null) && culling) {
+				scrollTo(searchResult);
+				refreshCulledFeatures();
+				editPart = (EditPart) getEditPartRegistry().get(searchResult);
+			}
 			if (editPart != null) {
 				select(editPart);
 				reveal(editPart);
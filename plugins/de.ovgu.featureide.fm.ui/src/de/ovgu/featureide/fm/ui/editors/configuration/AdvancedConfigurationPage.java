@@ -139,7 +139,7 @@ public class AdvancedConfigurationPage extends ConfigurationTreeEditorPage imple
 
 	@Override
 	protected void createUITree(Composite parent) {
-		tree = new Tree(parent, SWT.NONE);
+		tree = new Tree(parent, SWT.VIRTUAL);
 		final MenuManager contextMenu = new MenuManager(null);
 		contextMenu.setRemoveAllWhenShown(true);
 		contextMenu.addMenuListener(new IMenuListener() {
@@ -49,7 +49,7 @@ public class ConfigurationPage extends ConfigurationTreeEditorPage {
 
 	@Override
 	protected void createUITree(Composite parent) {
-		tree = new Tree(parent, SWT.CHECK);
+		tree = new Tree(parent, SWT.CHECK | SWT.VIRTUAL);
 		tree.addSelectionListener(new SelectionListener() {
 
 			@Override
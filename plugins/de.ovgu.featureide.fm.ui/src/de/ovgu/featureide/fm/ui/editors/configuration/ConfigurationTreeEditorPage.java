@@ -37,6 +37,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -176,6 +177,11 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	private static final int MAX_TOOLTIP_ELEMENT_LENGTH = 500;
 
+	/**
+	 * Delay in ms for collecting intermediate propagation results before the corresponding tree items are refreshed (about one frame).
+	 */
+	private static final int REFRESH_DELAY = 16;
+
 	private static enum UpdateStrategy {
 		BUILD, UPDATE, RESOLVE
 	}
@@ -213,6 +219,31 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	protected final LinkedHashMap<SelectableFeature, TreeItem> itemMap = new LinkedHashMap<>();
 
 	protected final JobToken updateToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
+	protected final JobToken infoLabelToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
+	/**
+	 * Token for the validity checks after manual selections. The checks are not canceled by subsequent checks, such that every invalid selection is recorded in
+	 * {@link #invalidFeatures}.
+	 */
+	protected final JobToken validityToken = LongRunningWrapper.createToken(JobStartingStrategy.WAIT);
+
+	/**
+	 * {@code true} if the tree was created with {@link SWT#VIRTUAL}. In this case, tree items are only created and filled when they become visible.
+	 */
+	private boolean virtual = false;
+	/**
+	 * The root feature of a virtual tree.
+	 */
+	private SelectableFeature rootFeature = null;
+	/**
+	 * The non-hidden children of each feature that has been shown in a virtual tree.
+	 */
+	private final HashMap<SelectableFeature, List<SelectableFeature>> visibleChildren = new HashMap<>();
+
+	/**
+	 * Features whose tree items are refreshed with the next scheduled refresh.
+	 */
+	private final HashSet<SelectableFeature> pendingRefresh = new HashSet<>();
+	private boolean refreshScheduled = false;
 
 	/**
 	 * The item the toolTip belongs to.
@@ -437,7 +468,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 			@Override
 			public void widgetSelected(SelectionEvent e) {
-				expandItems(itemMap.values(), true);
+				expandAllItems();
 			}
 
 			@Override
@@ -534,6 +565,17 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 		createUITree(compositeBottom);
 
+		virtual = (tree.getStyle() & SWT.VIRTUAL) != 0;
+		if (virtual) {
+			tree.addListener(SWT.SetData, new Listener() {
+
+				@Override
+				public void handleEvent(Event event) {
+					getFeature((TreeItem) event.item);
+				}
+			});
+		}
+
 		tree.addListener(SWT.PaintItem, new Listener() {
 
 			@Override
@@ -654,9 +696,17 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		return null;
 	}
 
-	protected Void updateInfoLabel(final Display display, ConfigurationPropagator propagator) {
-		final boolean valid = LongRunningWrapper.runMethod(propagator.isValid());
-		final boolean conflicting = !valid && !LongRunningWrapper.runMethod(propagator.canBeValid());
+	private Void startInfoLabelJob(final Display display, ConfigurationPropagator propagator) {
+		LongRunningWrapper.startJob(infoLabelToken, LongRunningWrapper.getRunner(monitor -> updateInfoLabel(display, propagator, monitor)));
+		return null;
+	}
+
+	protected Void updateInfoLabel(final Display display, ConfigurationPropagator propagator, IMonitor<Void> monitor) throws Exception {
+		monitor.setRemainingWork(3);
+		final boolean valid = propagator.isValid().execute(monitor.subTask(1));
+		monitor.checkCancel();
+		final boolean conflicting = !valid && !propagator.canBeValid().execute(monitor.subTask(1));
+		monitor.checkCancel();
 
 		final StringBuilder sb = new StringBuilder();
 		if (conflicting) {
@@ -665,7 +715,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 			sb.append(POSSIBLE_CONFIGURATIONS);
 			display.asyncExec(() -> setResolveButton(true));
 		} else {
-			final long number = conflicting ? 0 : LongRunningWrapper.runMethod(propagator.number(250));
+			final long number = propagator.number(250).execute(monitor.subTask(1));
+			monitor.checkCancel();
 			sb.append(valid ? VALID_COMMA_ : INVALID_COMMA_);
 			if (number < 0) {
 				sb.append(MORE_THAN);
@@ -727,6 +778,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	private void displayError(String message) {
+		rootFeature = null;
 		tree.removeAll();
 		final TreeItem item = new TreeItem(tree, 1);
 		item.setText(message);
@@ -737,8 +789,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	protected void setManual(final TreeItem item, Selection manualSelection) {
-		final SelectableFeature feature = (SelectableFeature) item.getData();
-		if (feature.getAutomatic() == Selection.UNDEFINED) {
+		final SelectableFeature feature = getFeature(item);
+		if ((feature != null) && (feature.getAutomatic() == Selection.UNDEFINED)) {
 
 			final ConfigurationManager configurationManager = configurationEditor.getConfigurationManager();
 			if (configurationManager != null) {
@@ -762,11 +814,20 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 					computeTree(UpdateStrategy.UPDATE);
 				} else {
 					refreshItem(Arrays.asList(item));
-					if (LongRunningWrapper.runMethod(getPropagator().canBeValid())) {
-						invalidFeatures.clear();
-					} else {
-						invalidFeatures.add(feature);
-					}
+					final ConfigurationPropagator propagator = getPropagator();
+					final Display display = Display.getCurrent();
+					LongRunningWrapper.startJob(validityToken, LongRunningWrapper.getRunner(monitor -> {
+						final boolean canBeValid = propagator.canBeValid().execute(monitor.subTask(1));
+						monitor.checkCancel();
+						display.asyncExec(() -> {
+							if (canBeValid) {
+								invalidFeatures.clear();
+							} else {
+								invalidFeatures.add(feature);
+							}
+						});
+						return null;
+					}));
 				}
 			}
 		}
@@ -782,7 +843,11 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	protected void changeSelection(final TreeItem item, final boolean select) {
-		final Selection manualSelection = ((SelectableFeature) item.getData()).getManual();
+		final SelectableFeature feature = getFeature(item);
+		if (feature == null) {
+			return;
+		}
+		final Selection manualSelection = feature.getManual();
 		switch (manualSelection) {
 		case SELECTED:
 			setManual(item, (select) ? Selection.UNDEFINED : Selection.UNSELECTED);
@@ -799,10 +864,34 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	private Void expandAll(Display display) {
-		display.syncExec(() -> expandItems(itemMap.values(), true));
+		display.syncExec(() -> expandAllItems());
 		return null;
 	}
 
+	private void expandAllItems() {
+		if (virtual) {
+			tree.setRedraw(false);
+			try {
+				for (final TreeItem item : tree.getItems()) {
+					expandAllRec(item);
+				}
+			} finally {
+				tree.setRedraw(true);
+			}
+		} else {
+			expandItems(itemMap.values(), true);
+		}
+	}
+
+	private void expandAllRec(TreeItem root) {
+		if (getFeature(root) != null) {
+			root.setExpanded(true);
+			for (final TreeItem treeItem : root.getItems()) {
+				expandAllRec(treeItem);
+			}
+		}
+	}
+
 	private Void expandAuto(Display display) {
 		display.syncExec(() -> autoExpand());
 		return null;
@@ -877,9 +966,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	private void searchGroupRec(TreeItem root, LinkedList<TreeItem> groupItems) {
-		final Object data = root.getData();
-		if (data instanceof SelectableFeature) {
-			final SelectableFeature feature = (SelectableFeature) data;
+		final SelectableFeature feature = getFeature(root);
+		if (feature != null) {
 			if (feature.getOpenClauseIndexes().contains(curGroup)) {
 				groupItems.add(root);
 			}
@@ -892,6 +980,10 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	private void collapseRec(TreeItem root) {
+		if (virtual && (root.getData() == null)) {
+			// item was never shown, so neither it nor its children can be expanded
+			return;
+		}
 		root.setExpanded(false);
 
 		final TreeItem[] items = root.getItems();
@@ -923,9 +1015,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		if (root.isDisposed()) {
 			return;
 		}
-		final Object data = root.getData();
-		if (data instanceof SelectableFeature) {
-			final SelectableFeature feature = (SelectableFeature) data;
+		final SelectableFeature feature = getFeature(root);
+		if (feature != null) {
 			if ((feature.getSelection() == Selection.UNDEFINED) || (feature.getSelection() == Selection.UNSELECTED)) {
 				root.setExpanded(false);
 			} else {
@@ -1028,20 +1119,53 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		return null;
 	}
 
+	/**
+	 * Collects intermediate results of the propagation. Instead of refreshing the corresponding tree items for each result, all results that arrive within
+	 * {@link #REFRESH_DELAY} ms are refreshed together.
+	 */
 	private void updateFeatures(final Display currentDisplay, Collection<SelectableFeature> t) {
-		final ArrayList<TreeItem> itmes = new ArrayList<>();
-		for (final SelectableFeature feature : t) {
+		synchronized (pendingRefresh) {
+			updateFeatures.removeAll(t);
+			pendingRefresh.addAll(t);
+			if (refreshScheduled) {
+				return;
+			}
+			refreshScheduled = true;
+		}
+		currentDisplay.asyncExec(() -> currentDisplay.timerExec(REFRESH_DELAY, this::refreshPendingFeatures));
+	}
+
+	private void refreshPendingFeatures() {
+		final List<SelectableFeature> features;
+		synchronized (pendingRefresh) {
+			features = new ArrayList<>(pendingRefresh);
+			pendingRefresh.clear();
+			refreshScheduled = false;
+		}
+		if (tree.isDisposed()) {
+			return;
+		}
+		final ArrayList<TreeItem> items = new ArrayList<>();
+		for (final SelectableFeature feature : features) {
 			final TreeItem item = itemMap.get(feature);
 			if (item != null) {
-				updateFeatures.remove(feature);
-				itmes.add(item);
+				items.add(item);
+			}
+		}
+		if (!items.isEmpty()) {
+			tree.setRedraw(false);
+			try {
+				refreshItem(items);
+			} finally {
+				tree.setRedraw(true);
 			}
 		}
-		currentDisplay.asyncExec(() -> refreshItem(itmes));
 	}
 
 	private Void resetUpdateFeatures(IMonitor<Void> monitor) {
-		updateFeatures.clear();
+		synchronized (pendingRefresh) {
+			updateFeatures.clear();
+		}
 		return null;
 	}
 
@@ -1116,6 +1240,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 			return;
 		}
 
+		LongRunningWrapper.cancelAllJobs(infoLabelToken);
 		setInfoLabel(CALCULATING____, null);
 
 		configurationManager.editObject(config -> update(updateStrategy, currentDisplay, configurationManager, featureModelManager, config),
@@ -1152,8 +1277,9 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 					updateJob = LongRunningWrapper.getRunner(propagator.resetAutomatic());
 				} else {
 					final TreeItem topItem = tree.getTopItem();
-					if (topItem != null) {
-						final List<SelectableFeature> featureOrder = Arrays.asList((SelectableFeature) (topItem.getData()));
+					final SelectableFeature topFeature = topItem != null ? getFeature(topItem) : null;
+					if (topFeature != null) {
+						final List<SelectableFeature> featureOrder = Arrays.asList(topFeature);
 						updateJob = LongRunningWrapper.getRunner(propagator.update(true, featureOrder));
 					} else {
 						updateJob = LongRunningWrapper.getRunner(propagator.update(true));
@@ -1194,7 +1320,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 			}
 		}
 		sequence.addJob(LongRunningWrapper.getRunner(monitor -> resetSnapshot(configurationManager)));
-		sequence.addJob(LongRunningWrapper.getRunner(monitor -> updateInfoLabel(currentDisplay, propagator)));
+		sequence.addJob(LongRunningWrapper.getRunner(monitor -> startInfoLabelJob(currentDisplay, propagator)));
 		final IRunner<Boolean> runner = LongRunningWrapper.getRunner(sequence);
 		runner.addJobFinishedListener((finishedJob) -> {
 			currentDisplay.syncExec(() -> configurationManager.fireEvent(new FeatureIDEEvent(null, EventType.FEATURE_SELECTION_CHANGED)));
@@ -1204,9 +1330,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	@Override
 	public boolean matches(TreeItem element, String searchString) {
-		final Object data = element.getData();
-		if (data instanceof SelectableFeature) {
-			final SelectableFeature feature = (SelectableFeature) data;
+		final SelectableFeature feature = getFeature(element);
+		if (feature != null) {
 			return feature.getName().toLowerCase().matches(".*" + searchString.toLowerCase() + ".*");
 		}
 		return false;
@@ -1291,6 +1416,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	@Override
 	public void dispose() {
+		LongRunningWrapper.cancelAllJobs(validityToken);
 		disposeTooltip();
 		super.dispose();
 	}
@@ -1324,6 +1450,10 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	}
 
 	public Void build(SelectableFeature rootFeature, final Display currentDisplay) {
+		if (virtual) {
+			currentDisplay.syncExec(() -> createVirtualRootItem(rootFeature));
+			return null;
+		}
 		final LinkedList<TreeItem> parentElements = new LinkedList<>();
 		currentDisplay.syncExec(() -> createRootItem(rootFeature, parentElements));
 		if (parentElements.isEmpty()) {
@@ -1386,4 +1516,66 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		}
 	}
 
+	private void createVirtualRootItem(SelectableFeature rootFeature) {
+		if (!tree.isDisposed()) {
+			tree.removeAll();
+			itemMap.clear();
+			visibleChildren.clear();
+			this.rootFeature = rootFeature;
+			tree.setItemCount(1);
+		}
+	}
+
+	/**
+	 * Returns the feature of the given tree item. For a virtual tree, the item is initialized first if it was not shown yet.
+	 *
+	 * @param item the tree item
+	 * @return the feature of the item; null if the item does not belong to a feature
+	 */
+	protected SelectableFeature getFeature(TreeItem item) {
+		final Object data = item.getData();
+		if (data instanceof SelectableFeature) {
+			return (SelectableFeature) data;
+		}
+		if (!virtual || (data != null) || item.isDisposed()) {
+			return null;
+		}
+		final SelectableFeature feature;
+		final TreeItem parentItem = item.getParentItem();
+		if (parentItem == null) {
+			feature = tree.indexOf(item) == 0 ? rootFeature : null;
+		} else {
+			final SelectableFeature parentFeature = getFeature(parentItem);
+			if (parentFeature == null) {
+				return null;
+			}
+			final List<SelectableFeature> children = getVisibleChildren(parentFeature);
+			final int index = parentItem.indexOf(item);
+			feature = (index >= 0) && (index < children.size()) ? children.get(index) : null;
+		}
+		if (feature != null) {
+			item.setData(feature);
+			item.setItemCount(getVisibleChildren(feature).size());
+			itemMap.put(feature, item);
+			refreshItem(Arrays.asList(item));
+		}
+		return feature;
+	}
+
+	private List<SelectableFeature> getVisibleChildren(SelectableFeature feature) {
+		List<SelectableFeature> children = visibleChildren.get(feature);
+		if (children == null) {
+			final TreeElement[] childElements = feature.getChildren();
+			children = new ArrayList<>(childElements.length);
+			for (final TreeElement element : childElements) {
+				final SelectableFeature child = (SelectableFeature) element;
+				if (!child.getFeature().getStructure().isHidden()) {
+					children.add(child);
+				}
+			}
+			visibleChildren.put(feature, children);
+		}
+		return children;
+	}
+
 }
@@ -161,9 +161,9 @@ public class GraphicalFeature implements IGraphicalFeature {
 	@Override
 	public List<FeatureConnection> getTargetConnections() {
 		final List<FeatureConnection> targetConnections = new LinkedList<>();
-		for (final IFeatureStructure child : getObject().getStructure().getChildren()) {
-			final IGraphicalFeature graphicalChild = graphicalFeatureModel.getGraphicalFeature(child.getFeature());
-			if (!graphicalChild.hasCollapsedParent()) {
+		// all children share the collapsed ancestors of this feature, so check them only once
+		if (!isCollapsed() && !hasCollapsedParent()) {
+			for (final IFeatureStructure child : getObject().getStructure().getChildren()) {
 				targetConnections.add(FeatureUIHelper.getGraphicalFeature(child, graphicalFeatureModel).getSourceConnection());
 			}
 		}
@@ -260,10 +260,10 @@ public class GraphicalFeature implements IGraphicalFeature {
 	@Override
 	public List<IGraphicalFeature> getGraphicalChildren() {
 		final List<IGraphicalFeature> features = new ArrayList<>();
-		for (final IFeatureStructure f : getObject().getStructure().getChildren()) {
-			final IGraphicalFeature gf = getGraphicalModel().getGraphicalFeature(f.getFeature());
-			if (!gf.hasCollapsedParent()) {
-				features.add(gf);
+		// all children share the collapsed ancestors of this feature, so check them only once
+		if (!isCollapsed() && !hasCollapsedParent()) {
+			for (final IFeatureStructure f : getObject().getStructure().getChildren()) {
+				features.add(getGraphicalModel().getGraphicalFeature(f.getFeature()));
 			}
 		}
 		return Collections.unmodifiableList(features);
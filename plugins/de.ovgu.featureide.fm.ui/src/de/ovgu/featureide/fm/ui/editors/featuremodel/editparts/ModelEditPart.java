@@ -30,6 +30,7 @@ import org.eclipse.gef.EditPolicy;
 import org.eclipse.gef.RootEditPart;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 
+import de.ovgu.featureide.fm.ui.editors.FeatureDiagramViewer;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalConstraint;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalFeature;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalFeatureModel;
@@ -86,7 +87,10 @@ public class ModelEditPart extends AbstractGraphicalEditPart {
 		final IGraphicalFeatureModel fm = getModel();
 
 		final List<IGraphicalConstraint> constraints = fm.getVisibleConstraints();
-		final Collection<IGraphicalFeature> features = fm.getVisibleFeatures();
+		Collection<IGraphicalFeature> features = fm.getVisibleFeatures();
+		if (getViewer() instanceof FeatureDiagramViewer) {
+			features = ((FeatureDiagramViewer) getViewer()).cullFeatures(features);
+		}
 
 		final ArrayList<Object> list = new ArrayList<>(constraints.size() + features.size() + 1);
 
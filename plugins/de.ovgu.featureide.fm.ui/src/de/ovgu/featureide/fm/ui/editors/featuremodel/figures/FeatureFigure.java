@@ -30,6 +30,7 @@ import org.eclipse.draw2d.ConnectionAnchor;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FreeformLayout;
 import org.eclipse.draw2d.GridLayout;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.Label;
 import org.eclipse.draw2d.Panel;
@@ -38,6 +39,7 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
 
 import de.ovgu.featureide.fm.core.AnalysesCollection;
 import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
@@ -57,6 +59,7 @@ import de.ovgu.featureide.fm.core.explanations.Reason;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelReason;
 import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
 import de.ovgu.featureide.fm.ui.editors.FeatureDiagramExtension;
+import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalFeature;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalFeatureModel;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.GUIDefaults;
@@ -74,6 +77,16 @@ public class FeatureFigure extends ModelElementFigure implements GUIDefaults {
 
 	private static final FreeformLayout layout = new FreeformLayout();
 
+	/**
+	 * Below this zoom level, feature names are not drawn, as they cannot be read anyway.
+	 */
+	public static final double LABEL_ZOOM_THRESHOLD = 0.3;
+
+	/**
+	 * Used to compute the size of features that do not have a figure.
+	 */
+	private static final Label measureLabel = new Label();
+
 	private final Label label = new Label();
 
 	private final ConnectionAnchor sourceAnchor;
@@ -99,12 +112,7 @@ public class FeatureFigure extends ModelElementFigure implements GUIDefaults {
 
 		label.setLocation(new Point(FEATURE_INSETS.left, FEATURE_INSETS.top));
 
-		String displayName = feature.getObject().getName();
-		if (featureModel.getLayout().showShortNames()) {
-			int lastIndexOf = displayName.lastIndexOf(".");
-			displayName = displayName.substring(++lastIndexOf);
-		}
-		setName(displayName);
+		setName(getDisplayName(feature, featureModel));
 
 		updateProperties();
 
@@ -276,24 +284,58 @@ public class FeatureFigure extends ModelElementFigure implements GUIDefaults {
 	}
 
 	private void setLabelIcon() {
+		label.setIcon(getLabelIcon(feature));
+		setName(label.getText());
+	}
+
+	private static Image getLabelIcon(IGraphicalFeature feature) {
 		// Check if automatic calculations are wanted (properties are only set when analyses are activated)
 		if (!FeatureModelProperty.isRunCalculationAutomatically(feature.getGraphicalModel().getFeatureModelManager().getVarObject())
 			|| !FeatureModelProperty.isCalculateFeatures(feature.getGraphicalModel().getFeatureModelManager().getVarObject())) {
-			label.setIcon(null);
+			return null;
 		} else {
 			final FeatureProperties featureProperties = feature.getGraphicalModel().getFeatureModelManager().getVariableFormula().getAnalyzer()
 					.getAnalysesCollection().getFeatureProperty(feature.getObject());
 			if (featureProperties.hasStatus(FeatureStatus.DEAD)) {
-				label.setIcon(FM_ERROR);
+				return FM_ERROR;
 			} else if (featureProperties.hasStatus(FeatureStatus.FALSE_OPTIONAL)) {
-				label.setIcon(FM_WARNING);
+				return FM_WARNING;
 			} else if (featureProperties.hasStatus(FeatureStatus.INDETERMINATE_HIDDEN)) {
-				label.setIcon(WARNING_IMAGE);
+				return WARNING_IMAGE;
 			} else {
-				label.setIcon(null);
+				return null;
 			}
 		}
-		setName(label.getText());
+	}
+
+	private static String getDisplayName(IGraphicalFeature feature, IGraphicalFeatureModel featureModel) {
+		String displayName = feature.getObject().getName();
+		if (featureModel.getLayout().showShortNames()) {
+			int lastIndexOf = displayName.lastIndexOf(".");
+			displayName = displayName.substring(++lastIndexOf);
+		}
+		return displayName;
+	}
+
+	/**
+	 * Computes the size a figure for the given feature would have without creating the figure.
+	 *
+	 * @param feature the feature
+	 * @return the size of the feature's figure
+	 */
+	public static Dimension computeSize(IGraphicalFeature feature) {
+		measureLabel.setFont(DEFAULT_FONT);
+		measureLabel.setIcon(getLabelIcon(feature));
+		measureLabel.setText(getDisplayName(feature, feature.getGraphicalModel()));
+		return measureLabel.getPreferredSize().getExpanded(FEATURE_INSETS.getWidth(), FEATURE_INSETS.getHeight());
+	}
+
+	@Override
+	protected void paintChildren(Graphics graphics) {
+		// level of detail: when zoomed out far, only the box of a feature is drawn
+		if (FeatureUIHelper.getZoomFactor() >= LABEL_ZOOM_THRESHOLD) {
+			super.paintChildren(graphics);
+		}
 	}
 
 	public void setName(String newName) {
@@ -76,7 +76,7 @@ public class FTreeLayout extends FeatureDiagramLayoutManager {
 	}
 
 	private TreeLayout<IGraphicalFeature> layout(IGraphicalFeature root) {
-		final GFTreeForTreeLayout ftftl = new GFTreeForTreeLayout(root);
+		final GFTreeForTreeLayout ftftl = new GFTreeForTreeLayout(root, this::getChildren);
 		final GFNodeExtentProvider nodeExtentProvider = new GFNodeExtentProvider();
 
 		return new TreeLayout<>(ftftl, nodeExtentProvider, defaultConfiguration);
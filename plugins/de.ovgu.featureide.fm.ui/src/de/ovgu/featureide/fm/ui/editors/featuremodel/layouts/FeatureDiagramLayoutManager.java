@@ -21,11 +21,14 @@
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.LongStream;
 
 import org.abego.treelayout.Configuration;
 import org.eclipse.draw2d.geometry.Dimension;
@@ -68,13 +71,32 @@ abstract public class FeatureDiagramLayoutManager {
 
 	private final FeatureModelBounds featureModelBound = new FeatureModelBounds();
 
+	/**
+	 * Visible children of each feature, valid during one call of {@link #layout(IGraphicalFeatureModel, ScrollingGraphicalViewer)}.
+	 */
+	private final Map<IGraphicalFeature, List<IGraphicalFeature>> childrenCache = new HashMap<>();
+
+	/**
+	 * Everything the previous layout depended on and its result (see {@link #computeLayoutKey(IGraphicalFeatureModel)}).
+	 */
+	private long[] layoutKey = null;
+
 	public final void layout(IGraphicalFeatureModel featureModel, ScrollingGraphicalViewer editor) {
 		this.editor = editor;
 		showCollapsedConstraints = featureModel.getLayout().showCollapsedConstraints();
 		FeatureUIHelper.showCollapsedConstraints(showCollapsedConstraints, featureModel);
-		layoutFeatureModel(featureModel);
-		for (final Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
-			entry.getKey().setLocation(entry.getValue());
+		childrenCache.clear();
+		try {
+			// a layout manager that is reused for the same diagram only lays out the features again, if anything has changed since the last layout
+			if (!Arrays.equals(layoutKey, computeLayoutKey(featureModel))) {
+				layoutFeatureModel(featureModel);
+				for (final Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
+					entry.getKey().setLocation(entry.getValue());
+				}
+				layoutKey = computeLayoutKey(featureModel);
+			}
+		} finally {
+			childrenCache.clear();
 		}
 		if ((featureModel.getLayout().getLayoutAlgorithm() == 0) && !firstManualLayout) {
 			for (final IGraphicalFeature entry : featureModel.getFeatures()) {
@@ -98,6 +120,53 @@ abstract public class FeatureDiagramLayoutManager {
 
 	protected abstract void layoutFeatureModel(IGraphicalFeatureModel featureModel);
 
+	/**
+	 * Collects the control size, the spacing properties, and the structure, sizes, and locations of all visible features and constraints in preorder.
+	 *
+	 * @param featureModel the graphical feature model
+	 * @return a key that is equal for two feature models if and only if their layouts are equal
+	 */
+	private long[] computeLayoutKey(IGraphicalFeatureModel featureModel) {
+		final LongStream.Builder key = LongStream.builder();
+		key.add(controlWidth).add(controlHeight).add(showCollapsedConstraints ? 1 : 0);
+		key.add(FMPropertyManager.getLayoutMarginX()).add(FMPropertyManager.getLayoutMarginY());
+		key.add(FMPropertyManager.getFeatureSpaceX()).add(FMPropertyManager.getFeatureSpaceY()).add(FMPropertyManager.getConstraintSpace());
+
+		final IGraphicalFeature root = FeatureUIHelper.getGraphicalRootFeature(featureModel);
+		if (root != null) {
+			final LinkedList<IGraphicalFeature> stack = new LinkedList<>();
+			stack.push(root);
+			while (!stack.isEmpty()) {
+				final IGraphicalFeature feature = stack.pop();
+				final List<IGraphicalFeature> children = getChildren(feature);
+				key.add(feature.getObject().getInternalId()).add(feature.isCollapsed() ? 1 : 0).add(children.size());
+				addBounds(key, feature.getLocation(), feature.getSize());
+				for (final ListIterator<IGraphicalFeature> it = children.listIterator(children.size()); it.hasPrevious();) {
+					stack.push(it.previous());
+				}
+			}
+		}
+		final List<IGraphicalConstraint> constraints = featureModel.getVisibleConstraints();
+		key.add(constraints.size());
+		for (final IGraphicalConstraint constraint : constraints) {
+			addBounds(key, constraint.getLocation(), constraint.getSize());
+		}
+		return key.build().toArray();
+	}
+
+	private static void addBounds(LongStream.Builder key, Point location, Dimension size) {
+		if (location != null) {
+			key.add(location.x).add(location.y);
+		} else {
+			key.add(Long.MIN_VALUE);
+		}
+		if (size != null) {
+			key.add(size.width).add(size.height);
+		} else {
+			key.add(Long.MIN_VALUE);
+		}
+	}
+
 	public void setControlSize(int width, int height) {
 		controlWidth = width;
 		controlHeight = height;
@@ -347,7 +416,18 @@ abstract public class FeatureDiagramLayoutManager {
 		return new Rectangle(getLocation(feature), feature.getSize());
 	}
 
+	/**
+	 * Returns the visible children of the given feature. The lists are cached during a layout, so they must not be modified.
+	 *
+	 * @param feature the parent feature
+	 * @return the visible children
+	 */
 	protected List<IGraphicalFeature> getChildren(IGraphicalFeature feature) {
-		return Functional.toList(feature.getGraphicalChildren());
+		List<IGraphicalFeature> children = childrenCache.get(feature);
+		if (children == null) {
+			children = Functional.toList(feature.getGraphicalChildren());
+			childrenCache.put(feature, children);
+		}
+		return children;
 	}
 }
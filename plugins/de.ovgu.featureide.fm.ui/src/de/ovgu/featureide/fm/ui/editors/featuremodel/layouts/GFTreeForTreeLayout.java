@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.abego.treelayout.util.AbstractTreeForTreeLayout;
 
@@ -35,13 +36,24 @@ import de.ovgu.featureide.fm.ui.editors.IGraphicalFeature;
  */
 public class GFTreeForTreeLayout extends AbstractTreeForTreeLayout<IGraphicalFeature> {
 
+	private final Function<IGraphicalFeature, List<IGraphicalFeature>> children;
+
 	public GFTreeForTreeLayout(IGraphicalFeature root) {
+		this(root, IGraphicalFeature::getGraphicalChildren);
+	}
+
+	/**
+	 * @param root the root feature
+	 * @param children computes the visible children of a feature (abego requests them several times per feature, so this should be cached)
+	 */
+	public GFTreeForTreeLayout(IGraphicalFeature root, Function<IGraphicalFeature, List<IGraphicalFeature>> children) {
 		super(root);
+		this.children = children;
 	}
 
 	@Override
 	public List<IGraphicalFeature> getChildrenList(IGraphicalFeature parent) {
-		return parent.getGraphicalChildren();
+		return children.apply(parent);
 	}
 
 	@Override
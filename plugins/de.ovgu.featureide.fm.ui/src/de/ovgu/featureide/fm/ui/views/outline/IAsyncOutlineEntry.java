@@ -0,0 +1,38 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.views.outline;
+
+import java.util.function.Consumer;
+
+/**
+ * An entry for the Configuration outline whose label is computed in the background. Until the computation is finished, {@link #getLabel()} returns a
+ * placeholder.
+ */
+public interface IAsyncOutlineEntry extends IOutlineEntry {
+
+	/**
+	 * Sets the listener that is notified when the label of this entry has changed. The listener may be called from any thread.
+	 *
+	 * @param listener the listener, which gets this entry as argument
+	 */
+	public void setLabelChangedListener(Consumer<IOutlineEntry> listener);
+
+}
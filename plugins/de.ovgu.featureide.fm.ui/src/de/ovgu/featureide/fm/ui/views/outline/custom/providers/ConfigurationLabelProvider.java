@@ -20,11 +20,17 @@
  */
 package de.ovgu.featureide.fm.ui.views.outline.custom.providers;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.TreeItem;
 
+import de.ovgu.featureide.fm.ui.views.outline.IAsyncOutlineEntry;
 import de.ovgu.featureide.fm.ui.views.outline.IOutlineEntry;
 import de.ovgu.featureide.fm.ui.views.outline.custom.OutlineLabelProvider;
 
@@ -35,6 +41,8 @@ import de.ovgu.featureide.fm.ui.views.outline.custom.OutlineLabelProvider;
  */
 public class ConfigurationLabelProvider extends OutlineLabelProvider {
 
+	private final List<ILabelProviderListener> listeners = new CopyOnWriteArrayList<>();
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.eclipse.jface.viewers.ILabelProvider#getImage(java.lang.Object)
@@ -56,20 +64,41 @@ public class ConfigurationLabelProvider extends OutlineLabelProvider {
 		if (element == null) {
 			return "Invalid element!";
 		}
+		if (element instanceof IAsyncOutlineEntry) {
+			((IAsyncOutlineEntry) element).setLabelChangedListener(this::labelChanged);
+		}
 		if (element instanceof IOutlineEntry) {
 			return ((IOutlineEntry) element).getLabel();
 		}
 		return element.toString();
 	}
 
+	/**
+	 * Notifies the viewer in the UI thread that the label of the given entry has changed.
+	 *
+	 * @param entry the changed entry
+	 */
+	private void labelChanged(IOutlineEntry entry) {
+		final Display display = Display.getDefault();
+		if (!display.isDisposed()) {
+			display.asyncExec(() -> {
+				final LabelProviderChangedEvent event = new LabelProviderChangedEvent(this, entry);
+				for (final ILabelProviderListener listener : listeners) {
+					listener.labelProviderChanged(event);
+				}
+			});
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.eclipse.jface.viewers.IBaseLabelProvider#addListener(org.eclipse.jface.viewers.ILabelProviderListener)
 	 */
 	@Override
 	public void addListener(ILabelProviderListener listener) {
-		// TODO Auto-generated method stub
-
+		if (!listeners.contains(listener)) {
+			listeners.add(listener);
+		}
 	}
 
 	/*
@@ -98,8 +127,7 @@ public class ConfigurationLabelProvider extends OutlineLabelProvider {
 	 */
 	@Override
 	public void removeListener(ILabelProviderListener listener) {
-		// TODO Auto-generated method stub
-
+		listeners.remove(listener);
 	}
 
 	/*
@@ -24,12 +24,16 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.CANT_CONNECT_T
 import static de.ovgu.featureide.fm.core.localization.StringTable.CANT_DISCONNECT_FROM_DIFFERENT_DOCUMENT_;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Vector;
 
@@ -86,9 +90,11 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 
 	private static boolean highlighting = true;
 
-	/** List of current ColorAnnotations */
-	private final List<ColorAnnotation> annotations = new ArrayList<ColorAnnotation>(32);
-	private HashMap<Integer, Position> annotatedPositions = new HashMap<Integer, Position>();
+	/** Current ColorAnnotations of each directive, ordered by the lines they cover */
+	private final LineIntervalIndex<DirectiveAnnotations> annotationIndex =
+		new LineIntervalIndex<>(a -> a.directive.getStartLine(), a -> getLastChildLine(a.directive, a.directive.getEndLine()));
+	/** Outermost directives of all annotated directives, ordered by the lines they cover */
+	private final LineIntervalIndex<FSTDirective> rootIndex = new LineIntervalIndex<>(FSTDirective::getStartLine, ColorAnnotationModel::getLastLine);
 
 	private final HashMap<Integer, FSTDirective> directiveMap = new HashMap<Integer, FSTDirective>();
 	private final LinkedList<FSTDirective> validDirectiveList = new LinkedList<FSTDirective>();
@@ -102,7 +108,8 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	private final IFile file;
 
 	private int openConnections = 0;
-	private int docLines, docLength;
+	private int docLines;
+	private int changedStartLine = -1, changedEndLine = -1;
 
 	private final IEventListener colorChangeListener = new IEventListener() {
 
@@ -116,17 +123,27 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		@Override
 		public void documentChanged(DocumentEvent event) {
 			final IDocument newDoc = event.getDocument();
-			if (docLines != newDoc.getNumberOfLines()) {
-				updateAnnotations(false);
-				docLines = newDoc.getNumberOfLines();
-				docLength = newDoc.getLength();
-			} else {
-				changeAnnotations(event.getOffset(), newDoc.getLength());
+			if ((project.getComposer().getGenerationMechanism() == Mechanism.FEATURE_ORIENTED_PROGRAMMING) || directiveMap.isEmpty()
+				|| (changedStartLine < 0) || !updateChangedAnnotations(event)) {
+				if (docLines != newDoc.getNumberOfLines()) {
+					updateAnnotations(false);
+				} else {
+					changeAnnotations(event);
+				}
 			}
+			docLines = newDoc.getNumberOfLines();
 		}
 
 		@Override
-		public void documentAboutToBeChanged(DocumentEvent event) {}
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			try {
+				changedStartLine = document.getLineOfOffset(event.getOffset());
+				changedEndLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+			} catch (final BadLocationException e) {
+				changedStartLine = -1;
+				changedEndLine = -1;
+			}
+		}
 	};
 
 	private ColorAnnotationModel(IDocument document, IFile file, IFeatureProject project, ITextEditor editor) {
@@ -136,7 +153,6 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		composer = project.getComposer();
 
 		docLines = document.getNumberOfLines();
-		docLength = document.getLength();
 
 		FeatureColorManager.addListener(colorChangeListener);
 
@@ -247,80 +263,268 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	 *
 	 * It updates the offset and length of annotations, with an offset greater than the CHANGE_OFFSET.
 	 *
-	 * @param offset the change offset
-	 * @param newLength the length of the changed document
+	 * @param event the document event
 	 */
-	private void changeAnnotations(int offset, int newLength) {
+	private void changeAnnotations(DocumentEvent event) {
 		final AnnotationModelEvent modelEvent = new AnnotationModelEvent(this);
+		for (final ColorAnnotation annotation : shiftAnnotations(event)) {
+			modelEvent.annotationChanged(annotation);
+		}
+		fireModelChanged(modelEvent);
+	}
 
-		for (final ColorAnnotation annotation : annotations) {
-			final Position pos = annotation.getPosition();
-			if (pos.getOffset() > offset) {
-				annotation.updateOffset(newLength - docLength);
-				modelEvent.annotationChanged(annotation);
-			} else if (pos.includes(offset)) {
-				annotation.updateLength(newLength - docLength);
-				modelEvent.annotationChanged(annotation);
+	/**
+	 * Moves all annotations behind the changed region of the document and resizes all annotations that contain the changed region.
+	 *
+	 * @param event the document event
+	 * @return the resized annotations
+	 */
+	private List<ColorAnnotation> shiftAnnotations(DocumentEvent event) {
+		final int offset = event.getOffset();
+		final int oldEnd = offset + event.getLength();
+		final int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+
+		final List<ColorAnnotation> resizedAnnotations = new ArrayList<>();
+		for (final DirectiveAnnotations directiveAnnotations : annotationIndex.getElements()) {
+			for (final ColorAnnotation annotation : directiveAnnotations.annotations) {
+				final Position position = annotation.getPosition();
+				final int start = position.getOffset();
+				final int end = start + position.getLength();
+				if (start >= oldEnd) {
+					annotation.updateOffset(delta);
+				} else if (end > offset) {
+					final int newStart = Math.min(start, offset);
+					final int newEnd = (end > oldEnd) ? end + delta : Math.min(end, offset);
+					position.setOffset(newStart);
+					position.setLength(Math.max(0, newEnd - newStart));
+					resizedAnnotations.add(annotation);
+				}
+			}
+		}
+		return resizedAnnotations;
+	}
+
+	/**
+	 * This method is called, when the document is changed.
+	 *
+	 * Only the directives that overlap the changed lines are parsed again. If their structure is still the same, their lines are updated, the
+	 * directives behind the changed lines are moved, and only the annotations of the overlapping directives are created again. Annotations that
+	 * did not change are kept, so the fired event contains only added, removed, and resized annotations.
+	 *
+	 * @param event the document event
+	 * @return false if the changed lines contain a new, removed, or modified directive
+	 */
+	private boolean updateChangedAnnotations(DocumentEvent event) {
+		final int lineDelta = document.getNumberOfLines() - docLines;
+
+		final List<FSTDirective> changedRoots = rootIndex.getOverlapping(changedStartLine, changedEndLine);
+		int firstLine = changedStartLine;
+		int lastLine = changedEndLine;
+		for (final FSTDirective root : changedRoots) {
+			firstLine = Math.min(firstLine, root.getStartLine());
+			lastLine = Math.max(lastLine, getLastLine(root));
+		}
+
+		// the leading empty line distinguishes unterminated directives (end line 0) from directives in the first line
+		final Vector<String> lines = getLines(firstLine, lastLine + lineDelta);
+		lines.add(0, "");
+		final List<FSTDirective> newRoots = composer.buildModelDirectivesForFile(lines);
+		if (!hasSameStructure(changedRoots, newRoots)) {
+			return false;
+		}
+
+		final List<DirectiveAnnotations> changedAnnotations = annotationIndex.getOverlapping(changedStartLine, changedEndLine);
+		for (final FSTDirective root : rootIndex.getElements()) {
+			if (root.getStartLine() > changedEndLine) {
+				shiftLines(root, lineDelta);
 			}
 		}
-		docLength = newLength;
+		final Iterator<FSTDirective> newRootIterator = newRoots.iterator();
+		for (final FSTDirective root : changedRoots) {
+			setLines(root, newRootIterator.next(), firstLine - 1);
+		}
+		annotationIndex.update();
+		rootIndex.update();
 
+		final AnnotationModelEvent modelEvent = new AnnotationModelEvent(this);
+		final List<ColorAnnotation> resizedAnnotations = shiftAnnotations(event);
+		final Map<String, LinkedList<ColorAnnotation>> oldAnnotations = getAnnotationMap(changedAnnotations);
+		for (final DirectiveAnnotations directiveAnnotations : changedAnnotations) {
+			directiveAnnotations.annotations = reuseAnnotations(oldAnnotations, createAnnotations(directiveAnnotations.directive), modelEvent);
+		}
+		for (final ColorAnnotation annotation : resizedAnnotations) {
+			final LinkedList<ColorAnnotation> removedAnnotations = oldAnnotations.get(getKey(annotation));
+			if ((removedAnnotations == null) || !removedAnnotations.contains(annotation)) {
+				modelEvent.annotationChanged(annotation);
+			}
+		}
+		removeAnnotations(oldAnnotations, modelEvent);
 		fireModelChanged(modelEvent);
+		return true;
+	}
+
+	/**
+	 * Compares the commands, feature names, and children of the current directives with the parsed ones.
+	 *
+	 * @param directives the current directives
+	 * @param newDirectives the parsed directives
+	 * @return true if the lines of the current directives can be taken from the parsed ones
+	 */
+	private static boolean hasSameStructure(List<FSTDirective> directives, List<FSTDirective> newDirectives) {
+		if (directives.size() != newDirectives.size()) {
+			return false;
+		}
+		final Iterator<FSTDirective> newDirectiveIterator = newDirectives.iterator();
+		for (final FSTDirective directive : directives) {
+			final FSTDirective newDirective = newDirectiveIterator.next();
+			if ((directive.getCommand() != newDirective.getCommand()) || !Objects.equals(directive.getFeatureNames(), newDirective.getFeatureNames())
+				|| (newDirective.getCommand() == null) || (newDirective.getEndLine() < newDirective.getStartLine())) {
+				return false;
+			}
+			switch (newDirective.getCommand()) {
+			case CONDITION:
+			case DEFINE:
+			case UNDEFINE:
+				// lines depend on the complete document
+				return false;
+			default:
+				break;
+			}
+			if (!hasSameStructure(directive.getChildrenList(), newDirective.getChildrenList())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void setLines(FSTDirective directive, FSTDirective newDirective, int lineOffset) {
+		directive.setStartLine(newDirective.getStartLine() + lineOffset, newDirective.getStartOffset());
+		directive.setEndLine(newDirective.getEndLine() + lineOffset, newDirective.getEndLength());
+		final Iterator<FSTDirective> newChildIterator = newDirective.getChildrenList().iterator();
+		for (final FSTDirective child : directive.getChildrenList()) {
+			setLines(child, newChildIterator.next(), lineOffset);
+		}
+	}
+
+	private static void shiftLines(FSTDirective directive, int lineDelta) {
+		if (lineDelta != 0) {
+			directive.setStartLine(directive.getStartLine() + lineDelta, directive.getStartOffset());
+			directive.setEndLine(directive.getEndLine() + lineDelta, directive.getEndLength());
+			for (final FSTDirective child : directive.getChildrenList()) {
+				shiftLines(child, lineDelta);
+			}
+		}
 	}
 
 	/**
 	 * This method is called, when the document is saved or when the document and the number of lines are changed.
 	 *
-	 * It removes all annotations and creates new.
+	 * It creates all annotations again, but keeps the annotations that did not change.
 	 *
 	 * @param createNew true: builds new FSTModel false: only gets new FSTDirectives
 	 */
 	private void updateAnnotations(boolean createNew) {
-		if (!annotations.isEmpty()) {
-			clear();
-		}
-		if (createNew) {
-			annotatedPositions = new HashMap<Integer, Position>(docLines);
-			if (project.getComposer().getGenerationMechanism() == Mechanism.FEATURE_ORIENTED_PROGRAMMING) {
-				try {
-					createFOPAnnotations();
-				} catch (final BadLocationException e) {
-					CorePlugin.getDefault().logError(e);
-				}
-			} else {
-				createDirectiveList();
-				createAnnotations();
+		if (project.getComposer().getGenerationMechanism() == Mechanism.FEATURE_ORIENTED_PROGRAMMING) {
+			try {
+				createFOPAnnotations();
+			} catch (final BadLocationException e) {
+				CorePlugin.getDefault().logError(e);
 			}
+		} else if (createNew) {
+			createDirectiveList();
+			createAnnotations();
+		} else if (!directiveMap.isEmpty()) {
+			updateDirectives();
+			createAnnotations();
 		} else {
-			if (project.getComposer().getGenerationMechanism() == Mechanism.FEATURE_ORIENTED_PROGRAMMING) {
-				try {
-					createFOPAnnotations();
-				} catch (final BadLocationException e) {
-					CorePlugin.getDefault().logError(e);
-				}
-			} else {
-				if (!directiveMap.isEmpty()) {
-					annotatedPositions.clear();
-					updateDirectives();
-					createAnnotations();
-				}
-			}
+			setAnnotations(Collections.<DirectiveAnnotations> emptyList());
 		}
 	}
 
 	/**
-	 * Removes all annotations.
+	 * Replaces all annotations. Current annotations that equal a new one are kept.
+	 *
+	 * @param newAnnotations the new annotations of each directive
 	 */
-	private void clear() {
+	private void setAnnotations(List<DirectiveAnnotations> newAnnotations) {
 		final AnnotationModelEvent event = new AnnotationModelEvent(this);
-		for (final ColorAnnotation ca : annotations) {
-			event.annotationRemoved(ca, ca.getPosition());
+		final Map<String, LinkedList<ColorAnnotation>> oldAnnotations = getAnnotationMap(annotationIndex.getElements());
+
+		annotationIndex.clear();
+		for (final DirectiveAnnotations directiveAnnotations : newAnnotations) {
+			directiveAnnotations.annotations = reuseAnnotations(oldAnnotations, directiveAnnotations.annotations, event);
+			annotationIndex.add(directiveAnnotations);
 		}
-		annotations.clear();
+		annotationIndex.update();
+		removeAnnotations(oldAnnotations, event);
+
+		rootIndex.clear();
+		final Set<FSTDirective> roots = Collections.newSetFromMap(new IdentityHashMap<FSTDirective, Boolean>());
+		for (final DirectiveAnnotations directiveAnnotations : annotationIndex.getElements()) {
+			FSTDirective root = directiveAnnotations.directive;
+			while (root.getParent() != null) {
+				root = root.getParent();
+			}
+			if (roots.add(root)) {
+				rootIndex.add(root);
+			}
+		}
+		rootIndex.update();
 
 		fireModelChanged(event);
 	}
 
+	private static String getKey(ColorAnnotation annotation) {
+		return annotation.getType() + ':' + annotation.getPosition().getOffset() + ':' + annotation.getText();
+	}
+
+	private static Map<String, LinkedList<ColorAnnotation>> getAnnotationMap(List<DirectiveAnnotations> annotations) {
+		final Map<String, LinkedList<ColorAnnotation>> annotationMap = new HashMap<>();
+		for (final DirectiveAnnotations directiveAnnotations : annotations) {
+			for (final ColorAnnotation annotation : directiveAnnotations.annotations) {
+				annotationMap.computeIfAbsent(getKey(annotation), k -> new LinkedList<>()).add(annotation);
+			}
+		}
+		return annotationMap;
+	}
+
+	/**
+	 * Takes an equal annotation from the old annotations for every new annotation. Only the length of a taken annotation may differ.
+	 *
+	 * @param oldAnnotations the old annotations that are not taken yet
+	 * @param newAnnotations the new annotations
+	 * @param event collects the added and changed annotations
+	 * @return the annotations to use
+	 */
+	private static List<ColorAnnotation> reuseAnnotations(Map<String, LinkedList<ColorAnnotation>> oldAnnotations, List<ColorAnnotation> newAnnotations,
+			AnnotationModelEvent event) {
+		final List<ColorAnnotation> annotations = new ArrayList<>(newAnnotations.size());
+		for (final ColorAnnotation newAnnotation : newAnnotations) {
+			final LinkedList<ColorAnnotation> equalAnnotations = oldAnnotations.get(getKey(newAnnotation));
+			if ((equalAnnotations != null) && !equalAnnotations.isEmpty()) {
+				final ColorAnnotation oldAnnotation = equalAnnotations.removeFirst();
+				final int newLength = newAnnotation.getPosition().getLength();
+				if (oldAnnotation.getPosition().getLength() != newLength) {
+					oldAnnotation.getPosition().setLength(newLength);
+					event.annotationChanged(oldAnnotation);
+				}
+				annotations.add(oldAnnotation);
+			} else {
+				annotations.add(newAnnotation);
+				event.annotationAdded(newAnnotation);
+			}
+		}
+		return annotations;
+	}
+
+	private static void removeAnnotations(Map<String, LinkedList<ColorAnnotation>> oldAnnotations, AnnotationModelEvent event) {
+		for (final LinkedList<ColorAnnotation> annotations : oldAnnotations.values()) {
+			for (final ColorAnnotation annotation : annotations) {
+				event.annotationRemoved(annotation, annotation.getPosition());
+			}
+		}
+	}
+
 	/**
 	 * Builds the FSTModel of the feature project and creates a list of all directives with valid colors
 	 *
@@ -384,9 +588,20 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	 * Retrieves the FSTDirectives from the changed document.
 	 */
 	private LinkedList<FSTDirective> getNewDirectives() {
-		final Vector<String> lines = new Vector<String>();
+		return composer.buildModelDirectivesForFile(getLines(0, document.getNumberOfLines() - 1));
+	}
 
-		for (int i = 0; i < document.getNumberOfLines(); i++) {
+	/**
+	 * Retrieves the given lines from the document.
+	 *
+	 * @param fromLine the first line
+	 * @param toLine the last line
+	 * @return the lines including their delimiters
+	 */
+	private Vector<String> getLines(int fromLine, int toLine) {
+		final Vector<String> lines = new Vector<String>(Math.max(0, (toLine - fromLine) + 1));
+
+		for (int i = fromLine; i <= toLine; i++) {
 			try {
 				lines.add(document.get(document.getLineOffset(i), document.getLineLength(i)));
 			} catch (final BadLocationException e) {
@@ -394,14 +609,14 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			}
 		}
 
-		return composer.buildModelDirectivesForFile(lines);
+		return lines;
 	}
 
 	/**
 	 * Creates Annotations for FOP
 	 */
 	private void createFOPAnnotations() throws BadLocationException {
-		final AnnotationModelEvent event = new AnnotationModelEvent(this);
+		final List<DirectiveAnnotations> newAnnotations = new ArrayList<>();
 		FSTModel model = project.getFSTModel();
 
 		if (model == null) {
@@ -409,10 +624,10 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			model = project.getFSTModel();
 		}
 		if (model == null) {
+			setAnnotations(newAnnotations);
 			return;
 		}
 
-		clear();
 		directiveMap.clear();
 		validDirectiveList.clear();
 
@@ -420,23 +635,22 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			if (isInBuildFolder((IFolder) file.getParent())) {
 				/* annotations for generated files */
 				final FSTClass clazz = model.getClass(model.getAbsoluteClassName(file));
-				if (clazz == null) {
-					return;
-				}
-				if (!clazz.hasComposedLines) {
-					clazz.hasComposedLines = true;
-					composer.postCompile(null, file);
-				}
-				for (final FSTFeature fstFeature : model.getFeatures()) {
-					final FSTRole role = clazz.getRole(fstFeature.getName());
-					if (role == null) {
-						continue;
-					}
-					for (final FSTMethod m : role.getAllMethods()) {
-						createFOPComposedAnnotations(event, fstFeature, m);
+				if (clazz != null) {
+					if (!clazz.hasComposedLines) {
+						clazz.hasComposedLines = true;
+						composer.postCompile(null, file);
 					}
-					for (final FSTField f : role.getAllFields()) {
-						createFOPComposedAnnotations(event, fstFeature, f);
+					for (final FSTFeature fstFeature : model.getFeatures()) {
+						final FSTRole role = clazz.getRole(fstFeature.getName());
+						if (role == null) {
+							continue;
+						}
+						for (final FSTMethod m : role.getAllMethods()) {
+							createFOPComposedAnnotations(newAnnotations, fstFeature, m);
+						}
+						for (final FSTField f : role.getAllFields()) {
+							createFOPComposedAnnotations(newAnnotations, fstFeature, f);
+						}
 					}
 				}
 			} else {
@@ -453,6 +667,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 				if (featureName != null) {
 					final FSTFeature fstFeature = model.getFeature(featureName);
 					if (fstFeature != null) {
+						final List<ColorAnnotation> annotations = new ArrayList<>(document.getNumberOfLines());
 						// bar at the left of the editor
 						final int color = fstFeature.getColor();
 						for (int line = 0; line < document.getNumberOfLines(); line++) {
@@ -460,23 +675,25 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 							final ColorAnnotation cafh = new ColorAnnotation(color, position, ColorAnnotation.TYPE_IMAGE);
 							cafh.setText(fstFeature.getName());
 							annotations.add(cafh);
-							event.annotationAdded(cafh);
 						}
+						newAnnotations.add(new DirectiveAnnotations(div, annotations));
 					}
 				}
 			}
 		}
+		setAnnotations(newAnnotations);
 	}
 
 	/**
 	 * Creates Annotations for FOP Composed File
 	 *
-	 * @param event
+	 * @param newAnnotations
 	 * @param fstFeature
 	 * @param m
 	 * @throws BadLocationException
 	 */
-	private void createFOPComposedAnnotations(AnnotationModelEvent event, FSTFeature fstFeature, RoleElement<?> m) throws BadLocationException {
+	private void createFOPComposedAnnotations(List<DirectiveAnnotations> newAnnotations, FSTFeature fstFeature, RoleElement<?> m)
+			throws BadLocationException {
 		if (m.getComposedLine() <= 0) {
 			return;
 		}
@@ -493,6 +710,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		directiveMap.put(directiveMap.size(), div);
 		validDirectiveList.add(div);
 
+		final List<ColorAnnotation> annotations = new ArrayList<>();
 		for (int line = startline; line <= endline; line++) {
 			length += document.getLineLength(line);
 			// bar at the left of the editor
@@ -501,22 +719,21 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			final ColorAnnotation cafh = new ColorAnnotation(m.getRole().getFeature().getColor(), methodposition, ColorAnnotation.TYPE_IMAGE);
 			cafh.setText(m.getRole().getFeature().getName());
 			annotations.add(cafh);
-			event.annotationAdded(cafh);
 		}
 
-		final Position methodposition = new Position(lineOffset, length);
 		// bar at the right of the editor
-		final ColorAnnotation cafho = new ColorAnnotation(m.getRole().getFeature().getColor(), methodposition, ColorAnnotation.TYPE_OVERVIEW);
+		final ColorAnnotation cafho =
+			new ColorAnnotation(m.getRole().getFeature().getColor(), new Position(lineOffset, length), ColorAnnotation.TYPE_OVERVIEW);
 		cafho.setText(m.getRole().getFeature().getName());
 		annotations.add(cafho);
-		event.annotationAdded(cafho);
 		if (highlighting) {
 			// background colors
-			final ColorAnnotation cafhh = new ColorAnnotation(m.getRole().getFeature().getColor(), methodposition, ColorAnnotation.TYPE_HIGHLIGHT);
+			final ColorAnnotation cafhh =
+				new ColorAnnotation(m.getRole().getFeature().getColor(), new Position(lineOffset, length), ColorAnnotation.TYPE_HIGHLIGHT);
 			cafhh.setText(fstFeature.getName());
 			annotations.add(cafhh);
-			event.annotationAdded(cafhh);
 		}
+		newAnnotations.add(new DirectiveAnnotations(div, annotations));
 	}
 
 	/**
@@ -557,101 +774,105 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	 * Creates the color annotations from the FSTDirectives.
 	 */
 	private void createAnnotations() {
-		final AnnotationModelEvent event = new AnnotationModelEvent(this);
-
+		final List<DirectiveAnnotations> newAnnotations = new ArrayList<>(validDirectiveList.size());
 		for (final FSTDirective directive : validDirectiveList) {
-			if (directive == null) {
-				continue;
+			if (directive != null) {
+				newAnnotations.add(new DirectiveAnnotations(directive, createAnnotations(directive)));
 			}
-			try {
-				final int startline = directive.getStartLine();
-				final int endline = getLastChildLine(directive, directive.getEndLine());
-				final int color = directive.getColor();
-				int overViewStartOffset = document.getLineOffset(startline);
-				int overViewLength = 0;
-				for (int line = startline; line <= endline; line++) {
-					int length = document.getLineLength(line);
-					if ((line < endline) || (directive.getEndLength() > 0)) {
-						int lineOffset = document.getLineOffset(line);
-
-						if (line == directive.getEndLine()) {
-							length = directive.getEndLength();
-						}
-						if (line == startline) {
-							lineOffset += directive.getStartOffset();
-							length -= directive.getStartOffset();
-						}
+		}
+		setAnnotations(newAnnotations);
+	}
 
-						if (hasChildAtLine(directive, line)) {
-							length = 1;
-						}
+	/**
+	 * Creates the color annotations of a single FSTDirective.
+	 *
+	 * @param directive the directive
+	 * @return the annotations of the directive
+	 */
+	private List<ColorAnnotation> createAnnotations(FSTDirective directive) {
+		final List<ColorAnnotation> annotations = new ArrayList<>();
+		try {
+			final int startline = directive.getStartLine();
+			final int endline = getLastChildLine(directive, directive.getEndLine());
+			final int color = directive.getColor();
+			int overViewStartOffset = document.getLineOffset(startline);
+			int overViewLength = 0;
+			for (int line = startline; line <= endline; line++) {
+				int length = document.getLineLength(line);
+				if ((line < endline) || (directive.getEndLength() > 0)) {
+					int lineOffset = document.getLineOffset(line);
+
+					if (line == directive.getEndLine()) {
+						length = directive.getEndLength();
+					}
+					if (line == startline) {
+						lineOffset += directive.getStartOffset();
+						length -= directive.getStartOffset();
+					}
 
-						if ((overViewStartOffset != -1) && hasChildAtLineWithColor(directive, line)) {
-							final Position overViewPos = new Position(overViewStartOffset, overViewLength);
-							createOverViewRuler(event, directive, color, overViewPos);
-							overViewStartOffset = -1;
-							overViewLength = 0;
-						} else if (!hasChildAtLineWithColor(directive, line)) {
-							if (overViewStartOffset == -1) {
-								overViewStartOffset = document.getLineOffset(line);
-							}
-							overViewLength += document.getLineLength(line);
-						}
+					if (hasChildAtLine(directive, line)) {
+						length = 1;
+					}
 
-						FSTDirective parent = directive.getParent();
-						while (parent != null) {
-							lineOffset++;
-							if (length > 1) {
-								length--;
-							}
-							parent = parent.getParent();
+					if ((overViewStartOffset != -1) && hasChildAtLineWithColor(directive, line)) {
+						final Position overViewPos = new Position(overViewStartOffset, overViewLength);
+						createOverViewRuler(annotations, directive, color, overViewPos);
+						overViewStartOffset = -1;
+						overViewLength = 0;
+					} else if (!hasChildAtLineWithColor(directive, line)) {
+						if (overViewStartOffset == -1) {
+							overViewStartOffset = document.getLineOffset(line);
 						}
-						final Position newPos = new Position(lineOffset, length);
-
-						if (!hasChildAtLine(directive, line)) {
-							// bar at the left of the editor
-							final ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_IMAGE);
-							ca.setText(directive.toString());
-							annotations.add(ca);
-							event.annotationAdded(ca);
-						}
-						if (!hasChildAtLine(directive, line)) {
-							// bar at the right of the editor
+						overViewLength += document.getLineLength(line);
+					}
 
+					FSTDirective parent = directive.getParent();
+					while (parent != null) {
+						lineOffset++;
+						if (length > 1) {
+							length--;
 						}
-						if (highlighting) {
-							// background colors
-							final ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_HIGHLIGHT);
-							ca.setText(directive.toDependencyString());
-							annotations.add(ca);
-							event.annotationAdded(ca);
-						}
+						parent = parent.getParent();
 					}
+					final Position newPos = new Position(lineOffset, length);
 
+					if (!hasChildAtLine(directive, line)) {
+						// bar at the left of the editor
+						final ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_IMAGE);
+						ca.setText(directive.toString());
+						annotations.add(ca);
+					}
+					if (!hasChildAtLine(directive, line)) {
+						// bar at the right of the editor
+
+					}
+					if (highlighting) {
+						// background colors
+						final ColorAnnotation ca = new ColorAnnotation(color, new Position(lineOffset, length), ColorAnnotation.TYPE_HIGHLIGHT);
+						ca.setText(directive.toDependencyString());
+						annotations.add(ca);
+					}
 				}
-				if (overViewStartOffset != -1) {
-					final Position overViewPos = new Position(overViewStartOffset, overViewLength);
-					createOverViewRuler(event, directive, color, overViewPos);
-					overViewStartOffset = -1;
-					overViewLength = 0;
-				}
-			} catch (final BadLocationException e) {
-				UIPlugin.getDefault().logError(e);
+
+			}
+			if (overViewStartOffset != -1) {
+				final Position overViewPos = new Position(overViewStartOffset, overViewLength);
+				createOverViewRuler(annotations, directive, color, overViewPos);
 			}
+		} catch (final BadLocationException e) {
+			UIPlugin.getDefault().logError(e);
 		}
-
-		fireModelChanged(event);
+		return annotations;
 	}
 
 	/**
 	 * Creates a new overview ruler annotation.
 	 *
 	 */
-	private void createOverViewRuler(AnnotationModelEvent event, FSTDirective directive, final int color, Position newPos) {
+	private void createOverViewRuler(List<ColorAnnotation> annotations, FSTDirective directive, final int color, Position newPos) {
 		final ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_OVERVIEW);
 		ca.setText(directive.toString());
 		annotations.add(ca);
-		event.annotationAdded(ca);
 	}
 
 	/**
@@ -692,7 +913,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		return false;
 	}
 
-	private int getLastChildLine(FSTDirective directive, int lastLine) {
+	private static int getLastChildLine(FSTDirective directive, int lastLine) {
 		for (final FSTDirective child : directive.getChildren()) {
 			int childEnd = child.getEndLine();
 			if (child.getEndLength() > 0) {
@@ -704,6 +925,17 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		return lastLine;
 	}
 
+	/**
+	 * Returns the last line of the given directive and all its children.
+	 */
+	private static int getLastLine(FSTDirective directive) {
+		int lastLine = directive.getEndLine();
+		for (final FSTDirective child : directive.getChildren()) {
+			lastLine = Math.max(getLastLine(child), lastLine);
+		}
+		return lastLine;
+	}
+
 	private void fireModelChanged(AnnotationModelEvent event) {
 		event.markSealed();
 		if (!event.isEmpty()) {
@@ -735,11 +967,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		if (this.document != document) {
 			throw new RuntimeException(CANT_CONNECT_TO_DIFFERENT_DOCUMENT_);
 		}
-		for (final ColorAnnotation ca : annotations) {
-			try {
-				document.addPosition(ca.getPosition());
-			} catch (final BadLocationException ex) {}
-		}
+		// the positions are not added to the document, they are moved by the document listener
 		if (openConnections++ == 0) {
 			document.addDocumentListener(documentListener);
 		}
@@ -750,9 +978,6 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		if (this.document != document) {
 			throw new RuntimeException(CANT_DISCONNECT_FROM_DIFFERENT_DOCUMENT_);
 		}
-		for (final ColorAnnotation ca : annotations) {
-			document.removePosition(ca.getPosition());
-		}
 		if (--openConnections == 0) {
 			document.removeDocumentListener(documentListener);
 		}
@@ -778,7 +1003,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	public Iterator getAnnotationIterator() {
-		return annotations.iterator();
+		return annotationIndex.getElements().stream().flatMap(directiveAnnotations -> directiveAnnotations.annotations.stream()).iterator();
 	}
 
 	@Override
@@ -789,4 +1014,18 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			return null;
 		}
 	}
+
+	/**
+	 * The color annotations created for a single directive.
+	 */
+	private static final class DirectiveAnnotations {
+
+		private final FSTDirective directive;
+		private List<ColorAnnotation> annotations;
+
+		public DirectiveAnnotations(FSTDirective directive, List<ColorAnnotation> annotations) {
+			this.directive = directive;
+			this.annotations = annotations;
+		}
+	}
 }
@@ -0,0 +1,128 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.editors.annotation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index of elements that cover an interval of lines in a document.<br> The elements are ordered by their first line and each position stores the
+ * maximum last line of all elements up to this position. Thus, a query only visits the elements that start before the end of the requested interval
+ * until no preceding element can reach into the interval anymore.<br> Changes of the lines of the elements require a call of {@link #update()}.
+ *
+ * @param <T> type of the elements
+ */
+final class LineIntervalIndex<T> {
+
+	private final ToIntFunction<T> firstLineFunction;
+	private final ToIntFunction<T> lastLineFunction;
+
+	private final ArrayList<T> elements = new ArrayList<>();
+
+	private int[] firstLines = new int[0];
+	private int[] lastLines = new int[0];
+	private int[] maxLastLines = new int[0];
+
+	/**
+	 * @param firstLineFunction returns the first line covered by an element
+	 * @param lastLineFunction returns the last line covered by an element
+	 */
+	LineIntervalIndex(ToIntFunction<T> firstLineFunction, ToIntFunction<T> lastLineFunction) {
+		this.firstLineFunction = firstLineFunction;
+		this.lastLineFunction = lastLineFunction;
+	}
+
+	/**
+	 * Adds an element. The element is not visible to {@link #getOverlapping(int, int)} before the next call of {@link #update()}.
+	 */
+	void add(T element) {
+		elements.add(element);
+	}
+
+	void clear() {
+		elements.clear();
+		update();
+	}
+
+	boolean isEmpty() {
+		return elements.isEmpty();
+	}
+
+	/**
+	 * @return all elements ordered by their first line
+	 */
+	List<T> getElements() {
+		return Collections.unmodifiableList(elements);
+	}
+
+	/**
+	 * Sorts the elements and recomputes the stored intervals.
+	 */
+	void update() {
+		elements.sort(Comparator.comparingInt(firstLineFunction));
+		final int size = elements.size();
+		if (firstLines.length != size) {
+			firstLines = new int[size];
+			lastLines = new int[size];
+			maxLastLines = new int[size];
+		}
+		int maxLastLine = Integer.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			final T element = elements.get(i);
+			firstLines[i] = firstLineFunction.applyAsInt(element);
+			lastLines[i] = lastLineFunction.applyAsInt(element);
+			maxLastLine = Math.max(maxLastLine, lastLines[i]);
+			maxLastLines[i] = maxLastLine;
+		}
+	}
+
+	/**
+	 * Returns all elements that cover at least one line of the given interval.
+	 *
+	 * @param fromLine first line of the interval
+	 * @param toLine last line of the interval
+	 * @return the overlapping elements ordered by their first line
+	 */
+	List<T> getOverlapping(int fromLine, int toLine) {
+		int low = 0;
+		int high = firstLines.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (firstLines[middle] <= toLine) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		final List<T> overlapping = new ArrayList<>();
+		for (int i = low - 1; (i >= 0) && (maxLastLines[i] >= fromLine); i--) {
+			if (lastLines[i] >= fromLine) {
+				overlapping.add(elements.get(i));
+			}
+		}
+		Collections.reverse(overlapping);
+		return overlapping;
+	}
+
+}
@@ -0,0 +1,127 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.featurehouse.FujiResultCache.Inputs;
+import de.ovgu.featureide.featurehouse.FujiResultCache.Problem;
+
+/**
+ * Tests when the {@link FujiResultCache} returns the problems of the last Fuji run.
+ */
+public class TFujiResultCache {
+
+	private static final String FEATURE_MODEL = "Root & (Root => Base)";
+	private static final String CLASS_PATH = "lib.jar";
+
+	private Path sourceFolder;
+	private Path base;
+	private Path extension;
+
+	@Before
+	public void createFeatureModules() throws IOException {
+		sourceFolder = Files.createTempDirectory("features");
+		base = Files.createDirectories(sourceFolder.resolve("Base"));
+		extension = Files.createDirectories(sourceFolder.resolve("Extension"));
+		write(base.resolve("Main.java"), "class Main {}");
+		write(extension.resolve("Main.java"), "class Main { int x; }");
+		write(extension.resolve("notes.txt"), "not compiled");
+	}
+
+	@After
+	public void deleteFeatureModules() throws IOException {
+		for (final Path path : new Path[] { base.resolve("Main.java"), base.resolve("Other.java"), extension.resolve("Main.java"),
+			extension.resolve("notes.txt"), base, extension, sourceFolder }) {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testHit() throws IOException {
+		final FujiResultCache cache = new FujiResultCache();
+		final List<Problem> problems = Collections.singletonList(new Problem(1, "error", base.resolve("Main.java").toString(), 2));
+		assertNull(cache.get(getInputs()));
+
+		cache.put(getInputs(), problems);
+		assertEquals(problems.get(0).getMessage(), cache.get(getInputs()).get(0).getMessage());
+		assertEquals(1, cache.get(getInputs()).size());
+
+		// files that are not compiled by Fuji do not matter
+		write(extension.resolve("notes.txt"), "changed");
+		assertEquals(1, cache.get(getInputs()).size());
+	}
+
+	@Test
+	public void testMiss() throws IOException {
+		final FujiResultCache cache = new FujiResultCache();
+		cache.put(getInputs(), Collections.<Problem> emptyList());
+
+		assertNull(cache.get(FujiResultCache.getInputs(FEATURE_MODEL + " & Extension", CLASS_PATH, Arrays.asList(base, extension))));
+		assertNull(cache.get(FujiResultCache.getInputs(FEATURE_MODEL, "other.jar", Arrays.asList(base, extension))));
+		assertNull(cache.get(FujiResultCache.getInputs(FEATURE_MODEL, CLASS_PATH, Arrays.asList(extension, base))));
+		assertNull(cache.get(FujiResultCache.getInputs(FEATURE_MODEL, CLASS_PATH, Arrays.asList(base))));
+		assertNull(cache.get(null));
+
+		write(extension.resolve("Main.java"), "class Main { int y; }");
+		assertNull(cache.get(getInputs()));
+		cache.put(getInputs(), Collections.<Problem> emptyList());
+
+		write(base.resolve("Other.java"), "class Other {}");
+		assertNull(cache.get(getInputs()));
+		cache.put(getInputs(), Collections.<Problem> emptyList());
+
+		Files.delete(base.resolve("Other.java"));
+		assertNull(cache.get(getInputs()));
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		final FujiResultCache cache = new FujiResultCache();
+		cache.put(getInputs(), Collections.<Problem> emptyList());
+		assertEquals(0, cache.get(getInputs()).size());
+
+		cache.invalidate();
+		assertNull(cache.get(getInputs()));
+	}
+
+	private Inputs getInputs() throws IOException {
+		return FujiResultCache.getInputs(FEATURE_MODEL, CLASS_PATH, Arrays.asList(base, extension));
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
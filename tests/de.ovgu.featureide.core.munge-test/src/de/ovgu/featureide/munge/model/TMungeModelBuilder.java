@@ -0,0 +1,82 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.munge.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FeatureNameScanner;
+
+/**
+ * Tests the feature occurrences found with {@link MungeModelBuilder#isEndTagOccurrence(String, int, int)} against
+ * {@code text.contains("end[" + feature + "]")}.
+ */
+public class TMungeModelBuilder {
+
+	private static final List<String> FEATURES = Arrays.asList("A", "AB", "Base", "BaseExt", "Ext", "X_1", "Hello", "World");
+	private static final String[] TOKENS = { "/*", "*/", "if[", "if_not[", "else[", "end[", "end", "[", "]", " ", "\n", "x", ".", "int", "=", "//" };
+
+	@Test
+	public void testTags() {
+		assertContainedFeatures("/*if[Base]*/\nint x;\n/*end[Base]*/\n");
+		assertContainedFeatures("/*if_not[AB]*/ /*else[AB]*/ /*end[AB]*/");
+		assertContainedFeatures("/*end[BaseExt]*/ /*end[Ext ]*/ /*end[ A]*/");
+		assertContainedFeatures("end[A]");
+		assertContainedFeatures("nd[A]");
+		assertContainedFeatures("end[A");
+		assertContainedFeatures("int Hello = 1; // end World]\n");
+	}
+
+	@Test
+	public void testRandomTexts() {
+		final Random random = new Random(42);
+		final List<String> tokens = new ArrayList<>(Arrays.asList(TOKENS));
+		tokens.addAll(FEATURES);
+		for (int i = 0; i < 2000; i++) {
+			final StringBuilder text = new StringBuilder();
+			final int length = random.nextInt(40);
+			for (int j = 0; j < length; j++) {
+				text.append(tokens.get(random.nextInt(tokens.size())));
+			}
+			assertContainedFeatures(text.toString());
+		}
+	}
+
+	private static void assertContainedFeatures(String text) {
+		final Set<String> expected = new LinkedHashSet<>();
+		for (final String feature : FEATURES) {
+			if (text.contains("end[" + feature + "]")) {
+				expected.add(feature);
+			}
+		}
+		final Set<String> actual = new FeatureNameScanner(FEATURES).getContainedFeatures(text, MungeModelBuilder::isEndTagOccurrence);
+		assertEquals(text, expected, actual);
+	}
+
+}
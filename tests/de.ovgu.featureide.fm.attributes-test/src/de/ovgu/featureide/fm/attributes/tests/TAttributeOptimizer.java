@@ -0,0 +1,104 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.attributes.FMAttributesLibrary;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer.OptimalConfiguration;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+public class TAttributeOptimizer {
+
+	@Before
+	public void prepareWorkbench() {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+		LibraryManager.registerLibrary(FMAttributesLibrary.getInstance());
+	}
+
+	@Test
+	public void testMinimumLongWithPartialConfiguration() {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.getSandwitchModel());
+		final Configuration config = new Configuration(formula);
+		config.setManual("Full Grain ", Selection.SELECTED);
+
+		final AttributeOptimizer optimizer = new AttributeOptimizer(formula, "Calories", false);
+		optimizer.setAssumptions(config);
+		final List<OptimalConfiguration> result = LongRunningWrapper.runMethod(optimizer);
+
+		assertEquals(1, result.size());
+		assertTrue(result.get(0).isOptimal());
+		assertEquals(203, result.get(0).getValue(), 0);
+	}
+
+	@Test
+	public void testMaximumLongWithPartialConfiguration() {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.getSandwitchModel());
+		final Configuration config = new Configuration(formula);
+		config.setManual("Full Grain ", Selection.SELECTED);
+
+		final AttributeOptimizer optimizer = new AttributeOptimizer(formula, "Calories", true);
+		optimizer.setAssumptions(config);
+		final List<OptimalConfiguration> result = LongRunningWrapper.runMethod(optimizer);
+
+		assertEquals(1, result.size());
+		assertTrue(result.get(0).isOptimal());
+		assertEquals(679, result.get(0).getValue(), 0);
+	}
+
+	@Test
+	public void testMinimumDouble() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		final AttributeOptimizer optimizer = new AttributeOptimizer(new FeatureModelFormula(model), "Price", false);
+		final List<OptimalConfiguration> result = LongRunningWrapper.runMethod(optimizer);
+
+		assertEquals(1, result.size());
+		assertEquals(1.79, result.get(0).getValue(), 0.0001);
+	}
+
+	@Test
+	public void testTopK() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		final AttributeOptimizer optimizer = new AttributeOptimizer(new FeatureModelFormula(model), "Calories", false);
+		optimizer.setLimit(3);
+		final List<OptimalConfiguration> result = LongRunningWrapper.runMethod(optimizer);
+
+		assertEquals(3, result.size());
+		assertEquals(50, result.get(0).getValue(), 0);
+		assertEquals(52, result.get(1).getValue(), 0);
+		assertEquals(52, result.get(2).getValue(), 0);
+		assertTrue(!result.get(1).getConfiguration().equals(result.get(2).getConfiguration()));
+	}
+
+}
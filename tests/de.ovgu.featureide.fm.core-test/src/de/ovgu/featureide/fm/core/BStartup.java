@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.base.impl.ConfigurationFactoryManager;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.cli.CLIFunctionManager;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * This is a benchmark for the start-up time of the stand-alone library. Each run starts a new JVM and measures the time from entering {@code main} to the
+ * first analysis result (i.e., the core features of a feature model). The measured times are printed to the console. The test cases do not analyze the
+ * validity of the results.<br> The benchmark requires that the library and the test classes are on the class path of the current JVM (i.e., a plain JUnit
+ * launch).
+ */
+public class BStartup {
+
+	private static final int ITERATIONS = 10;
+
+	private static final String[] FILES = { "10-100.xml", "berkeley_db_model.xml" };
+
+	private static final String EAGER = "eager";
+	private static final String LAZY = "lazy";
+
+	/**
+	 * Entry point of the started JVMs. Prints the time from JVM start to {@code main} and from {@code main} to the first analysis result in milliseconds.
+	 *
+	 * @param args the mode ({@value #EAGER} or {@value #LAZY}) and the path to the feature model
+	 */
+	public static void main(String[] args) {
+		final long start = System.nanoTime();
+		final long jvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+		if (EAGER.equals(args[0])) {
+			// Instantiates all extensions up front, as it was done before the lazy registration
+			FMFactoryManager.getInstance().getDefaultFactoryWorkspace();
+			FMFormatManager.getInstance().getExtensions();
+			ConfigurationFactoryManager.getInstance().getDefaultFactoryWorkspace();
+			ConfigFormatManager.getInstance().getExtensions();
+			CLIFunctionManager.getInstance().getExtensions();
+		}
+		final IFeatureModel featureModel = FeatureModelManager.load(Paths.get(args[1]));
+		new FeatureModelFormula(featureModel).getAnalyzer().getCoreFeatures(null);
+
+		System.out.println(jvmStart + " " + ((System.nanoTime() - start) / 1000000.0));
+	}
+
+	@Test(timeout = 600000)
+	public final void BStartupLazy() throws IOException, InterruptedException {
+		for (final String file : FILES) {
+			benchmark(LAZY, file);
+		}
+	}
+
+	@Test(timeout = 600000)
+	public final void BStartupEager() throws IOException, InterruptedException {
+		for (final String file : FILES) {
+			benchmark(EAGER, file);
+		}
+	}
+
+	private static void benchmark(String mode, String file) throws IOException, InterruptedException {
+		final String path = new File(Commons.getRemoteOrLocalFolder("benchmarkFeatureModels"), file).getAbsolutePath();
+		// Warm up file system caches
+		run(mode, path);
+
+		double jvmTime = 0;
+		double mainTime = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			final String[] times = run(mode, path).split(" ");
+			jvmTime += Double.parseDouble(times[0]);
+			mainTime += Double.parseDouble(times[1]);
+		}
+		System.out.println(String.format("startup %s %s: JVM to main %.3f ms, main to first result %.3f ms", mode, file, jvmTime / ITERATIONS,
+				mainTime / ITERATIONS));
+	}
+
+	private static String run(String mode, String path) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(BStartup.class.getName());
+		command.add(mode);
+		command.add(path);
+
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String lastLine = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lastLine = line;
+			}
+		}
+		assertEquals(0, process.waitFor());
+		assertNotNull(lastLine);
+		return lastLine;
+	}
+
+}
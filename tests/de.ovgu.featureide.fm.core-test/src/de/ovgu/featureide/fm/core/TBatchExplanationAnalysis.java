@@ -0,0 +1,174 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties.ConstraintStatus;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusDeadFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link BatchExplanationAnalysis}.
+ */
+public class TBatchExplanationAnalysis {
+
+	@Test
+	public void testCar() {
+		testExplanations(Commons.loadTestFeatureModelFromFile("car.xml"), 1);
+		testExplanations(Commons.loadTestFeatureModelFromFile("car.xml"), 4);
+	}
+
+	@Test
+	public void testFalseOptional() {
+		testExplanations(Commons.loadTestFeatureModelFromFile("false_optional_test.xml"), 4);
+	}
+
+	@Test
+	public void testManyDeadFeatures() {
+		testExplanations(createModelWithDeadSubtree(), 1);
+		testExplanations(createModelWithDeadSubtree(), 4);
+	}
+
+	@Test
+	public void testMusCandidates() {
+		final IFeatureModel featureModel = createModelWithDeadSubtree();
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(featureModel);
+		analyzer.analyzeFeatureModel(null);
+
+		final Set<Integer> candidates = ConcurrentHashMap.newKeySet();
+		final MusDeadFeatureExplanationCreator creator = new MusDeadFeatureExplanationCreator();
+		creator.setFeatureModel(featureModel);
+		creator.setCandidateClauseIndexes(candidates);
+		final MusDeadFeatureExplanationCreator referenceCreator = new MusDeadFeatureExplanationCreator();
+		referenceCreator.setFeatureModel(featureModel);
+
+		for (final IFeature feature : analyzer.getDeadFeatures(null)) {
+			creator.setSubject(feature);
+			final DeadFeatureExplanation explanation = creator.getExplanation();
+			assertTrue(feature.getName(), isValid(explanation));
+			referenceCreator.setSubject(feature);
+			assertEquals(feature.getName(), referenceCreator.getExplanation().getReasonCount() > 0, explanation.getReasonCount() > 0);
+		}
+		assertFalse(candidates.isEmpty());
+	}
+
+	@Test
+	public void testExistingExplanationsAreKept() {
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(createModelWithDeadSubtree());
+		analyzer.analyzeFeatureModel(null);
+		final IFeature deadFeature = analyzer.getDeadFeatures(null).get(0);
+		final Explanation<?> explanation = analyzer.getFeatureExplanation(deadFeature, null);
+		final int anomalyCount = analyzer.computeExplanations(new NullMonitor<>());
+		assertTrue(anomalyCount > 0);
+		assertSame(explanation, analyzer.getFeatureExplanation(deadFeature, null));
+		assertEquals(0, analyzer.computeExplanations(null));
+	}
+
+	private static IFeatureModel createModelWithDeadSubtree() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		IFeature subtreeRoot = null;
+		for (final IFeature feature : FeatureUtils.getChildren(FeatureUtils.getRoot(featureModel))) {
+			if ((subtreeRoot == null) || (feature.getStructure().getChildrenCount() > subtreeRoot.getStructure().getChildrenCount())) {
+				subtreeRoot = feature;
+			}
+		}
+		final Node node = new Not(new Literal(subtreeRoot.getName()));
+		featureModel.addConstraint(DefaultFeatureModelFactory.getInstance().createConstraint(featureModel, node));
+		return featureModel;
+	}
+
+	private static void testExplanations(IFeatureModel featureModel, int workerCount) {
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(featureModel);
+		analyzer.analyzeFeatureModel(null);
+
+		final BatchExplanationAnalysis batch = new BatchExplanationAnalysis(analyzer);
+		batch.setWorkerCount(workerCount);
+		final int anomalyCount = batch.computeExplanations(new NullMonitor<>());
+
+		int expectedCount = 0;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final FeatureProperties properties = analyzer.getFeatureProperties(feature);
+			if (properties.hasStatus(FeatureStatus.DEAD)) {
+				expectedCount++;
+				checkExplanation(feature.getName(), properties.getDeadExplanation());
+			}
+			if (properties.hasStatus(FeatureStatus.FALSE_OPTIONAL)) {
+				expectedCount++;
+				checkExplanation(feature.getName(), properties.getFalseOptionalExplanation());
+				assertSame(feature.getName(), properties.getFalseOptionalExplanation(), analyzer.getFeatureExplanation(feature, null));
+			} else if (properties.hasStatus(FeatureStatus.DEAD)) {
+				assertSame(feature.getName(), properties.getDeadExplanation(), analyzer.getFeatureExplanation(feature, null));
+			}
+		}
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final ConstraintProperties properties = analyzer.getConstraintProperties(constraint);
+			if (properties.hasStatus(ConstraintStatus.REDUNDANT)) {
+				expectedCount++;
+				checkExplanation(constraint.getDisplayName(), properties.getRedundantExplanation());
+				assertSame(constraint.getDisplayName(), properties.getRedundantExplanation(), analyzer.getConstraintExplanation(constraint, null));
+			}
+		}
+		assertTrue(expectedCount > 0);
+		assertEquals(expectedCount, anomalyCount);
+	}
+
+	private static void checkExplanation(String name, Explanation<?> explanation) {
+		assertNotNull(name, explanation);
+		assertTrue(name, isValid(explanation));
+	}
+
+	private static boolean isValid(Explanation<?> explanation) {
+		final Node node = new And(explanation.toNode(), new Not(explanation.getImplication()));
+		try {
+			return !new SatSolver(node, 1000).hasSolution();
+		} catch (final TimeoutException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.configuration.XMLConfFormat;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Tests the lazy registration of extensions in {@link ExtensionManager}.
+ */
+public class TExtensionManager {
+
+	static {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+	}
+
+	private static class TestExtension implements IExtension {
+
+		private final String id;
+
+		public TestExtension(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public boolean initExtension() {
+			return true;
+		}
+
+	}
+
+	private static class TestExtensionManager extends ExtensionManager<TestExtension> {}
+
+	private static List<String> getIds(ExtensionManager<?> manager) {
+		final List<String> ids = new ArrayList<>();
+		for (final IExtension extension : manager.getExtensions()) {
+			ids.add(extension.getId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void testLazyLoading() {
+		final AtomicInteger calls = new AtomicInteger();
+		final TestExtensionManager manager = new TestExtensionManager();
+		manager.addLazyExtensions(m -> {
+			calls.incrementAndGet();
+			m.addExtension(new TestExtension("a"));
+			m.addExtension(new TestExtension("b"));
+		});
+		assertEquals(0, calls.get());
+
+		assertEquals(Arrays.asList("a", "b"), getIds(manager));
+		assertEquals(1, calls.get());
+		assertEquals(Arrays.asList("a", "b"), getIds(manager));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void testRegistrationOrder() throws ExtensionManager.NoSuchExtensionException {
+		final TestExtensionManager manager = new TestExtensionManager();
+		manager.addLazyExtensions(m -> m.addExtension(new TestExtension("a")));
+		manager.addExtension(new TestExtension("b"));
+		manager.addLazyExtensions(m -> {
+			m.addExtension(new TestExtension("a"));
+			m.addExtension(new TestExtension("c"));
+		});
+		assertEquals("c", manager.getExtension("c").getId());
+		assertEquals(Arrays.asList("a", "b", "c"), getIds(manager));
+	}
+
+	@Test
+	public void testServiceIndex() throws ExtensionManager.NoSuchExtensionException {
+		final List<IPersistentFormat<IFeatureModel>> formats = FMFormatManager.getInstance().getExtensions();
+		assertTrue(formats.size() >= 7);
+		assertTrue(formats.get(0) instanceof XmlFeatureModelFormat);
+		assertTrue(FMFormatManager.getInstance().getExtension(DIMACSFormat.ID) instanceof DIMACSFormat);
+		assertTrue(ConfigFormatManager.getInstance().getExtension(XMLConfFormat.ID) instanceof XMLConfFormat);
+	}
+
+}
@@ -0,0 +1,113 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+
+/**
+ * Tests for {@link FeatureModelAnalyzer#analyzeFeatureModel(FeatureModelAnalyzer, de.ovgu.featureide.fm.core.job.monitor.IMonitor)}.
+ */
+public class TIncrementalAnalysis {
+
+	private static final int EDITS = 20;
+
+	@Test
+	public void testCar() {
+		testRandomEdits("car.xml");
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		testRandomEdits("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		testRandomEdits("gpl_medium_model.xml");
+	}
+
+	@Test
+	public void testFalseOptional() {
+		testRandomEdits("false_optional_test.xml");
+	}
+
+	@Test
+	public void testStructureChange() {
+		IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		FeatureModelAnalyzer previousAnalyzer = analyze(featureModel, null);
+		for (final IFeature feature : featureModel.getFeatures()) {
+			if (!feature.getStructure().isRoot() && feature.getStructure().getParent().isAnd()) {
+				featureModel = featureModel.clone();
+				final IFeature clonedFeature = featureModel.getFeature(feature.getName());
+				clonedFeature.getStructure().setMandatory(!clonedFeature.getStructure().isMandatory());
+				previousAnalyzer = analyze(featureModel, previousAnalyzer);
+			}
+		}
+	}
+
+	private void testRandomEdits(String modelName) {
+		final Random random = new Random(42);
+		final IFeatureModelFactory factory = DefaultFeatureModelFactory.getInstance();
+		IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile(modelName);
+		FeatureModelAnalyzer previousAnalyzer = analyze(featureModel, null);
+		for (int i = 0; i < EDITS; i++) {
+			featureModel = featureModel.clone();
+			final int constraintCount = featureModel.getConstraintCount();
+			if ((constraintCount > 0) && random.nextBoolean()) {
+				featureModel.removeConstraint(random.nextInt(constraintCount));
+			} else {
+				final IFeature[] featureArray = featureModel.getFeatures().toArray(new IFeature[0]);
+				final IFeature feature1 = featureArray[random.nextInt(featureArray.length)];
+				final IFeature feature2 = featureArray[random.nextInt(featureArray.length)];
+				final Node node = new Implies(new Literal(feature1.getName()), new Literal(feature2.getName(), random.nextBoolean()));
+				featureModel.addConstraint(factory.createConstraint(featureModel, node), random.nextInt(constraintCount + 1));
+			}
+			previousAnalyzer = analyze(featureModel, previousAnalyzer);
+		}
+	}
+
+	private FeatureModelAnalyzer analyze(IFeatureModel featureModel, FeatureModelAnalyzer previousAnalyzer) {
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(formula);
+		analyzer.analyzeFeatureModel(previousAnalyzer, null);
+
+		final FeatureModelAnalyzer referenceAnalyzer = new FeatureModelAnalyzer(formula);
+		referenceAnalyzer.analyzeFeatureModel(null);
+		assertTrue(FeatureUtils.getRoot(featureModel).getName(), IncrementalAnalysis.hasEqualResults(analyzer, referenceAnalyzer));
+		return analyzer;
+	}
+
+}
@@ -0,0 +1,297 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.AtLeast;
+import org.prop4j.AtMost;
+import org.prop4j.Choose;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AtomicSetAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.CardinalityCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.RandomConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the encoding of cardinality constraints and the Tseitin transformation with auxiliary variables by the {@link AuxiliaryEncoder}.
+ */
+public class TAuxiliaryEncoder {
+
+	private static final int MAX_SIZE = 7;
+
+	private static Variables createVariables(int n) {
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= n; i++) {
+			names.add("x" + i);
+		}
+		return new Variables(names);
+	}
+
+	private static Node[] createLiterals(int n) {
+		final Node[] literals = new Node[n];
+		for (int i = 0; i < n; i++) {
+			literals[i] = new Literal("x" + (i + 1), (i % 3) != 1);
+		}
+		return literals;
+	}
+
+	/**
+	 * Checks for all assignments of the feature variables whether the encoded node is satisfiable exactly if the number of true literals is between the given
+	 * bounds.
+	 */
+	private static void checkEncoding(int n, Node node, int min, int max) {
+		final Variables variables = createVariables(n);
+		final AuxiliaryEncoder encoder = new AuxiliaryEncoder(variables);
+		final List<LiteralSet> clauses = new ArrayList<>();
+		encoder.encode(node, clauses);
+		final CNF cnf = new CNF(encoder.createVariables(), clauses);
+		final SimpleSatSolver solver = new SimpleSatSolver(cnf);
+
+		final Node[] children = node.getChildren();
+		for (int assignment = 0; assignment < (1 << n); assignment++) {
+			final int[] literals = new int[n];
+			int trueCount = 0;
+			for (int i = 0; i < n; i++) {
+				final boolean value = ((assignment >> i) & 1) != 0;
+				literals[i] = value ? (i + 1) : -(i + 1);
+				if (value == ((Literal) children[i]).positive) {
+					trueCount++;
+				}
+			}
+			final SatResult expected = (trueCount >= min) && (trueCount <= max) ? SatResult.TRUE : SatResult.FALSE;
+			assertEquals(node + " " + Arrays.toString(literals), expected, solver.hasSolution(literals));
+		}
+	}
+
+	@Test
+	public void testAtMost() {
+		for (int n = 1; n <= MAX_SIZE; n++) {
+			for (int k = 0; k <= (n + 1); k++) {
+				checkEncoding(n, new AtMost(k, createLiterals(n)), 0, k);
+			}
+		}
+	}
+
+	@Test
+	public void testAtLeast() {
+		for (int n = 1; n <= MAX_SIZE; n++) {
+			for (int k = 0; k <= (n + 1); k++) {
+				checkEncoding(n, new AtLeast(k, createLiterals(n)), k, n);
+			}
+		}
+	}
+
+	@Test
+	public void testChoose() {
+		for (int n = 1; n <= MAX_SIZE; n++) {
+			for (int k = 0; k <= (n + 1); k++) {
+				checkEncoding(n, new Choose(k, createLiterals(n)), k, k);
+			}
+		}
+	}
+
+	private static Node createRandomNode(Random random, int n, int depth) {
+		if ((depth == 0) || (random.nextInt(4) == 0)) {
+			return new Literal("x" + (random.nextInt(n) + 1), random.nextBoolean());
+		}
+		switch (random.nextInt(5)) {
+		case 0:
+			return new Not(createRandomNode(random, n, depth - 1));
+		case 1:
+			return new Implies(createRandomNode(random, n, depth - 1), createRandomNode(random, n, depth - 1));
+		case 2:
+			return new Equals(createRandomNode(random, n, depth - 1), createRandomNode(random, n, depth - 1));
+		default:
+			final Node[] children = new Node[random.nextInt(3) + 2];
+			for (int i = 0; i < children.length; i++) {
+				children[i] = createRandomNode(random, n, depth - 1);
+			}
+			return random.nextBoolean() ? new And((Object[]) children) : new Or((Object[]) children);
+		}
+	}
+
+	/**
+	 * Checks for all assignments of the feature variables whether the Tseitin encoded node is satisfiable exactly if the node evaluates to true.
+	 */
+	private static void checkTseitin(int n, Node node, boolean forceTseitin) {
+		final Variables variables = createVariables(n);
+		final AuxiliaryEncoder encoder = new AuxiliaryEncoder(variables);
+		final List<LiteralSet> clauses = new ArrayList<>();
+		if (forceTseitin) {
+			encoder.encodeTseitin(node, clauses);
+		} else {
+			encoder.setTseitinThreshold(0);
+			encoder.encode(node, clauses);
+		}
+		final CNF cnf = new CNF(encoder.createVariables(), clauses);
+		final SimpleSatSolver solver = new SimpleSatSolver(cnf);
+
+		final Map<Object, Boolean> map = new HashMap<>();
+		for (int assignment = 0; assignment < (1 << n); assignment++) {
+			final int[] literals = new int[n];
+			for (int i = 0; i < n; i++) {
+				final boolean value = ((assignment >> i) & 1) != 0;
+				literals[i] = value ? (i + 1) : -(i + 1);
+				map.put("x" + (i + 1), value);
+			}
+			final SatResult expected = node.getValue(map) ? SatResult.TRUE : SatResult.FALSE;
+			assertEquals(node + " " + Arrays.toString(literals), expected, solver.hasSolution(literals));
+		}
+	}
+
+	@Test
+	public void testTseitin() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 300; i++) {
+			final Node node = createRandomNode(random, 5, 4);
+			checkTseitin(5, node, true);
+			checkTseitin(5, node, false);
+		}
+	}
+
+	@Test
+	public void testTseitinThreshold() {
+		final int n = 20;
+		final Node[] conjunctions = new Node[n / 2];
+		for (int i = 0; i < conjunctions.length; i++) {
+			conjunctions[i] = new And(new Literal("x" + ((2 * i) + 1)), new Literal("x" + ((2 * i) + 2)));
+		}
+		final Node node = new Or((Object[]) conjunctions);
+		assertEquals(1024, AuxiliaryEncoder.estimateClauseCount(node));
+
+		final AuxiliaryEncoder encoder = new AuxiliaryEncoder(createVariables(n));
+		encoder.setTseitinThreshold(AuxiliaryEncoder.DEFAULT_TSEITIN_THRESHOLD);
+		final List<LiteralSet> clauses = new ArrayList<>();
+		encoder.encode(node, clauses);
+		assertEquals(conjunctions.length, encoder.getAuxiliaryCount());
+		assertEquals(n + 1, clauses.size());
+
+		final AuxiliaryEncoder smallEncoder = new AuxiliaryEncoder(createVariables(n));
+		smallEncoder.setTseitinThreshold(AuxiliaryEncoder.DEFAULT_TSEITIN_THRESHOLD);
+		final List<LiteralSet> smallClauses = new ArrayList<>();
+		smallEncoder.encode(new Or(conjunctions[0], conjunctions[1]), smallClauses);
+		assertEquals(0, smallEncoder.getAuxiliaryCount());
+		assertEquals(4, smallClauses.size());
+	}
+
+	@Test
+	public void testAuxiliaryVariables() {
+		final Variables variables = createVariables(10);
+		final AuxiliaryEncoder encoder = new AuxiliaryEncoder(variables);
+		final List<LiteralSet> clauses = new ArrayList<>();
+		encoder.atMost(variables.getLiterals().getPositive().getLiterals(), 1, clauses);
+		assertTrue(encoder.getAuxiliaryCount() > 0);
+		assertTrue(clauses.size() < 45);
+
+		final AuxiliaryVariables auxiliaryVariables = (AuxiliaryVariables) encoder.createVariables();
+		assertEquals(10, auxiliaryVariables.getFeatureVariableCount());
+		assertEquals(10 + encoder.getAuxiliaryCount(), auxiliaryVariables.size());
+		assertEquals(1, auxiliaryVariables.getVariable("x1"));
+		assertEquals(Arrays.asList("x1"), auxiliaryVariables.convertToString(new int[] { 1, 11, 12 }));
+		assertEquals(new LiteralSet(1, -2), auxiliaryVariables.removeAuxiliaryLiterals(new LiteralSet(1, -2, 11, -12)));
+	}
+
+	@Test
+	public void testFeatureModel() throws Exception {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("200-100.xml"));
+		final CNF cnf = formula.getCNF();
+		final CNF cardinalityCNF = formula.getElement(new CardinalityCNFCreator());
+		assertTrue(cardinalityCNF.getVariables() instanceof AuxiliaryVariables);
+
+		final LiteralSet coreDead = new CoreDeadAnalysis(cnf).execute(new NullMonitor<LiteralSet>());
+		final LiteralSet cardinalityCoreDead = new CoreDeadAnalysis(cardinalityCNF).execute(new NullMonitor<LiteralSet>());
+		final AuxiliaryVariables auxiliaryVariables = (AuxiliaryVariables) cardinalityCNF.getVariables();
+		assertEquals(coreDead.getLiterals().length, auxiliaryVariables.removeAuxiliaryLiterals(cardinalityCoreDead).getLiterals().length);
+		assertEquals(cnf.getVariables().convertToString(coreDead, true, true),
+				cardinalityCNF.getVariables().convertToString(cardinalityCoreDead, true, true));
+	}
+
+	@Test
+	public void testAnalysesWithoutAuxiliaryVariables() throws Exception {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("200-100.xml"));
+		final CNF cnf = formula.getCNF();
+		final CNF cardinalityCNF = formula.getElement(new CardinalityCNFCreator());
+		final int featureVariableCount = ((AuxiliaryVariables) cardinalityCNF.getVariables()).getFeatureVariableCount();
+		assertTrue(cardinalityCNF.getVariables().size() > featureVariableCount);
+
+		final LiteralSet coreDead = new CoreDeadAnalysis(cardinalityCNF).execute(new NullMonitor<LiteralSet>());
+		assertFeatureLiterals(featureVariableCount, coreDead);
+		assertEquals(new CoreDeadAnalysis(cnf).execute(new NullMonitor<LiteralSet>()), coreDead);
+
+		final List<LiteralSet> atomicSets = new AtomicSetAnalysis(cardinalityCNF).execute(new NullMonitor<List<LiteralSet>>());
+		for (final LiteralSet atomicSet : atomicSets) {
+			assertTrue(!atomicSet.isEmpty());
+			assertFeatureLiterals(featureVariableCount, atomicSet);
+		}
+		assertEquals(getAtomicSetNames(cnf, new AtomicSetAnalysis(cnf).execute(new NullMonitor<List<LiteralSet>>())),
+				getAtomicSetNames(cardinalityCNF, atomicSets));
+
+		final RandomConfigurationGenerator generator = new RandomConfigurationGenerator(cardinalityCNF, 10);
+		final List<LiteralSet> configurations = generator.execute(new NullMonitor<List<LiteralSet>>());
+		assertEquals(10, configurations.size());
+		for (final LiteralSet configuration : configurations) {
+			assertEquals(featureVariableCount, configuration.size());
+			assertFeatureLiterals(featureVariableCount, configuration);
+		}
+		for (final LiteralSet configuration : generator.getResultQueue()) {
+			assertFeatureLiterals(featureVariableCount, configuration);
+		}
+	}
+
+	private static void assertFeatureLiterals(int featureVariableCount, LiteralSet literals) {
+		for (final int literal : literals.getLiterals()) {
+			assertTrue(Math.abs(literal) <= featureVariableCount);
+		}
+	}
+
+	private static Set<Set<String>> getAtomicSetNames(CNF cnf, List<LiteralSet> atomicSets) {
+		final Set<Set<String>> names = new HashSet<>();
+		for (final LiteralSet atomicSet : atomicSets) {
+			names.add(new HashSet<>(cnf.getVariables().convertToString(atomicSet, true, true, false)));
+		}
+		return names;
+	}
+
+}
@@ -0,0 +1,177 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.HasSolutionAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverBudget;
+import de.ovgu.featureide.fm.core.job.monitor.ConsoleMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the {@link SolverBudget} of analyses.
+ */
+public class TSolverBudget {
+
+	private static CNF loadCNF() {
+		return new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml")).getCNF();
+	}
+
+	/**
+	 * Creates the pigeonhole formula for n pigeons and n - 1 holes, which is unsatisfiable and requires many conflicts to refute.
+	 */
+	private static CNF createPigeonholeCNF(int n) {
+		final int holes = n - 1;
+		final List<String> names = new ArrayList<>();
+		for (int pigeon = 0; pigeon < n; pigeon++) {
+			for (int hole = 0; hole < holes; hole++) {
+				names.add("p" + pigeon + "_" + hole);
+			}
+		}
+		final CNF cnf = new CNF(new Variables(names));
+		for (int pigeon = 0; pigeon < n; pigeon++) {
+			final int[] literals = new int[holes];
+			for (int hole = 0; hole < holes; hole++) {
+				literals[hole] = (pigeon * holes) + hole + 1;
+			}
+			cnf.addClause(new LiteralSet(literals));
+		}
+		for (int hole = 0; hole < holes; hole++) {
+			for (int pigeon1 = 0; pigeon1 < n; pigeon1++) {
+				for (int pigeon2 = pigeon1 + 1; pigeon2 < n; pigeon2++) {
+					cnf.addClause(new LiteralSet(-((pigeon1 * holes) + hole + 1), -((pigeon2 * holes) + hole + 1)));
+				}
+			}
+		}
+		return cnf;
+	}
+
+	@Test
+	public void testUnlimitedBudget() throws Exception {
+		final CNF cnf = loadCNF();
+		final LiteralSet expected = new CoreDeadAnalysis(cnf).execute(new NullMonitor<LiteralSet>());
+
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(cnf);
+		analysis.setBudget(new SolverBudget(0, 0));
+		final LiteralSet result = analysis.execute(new NullMonitor<LiteralSet>());
+
+		assertEquals(expected, result);
+		assertFalse(analysis.isIncomplete());
+		assertFalse(analysis.getResult().isIncomplete());
+	}
+
+	@Test
+	public void testExhaustedBudget() throws Exception {
+		final CNF cnf = loadCNF();
+		final SolverBudget budget = new SolverBudget(1, 0);
+		budget.start(null);
+		Thread.sleep(10);
+		assertTrue(budget.isExhausted());
+
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(cnf);
+		analysis.setBudget(budget);
+		analysis.setThrowTimeoutException(false);
+		final long time = System.currentTimeMillis();
+		analysis.execute(new NullMonitor<LiteralSet>());
+
+		// Ensures that no solver call was made
+		assertTrue((System.currentTimeMillis() - time) < 1000);
+		assertTrue(budget.isIncomplete());
+		assertTrue(analysis.isIncomplete());
+		assertTrue(analysis.getResult().isIncomplete());
+	}
+
+	@Test
+	public void testSufficientConflictLimit() throws Exception {
+		final HasSolutionAnalysis analysis = new HasSolutionAnalysis(createPigeonholeCNF(4));
+		final SolverBudget budget = new SolverBudget(0, 100_000);
+		analysis.setBudget(budget);
+		analysis.setThrowTimeoutException(false);
+
+		assertFalse(analysis.execute(new NullMonitor<Boolean>()));
+		assertFalse(budget.isIncomplete());
+		assertFalse(analysis.isIncomplete());
+	}
+
+	@Test(timeout = 60000)
+	public void testExceededConflictLimit() throws Exception {
+		final HasSolutionAnalysis analysis = new HasSolutionAnalysis(createPigeonholeCNF(10));
+		final SolverBudget budget = new SolverBudget(0, 50);
+		analysis.setTimeout(60_000);
+		analysis.setBudget(budget);
+		analysis.setThrowTimeoutException(false);
+
+		final long time = System.currentTimeMillis();
+		analysis.execute(new NullMonitor<Boolean>());
+
+		// Ensures that the call was stopped by the conflict limit and not by the timeout
+		assertTrue((System.currentTimeMillis() - time) < 30_000);
+		assertTrue(budget.isIncomplete());
+		assertTrue(analysis.isIncomplete());
+		assertTrue(analysis.getResult().isIncomplete());
+	}
+
+	@Test(timeout = 60000)
+	public void testCancelDuringSolverCall() throws Exception {
+		final HasSolutionAnalysis analysis = new HasSolutionAnalysis(createPigeonholeCNF(13));
+		final SolverBudget budget = new SolverBudget(0, 0);
+		analysis.setTimeout(600_000);
+		analysis.setBudget(budget);
+
+		final ConsoleMonitor<Boolean> monitor = new ConsoleMonitor<>(false);
+		final AtomicReference<Throwable> exception = new AtomicReference<>();
+		final Thread thread = new Thread(() -> {
+			try {
+				analysis.execute(monitor);
+			} catch (final Throwable e) {
+				exception.set(e);
+			}
+		});
+		thread.start();
+		// Ensures that the solver is running
+		Thread.sleep(500);
+		assertTrue(thread.isAlive());
+		assertNull(exception.get());
+
+		final long time = System.currentTimeMillis();
+		monitor.cancel();
+		thread.join();
+
+		assertTrue((System.currentTimeMillis() - time) < 30_000);
+		assertTrue(exception.get() instanceof MethodCancelException);
+		assertTrue(budget.isIncomplete());
+	}
+
+}
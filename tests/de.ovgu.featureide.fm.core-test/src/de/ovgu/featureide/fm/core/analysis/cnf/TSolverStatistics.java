@@ -0,0 +1,90 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AtomicSetAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SolverStatistics;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the collection of {@link SolverStatistics}.
+ */
+public class TSolverStatistics {
+
+	private static CNF loadCNF() {
+		return new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml")).getCNF();
+	}
+
+	@After
+	public void disable() {
+		SolverStatistics.setEnabled(false);
+		SolverStatistics.reset();
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		SolverStatistics.setEnabled(false);
+		SolverStatistics.reset();
+		new CoreDeadAnalysis(loadCNF()).execute(new NullMonitor<LiteralSet>());
+		assertTrue(SolverStatistics.getStatistics().isEmpty());
+	}
+
+	@Test
+	public void testAnalysisStatistics() throws Exception {
+		final CNF cnf = loadCNF();
+		SolverStatistics.reset();
+		SolverStatistics.setEnabled(true);
+		new CoreDeadAnalysis(cnf).execute(new NullMonitor<LiteralSet>());
+		new AtomicSetAnalysis(cnf).execute(new NullMonitor<List<LiteralSet>>());
+
+		final SolverStatistics coreDead = SolverStatistics.getStatistics(CoreDeadAnalysis.class.getName());
+		assertNotNull(coreDead);
+		assertTrue(coreDead.getCalls() > 0);
+		assertEquals(coreDead.getCalls(), coreDead.getSatCalls() + coreDead.getUnsatCalls() + coreDead.getTimeoutCalls());
+		long histogramSum = 0;
+		for (final long count : coreDead.getLatencyHistogram()) {
+			histogramSum += count;
+		}
+		assertEquals(coreDead.getCalls(), histogramSum);
+
+		final SolverStatistics atomicSets = SolverStatistics.getStatistics(AtomicSetAnalysis.class.getName());
+		assertNotNull(atomicSets);
+		assertTrue(atomicSets.getCalls() > 0);
+		assertTrue((atomicSets.getCacheHits() + atomicSets.getCacheMisses()) > 0);
+
+		final String json = SolverStatistics.toJSON();
+		assertTrue(json.contains("\"name\": \"" + CoreDeadAnalysis.class.getName() + "\""));
+		assertTrue(json.contains("\"name\": \"" + AtomicSetAnalysis.class.getName() + "\""));
+	}
+
+}
@@ -0,0 +1,181 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.heuristic.StaticMinimumClauseHeuristic;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link CNFSlicer} by comparing the sliced formula with the projection of the original formula for every assignment of the remaining variables.
+ */
+public class TCNFSlicer {
+
+	private static final int NUMBER_OF_VARIABLES = 10;
+
+	private static Variables createVariables(int n) {
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= n; i++) {
+			names.add("x" + i);
+		}
+		return new Variables(names);
+	}
+
+	/**
+	 * Creates a satisfiable formula, which may contain tautologies and duplicate literals.
+	 */
+	private static CNF createRandomCNF(Random random, int numberOfClauses, int minClauseLength, int maxClauseLength) {
+		while (true) {
+			final List<LiteralSet> clauses = new ArrayList<>();
+			for (int i = 0; i < numberOfClauses; i++) {
+				final int[] literals = new int[random.nextInt((maxClauseLength - minClauseLength) + 1) + minClauseLength];
+				for (int j = 0; j < literals.length; j++) {
+					literals[j] = (random.nextInt(NUMBER_OF_VARIABLES) + 1) * (random.nextBoolean() ? 1 : -1);
+				}
+				clauses.add(new LiteralSet(literals));
+			}
+			final CNF cnf = new CNF(createVariables(NUMBER_OF_VARIABLES), clauses);
+			if (new SimpleSatSolver(cnf).hasSolution() == SatResult.TRUE) {
+				return cnf;
+			}
+		}
+	}
+
+	private static LiteralSet createRandomVariables(Random random) {
+		final List<Integer> variables = new ArrayList<>();
+		for (int i = 1; i <= NUMBER_OF_VARIABLES; i++) {
+			if (random.nextInt(3) != 0) {
+				variables.add(i);
+			}
+		}
+		final int[] literals = new int[variables.size()];
+		for (int i = 0; i < literals.length; i++) {
+			literals[i] = variables.get(i);
+		}
+		return new LiteralSet(literals);
+	}
+
+	/**
+	 * Checks for all assignments of the remaining variables whether the sliced formula is satisfiable exactly if the original formula is satisfiable.
+	 */
+	private static void checkSlicing(CNF cnf, LiteralSet removedVariables, CNF slicedCNF) {
+		final SimpleSatSolver solver = new SimpleSatSolver(cnf);
+		final SimpleSatSolver slicedSolver = new SimpleSatSolver(slicedCNF);
+		final List<Integer> remainingVariables = new ArrayList<>();
+		for (int i = 1; i <= NUMBER_OF_VARIABLES; i++) {
+			if (!removedVariables.containsVariable(i)) {
+				remainingVariables.add(i);
+			}
+		}
+		for (final LiteralSet clause : slicedCNF.getClauses()) {
+			for (final int literal : clause.getLiterals()) {
+				assertTrue(clause.toString(), remainingVariables.contains(Math.abs(literal)));
+			}
+		}
+		for (int assignment = 0; assignment < (1 << remainingVariables.size()); assignment++) {
+			final int[] literals = new int[remainingVariables.size()];
+			for (int i = 0; i < literals.length; i++) {
+				final int variable = remainingVariables.get(i);
+				literals[i] = ((assignment >> i) & 1) != 0 ? variable : -variable;
+			}
+			assertEquals(cnf.getClauses() + " " + Arrays.toString(literals), solver.hasSolution(literals), slicedSolver.hasSolution(literals));
+		}
+	}
+
+	@Test
+	public void testRandomFormulas() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			final CNF cnf = createRandomCNF(random, random.nextInt(25) + 5, 1, 3);
+			final LiteralSet removedVariables = createRandomVariables(random);
+			checkSlicing(cnf, removedVariables, LongRunningWrapper.runMethod(new CNFSlicer(cnf, removedVariables)));
+		}
+	}
+
+	@Test
+	public void testTautologies() {
+		final List<LiteralSet> clauses = new ArrayList<>();
+		clauses.add(new LiteralSet(1, -1, 2));
+		clauses.add(new LiteralSet(-1, 3));
+		clauses.add(new LiteralSet(1, 4));
+		final CNF cnf = new CNF(createVariables(NUMBER_OF_VARIABLES), clauses);
+		final LiteralSet removedVariables = new LiteralSet(1);
+		checkSlicing(cnf, removedVariables, LongRunningWrapper.runMethod(new CNFSlicer(cnf, removedVariables)));
+	}
+
+	@Test
+	public void testLimits() {
+		final Random random = new Random(43);
+		for (int i = 0; i < 100; i++) {
+			final CNF cnf = createRandomCNF(random, random.nextInt(25) + 5, 1, 3);
+			final LiteralSet removedVariables = createRandomVariables(random);
+			final CNFSlicer slicer = new CNFSlicer(cnf, removedVariables);
+			slicer.setResolventLimit(0);
+			slicer.setSubsumptionLimit(1);
+			checkSlicing(cnf, removedVariables, LongRunningWrapper.runMethod(slicer));
+		}
+	}
+
+	@Test
+	public void testParallel() {
+		final Random random = new Random(44);
+		for (int i = 0; i < 50; i++) {
+			final CNF cnf = createRandomCNF(random, random.nextInt(20) + 40, 2, 4);
+			final LiteralSet removedVariables = createRandomVariables(random);
+			final CNFSlicer slicer = new CNFSlicer(cnf, removedVariables);
+			slicer.setParallel(true);
+			slicer.setResolventLimit(0);
+			checkSlicing(cnf, removedVariables, LongRunningWrapper.runMethod(slicer));
+		}
+	}
+
+	@Test
+	public void testHeuristicFactory() {
+		final Random random = new Random(45);
+		final int[] count = new int[1];
+		for (int i = 0; i < 50; i++) {
+			final CNF cnf = createRandomCNF(random, random.nextInt(25) + 5, 1, 3);
+			final LiteralSet removedVariables = createRandomVariables(random);
+			final CNFSlicer slicer = new CNFSlicer(cnf, removedVariables);
+			slicer.setHeuristicFactory((map, length) -> {
+				count[0]++;
+				return new StaticMinimumClauseHeuristic(map, length);
+			});
+			checkSlicing(cnf, removedVariables, LongRunningWrapper.runMethod(slicer));
+		}
+		assertTrue(count[0] > 0);
+	}
+
+}
@@ -0,0 +1,202 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.ModalImplicationGraphCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link MIGUpdater}.
+ */
+public class TMIGUpdater {
+
+	private static final int EDITS = 30;
+
+	@Test
+	public void testCar() {
+		testRandomEdits("car.xml");
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		testRandomEdits("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		testRandomEdits("gpl_medium_model.xml");
+	}
+
+	@Test
+	public void testRemoveClause() {
+		final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml")).getCNF();
+		final ModalImplicationGraph mig = build(cnf);
+		for (final LiteralSet clause : new ArrayList<>(mig.getComplexClauses())) {
+			final List<LiteralSet> otherClauses = new ArrayList<>(mig.getComplexClauses());
+			otherClauses.remove(clause);
+			mig.removeClause(clause);
+			assertEquals(otherClauses, mig.getComplexClauses());
+			checkComplexClauseIndices(mig);
+		}
+		final Vertex vertex = mig.getAdjList().get(0);
+		if (vertex.getStrongEdges().length > 0) {
+			final int edge = vertex.getStrongEdges()[0];
+			mig.removeClause(new LiteralSet(-vertex.getVar(), edge));
+			assertTrue(!toSet(vertex.getStrongEdges()).contains(edge));
+		}
+	}
+
+	@Test
+	public void testFormulaElement() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		final ModalImplicationGraph oldMig = formula.getElement(new ModalImplicationGraphCreator());
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.addConstraint(DefaultFeatureModelFactory.getInstance().createConstraint(newFeatureModel,
+				new Implies(new Literal("Directed"), new Literal("Weighted"))));
+		final FeatureModelFormula newFormula = new FeatureModelFormula(newFeatureModel, formula);
+		assertTrue(oldMig == newFormula.getPreviousElement(new ModalImplicationGraphCreator()));
+		final ModalImplicationGraph newMig = newFormula.getElement(new ModalImplicationGraphCreator());
+		assertNotNull(newMig);
+		checkEquivalent(build(newFormula.getCNF()), newMig, newFormula.getCNF());
+	}
+
+	private void testRandomEdits(String modelName) {
+		final Random random = new Random(modelName.hashCode());
+		CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+		ModalImplicationGraph mig = build(cnf);
+		final int numberOfVariables = cnf.getVariables().size();
+		for (int i = 0; i < EDITS; i++) {
+			final List<LiteralSet> clauses = new ArrayList<>(cnf.getClauses());
+			final int edit = random.nextInt(3);
+			if ((edit == 0) && !clauses.isEmpty()) {
+				for (int j = random.nextInt(3); j >= 0; j--) {
+					clauses.remove(random.nextInt(clauses.size()));
+				}
+			} else {
+				final int[] literals = new int[2 + random.nextInt(2)];
+				for (int j = 0; j < literals.length; j++) {
+					literals[j] = (1 + random.nextInt(numberOfVariables)) * (random.nextBoolean() ? 1 : -1);
+				}
+				clauses.add(new LiteralSet(literals));
+			}
+			final CNF newCnf = new CNF(cnf, false);
+			newCnf.addClauses(clauses);
+			if (new AdvancedSatSolver(newCnf).hasSolution() != SatResult.TRUE) {
+				continue;
+			}
+			final ModalImplicationGraph expectedMig = build(newCnf);
+			ModalImplicationGraph newMig = LongRunningWrapper.runMethod(new MIGUpdater(mig, cnf, newCnf));
+			if (newMig == null) {
+				newMig = expectedMig;
+			} else {
+				checkEquivalent(expectedMig, newMig, newCnf);
+			}
+			cnf = newCnf;
+			mig = newMig;
+		}
+	}
+
+	private static ModalImplicationGraph build(CNF cnf) {
+		return LongRunningWrapper.runMethod(new MIGBuilder(cnf, false));
+	}
+
+	private static void checkEquivalent(ModalImplicationGraph expected, ModalImplicationGraph actual, CNF cnf) {
+		assertEquals(expected.getAdjList().size(), actual.getAdjList().size());
+		for (int i = 0; i < expected.getAdjList().size(); i++) {
+			final Vertex expectedVertex = expected.getAdjList().get(i);
+			final Vertex actualVertex = actual.getAdjList().get(i);
+			assertEquals(expectedVertex.getVar(), actualVertex.getVar());
+			assertEquals(i, actualVertex.getId());
+			assertEquals(expectedVertex.isCore(), actualVertex.isCore());
+			assertEquals(expectedVertex.isDead(), actualVertex.isDead());
+			assertEquals(toSet(expectedVertex.getStrongEdges()), toSet(actualVertex.getStrongEdges()));
+		}
+		checkComplexClauseIndices(actual);
+		checkImplied(expected, actual, cnf);
+		checkImplied(actual, expected, cnf);
+	}
+
+	private static void checkComplexClauseIndices(ModalImplicationGraph mig) {
+		for (final Vertex vertex : mig.getAdjList()) {
+			final Set<Integer> expectedIndices = new HashSet<>();
+			for (int j = 0; j < mig.getComplexClauses().size(); j++) {
+				if (mig.getComplexClauses().get(j).containsLiteral(-vertex.getVar())) {
+					expectedIndices.add(j);
+				}
+			}
+			assertEquals(expectedIndices, toSet(vertex.getComplexClauses()));
+		}
+	}
+
+	/**
+	 * Checks whether all complex clauses of the second graph are implied by the first graph.
+	 */
+	private static void checkImplied(ModalImplicationGraph mig1, ModalImplicationGraph mig2, CNF cnf) {
+		final AdvancedSatSolver solver = new AdvancedSatSolver(new CNF(cnf, false));
+		for (final Vertex vertex : mig1.getAdjList()) {
+			if (vertex.isCore()) {
+				solver.addClause(new LiteralSet(vertex.getVar()));
+			}
+			for (final int edge : vertex.getStrongEdges()) {
+				solver.addClause(new LiteralSet(-vertex.getVar(), edge));
+			}
+		}
+		solver.addClauses(mig1.getComplexClauses());
+		for (final LiteralSet clause : mig2.getComplexClauses()) {
+			assertEquals(clause.toString(), SatResult.FALSE, solver.hasSolution(clause.negate()));
+		}
+	}
+
+	private static Set<Integer> toSet(int[] array) {
+		final Set<Integer> set = new HashSet<>();
+		for (final int element : array) {
+			set.add(element);
+		}
+		assertEquals(Arrays.toString(array), array.length, set.size());
+		return set;
+	}
+
+}
@@ -31,11 +31,14 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
 
 import de.ovgu.featureide.Commons;
 import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
 import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
 
 public class CustomPropertiesTest {
@@ -118,6 +121,64 @@ public class CustomPropertiesTest {
 
 	}
 
+	@Test
+	public void testCopyOnWrite() {
+		final IFeatureModel model = factory.create();
+		Commons.loadFeatureModel(modelFile, model, new XmlFeatureModelFormat());
+		final IFeatureModel clone = model.clone();
+
+		model.getFeature("A").getCustomProperties().set("key1", XmlFeatureModelFormat.TYPE_CUSTOM, "changed");
+		clone.getFeature("C").getCustomProperties().remove("key2", XmlFeatureModelFormat.TYPE_CUSTOM);
+		clone.getFeature("B").getCustomProperties().set("key4", XmlFeatureModelFormat.TYPE_CUSTOM, "new");
+
+		Assert.assertEquals("changed", model.getFeature("A").getCustomProperties().get("key1", XmlFeatureModelFormat.TYPE_CUSTOM));
+		Assert.assertEquals("value1", clone.getFeature("A").getCustomProperties().get("key1", XmlFeatureModelFormat.TYPE_CUSTOM));
+		Assert.assertTrue(model.getFeature("C").getCustomProperties().has("key2", XmlFeatureModelFormat.TYPE_CUSTOM));
+		Assert.assertFalse(clone.getFeature("C").getCustomProperties().has("key2", XmlFeatureModelFormat.TYPE_CUSTOM));
+		Assert.assertFalse(model.getFeature("B").getCustomProperties().has("key4", XmlFeatureModelFormat.TYPE_CUSTOM));
+		Assert.assertTrue(clone.getFeature("B").getCustomProperties().has("key4", XmlFeatureModelFormat.TYPE_CUSTOM));
+	}
+
+	@Test
+	public void testSnapshotAfterPropertyChanges() {
+		final FeatureModelManager manager = FeatureModelManager.getInstance(modelFile);
+		try {
+			manager.editObject(model -> {
+				final IConstraint c1 = factory.createConstraint(model, new Implies(new Literal("B"), new Literal("C")));
+				final IConstraint c2 = factory.createConstraint(model, new Implies(new Literal("D"), new Literal("B")));
+				c1.getCustomProperties().set("name", XmlFeatureModelFormat.TYPE_CUSTOM, "c1");
+				c2.getCustomProperties().set("name", XmlFeatureModelFormat.TYPE_CUSTOM, "c2");
+				model.addConstraint(c1);
+				model.addConstraint(c2);
+			}, FeatureModelManager.CHANGE_ALL);
+			final IFeatureModel oldSnapshot = manager.getSnapshot();
+
+			// Moves the second constraint to the front and changes a property, which is only a graphical change
+			manager.editObject(model -> {
+				final IConstraint c2 = model.getConstraints().get(1);
+				model.removeConstraint(c2);
+				model.addConstraint(c2, 0);
+				model.getFeature("B").getCustomProperties().set("key1", XmlFeatureModelFormat.TYPE_CUSTOM, "changed");
+			}, FeatureModelManager.CHANGE_GRAPHICS);
+			final IFeatureModel newSnapshot = manager.getSnapshot();
+
+			Assert.assertNotSame(oldSnapshot, newSnapshot);
+			Assert.assertEquals("c1", oldSnapshot.getConstraints().get(0).getCustomProperties().get("name", XmlFeatureModelFormat.TYPE_CUSTOM));
+			Assert.assertEquals("value1", oldSnapshot.getFeature("B").getCustomProperties().get("key1", XmlFeatureModelFormat.TYPE_CUSTOM));
+			for (int i = 0; i < 2; i++) {
+				final IConstraint constraint = manager.getVarObject().getConstraints().get(i);
+				final IConstraint snapshotConstraint = newSnapshot.getConstraints().get(i);
+				Assert.assertEquals(constraint.getNode(), snapshotConstraint.getNode());
+				Assert.assertEquals(constraint.getCustomProperties().get("name", XmlFeatureModelFormat.TYPE_CUSTOM),
+						snapshotConstraint.getCustomProperties().get("name", XmlFeatureModelFormat.TYPE_CUSTOM));
+			}
+			Assert.assertEquals("c2", newSnapshot.getConstraints().get(0).getCustomProperties().get("name", XmlFeatureModelFormat.TYPE_CUSTOM));
+			Assert.assertEquals("changed", newSnapshot.getFeature("B").getCustomProperties().get("key1", XmlFeatureModelFormat.TYPE_CUSTOM));
+		} finally {
+			FeatureModelManager.removeInstance(modelFile, FeatureModelManager.class);
+		}
+	}
+
 	@After
 	public void cleanUp() {
 		try {
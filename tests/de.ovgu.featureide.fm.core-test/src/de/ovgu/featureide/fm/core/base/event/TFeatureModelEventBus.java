@@ -0,0 +1,151 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+
+/**
+ * Tests for {@link FeatureModelEventBus} and the listeners of feature model elements.
+ */
+public class TFeatureModelEventBus {
+
+	private static final IFeatureModelFactory FACTORY = DefaultFeatureModelFactory.getInstance();
+
+	private static IFeatureModel createModel() {
+		final IFeatureModel model = FACTORY.create();
+		final IFeature root = FACTORY.createFeature(model, "Root");
+		model.addFeature(root);
+		model.getStructure().setRoot(root.getStructure());
+		for (int i = 0; i < 3; i++) {
+			final IFeature child = FACTORY.createFeature(model, "F" + i);
+			model.addFeature(child);
+			root.getStructure().addChild(child.getStructure());
+		}
+		return model;
+	}
+
+	@Test
+	public void testElementListeners() {
+		final IFeature feature = createModel().getFeature("F0");
+		final List<FeatureIDEEvent> events = new ArrayList<>();
+		final IEventListener listener = events::add;
+
+		assertTrue(feature.getListeners().isEmpty());
+		feature.addListener(listener);
+		feature.addListener(listener);
+		assertEquals(1, feature.getListeners().size());
+
+		feature.getStructure().setMandatory(true);
+		assertEquals(1, events.size());
+		assertEquals(EventType.MANDATORY_CHANGED, events.get(0).getEventType());
+
+		feature.removeListener(listener);
+		assertTrue(feature.getListeners().isEmpty());
+		feature.getStructure().setMandatory(false);
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	public void testListenerRemovedWhileFiring() {
+		final DefaultEventManager eventManager = new DefaultEventManager();
+		final List<String> calls = new ArrayList<>();
+		final IEventListener second = e -> calls.add("second");
+		eventManager.addListener(e -> {
+			calls.add("first");
+			eventManager.removeListener(second);
+		});
+		eventManager.addListener(second);
+
+		eventManager.fireEvent(FeatureIDEEvent.getDefault(EventType.DEFAULT));
+		assertEquals(2, calls.size());
+		eventManager.fireEvent(FeatureIDEEvent.getDefault(EventType.DEFAULT));
+		assertEquals(3, calls.size());
+		assertEquals(1, eventManager.getListeners().size());
+	}
+
+	@Test
+	public void testBatch() {
+		final IFeatureModel model = createModel();
+		final List<FeatureIDEEvent> modelEvents = new ArrayList<>();
+		final List<FeatureIDEEvent> featureEvents = new ArrayList<>();
+		model.addListener(modelEvents::add);
+		for (final IFeature feature : model.getFeatures()) {
+			feature.addListener(featureEvents::add);
+		}
+
+		final FeatureModelEventBus eventBus = model.getEventBus();
+		eventBus.beginBatch();
+		eventBus.beginBatch();
+		assertTrue(eventBus.isBatching());
+		for (final IFeature feature : model.getFeatures()) {
+			feature.getStructure().setAbstract(true);
+		}
+		eventBus.commitBatch();
+		model.handleModelDataChanged();
+		assertTrue(modelEvents.isEmpty());
+		eventBus.commitBatch();
+		assertFalse(eventBus.isBatching());
+
+		assertTrue(featureEvents.isEmpty());
+		assertEquals(1, modelEvents.size());
+		final FeatureIDEEvent event = modelEvents.get(0);
+		assertTrue(event instanceof CompoundFeatureIDEEvent);
+		assertEquals(EventType.MODEL_DATA_CHANGED, event.getEventType());
+		assertSame(model, event.getSource());
+		final List<FeatureIDEEvent> events = ((CompoundFeatureIDEEvent) event).getEvents();
+		assertEquals(5, events.size());
+		assertEquals(EventType.ATTRIBUTE_CHANGED, events.get(0).getEventType());
+		assertEquals(EventType.MODEL_DATA_CHANGED, events.get(4).getEventType());
+
+		model.getFeature("F1").getStructure().setAbstract(false);
+		assertEquals(1, featureEvents.size());
+	}
+
+	@Test
+	public void testEmptyBatch() {
+		final IFeatureModel model = createModel();
+		final List<FeatureIDEEvent> modelEvents = new ArrayList<>();
+		model.addListener(modelEvents::add);
+		model.getEventBus().beginBatch();
+		model.getEventBus().commitBatch();
+		assertTrue(modelEvents.isEmpty());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testCommitWithoutBatch() {
+		createModel().getEventBus().commitBatch();
+	}
+
+}
@@ -0,0 +1,201 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.editing.evaluation.Generator;
+
+/**
+ * This is a benchmark for the structural queries of {@link FeatureStructure} on large feature models. It compares the indexed implementation with a linear
+ * scan over linked lists (the former implementation). The measured times are printed to the console. The test cases do not analyze the validity of the
+ * results (see {@link TFeatureStructure}).
+ */
+public class BFeatureStructure {
+
+	private static final int NUMBER_OF_FEATURES = 10000;
+
+	private static final int NUMBER_OF_CONSTRAINTS = NUMBER_OF_FEATURES / 10;
+
+	private static final int WARM_UP_ITERATIONS = 3;
+
+	private static final int ITERATIONS = 5;
+
+	private static final IFeatureModelFactory FACTORY = DefaultFeatureModelFactory.getInstance();
+
+	/**
+	 * A random model of {@link Generator} with at most {@link Generator#maxChildren} children per feature.
+	 */
+	private static final IFeatureModel GENERATED_MODEL = addConstraints(Generator.generateFeatureDiagram(new Random(0), NUMBER_OF_FEATURES), new Random(0));
+
+	/**
+	 * A model in which all features are children of the root feature.
+	 */
+	private static final IFeatureModel FLAT_MODEL = addConstraints(createFlatModel(), new Random(0));
+
+	/**
+	 * Warm up both implementations.
+	 */
+	static {
+		for (final IFeatureModel featureModel : new IFeatureModel[] { GENERATED_MODEL, FLAT_MODEL }) {
+			for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+				childIndex(featureModel);
+				childIndexLinear(featureModel);
+				relevantConstraints(featureModel);
+				relevantConstraintsLinear(featureModel);
+			}
+		}
+	}
+
+	@Test(timeout = 600000)
+	public final void BChildIndex() {
+		benchmark("child index", "indexed", "generated", () -> childIndex(GENERATED_MODEL));
+		benchmark("child index", "indexed", "flat", () -> childIndex(FLAT_MODEL));
+	}
+
+	@Test(timeout = 600000)
+	public final void BChildIndexLinear() {
+		benchmark("child index", "linear", "generated", () -> childIndexLinear(GENERATED_MODEL));
+		benchmark("child index", "linear", "flat", () -> childIndexLinear(FLAT_MODEL));
+	}
+
+	@Test(timeout = 600000)
+	public final void BRelevantConstraints() {
+		benchmark("relevant constraints", "indexed", "generated", () -> relevantConstraints(GENERATED_MODEL));
+		benchmark("relevant constraints", "indexed", "flat", () -> relevantConstraints(FLAT_MODEL));
+	}
+
+	@Test(timeout = 600000)
+	public final void BRelevantConstraintsLinear() {
+		benchmark("relevant constraints", "linear", "generated", () -> relevantConstraintsLinear(GENERATED_MODEL));
+		benchmark("relevant constraints", "linear", "flat", () -> relevantConstraintsLinear(FLAT_MODEL));
+	}
+
+	private static IFeatureModel createFlatModel() {
+		final IFeatureModel featureModel = FACTORY.create();
+		final IFeature root = FACTORY.createFeature(featureModel, "Root");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		for (int i = 1; i < NUMBER_OF_FEATURES; i++) {
+			final IFeature child = FACTORY.createFeature(featureModel, "F" + i);
+			featureModel.addFeature(child);
+			root.getStructure().addChild(child.getStructure());
+		}
+		return featureModel;
+	}
+
+	private static IFeatureModel addConstraints(IFeatureModel featureModel, Random random) {
+		final List<String> names = new ArrayList<>(featureModel.getFeatureOrderList());
+		for (int i = 0; i < NUMBER_OF_CONSTRAINTS; i++) {
+			final Node node = new Implies(new Literal(names.get(random.nextInt(names.size()))),
+					new Or(new Literal(names.get(random.nextInt(names.size()))), new Literal(names.get(random.nextInt(names.size())))));
+			featureModel.addConstraint(FACTORY.createConstraint(featureModel, node));
+		}
+		return featureModel;
+	}
+
+	private static long childIndex(IFeatureModel featureModel) {
+		long sum = 0;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final IFeatureStructure structure = feature.getStructure();
+			if (!structure.isRoot()) {
+				final IFeatureStructure parent = structure.getParent();
+				sum += parent.getChildIndex(structure);
+				if (parent.isFirstChild(structure)) {
+					sum++;
+				}
+			}
+		}
+		return sum;
+	}
+
+	private static long childIndexLinear(IFeatureModel featureModel) {
+		long sum = 0;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final IFeatureStructure structure = feature.getStructure();
+			if (!structure.isRoot()) {
+				final List<IFeatureStructure> children = new LinkedList<>(structure.getParent().getChildren());
+				sum += children.indexOf(structure);
+				if (children.indexOf(structure) == 0) {
+					sum++;
+				}
+			}
+		}
+		return sum;
+	}
+
+	private static long relevantConstraints(IFeatureModel featureModel) {
+		long sum = 0;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			sum += feature.getStructure().getRelevantConstraints().size();
+		}
+		return sum;
+	}
+
+	private static long relevantConstraintsLinear(IFeatureModel featureModel) {
+		long sum = 0;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final List<IConstraint> constraintList = new LinkedList<>();
+			for (final IConstraint constraint : featureModel.getConstraints()) {
+				for (final IFeature f : constraint.getContainedFeatures()) {
+					if (f.getName().equals(feature.getName())) {
+						constraintList.add(constraint);
+						break;
+					}
+				}
+			}
+			sum += constraintList.size();
+		}
+		return sum;
+	}
+
+	private static void benchmark(String operation, String implementation, String model, Query query) {
+		final long expected = query.run();
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			assertEquals(expected, query.run());
+		}
+		final long time = System.nanoTime() - start;
+		System.out.println(String.format("%s %s %s: %.3f ms", operation, implementation, model, (time / 1000000.0) / ITERATIONS));
+	}
+
+	private static interface Query {
+
+		long run();
+	}
+
+}
@@ -0,0 +1,222 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Tests that the snapshots of a {@link FeatureModel} (see {@link FeatureModel#createSnapshot()}) are equal to clones of the model and share the data of
+ * unmodified elements.
+ */
+public class TFeatureModelSnapshot {
+
+	private static final IFeatureModelFactory FACTORY = DefaultFeatureModelFactory.getInstance();
+
+	private static String write(IFeatureModel featureModel) {
+		return new XmlFeatureModelFormat().write(featureModel);
+	}
+
+	private static FeatureModelSnapshot createSnapshot(IFeatureModel featureModel) {
+		final IFeatureModel snapshot = ((FeatureModel) featureModel).createSnapshot();
+		assertTrue(snapshot instanceof FeatureModelSnapshot);
+		return (FeatureModelSnapshot) snapshot;
+	}
+
+	/**
+	 * Creates a snapshot and checks that it is equal to a clone of the model, that it resolves its features and constraints, and that the older snapshots did not
+	 * change.
+	 */
+	private static FeatureModelSnapshot assertSnapshot(IFeatureModel featureModel, List<FeatureModelSnapshot> snapshots, List<String> sources) {
+		for (int i = 0; i < snapshots.size(); i++) {
+			assertEquals(sources.get(i), write(snapshots.get(i)));
+		}
+
+		final FeatureModelSnapshot snapshot = createSnapshot(featureModel);
+		final IFeatureModel clone = featureModel.clone();
+		final String source = write(clone);
+		assertEquals(source, write(snapshot));
+		assertEquals(source, write(snapshot.clone()));
+		assertEquals(clone.getNumberOfFeatures(), snapshot.getNumberOfFeatures());
+		assertEquals(clone.getFeatureTable().keySet(), snapshot.getFeatureTable().keySet());
+		for (final IFeature feature : clone.getFeatures()) {
+			final IFeature snapshotFeature = snapshot.getFeature(feature.getName());
+			assertEquals(feature, snapshotFeature);
+			assertSame(snapshotFeature, snapshot.getElement(feature.getInternalId()));
+			assertEquals(feature.getStructure().getRelevantConstraints(), snapshotFeature.getStructure().getRelevantConstraints());
+		}
+		assertEquals(clone.getConstraints(), snapshot.getConstraints());
+		for (final IConstraint constraint : snapshot.getConstraints()) {
+			for (final IFeature feature : constraint.getContainedFeatures()) {
+				assertSame(snapshot, feature.getFeatureModel());
+			}
+		}
+
+		snapshots.add(snapshot);
+		sources.add(source);
+		return snapshot;
+	}
+
+	@Test
+	public void testModifications() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml");
+		final List<FeatureModelSnapshot> snapshots = new ArrayList<>();
+		final List<String> sources = new ArrayList<>();
+		assertSnapshot(featureModel, snapshots, sources);
+
+		final IFeatureStructure root = featureModel.getStructure().getRoot();
+		final IFeatureStructure firstChild = root.getFirstChild();
+		final IFeatureStructure lastChild = root.getLastChild();
+
+		// Feature attributes
+		firstChild.setAbstract(!firstChild.isAbstract());
+		lastChild.setHidden(true);
+		lastChild.setMandatory(!lastChild.isMandatorySet());
+		lastChild.getFeature().getProperty().setDescription("description");
+		firstChild.getFeature().getCustomProperties().set("key", "type", "value");
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// New features
+		final IFeature newFeature = FACTORY.createFeature(featureModel, "NewFeature");
+		featureModel.addFeature(newFeature);
+		final IFeature newChild = FACTORY.createFeature(featureModel, "NewChild");
+		featureModel.addFeature(newChild);
+		newFeature.getStructure().addChild(newChild.getStructure());
+		firstChild.addChild(newFeature.getStructure());
+		firstChild.changeToOr();
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// Moved and reordered subtrees
+		final IFeatureStructure movedFeature = lastChild.getFirstChild();
+		lastChild.removeChild(movedFeature);
+		newChild.getStructure().addChild(movedFeature);
+		Collections.reverse(root.getChildren());
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// Renamed and deleted features
+		final IFeature renamedFeature = featureModel.getConstraints().get(0).getContainedFeatures().iterator().next();
+		assertTrue(featureModel.getRenamingsManager().renameFeature(renamedFeature.getName(), "RenamedFeature"));
+		featureModel.deleteFeature(newFeature);
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// Constraints
+		featureModel.addConstraint(FACTORY.createConstraint(featureModel, new Implies(new Literal("NewChild"), new Literal("RenamedFeature"))));
+		featureModel.removeConstraint(1);
+		featureModel.getConstraints().get(0).setDescription("description");
+		featureModel.getConstraints().get(2).setNode(new Not(new Literal("NewChild")));
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// Removed subtree
+		final IFeatureStructure removedSubtree = root.getLastChild();
+		for (final IConstraint constraint : new ArrayList<>(featureModel.getConstraints())) {
+			for (final IFeature feature : constraint.getContainedFeatures()) {
+				if ((feature == null) || feature.getStructure().isAncestor(removedSubtree) || (feature.getStructure() == removedSubtree)) {
+					featureModel.removeConstraint(constraint);
+					break;
+				}
+			}
+		}
+		root.removeChild(removedSubtree);
+		assertSnapshot(featureModel, snapshots, sources);
+
+		// New root
+		final IFeature newRoot = FACTORY.createFeature(featureModel, "NewRoot");
+		featureModel.addFeature(newRoot);
+		newRoot.getStructure().addChild(root);
+		featureModel.getStructure().setRoot(newRoot.getStructure());
+		assertSnapshot(featureModel, snapshots, sources);
+
+		featureModel.reset();
+		assertSnapshot(featureModel, snapshots, sources);
+	}
+
+	@Test
+	public void testStructuralSharing() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml");
+		final FeatureModelSnapshot snapshot1 = createSnapshot(featureModel);
+		final FeatureModelSnapshot snapshot2 = createSnapshot(featureModel);
+		assertSame(snapshot1.features, snapshot2.features);
+		assertSame(snapshot1.constraints, snapshot2.constraints);
+
+		final IFeature changedFeature = featureModel.getStructure().getRoot().getFirstChild().getFeature();
+		changedFeature.getStructure().setHidden(true);
+		final FeatureModelSnapshot snapshot3 = createSnapshot(featureModel);
+		assertSame(snapshot2.constraints, snapshot3.constraints);
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final long id = feature.getInternalId();
+			if (feature == changedFeature) {
+				assertNotSame(snapshot2.getFeatureData(id), snapshot3.getFeatureData(id));
+				assertTrue(snapshot3.getFeature(id).getStructure().isHidden());
+			} else {
+				assertSame(snapshot2.getFeatureData(id), snapshot3.getFeatureData(id));
+			}
+		}
+		assertTrue(!snapshot2.getFeature(changedFeature.getInternalId()).getStructure().isHidden());
+	}
+
+	@Test
+	public void testSnapshotIsReadOnly() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelSnapshot snapshot = createSnapshot(featureModel);
+		final IFeature root = snapshot.getStructure().getRoot().getFeature();
+		try {
+			root.getStructure().removeLastChild();
+			fail();
+		} catch (final UnsupportedOperationException e) {}
+		try {
+			root.setName("Root");
+			fail();
+		} catch (final UnsupportedOperationException e) {}
+		try {
+			snapshot.removeConstraint(0);
+			fail();
+		} catch (final UnsupportedOperationException e) {}
+		try {
+			snapshot.getConstraints().get(0).setNode(new Literal("Root"));
+			fail();
+		} catch (final UnsupportedOperationException e) {}
+
+		final IFeatureModel clone = snapshot.clone();
+		clone.getStructure().getRoot().removeLastChild();
+		assertEquals(write(featureModel), write(snapshot));
+	}
+
+}
@@ -0,0 +1,144 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+
+/**
+ * Tests the child index and the relevant constraints of {@link FeatureStructure}.
+ */
+public class TFeatureStructure {
+
+	private static final IFeatureModelFactory FACTORY = DefaultFeatureModelFactory.getInstance();
+
+	private static final int NUMBER_OF_CHILDREN = 20;
+
+	private static IFeatureModel createModel() {
+		final IFeatureModel model = FACTORY.create();
+		final IFeature root = FACTORY.createFeature(model, "Root");
+		model.addFeature(root);
+		model.getStructure().setRoot(root.getStructure());
+		for (int i = 0; i < NUMBER_OF_CHILDREN; i++) {
+			final IFeature child = FACTORY.createFeature(model, "F" + i);
+			model.addFeature(child);
+			root.getStructure().addChild(child.getStructure());
+		}
+		return model;
+	}
+
+	private static void assertChildIndices(IFeatureStructure parent) {
+		final List<IFeatureStructure> children = parent.getChildren();
+		for (int i = 0; i < children.size(); i++) {
+			assertEquals(i, parent.getChildIndex(children.get(i)));
+		}
+		if (!children.isEmpty()) {
+			assertTrue(parent.isFirstChild(children.get(0)));
+			assertSame(children.get(children.size() - 1), parent.getLastChild());
+		}
+	}
+
+	@Test
+	public void testChildIndex() {
+		final IFeatureModel model = createModel();
+		final IFeatureStructure root = model.getStructure().getRoot();
+		assertChildIndices(root);
+		assertEquals(5, root.getChildIndex(model.getFeature("F5").getStructure()));
+		assertFalse(root.isFirstChild(model.getFeature("F5").getStructure()));
+		assertEquals(-1, root.getChildIndex(root));
+
+		Collections.reverse(root.getChildren());
+		assertChildIndices(root);
+		assertEquals(NUMBER_OF_CHILDREN - 1, root.getChildIndex(model.getFeature("F0").getStructure()));
+
+		final IFeature newChild = FACTORY.createFeature(model, "New");
+		model.addFeature(newChild);
+		root.addChildAtPosition(3, newChild.getStructure());
+		assertChildIndices(root);
+		assertEquals(3, root.getChildIndex(newChild.getStructure()));
+
+		root.removeChild(model.getFeature("F19").getStructure());
+		assertChildIndices(root);
+		assertEquals(2, root.getChildIndex(newChild.getStructure()));
+
+		final IFeature replacement = FACTORY.createFeature(model, "Replacement");
+		model.addFeature(replacement);
+		root.replaceChild(newChild.getStructure(), replacement.getStructure());
+		assertChildIndices(root);
+		assertEquals(-1, root.getChildIndex(newChild.getStructure()));
+		assertEquals(2, root.getChildIndex(replacement.getStructure()));
+
+		root.removeLastChild();
+		assertChildIndices(root);
+		assertEquals(-1, root.getChildIndex(model.getFeature("F0").getStructure()));
+		assertEquals(NUMBER_OF_CHILDREN - 1, root.getChildrenCount());
+	}
+
+	@Test
+	public void testRelevantConstraints() {
+		final IFeatureModel model = createModel();
+		final IFeature f1 = model.getFeature("F1");
+		final IFeature f2 = model.getFeature("F2");
+		final IConstraint c1 = FACTORY.createConstraint(model, new Implies(new Literal("F1"), new Not(new Literal("F2"))));
+		final IConstraint c2 = FACTORY.createConstraint(model, new Implies(new Literal("F2"), new Literal("F3")));
+		final IConstraint c3 = FACTORY.createConstraint(model, new Implies(new Literal("F1"), new Literal("F1")));
+		model.addConstraint(c1);
+		model.addConstraint(c2);
+		assertEquals(Arrays.asList(c1), f1.getStructure().getRelevantConstraints());
+		assertEquals(Arrays.asList(c1, c2), f2.getStructure().getRelevantConstraints());
+		assertTrue(model.getFeature("F4").getStructure().getRelevantConstraints().isEmpty());
+
+		model.addConstraint(c3, 0);
+		assertEquals(Arrays.asList(c3, c1), f1.getStructure().getRelevantConstraints());
+
+		model.removeConstraint(c1);
+		assertEquals(Arrays.asList(c3), f1.getStructure().getRelevantConstraints());
+		assertEquals(Arrays.asList(c2), f2.getStructure().getRelevantConstraints());
+
+		c2.setNode(new Implies(new Literal("F4"), new Literal("F3")));
+		assertTrue(f2.getStructure().getRelevantConstraints().isEmpty());
+		assertEquals(Arrays.asList(c2), model.getFeature("F4").getStructure().getRelevantConstraints());
+
+		model.getRenamingsManager().renameFeature("F1", "G1");
+		assertEquals(Arrays.asList(c3), f1.getStructure().getRelevantConstraints());
+
+		model.setConstraints(Collections.<IConstraint> emptyList());
+		assertTrue(f1.getStructure().getRelevantConstraints().isEmpty());
+	}
+
+}
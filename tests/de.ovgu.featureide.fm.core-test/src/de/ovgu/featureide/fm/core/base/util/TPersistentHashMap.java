@@ -0,0 +1,113 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+
+/**
+ * Compares {@link PersistentHashMap} with {@link HashMap} for random modifications.
+ */
+public class TPersistentHashMap {
+
+	/**
+	 * Key with few different hash codes to test colliding keys.
+	 */
+	private static final class CollidingKey {
+
+		private final int value;
+
+		private CollidingKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value % 7;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof CollidingKey) && (((CollidingKey) obj).value == value);
+		}
+
+	}
+
+	private static <K> void assertEqualMaps(Map<K, Integer> expected, PersistentHashMap<K, Integer> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (final Map.Entry<K, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), actual.get(entry.getKey()));
+		}
+		final Map<K, Integer> entries = new HashMap<>();
+		actual.forEach(entries::put);
+		assertEquals(expected, entries);
+	}
+
+	private static <K> void testRandomModifications(IntFunction<K> keys) {
+		final Random random = new Random(0);
+		final Map<K, Integer> expected = new HashMap<>();
+		PersistentHashMap<K, Integer> actual = PersistentHashMap.empty();
+		for (int i = 0; i < 5000; i++) {
+			final K key = keys.apply(random.nextInt(1000));
+			final PersistentHashMap<K, Integer> oldMap = actual;
+			final Map<K, Integer> oldExpected = new HashMap<>(expected);
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				actual = actual.remove(key);
+			} else {
+				final Integer value = random.nextInt(10);
+				expected.put(key, value);
+				actual = actual.put(key, value);
+			}
+			if ((i % 500) == 0) {
+				assertEqualMaps(expected, actual);
+				assertEqualMaps(oldExpected, oldMap);
+			}
+		}
+		assertEqualMaps(expected, actual);
+	}
+
+	@Test
+	public void testRandomModifications() {
+		testRandomModifications(Long::valueOf);
+	}
+
+	@Test
+	public void testCollidingKeys() {
+		testRandomModifications(CollidingKey::new);
+	}
+
+	@Test
+	public void testUnchangedMap() {
+		final PersistentHashMap<String, String> map = PersistentHashMap.<String, String> empty().put("a", "1");
+		assertSame(map, map.put("a", "1"));
+		assertSame(map, map.remove("b"));
+		assertEquals(0, map.remove("a").size());
+	}
+
+}
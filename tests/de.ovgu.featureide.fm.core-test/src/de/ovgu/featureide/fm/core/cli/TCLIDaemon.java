@@ -0,0 +1,259 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link CLIDaemon}.
+ */
+public class TCLIDaemon {
+
+	/**
+	 * Prints its arguments after a short delay.
+	 */
+	public static class DelayedEcho extends ACLIFunction {
+
+		@Override
+		public String getId() {
+			return "test-delayed-echo";
+		}
+
+		@Override
+		public void run(List<String> args) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(200);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			System.out.println(String.join(" ", args));
+		}
+
+	}
+
+	static {
+		CLIFunctionManager.getInstance().addExtension(new DelayedEcho());
+	}
+
+	@Rule
+	public TemporaryFolder tokenFolder = new TemporaryFolder();
+
+	@Test(timeout = 10_000)
+	public void testRequestsOfClosedConnection() throws Exception {
+		final int port = getFreePort();
+		final CLIDaemon daemon = new CLIDaemon(2);
+		final Thread daemonThread = serve(daemon, port);
+		try (Socket socket = connect(port)) {
+			final String token = readToken(port);
+			send(socket, token + "\t1\ttest-delayed-echo\ta\n" + token + "\t2\ttest-delayed-echo\tb\n");
+			// the daemon reads the end of the input while the requests are still running
+			socket.shutdownOutput();
+			final List<String> responses = readAll(socket);
+			assertEquals(4, responses.size());
+			assertEquals(2, responses.stream().filter(line -> line.endsWith(CLIDaemon.EXIT + CLIDaemon.SEPARATOR + "0")).count());
+		} finally {
+			daemon.shutdown();
+			daemonThread.join();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testRequestAfterShutdown() throws Exception {
+		final int port = getFreePort();
+		final CLIDaemon daemon = new CLIDaemon(2);
+		final Thread daemonThread = serve(daemon, port);
+		try (Socket openConnection = connect(port)) {
+			final String token = readToken(port);
+			final BufferedReader openResponses = new BufferedReader(new InputStreamReader(openConnection.getInputStream(), StandardCharsets.UTF_8));
+			send(openConnection, token + "\t1\ttest-delayed-echo\ta\n");
+			assertEquals("1\tout\ta", openResponses.readLine());
+			assertEquals("1\texit\t0", openResponses.readLine());
+
+			try (Socket shutdownConnection = connect(port)) {
+				send(shutdownConnection, token + "\t2\t" + CLIDaemon.SHUTDOWN + "\n");
+				assertEquals("2\texit\t0", new BufferedReader(new InputStreamReader(shutdownConnection.getInputStream(), StandardCharsets.UTF_8)).readLine());
+			}
+			daemonThread.join();
+
+			send(openConnection, token + "\t3\ttest-delayed-echo\tb\n");
+			assertEquals("3\terr\tDaemon is shutting down", openResponses.readLine());
+			assertEquals("3\texit\t3", openResponses.readLine());
+		} finally {
+			daemon.shutdown();
+			daemonThread.join();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testInvalidToken() throws Exception {
+		final int port = getFreePort();
+		final CLIDaemon daemon = new CLIDaemon(2);
+		final Thread daemonThread = serve(daemon, port);
+		try (Socket socket = connect(port)) {
+			final String token = readToken(port);
+			send(socket, "invalid\t1\ttest-delayed-echo\ta\n" + token + "\t2\ttest-delayed-echo\tb\n");
+			// the daemon closes the connection without running any request
+			assertEquals(Arrays.asList("\terr\tInvalid token", "\texit\t4"), readAll(socket));
+		} finally {
+			daemon.shutdown();
+			daemonThread.join();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testTokenFile() throws Exception {
+		final int port = getFreePort();
+		final CLIDaemon daemon = new CLIDaemon(2);
+		final Thread daemonThread = serve(daemon, port);
+		final Path tokenFile = CLIDaemon.getTokenFile(tokenFolder.getRoot().toPath(), port);
+		try {
+			connect(port).close();
+			readToken(port);
+			if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+				assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE), Files.getPosixFilePermissions(tokenFile));
+			}
+			assertEquals(0, CLIDaemon.sendRequest(port, tokenFolder.getRoot().toPath(), Arrays.asList("test-delayed-echo", "a")));
+		} finally {
+			daemon.shutdown();
+			daemonThread.join();
+		}
+		assertFalse(Files.exists(tokenFile));
+	}
+
+	@Test(timeout = 10_000)
+	public void testOutputOfOtherThreads() throws Exception {
+		final PrintStream out = System.out;
+		final PrintStream err = System.err;
+		try {
+			final ByteArrayOutputStream otherErr = new ByteArrayOutputStream();
+			System.setErr(new PrintStream(otherErr, true));
+
+			final PipedOutputStream requests = new PipedOutputStream();
+			final PipedInputStream input = new PipedInputStream(requests);
+			final ByteArrayOutputStream responses = new ByteArrayOutputStream();
+			final CLIDaemon daemon = new CLIDaemon(1);
+			final Thread daemonThread = new Thread(() -> {
+				try {
+					daemon.serve(input, responses);
+				} catch (final IOException e) {}
+			});
+			daemonThread.start();
+			requests.write("1\ttest-delayed-echo\ta\n".getBytes(StandardCharsets.UTF_8));
+			requests.flush();
+			while (System.out == out) {
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			// output of a thread that does not handle a request, e.g., of a logger
+			System.out.println("log message");
+			requests.close();
+			daemonThread.join();
+
+			final String response = new String(responses.toByteArray(), StandardCharsets.UTF_8);
+			assertEquals("1\tout\ta\n1\texit\t0\n", response);
+			assertTrue(new String(otherErr.toByteArray(), StandardCharsets.UTF_8).contains("log message"));
+		} finally {
+			System.setOut(out);
+			System.setErr(err);
+		}
+	}
+
+	private static int getFreePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private Thread serve(CLIDaemon daemon, int port) {
+		final Path tokenDirectory = tokenFolder.getRoot().toPath();
+		final Thread daemonThread = new Thread(() -> {
+			try {
+				daemon.serve(port, tokenDirectory);
+			} catch (final IOException e) {}
+		});
+		daemonThread.start();
+		return daemonThread;
+	}
+
+	private static Socket connect(int port) throws InterruptedException {
+		// waits until the daemon listens
+		while (true) {
+			try {
+				return new Socket(InetAddress.getLoopbackAddress(), port);
+			} catch (final IOException e) {
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+		}
+	}
+
+	private String readToken(int port) throws IOException, InterruptedException {
+		// waits until the daemon has written the token file
+		final Path tokenFile = CLIDaemon.getTokenFile(tokenFolder.getRoot().toPath(), port);
+		while (!Files.exists(tokenFile)) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+		return new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8);
+	}
+
+	private static void send(Socket socket, String requests) throws IOException {
+		final Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+		writer.write(requests);
+		writer.flush();
+	}
+
+	private static List<String> readAll(Socket socket) throws IOException {
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		final List<String> lines = new ArrayList<>();
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			lines.add(line);
+		}
+		return lines;
+	}
+
+}
@@ -0,0 +1,111 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+
+/**
+ * Tests for {@link ModelCache}.
+ */
+public class TModelCache {
+
+	static {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+	}
+
+	@Test
+	public void testCNFInvalidation() throws IOException {
+		final Path file = Files.createTempFile("model", ".dimacs");
+		try {
+			Files.write(file, "p cnf 3 2\n1 2 0\n-1 3 0\n".getBytes(StandardCharsets.UTF_8));
+			final CNF cnf1 = ModelCache.getInstance().getCNF(file);
+			assertEquals(2, cnf1.getClauses().size());
+
+			final CNF cnf2 = ModelCache.getInstance().getCNF(file);
+			assertNotSame(cnf1, cnf2);
+			assertEquals(cnf1, cnf2);
+
+			cnf2.getClauses().clear();
+			assertEquals(2, ModelCache.getInstance().getCNF(file).getClauses().size());
+
+			Files.write(file, "p cnf 2 1\n1 2 0\n".getBytes(StandardCharsets.UTF_8));
+			Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+			assertEquals(1, ModelCache.getInstance().getCNF(file).getClauses().size());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() throws IOException {
+		final ModelCache cache = ModelCache.getInstance();
+		final int maximumSize = cache.getMaximumSize();
+		final Path[] files = new Path[3];
+		try {
+			cache.setMaximumSize(2);
+			for (int i = 0; i < files.length; i++) {
+				files[i] = Files.createTempFile("model", ".dimacs");
+				Files.write(files[i], "p cnf 2 2\n1 2 0\n-1 0\n".getBytes(StandardCharsets.UTF_8));
+			}
+			final int variableCount = cache.getCNF(files[0]).getVariables().size();
+			cache.getCNF(files[1]);
+			cache.getCNF(files[0]);
+			cache.getCNF(files[2]);
+
+			// replace the content without changing size and modification time, such that only models that are not cached any more are read again
+			for (final Path file : files) {
+				final FileTime lastModified = Files.getLastModifiedTime(file);
+				Files.write(file, "p cnf 3 2\n1 2 0\n-3 0\n".getBytes(StandardCharsets.UTF_8));
+				Files.setLastModifiedTime(file, lastModified);
+			}
+			assertEquals(variableCount, cache.getCNF(files[0]).getVariables().size());
+			assertEquals(variableCount, cache.getCNF(files[2]).getVariables().size());
+			assertEquals(variableCount + 1, cache.getCNF(files[1]).getVariables().size());
+		} finally {
+			cache.setMaximumSize(maximumSize);
+			for (final Path file : files) {
+				if (file != null) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingFile() {
+		ModelCache.getInstance().getCNF(Paths.get("does", "not", "exist.dimacs"));
+	}
+
+}
@@ -0,0 +1,152 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+
+/**
+ * Tests for {@link CompactConfiguration} and {@link CompactConfigurationReader}.
+ */
+public class TCompactConfiguration extends AbstractConfigurationTest {
+
+	static {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+	}
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadXML("<and mandatory=\"true\" name=\"Root\"><feature name=\"A\"/><feature name=\"B C\"/>"
+			+ "<and hidden=\"true\" name=\"H\"><feature name=\"D\"/></and><alt name=\"E\"><feature name=\"F\"/><feature name=\"G\"/></alt></and>");
+	}
+
+	@Test
+	public void testFeatureList() {
+		assertFeatureList("A\n\"B C\"\nD");
+		assertFeatureList("# comment\n\nA \"B C\" F\n");
+		assertFeatureList("A\n\"B C\nX Y\n");
+		assertFeatureList("H D G Unknown");
+		assertFeatureList("");
+	}
+
+	@Test
+	public void testXML() {
+		final Configuration configuration = new Configuration(formula);
+		configuration.setManual("A", Selection.SELECTED);
+		configuration.setManual("B C", Selection.UNSELECTED);
+		configuration.setAutomatic("Root", Selection.SELECTED);
+		configuration.setAutomatic("F", Selection.UNSELECTED);
+		configuration.setManual("G", Selection.SELECTED);
+		configuration.setAutomatic("G", Selection.SELECTED);
+		final String source = new XMLConfFormat().write(configuration);
+
+		final ProblemList problems = new ProblemList();
+		final CompactConfiguration compactConfiguration = new CompactConfigurationReader(formula).read(source, "test.xml", problems);
+		assertTrue(problems.isEmpty());
+		assertEquals(CompactConfiguration.of(formula.getVariables(), configuration), compactConfiguration);
+		assertEquals(Selection.SELECTED, compactConfiguration.getSelection("A"));
+		assertEquals(Selection.UNSELECTED, compactConfiguration.getSelection("F"));
+		assertEquals(Selection.UNDEFINED, compactConfiguration.getSelection("D"));
+	}
+
+	@Test
+	public void testInvalidXML() {
+		final CompactConfigurationReader reader = new CompactConfigurationReader(formula);
+		final ProblemList problems = new ProblemList();
+		final CompactConfiguration compactConfiguration = reader.read(
+				"<configuration>\n<feature name=\"A\" manual=\"selected\"/>\n<feature name=\"X\" manual=\"selected\"/>\n<feature manual=\"selected\"/>\n</configuration>",
+				"test.xml", problems);
+		assertEquals(2, problems.size());
+		assertEquals(3, problems.get(0).getLine());
+		assertEquals(Problem.Severity.WARNING, problems.get(0).getSeverity());
+		assertEquals(4, problems.get(1).getLine());
+		assertEquals(Problem.Severity.ERROR, problems.get(1).getSeverity());
+		assertEquals(Selection.SELECTED, compactConfiguration.getManual(formula.getVariables().getVariable("A")));
+
+		assertNull(reader.read("<configuration>\n<feature name=\"A\">\n</configuration>", "test.xml", new ProblemList()));
+	}
+
+	@Test
+	public void testConversion() {
+		final IVariables variables = formula.getVariables();
+		final LiteralSet literals = new LiteralSet(variables.getVariable("A"), -variables.getVariable("E"), variables.getVariable("D"));
+		final CompactConfiguration compactConfiguration = CompactConfiguration.of(variables, literals);
+		assertEquals(literals, compactConfiguration.getLiterals());
+		assertEquals(literals, compactConfiguration.getManualLiterals());
+		assertTrue(compactConfiguration.isSelected(variables.getVariable("D")));
+
+		final Configuration configuration = compactConfiguration.toConfiguration(formula);
+		assertEquals(Selection.SELECTED, configuration.getSelectableFeature("A").getManual());
+		assertEquals(Selection.UNSELECTED, configuration.getSelectableFeature("E").getManual());
+		assertEquals(Selection.UNDEFINED, configuration.getSelectableFeature("F").getManual());
+		assertEquals(compactConfiguration, CompactConfiguration.of(variables, configuration));
+	}
+
+	@Test
+	public void testAutomaticPrecedence() {
+		final IVariables variables = formula.getVariables();
+		final Configuration configuration = new Configuration(formula);
+		configuration.setAutomatic("A", Selection.SELECTED);
+		configuration.setManual("F", Selection.SELECTED);
+		configuration.setAutomatic("G", Selection.UNSELECTED);
+		final CompactConfiguration compactConfiguration = CompactConfiguration.of(variables, configuration);
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			final int variable = variables.getVariable(feature.getName());
+			assertEquals(feature.getSelection(), compactConfiguration.getSelection(variable));
+			assertEquals(feature.getSelection() == Selection.SELECTED, compactConfiguration.isSelected(variable));
+			assertEquals(feature.getSelection() == Selection.SELECTED, compactConfiguration.getSelectedVariables().get(variable));
+			assertEquals(feature.getSelection() == Selection.UNSELECTED, compactConfiguration.getUnselectedVariables().get(variable));
+		}
+	}
+
+	private void assertFeatureList(String source) {
+		final Configuration configuration = new Configuration(formula);
+		final ProblemList expectedProblems = new DefaultFormat().read(configuration, source);
+
+		final ProblemList problems = new ProblemList();
+		final CompactConfiguration compactConfiguration = new CompactConfigurationReader(formula).read(source, "test.config", problems);
+		assertEquals(CompactConfiguration.of(formula.getVariables(), configuration), compactConfiguration);
+		assertEquals(getMessages(expectedProblems), getMessages(problems));
+	}
+
+	private static List<String> getMessages(ProblemList problems) {
+		final List<String> messages = new ArrayList<>();
+		for (final Problem problem : problems) {
+			messages.add(problem.getLine() + ": " + problem.getMessage());
+		}
+		return messages;
+	}
+
+}
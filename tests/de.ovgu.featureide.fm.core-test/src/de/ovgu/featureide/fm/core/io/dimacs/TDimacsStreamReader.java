@@ -0,0 +1,236 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * Compares the {@link DimacsStreamReader} and {@link DimacsStreamWriter} with the {@link DimacsReader} and {@link DimacsWriter}.
+ */
+public class TDimacsStreamReader {
+
+	private static final String[] SOURCES = { //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\r\n1 -3 0\r\n2 3 -1 0\r\n", //
+		"p cnf 3 2\r1 -3 0\r2 3 -1 0\r", //
+		"p cnf 3 2 1 -3 0 2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n\n\n \n \n\n2 3 -1 0", //
+		"p cnf 3 2\n1\n-3 0\n2 3 -1 0", //
+		"p\tcnf\t3\t2\n1\t-3\t0\t\n2\t3\t-1\t0", //
+		"  p cnf 3 2\n  " + "  1 -3 0  \n" + "  2 3 -1 0  ", //
+		"\n\np cnf 3 2\n+1 -03 0\n2 3 -1 0", //
+		"p\n  cnf\n    3\n    2\n  1 -3 0\n  2 3 -1 0", //
+		"c\nc multiple comments\nc\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"cWhere is my space?p cnf 3 2\n1 -3 0\n2 3 -1 0\n", //
+		"p cnf 3 2\n1 -3 0\nc this comment is sneaky\n2 3 -1 0\nc Bye!", //
+		"p cnf 3 2\n1 c this comment tops them all\n-3 0\n2 3 -1 0", //
+		"p cnf c another rebellious comment\n3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\nBye, correctness!", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nc I don't have a token for ending clauses", //
+		"P cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p CNF 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 0 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf -3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 4 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 3\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 1\n1 -3 0\n2 3 -1 0", //
+		"p cnf 99999999999 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 00\n2 3 -1 0", //
+		"p cnf 3 2\n1 - 3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3x 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -99999999999 0\n2 3 -1 0", //
+		"", //
+		"p cnf 0 0", //
+		"1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n11 -13 0\n12 13 -11 0", //
+		"p cnf 3 2\n1 -400000 0\n2 400000 -1 0", //
+		"p cnf 1 2\n1 -1 0\n1 1 -1 0", //
+		"p cnf 3 2 c 1 Foo\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Variable\twith\twhitespace\nc 2  \nc 3   Surrounding whitespace  \np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1\nc 2 \nc\t\t3 c 3 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 3 Baz\nc 2 Bar\nc 1 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 1 Overwritten\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Bar\np cnf 3 2\nc 3 Baz\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Bar\np cnf 3 2\n1 -3 0\nc 3 Baz\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Foo\nc 3 Bar\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 100000 Foo\nc 2 Bar\nc 1 Baz\nc -1 Neg\np cnf 4 2\n1 -100000 0\n2 100000 -1 0", //
+		"c 1 Füß\nc 2 αβ\np cnf 2 1\n1 -2 0", //
+	};
+
+	@Test
+	public void testSources() throws IOException {
+		for (final String source : SOURCES) {
+			compare(source, false);
+			compare(source, true);
+		}
+	}
+
+	@Test
+	public void testSmallWindows() throws IOException {
+		final Path file = Files.createTempFile("dimacs", ".dimacs");
+		try {
+			for (final String source : SOURCES) {
+				Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+				final DimacsStreamReader inMemoryReader = new DimacsStreamReader();
+				inMemoryReader.setReadingVariableDirectory(true);
+				final CNF expected = readStream(inMemoryReader, source);
+				for (final int windowSize : new int[] { 64, 80, 100 }) {
+					final DimacsStreamReader reader = new DimacsStreamReader(windowSize);
+					reader.setReadingVariableDirectory(true);
+					CNF actual;
+					try {
+						actual = reader.read(file);
+					} catch (final ParseException e) {
+						actual = null;
+					}
+					assertCNFEquals(source, expected, actual);
+				}
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testLineTooLong() throws IOException, ParseException {
+		final Path file = Files.createTempFile("dimacs", ".dimacs");
+		try {
+			final StringBuilder sb = new StringBuilder("p cnf 100 1\n");
+			for (int i = 1; i <= 100; i++) {
+				sb.append(i).append(' ');
+			}
+			sb.append("0\n");
+			Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+			try {
+				new DimacsStreamReader(64).read(file);
+				fail();
+			} catch (final IOException e) {}
+			assertEquals(1, new DimacsStreamReader(1024).read(file).getClauses().size());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testRandomRoundTrip() throws IOException, ParseException {
+		final Random random = new Random(0);
+		final Path file = Files.createTempFile("dimacs", ".dimacs");
+		try {
+			for (int n = 0; n < 20; n++) {
+				final int variableCount = 1 + random.nextInt(300);
+				final List<String> names = new ArrayList<>();
+				for (int i = 1; i <= variableCount; i++) {
+					names.add("Feature " + i + (random.nextBoolean() ? "ä" : ""));
+				}
+				final ClauseList clauses = new ClauseList();
+				for (int i = random.nextInt(2000); i >= 0; i--) {
+					final int[] literals = new int[1 + random.nextInt(8)];
+					for (int j = 0; j < literals.length; j++) {
+						literals[j] = (1 + random.nextInt(variableCount)) * (random.nextBoolean() ? 1 : -1);
+					}
+					clauses.add(new LiteralSet(literals, LiteralSet.Order.UNORDERED));
+				}
+				final CNF cnf = new CNF(new Variables(names), clauses);
+
+				final DimacsWriter writer = new DimacsWriter(cnf);
+				writer.setWritingVariableDirectory(true);
+				final String expectedSource = writer.write();
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				new DimacsStreamWriter(cnf).write(out);
+				assertEquals(expectedSource, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+				final DIMACSFormatCNF format = new DIMACSFormatCNF();
+				assertEquals(0, format.write(cnf, file).size());
+				final CNF actual = new CNF();
+				assertEquals(0, format.read(actual, file).size());
+				assertCNFEquals(expectedSource, cnf, actual);
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private void compare(String source, boolean readingVariableDirectory) {
+		final DimacsReader reader = new DimacsReader();
+		reader.setReadingVariableDirectory(readingVariableDirectory);
+		CNF expected;
+		try {
+			final Node node = reader.read(source);
+			final Variables variables = new Variables(reader.getVariables());
+			expected = new CNF(variables, Nodes.convertNF(variables, node, true, true));
+		} catch (ParseException | IOException e) {
+			expected = null;
+		}
+
+		final DimacsStreamReader streamReader = new DimacsStreamReader();
+		streamReader.setReadingVariableDirectory(readingVariableDirectory);
+		assertCNFEquals(source, expected, readStream(streamReader, source));
+	}
+
+	private CNF readStream(DimacsStreamReader streamReader, String source) {
+		try {
+			return streamReader.read(source);
+		} catch (final ParseException e) {
+			return null;
+		}
+	}
+
+	private void assertCNFEquals(String source, CNF expected, CNF actual) {
+		if (expected == null) {
+			assertNull(source, actual);
+			return;
+		}
+		if (actual == null) {
+			fail(source);
+		}
+		assertArrayEquals(source, expected.getVariables().getNames(), actual.getVariables().getNames());
+		assertEquals(source, expected.getClauses().size(), actual.getClauses().size());
+		for (int i = 0; i < expected.getClauses().size(); i++) {
+			assertArrayEquals(source, expected.getClauses().get(i).getLiterals(), actual.getClauses().get(i).getLiterals());
+		}
+	}
+
+}
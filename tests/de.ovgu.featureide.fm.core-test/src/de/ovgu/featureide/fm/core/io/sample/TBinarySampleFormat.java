@@ -0,0 +1,163 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.sample;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Tests for {@link BinarySampleFormat} and {@link BinarySampleFile}.
+ */
+public class TBinarySampleFormat {
+
+	@Test
+	public void testSameAsCSV() {
+		final SolutionList sample = createSample(new Random(0), 100, 1000, false);
+		final SolutionList csvSample = new SolutionList();
+		final ConfigurationListFormat csvFormat = new ConfigurationListFormat();
+		assertTrue(csvFormat.read(csvSample, csvFormat.write(sample)).isEmpty());
+
+		final BinarySampleFormat format = new BinarySampleFormat();
+		assertEquals(csvSample, readFromString(format, format.write(sample)));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final Random random = new Random(1);
+		for (final boolean compressed : new boolean[] { true, false }) {
+			for (final boolean partial : new boolean[] { true, false }) {
+				for (final int blockSize : new int[] { 1, 7, 256 }) {
+					for (final int[] size : new int[][] { { 0, 0 }, { 0, 5 }, { 5, 0 }, { 1, 1 }, { 8, 9 }, { 63, 100 }, { 200, 513 } }) {
+						final SolutionList sample = createSample(random, size[0], size[1], partial);
+						final BinarySampleFormat format = new BinarySampleFormat();
+						format.setCompressed(compressed);
+						format.setBlockSize(blockSize);
+						assertEquals(sample, readFromString(format, format.write(sample)));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRandomAccess() throws IOException, UnsupportedModelException {
+		final Path file = Files.createTempFile("sample", ".sample");
+		try {
+			final Random random = new Random(2);
+			for (final boolean compressed : new boolean[] { true, false }) {
+				for (final boolean partial : new boolean[] { true, false }) {
+					final SolutionList sample = createSample(random, 50, 1000, partial);
+					final BinarySampleFormat format = new BinarySampleFormat();
+					format.setCompressed(compressed);
+					format.setBlockSize(64);
+					assertFalse(FileHandler.save(file, sample, format).containsError());
+
+					try (BinarySampleFile sampleFile = new BinarySampleFile(file)) {
+						assertEquals(sample.getSolutions().size(), sampleFile.size());
+						assertArrayEquals(sample.getVariables().getNames(), sampleFile.getVariables().getNames());
+						for (int i = 0; i < 1000; i++) {
+							final int index = random.nextInt(sampleFile.size());
+							assertEquals(sample.getSolutions().get(index), sampleFile.get(index));
+						}
+					}
+
+					final SolutionList loadedSample = new SolutionList();
+					assertFalse(FileHandler.load(file, loadedSample, format).containsError());
+					assertEquals(sample, loadedSample);
+				}
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testGetInstance() {
+		final BinarySampleFormat format = new BinarySampleFormat();
+		format.setCompressed(false);
+		format.setBlockSize(7);
+		final BinarySampleFormat instance = format.getInstance();
+		assertNotSame(format, instance);
+		assertFalse(instance.isCompressed());
+		assertEquals(7, instance.getBlockSize());
+
+		instance.setBlockSize(9);
+		assertEquals(7, format.getBlockSize());
+	}
+
+	@Test
+	public void testInvalidContent() {
+		final BinarySampleFormat format = new BinarySampleFormat();
+		final String source = format.write(createSample(new Random(3), 10, 10, false));
+		assertTrue(format.supportsContent(source));
+		assertFalse(format.supportsContent("Configuration;A;B\n0;1;0\n"));
+		assertTrue(format.read(new SolutionList(), "Configuration;A;B\n0;1;0\n").containsError());
+		assertTrue(format.read(new SolutionList(), source.substring(0, source.length() / 2)).containsError());
+	}
+
+	private SolutionList readFromString(BinarySampleFormat format, String source) {
+		final SolutionList sample = new SolutionList();
+		final ProblemList problems = format.read(sample, source);
+		assertTrue(problems.toString(), problems.isEmpty());
+		return sample;
+	}
+
+	private SolutionList createSample(Random random, int variableCount, int configurationCount, boolean partial) {
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= variableCount; i++) {
+			names.add("Feature_" + i + (random.nextBoolean() ? "äß" : ""));
+		}
+		final SolutionList sample = new SolutionList(new Variables(names), new ArrayList<LiteralSet>());
+		for (int i = 0; i < configurationCount; i++) {
+			final int[] literals = new int[variableCount];
+			for (int j = 0; j < variableCount; j++) {
+				if (!partial || random.nextBoolean()) {
+					literals[j] = random.nextBoolean() ? j + 1 : -(j + 1);
+				}
+			}
+			sample.addSolution(new LiteralSet(literals, Order.INDEX, false));
+		}
+		return sample;
+	}
+
+}
@@ -0,0 +1,128 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+
+/**
+ * This is a benchmark for reading and writing the largest benchmark feature models with the streaming and the DOM-based implementation of
+ * {@link XmlFeatureModelFormat}. The measured times are printed to the console. The test cases do not analyze the validity of the results (see
+ * {@link TXmlFeatureModelStreaming}).
+ */
+public class BXmlFeatureModelFormat {
+
+	private static final int WARM_UP_ITERATIONS = 100;
+
+	private static final int ITERATIONS = 100;
+
+	private static final String[] FILES = { "1000-100.xml", "500-101.xml", "berkeley_db_model.xml", "berkeley_db_model2.xml" };
+
+	/**
+	 * Uses the DOM-based implementation, as streaming is only supported by {@link XmlFeatureModelFormat} itself.
+	 */
+	private static class DOMFormat extends XmlFeatureModelFormat {}
+
+	/**
+	 * Warm up both implementations.
+	 */
+	static {
+		for (final String file : FILES) {
+			final String source = getSource(file);
+			read(XmlFeatureModelFormat::new, source, WARM_UP_ITERATIONS);
+			read(DOMFormat::new, source, WARM_UP_ITERATIONS);
+		}
+	}
+
+	@Test(timeout = 60000)
+	public final void BReadStreaming() {
+		for (final String file : FILES) {
+			benchmark("read", "streaming", file, read(XmlFeatureModelFormat::new, getSource(file), ITERATIONS));
+		}
+	}
+
+	@Test(timeout = 60000)
+	public final void BReadDOM() {
+		for (final String file : FILES) {
+			benchmark("read", "DOM", file, read(DOMFormat::new, getSource(file), ITERATIONS));
+		}
+	}
+
+	@Test(timeout = 60000)
+	public final void BWriteStreaming() {
+		for (final String file : FILES) {
+			benchmark("write", "streaming", file, write(XmlFeatureModelFormat::new, file, ITERATIONS));
+		}
+	}
+
+	@Test(timeout = 60000)
+	public final void BWriteDOM() {
+		for (final String file : FILES) {
+			benchmark("write", "DOM", file, write(DOMFormat::new, file, ITERATIONS));
+		}
+	}
+
+	private static String getSource(String file) {
+		try {
+			return new String(Files.readAllBytes(Commons.getRemoteOrLocalFolder("benchmarkFeatureModels").toPath().resolve(file)), StandardCharsets.UTF_8);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static long read(Supplier<XmlFeatureModelFormat> format, String source, int iterations) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			final ProblemList problems = format.get().read(DefaultFeatureModelFactory.getInstance().create(), source);
+			assertFalse(problems.containsError());
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long write(Supplier<XmlFeatureModelFormat> format, String file, int iterations) {
+		final IFeatureModel featureModel = Commons.loadBenchmarkFeatureModelFromFile(file);
+		// Warm up
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+			format.get().write(featureModel);
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			format.get().write(featureModel);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void benchmark(String operation, String implementation, String file, long time) {
+		System.out.println(String.format("%s %s %s: %.3f ms", operation, implementation, file, (time / 1000000.0) / ITERATIONS));
+	}
+
+}
@@ -0,0 +1,129 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+
+/**
+ * Compares the streaming reader and writer of {@link XmlFeatureModelFormat} with the DOM-based implementation.
+ */
+public class TXmlFeatureModelStreaming {
+
+	/**
+	 * Uses the DOM-based implementation, as streaming is only supported by {@link XmlFeatureModelFormat} itself.
+	 */
+	private static class DOMFormat extends XmlFeatureModelFormat {}
+
+	@Test
+	public void testTestFeatureModels() throws IOException {
+		int count = 0;
+		for (final File file : Commons.getRemoteOrLocalFolder("testFeatureModels").listFiles()) {
+			if (file.isFile() && file.getName().endsWith(".xml")) {
+				final String source = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+				if (new XmlFeatureModelFormat().supportsContent(source)) {
+					compare(file.getName(), source);
+					count++;
+				}
+			}
+		}
+		assertTrue(count > 0);
+	}
+
+	@Test
+	public void testSpecialCharacters() {
+		final IFeatureModel featureModel = DefaultFeatureModelFactory.getInstance().create();
+		final IFeature root = DefaultFeatureModelFactory.getInstance().createFeature(featureModel, "Root\"&<>'ä");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		root.getProperty().setDescription(" first\nsecond \r\n\n  third\t");
+		final IFeature child = DefaultFeatureModelFactory.getInstance().createFeature(featureModel, "Child");
+		featureModel.addFeature(child);
+		root.getStructure().addChild(child.getStructure());
+		child.getStructure().setAbstract(true);
+		child.getStructure().setHidden(true);
+		child.getProperty().setDescription(" single line ");
+		child.getCustomProperties().set("key\"", "custom", "value&\n\t<>");
+		child.getCustomProperties().set("key", "graphics", "value");
+		final IConstraint constraint = DefaultFeatureModelFactory.getInstance().createConstraint(featureModel,
+				new Implies(new Literal(child.getName()), new Literal(root.getName(), false)));
+		constraint.setDescription("constraint");
+		featureModel.addConstraint(constraint);
+		featureModel.getProperty().addComment("");
+		featureModel.getProperty().addComment(" multi\nline ");
+		featureModel.getProperty().set("key", "graphics", "value");
+		featureModel.setFeatureOrderUserDefined(true);
+
+		final String source = new DOMFormat().write(featureModel);
+		assertEquals(source, new XmlFeatureModelFormat().write(featureModel));
+		compare("special characters", source);
+	}
+
+	@Test
+	public void testProblems() {
+		compare("missing feature", "<featureModel><struct><and name=\"A\"><feature name=\"B\"/></and></struct>"
+			+ "<constraints><rule><imp><var>A</var><var>C</var></imp></rule></constraints></featureModel>");
+		compare("duplicate feature", "<featureModel>\n<struct>\n<and name=\"A\">\n<feature name=\"A\"/>\n</and>\n</struct>\n</featureModel>");
+		compare("warnings", "<featureModel>\n<struct>\n<and name=\"A\" unknown=\"x\">\n<feature name=\"B\"/>\n<unknown/>\n</and>\n</struct>\n"
+			+ "<constraints>\n<rule><var>A</var><var>B</var></rule>\n<rule/>\n<rule><disj><description/><var>B</var></disj></rule>\n<other/>\n</constraints>\n"
+			+ "<comments><c>comment</c><d/></comments>\n<featureOrder userDefined=\"true\"><feature name=\"B\"/></featureOrder>\n"
+			+ "<calculations Auto=\"false\"/>\n<properties><calculations key=\"Auto\" value=\"true\"/><graphics key=\"k\"/></properties>\n</featureModel>");
+		compare("missing struct", "<featureModel>\n<constraints/>\n</featureModel>");
+		compare("syntax error", "<featureModel>\n<struct>\n<and name=\"A\">\n</struct>\n</featureModel>");
+	}
+
+	private static void compare(String name, String source) {
+		final IFeatureModel domModel = DefaultFeatureModelFactory.getInstance().create();
+		final IFeatureModel streamModel = DefaultFeatureModelFactory.getInstance().create();
+		final ProblemList domProblems = new DOMFormat().read(domModel, source);
+		final ProblemList streamProblems = new XmlFeatureModelFormat().read(streamModel, source);
+		assertEquals(name, toString(domProblems), toString(streamProblems));
+		if (!domProblems.containsError()) {
+			assertEquals(name, new DOMFormat().write(domModel), new DOMFormat().write(streamModel));
+		}
+	}
+
+	private static String toString(ProblemList problems) {
+		final StringBuilder sb = new StringBuilder();
+		for (final Problem problem : problems) {
+			sb.append(problem.getLine()).append(' ').append(problem).append('\n');
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,176 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.monitor.MonitorThread;
+
+/**
+ * Tests the execution of {@link LongRunningThread jobs} by the {@link JobExecutor}.
+ */
+public class TJobExecutor {
+
+	@Test(timeout = 10_000)
+	public void testJoinOfQueuedJob() throws Exception {
+		final int poolSize = JobExecutor.getPoolSize();
+		JobExecutor.setPoolSize(1);
+		try {
+			final CountDownLatch blocked = new CountDownLatch(1);
+			final IRunner<Boolean> blockingJob = LongRunningWrapper.getThread(monitor -> blocked.await(1, TimeUnit.MINUTES));
+			blockingJob.schedule();
+
+			final IRunner<Integer> queuedJob = LongRunningWrapper.getThread(monitor -> 42);
+			queuedJob.schedule();
+			queuedJob.join();
+			assertEquals(JobStatus.OK, queuedJob.getStatus());
+			assertEquals(Integer.valueOf(42), queuedJob.getResults());
+
+			blocked.countDown();
+			blockingJob.join();
+			assertEquals(JobStatus.OK, blockingJob.getStatus());
+		} finally {
+			JobExecutor.setPoolSize(poolSize);
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testCancelStoppableJob() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final IRunner<Boolean> job = LongRunningWrapper.getThread(monitor -> {
+			started.countDown();
+			// ignores the monitor and can only be stopped by an interrupt
+			Thread.sleep(60_000);
+			return true;
+		});
+		job.setStoppable(true);
+		job.setCancelingTimeout(10);
+		job.schedule();
+		started.await();
+		job.cancel();
+		job.join();
+		assertEquals(JobStatus.FAILED, job.getStatus());
+	}
+
+	@Test(timeout = 10_000)
+	public void testCancelBeforeStart() throws Exception {
+		final AtomicInteger executions = new AtomicInteger();
+		final IRunner<Boolean> job = LongRunningWrapper.getThread(monitor -> executions.incrementAndGet() > 0);
+		job.cancel();
+		job.schedule();
+		job.join();
+		assertEquals(JobStatus.FAILED, job.getStatus());
+		assertEquals(0, executions.get());
+	}
+
+	@Test(timeout = 10_000)
+	public void testSynchronizedJobs() throws Exception {
+		final JobToken token = LongRunningWrapper.createToken(JobStartingStrategy.WAIT);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final int jobCount = 5;
+		for (int i = 0; i < jobCount; i++) {
+			LongRunningWrapper.startJob(token, LongRunningWrapper.getThread(monitor -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				Thread.sleep(5);
+				running.decrementAndGet();
+				return true;
+			}));
+		}
+		while (token.getFinishedJobs() < jobCount) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		assertEquals(1, maxRunning.get());
+		assertFalse(token.getTotalRunTime() < (jobCount * 5));
+		assertTrue(token.getMaxRunTime() <= token.getTotalRunTime());
+		LongRunningWrapper.removeToken(token);
+	}
+
+	@Test(timeout = 10_000)
+	public void testMonitorThread() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final MonitorThread notStarted = new MonitorThread(calls::incrementAndGet, 1);
+		notStarted.finish();
+		assertEquals(0, calls.get());
+
+		final CountDownLatch updated = new CountDownLatch(2);
+		final MonitorThread started = new MonitorThread(() -> {
+			calls.incrementAndGet();
+			updated.countDown();
+		}, 1);
+		started.start();
+		updated.await();
+		started.finish();
+		final int finalCalls = calls.get();
+		TimeUnit.MILLISECONDS.sleep(20);
+		assertEquals(finalCalls, calls.get());
+		started.finish();
+		assertEquals(finalCalls, calls.get());
+	}
+
+	@Test(timeout = 10_000)
+	public void testRunInParallel() throws Exception {
+		final AtomicInteger runs = new AtomicInteger();
+		JobExecutor.runInParallel(4, runs::incrementAndGet);
+		assertEquals(4, runs.get());
+
+		try {
+			JobExecutor.runInParallel(4, () -> {
+				if (runs.incrementAndGet() > 6) {
+					throw new IllegalStateException();
+				}
+			});
+			fail();
+		} catch (final IllegalStateException e) {}
+		assertEquals(8, runs.get());
+	}
+
+	@Test(timeout = 10_000)
+	public void testRunInParallelFromJob() throws Exception {
+		final int poolSize = JobExecutor.getPoolSize();
+		JobExecutor.setPoolSize(1);
+		try {
+			// the only thread of the pool runs the job, so all runs must be executed by the job itself
+			final AtomicInteger runs = new AtomicInteger();
+			final IRunner<Boolean> job = LongRunningWrapper.getThread(monitor -> {
+				JobExecutor.runInParallel(3, runs::incrementAndGet);
+				return true;
+			});
+			job.schedule();
+			job.join();
+			assertEquals(JobStatus.OK, job.getStatus());
+			assertEquals(3, runs.get());
+		} finally {
+			JobExecutor.setPoolSize(poolSize);
+		}
+	}
+
+}
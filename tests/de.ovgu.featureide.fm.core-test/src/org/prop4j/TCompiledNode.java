@@ -0,0 +1,181 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * Tests for {@link CompiledNode}.
+ */
+public class TCompiledNode {
+
+	private static final String[] VARIABLES = { "a", "b", "c", "d", "e", "f", "g", "h" };
+
+	@Test
+	public void testSingleAssignments() {
+		final Random random = new Random(0);
+		for (int n = 0; n < 500; n++) {
+			final Node node = createRandomNode(random, 4);
+			final CompiledNode compiledNode = CompiledNode.compile(node, Arrays.asList(VARIABLES));
+			for (int assignment = 0; assignment < (1 << VARIABLES.length); assignment++) {
+				final boolean[] values = new boolean[VARIABLES.length];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = (assignment & (1 << i)) != 0;
+				}
+				assertEquals(node.toString(), node.getValue(toMap(values)), compiledNode.getValue(values));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelAssignments() {
+		final Random random = new Random(1);
+		for (int n = 0; n < 500; n++) {
+			final Node node = createRandomNode(random, 4);
+			final CompiledNode compiledNode = CompiledNode.compile(node, Arrays.asList(VARIABLES));
+			final boolean[][] assignments = new boolean[Long.SIZE][VARIABLES.length];
+			final long[] lanes = new long[VARIABLES.length];
+			for (int j = 0; j < Long.SIZE; j++) {
+				for (int i = 0; i < VARIABLES.length; i++) {
+					assignments[j][i] = random.nextBoolean();
+					if (assignments[j][i]) {
+						lanes[i] |= 1L << j;
+					}
+				}
+			}
+			final long values = compiledNode.getValues(lanes);
+			for (int j = 0; j < Long.SIZE; j++) {
+				assertEquals(node.toString(), node.getValue(toMap(assignments[j])), ((values >>> j) & 1) != 0);
+			}
+		}
+	}
+
+	@Test
+	public void testUnknownVariable() {
+		final CompiledNode compiledNode = CompiledNode.compile(new And("a", new Not("b")));
+		assertEquals(Arrays.asList("a", "b"), compiledNode.getVariables());
+		assertEquals(1, compiledNode.getVariableIndex("b"));
+		assertEquals(-1, compiledNode.getVariableIndex("c"));
+		try {
+			CompiledNode.compile(new Or("a", "c"), Arrays.asList("a", "b"));
+			throw new AssertionError();
+		} catch (final IllegalArgumentException e) {}
+	}
+
+	@Test
+	public void testSatisfyingAssignments() {
+		final Random random = new Random(2);
+		for (int n = 0; n < 100; n++) {
+			final Node node = createRandomNode(random, 3);
+			final Set<Map<Object, Boolean>> expected = new LinkedHashSet<>();
+			for (final Map<Object, Boolean> assignment : node.getAssignments()) {
+				if (node.getValue(assignment)) {
+					expected.add(assignment);
+				}
+			}
+			assertEquals(node.toString(), new ArrayList<>(expected), new ArrayList<>(node.getSatisfyingAssignments()));
+		}
+	}
+
+	@Test
+	public void testCNF() {
+		final Random random = new Random(3);
+		final Variables variables = new Variables(Arrays.asList(VARIABLES));
+		for (int n = 0; n < 100; n++) {
+			final CNF cnf = new CNF(variables);
+			for (int c = random.nextInt(10); c >= 0; c--) {
+				final int[] literals = new int[random.nextInt(4) + 1];
+				for (int i = 0; i < literals.length; i++) {
+					literals[i] = (random.nextInt(VARIABLES.length) + 1) * (random.nextBoolean() ? 1 : -1);
+				}
+				cnf.addClause(new LiteralSet(literals));
+			}
+			final Node node = Nodes.convert(cnf);
+			final CompiledNode compiledNode = Nodes.compile(cnf);
+			for (int assignment = 0; assignment < (1 << VARIABLES.length); assignment++) {
+				final boolean[] values = new boolean[VARIABLES.length];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = (assignment & (1 << i)) != 0;
+				}
+				assertEquals(node.toString(), node.getValue(toMap(values)), compiledNode.getValue(values));
+			}
+		}
+	}
+
+	private static Map<Object, Boolean> toMap(boolean[] values) {
+		final Map<Object, Boolean> map = new HashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			map.put(VARIABLES[i], values[i]);
+		}
+		return map;
+	}
+
+	private static Node createRandomNode(Random random, int depth) {
+		if ((depth == 0) || (random.nextInt(4) == 0)) {
+			return random.nextInt(20) == 0 ? new ErrorLiteral(VARIABLES[random.nextInt(VARIABLES.length)])
+				: new Literal(VARIABLES[random.nextInt(VARIABLES.length)], random.nextBoolean());
+		}
+		final List<Node> children = new ArrayList<>();
+		for (int i = random.nextInt(4); i >= 0; i--) {
+			children.add(createRandomNode(random, depth - 1));
+		}
+		if (random.nextInt(10) == 0) {
+			children.clear();
+		}
+		final Node[] childArray = children.toArray(new Node[0]);
+		final int threshold = random.nextInt(childArray.length + 3) - 1;
+		switch (random.nextInt(8)) {
+		case 0:
+			return new And(childArray);
+		case 1:
+			return new Or(childArray);
+		case 2:
+			return new Not(createRandomNode(random, depth - 1));
+		case 3:
+			return new Implies(createRandomNode(random, depth - 1), createRandomNode(random, depth - 1));
+		case 4:
+			return new Equals(createRandomNode(random, depth - 1), createRandomNode(random, depth - 1));
+		case 5:
+			return new AtLeast(threshold, childArray);
+		case 6:
+			return new AtMost(threshold, childArray);
+		default:
+			return new Choose(threshold, childArray);
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
+import de.ovgu.featureide.fm.ui.editors.IGraphicalFeature;
+import de.ovgu.featureide.fm.ui.editors.IGraphicalFeatureModel;
+import de.ovgu.featureide.fm.ui.editors.elements.GraphicalFeatureModel;
+
+/**
+ * This is a benchmark for the automatic layouts of {@link FeatureDiagramLayoutHelper} with the largest feature model in the <i>featuremodels</i> folder.
+ * It measures a complete layout, a repeated layout of an unchanged diagram, and a layout after collapsing a subtree. The measured times are printed to the
+ * console.
+ */
+public class BFeatureDiagramLayoutManager {
+
+	private static final Path MODEL = Paths.get("../../featuremodels/WaterlooGenerated/model.xml");
+
+	private static final int WARM_UP_ITERATIONS = 20;
+
+	private static final int ITERATIONS = 20;
+
+	@Test(timeout = 120000)
+	public final void BLayout() {
+		final IGraphicalFeatureModel featureModel = createFeatureModel();
+		for (int algorithm = 1; algorithm < FeatureDiagramLayoutHelper.NUMBER_OF_LAYOUT_ALGORITHMS; algorithm++) {
+			for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+				FeatureDiagramLayoutHelper.getLayoutManager(algorithm, featureModel).layout(featureModel, null);
+			}
+			final long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				FeatureDiagramLayoutHelper.getLayoutManager(algorithm, featureModel).layout(featureModel, null);
+			}
+			benchmark("layout", algorithm, System.nanoTime() - start);
+		}
+	}
+
+	@Test(timeout = 120000)
+	public final void BRelayoutUnchanged() {
+		final IGraphicalFeatureModel featureModel = createFeatureModel();
+		for (int algorithm = 1; algorithm < FeatureDiagramLayoutHelper.NUMBER_OF_LAYOUT_ALGORITHMS; algorithm++) {
+			final FeatureDiagramLayoutManager layoutManager = FeatureDiagramLayoutHelper.getLayoutManager(algorithm, featureModel);
+			layoutManager.layout(featureModel, null);
+			final long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				layoutManager.layout(featureModel, null);
+			}
+			benchmark("relayout unchanged", algorithm, System.nanoTime() - start);
+		}
+	}
+
+	@Test(timeout = 120000)
+	public final void BRelayoutCollapse() {
+		final IGraphicalFeatureModel featureModel = createFeatureModel();
+		final IGraphicalFeature root = FeatureUIHelper.getGraphicalRootFeature(featureModel);
+		final IGraphicalFeature subtree = root.getGraphicalChildren().get(0);
+		for (int algorithm = 1; algorithm < FeatureDiagramLayoutHelper.NUMBER_OF_LAYOUT_ALGORITHMS; algorithm++) {
+			final FeatureDiagramLayoutManager layoutManager = FeatureDiagramLayoutHelper.getLayoutManager(algorithm, featureModel);
+			layoutManager.layout(featureModel, null);
+			final long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				subtree.setCollapsed(!subtree.isCollapsed());
+				layoutManager.layout(featureModel, null);
+			}
+			benchmark("relayout collapse", algorithm, System.nanoTime() - start);
+			subtree.setCollapsed(false);
+		}
+	}
+
+	private static IGraphicalFeatureModel createFeatureModel() {
+		final IGraphicalFeatureModel featureModel = new GraphicalFeatureModel(FeatureModelManager.getInstance(MODEL));
+		featureModel.init();
+		for (final IGraphicalFeature feature : featureModel.getFeatures()) {
+			// there are no figures that compute the actual sizes
+			feature.setSize(new Dimension((6 * feature.getObject().getName().length()) + 12, 19));
+		}
+		return featureModel;
+	}
+
+	private static void benchmark(String operation, int algorithm, long time) {
+		System.out.println(String.format("%s %s: %.3f ms", operation, FeatureDiagramLayoutHelper.getLayoutLabel(algorithm), (time / 1000000.0) / ITERATIONS));
+	}
+
+}
@@ -0,0 +1,95 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.editors.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link LineIntervalIndex}.
+ */
+public class TLineIntervalIndex {
+
+	@Test
+	public void testNestedIntervals() {
+		final int[] outer = { 0, 100 };
+		final int[] inner = { 10, 20 };
+		final int[] behind = { 101, 110 };
+		final LineIntervalIndex<int[]> index = createIndex(Arrays.asList(behind, inner, outer));
+
+		assertEquals(Arrays.asList(outer, inner), index.getOverlapping(15, 15));
+		assertEquals(Arrays.asList(outer), index.getOverlapping(21, 50));
+		assertEquals(Arrays.asList(outer, behind), index.getOverlapping(100, 101));
+		assertTrue(index.getOverlapping(111, 120).isEmpty());
+	}
+
+	@Test
+	public void testUpdate() {
+		final int[] interval = { 5, 8 };
+		final LineIntervalIndex<int[]> index = createIndex(Arrays.asList(interval));
+		interval[0] += 10;
+		interval[1] += 10;
+		index.update();
+
+		assertTrue(index.getOverlapping(5, 8).isEmpty());
+		assertEquals(Arrays.asList(interval), index.getOverlapping(18, 30));
+	}
+
+	@Test
+	public void testRandomIntervals() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 500; i++) {
+			final List<int[]> intervals = new ArrayList<>();
+			for (int j = random.nextInt(30); j > 0; j--) {
+				final int firstLine = random.nextInt(100);
+				intervals.add(new int[] { firstLine, firstLine + random.nextInt(40) });
+			}
+			final LineIntervalIndex<int[]> index = createIndex(intervals);
+
+			final int fromLine = random.nextInt(120);
+			final int toLine = fromLine + random.nextInt(10);
+			final List<int[]> expected = new ArrayList<>();
+			for (final int[] interval : index.getElements()) {
+				if ((interval[0] <= toLine) && (interval[1] >= fromLine)) {
+					expected.add(interval);
+				}
+			}
+			assertEquals(expected, index.getOverlapping(fromLine, toLine));
+		}
+	}
+
+	private static LineIntervalIndex<int[]> createIndex(List<int[]> intervals) {
+		final LineIntervalIndex<int[]> index = new LineIntervalIndex<>(interval -> interval[0], interval -> interval[1]);
+		for (final int[] interval : intervals) {
+			index.add(interval);
+		}
+		index.update();
+		return index;
+	}
+
+}